@@ -14,12 +14,19 @@
 
 package com.google.api.client.http.apache.v2;
 
+import com.google.api.client.http.ConnectionPoolStats;
+import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpMethods;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.util.Beta;
+import com.google.api.client.util.Preconditions;
 import java.io.IOException;
 import java.net.ProxySelector;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
@@ -30,11 +37,16 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpTrace;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.pool.PoolStats;
 
 /**
  * Thread-safe HTTP transport based on the Apache HTTP Client library.
@@ -43,11 +55,13 @@ import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
  * #getHttpClient() Apache HTTP Client} is only done at initialization time. For maximum efficiency,
  * applications should use a single globally-shared instance of the HTTP transport.
  *
- * <p>Default settings are specified in {@link #newDefaultHttpClient()}. Use the {@link
- * #ApacheHttpTransport(HttpClient)} constructor to override the Apache HTTP Client used. Please
- * read the <a
+ * <p>Default settings are specified in {@link #newDefaultHttpClient()}, and are the same as the
+ * default options of {@link Builder}. Use the {@link #ApacheHttpTransport(HttpClient)} constructor
+ * to override the Apache HTTP Client used. Please read the <a
  * href="https://hc.apache.org/httpcomponents-client-4.5.x/current/tutorial/pdf/httpclient-tutorial.pdf">
- * Apache HTTP Client connection management tutorial</a> for more complex configuration options.
+ * Apache HTTP Client connection management tutorial</a> for more complex configuration options. Use
+ * {@link Builder} to configure the pool of connections and monitor it with {@link
+ * #getConnectionPoolStats()}.
  *
  * @since 1.30
  * @author Yaniv Inbar
@@ -60,13 +74,24 @@ public final class ApacheHttpTransport extends HttpTransport {
   /** If the HTTP client uses mTLS channel. */
   private final boolean isMtls;
 
+  /**
+   * Connection manager if built by {@link Builder} or the default constructor, or {@code null} if
+   * unknown.
+   */
+  private final PoolingHttpClientConnectionManager connectionManager;
+
   /**
    * Constructor that uses {@link #newDefaultHttpClient()} for the Apache HTTP client.
    *
    * @since 1.30
    */
   public ApacheHttpTransport() {
-    this(newDefaultHttpClient(), false);
+    this(new Builder().build());
+  }
+
+  /** Copy constructor, which shares the HTTP client and connection manager of the transport. */
+  private ApacheHttpTransport(ApacheHttpTransport transport) {
+    this(transport.httpClient, transport.isMtls, transport.connectionManager);
   }
 
   /**
@@ -87,8 +112,7 @@ public final class ApacheHttpTransport extends HttpTransport {
    * @since 1.30
    */
   public ApacheHttpTransport(HttpClient httpClient) {
-    this.httpClient = httpClient;
-    this.isMtls = false;
+    this(httpClient, false, null);
   }
 
   /**
@@ -112,8 +136,14 @@ public final class ApacheHttpTransport extends HttpTransport {
    */
   @Beta
   public ApacheHttpTransport(HttpClient httpClient, boolean isMtls) {
+    this(httpClient, isMtls, null);
+  }
+
+  ApacheHttpTransport(
+      HttpClient httpClient, boolean isMtls, PoolingHttpClientConnectionManager connectionManager) {
     this.httpClient = httpClient;
     this.isMtls = isMtls;
+    this.connectionManager = connectionManager;
   }
 
   /**
@@ -136,7 +166,8 @@ public final class ApacheHttpTransport extends HttpTransport {
    * @since 1.30
    */
   public static HttpClient newDefaultHttpClient() {
-    return newDefaultHttpClientBuilder().build();
+    Builder builder = new Builder();
+    return builder.newHttpClientBuilder(builder.newConnectionManager()).build();
   }
 
   /**
@@ -155,17 +186,27 @@ public final class ApacheHttpTransport extends HttpTransport {
    *       properties</a>.
    * </ul>
    *
+   * <p>The connection manager is created when the client is built, so the pool of connections of a
+   * transport using such a client is not reported by {@link #getConnectionPoolStats()}.
+   *
    * @return new instance of the Apache HTTP client
    * @since 1.31
    */
   public static HttpClientBuilder newDefaultHttpClientBuilder() {
-
-    return HttpClientBuilder.create()
-        .useSystemProperties()
+    return newBaseHttpClientBuilder()
         .setSSLSocketFactory(SSLConnectionSocketFactory.getSocketFactory())
         .setMaxConnTotal(200)
         .setMaxConnPerRoute(20)
-        .setConnectionTimeToLive(-1, TimeUnit.MILLISECONDS)
+        .setConnectionTimeToLive(-1, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns a new Apache HTTP client builder with the settings of {@link
+   * #newDefaultHttpClientBuilder()} other than the connection pool settings.
+   */
+  private static HttpClientBuilder newBaseHttpClientBuilder() {
+    return HttpClientBuilder.create()
+        .useSystemProperties()
         .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
         .disableRedirectHandling()
         .disableAutomaticRetries();
@@ -228,4 +269,186 @@ public final class ApacheHttpTransport extends HttpTransport {
   public boolean isMtls() {
     return isMtls;
   }
+
+  /**
+   * Returns a snapshot of the statistics of the connection pool, in total and for each route, or
+   * {@code null} if the transport was constructed with an Apache HTTP client.
+   *
+   * @since 2.2
+   */
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    if (connectionManager == null) {
+      return null;
+    }
+    Map<String, ConnectionPoolStats> routes = new LinkedHashMap<String, ConnectionPoolStats>();
+    for (HttpRoute route : connectionManager.getRoutes()) {
+      routes.put(describe(route), toConnectionPoolStats(connectionManager.getStats(route), null));
+    }
+    return toConnectionPoolStats(connectionManager.getTotalStats(), routes);
+  }
+
+  private static ConnectionPoolStats toConnectionPoolStats(
+      PoolStats stats, Map<String, ConnectionPoolStats> routes) {
+    return new ConnectionPoolStats(
+        stats.getLeased(),
+        stats.getPending(),
+        stats.getAvailable(),
+        stats.getMax(),
+        routes == null ? Collections.<String, ConnectionPoolStats>emptyMap() : routes);
+  }
+
+  /** Returns the target of the route, followed by its proxy if any. */
+  private static String describe(HttpRoute route) {
+    HttpHost proxy = route.getProxyHost();
+    String target = route.getTargetHost().toURI();
+    return proxy == null ? target : target + " via " + proxy.toURI();
+  }
+
+  /**
+   * Builder for {@link ApacheHttpTransport} that configures the pool of connections.
+   *
+   * <p>The Apache HTTP client is configured as in {@link #newDefaultHttpClientBuilder()}, except
+   * for the connection pool settings. Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Builder {
+
+    /** Maximum number of connections. */
+    private int maxConnectionsTotal = 200;
+
+    /** Default maximum number of connections for each route. */
+    private int maxConnectionsPerRoute = 20;
+
+    /** Maximum number of connections of specific routes. */
+    private final Map<HttpRoute, Integer> maxConnectionsForRoutes =
+        new LinkedHashMap<HttpRoute, Integer>();
+
+    /** Time to live of connections in milliseconds or {@code -1} for infinite. */
+    private long connectionTimeToLiveMillis = -1;
+
+    /** Inactivity in milliseconds after which connections are validated before use. */
+    private int validateAfterInactivityMillis = 2000;
+
+    /** Idle time in milliseconds after which connections are evicted or {@code 0} for never. */
+    private long maxIdleTimeMillis;
+
+    /** Whether to evict expired connections in the background. */
+    private boolean evictExpiredConnections;
+
+    /** Sets the maximum number of connections. Defaults to {@code 200}. */
+    public Builder setMaxConnectionsTotal(int maxConnectionsTotal) {
+      Preconditions.checkArgument(maxConnectionsTotal > 0);
+      this.maxConnectionsTotal = maxConnectionsTotal;
+      return this;
+    }
+
+    /** Sets the default maximum number of connections for each route. Defaults to {@code 20}. */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      Preconditions.checkArgument(maxConnectionsPerRoute > 0);
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of connections of the direct route to the host of the given URL,
+     * overriding the {@link #setMaxConnectionsPerRoute default} for that route.
+     *
+     * @param url URL of the host, such as {@code "https://storage.googleapis.com"}
+     * @param maxConnections maximum number of connections
+     */
+    public Builder setMaxConnectionsForRoute(String url, int maxConnections) {
+      Preconditions.checkArgument(maxConnections > 0);
+      GenericUrl genericUrl = new GenericUrl(url);
+      boolean secure = "https".equals(genericUrl.getScheme());
+      int port = genericUrl.getPort() == -1 ? (secure ? 443 : 80) : genericUrl.getPort();
+      HttpHost target = new HttpHost(genericUrl.getHost(), port, genericUrl.getScheme());
+      maxConnectionsForRoutes.put(new HttpRoute(target, null, secure), maxConnections);
+      return this;
+    }
+
+    /**
+     * Sets the time to live of connections, after which they are closed instead of reused, or
+     * {@code -1} for infinite, which is the default.
+     */
+    public Builder setConnectionTimeToLive(long connectionTimeToLive, TimeUnit unit) {
+      this.connectionTimeToLiveMillis =
+          connectionTimeToLive < 0 ? -1 : unit.toMillis(connectionTimeToLive);
+      return this;
+    }
+
+    /**
+     * Sets the period of inactivity after which connections are validated before being reused, or a
+     * negative value to disable validation. Defaults to 2 seconds.
+     */
+    public Builder setValidateAfterInactivity(long validateAfterInactivity, TimeUnit unit) {
+      this.validateAfterInactivityMillis =
+          validateAfterInactivity < 0
+              ? -1
+              : (int) Math.min(Integer.MAX_VALUE, unit.toMillis(validateAfterInactivity));
+      return this;
+    }
+
+    /**
+     * Sets the idle time after which a background thread closes connections, or {@code 0} to keep
+     * idle connections, which is the default.
+     */
+    public Builder setMaxIdleTime(long maxIdleTime, TimeUnit unit) {
+      Preconditions.checkArgument(maxIdleTime >= 0);
+      this.maxIdleTimeMillis = unit.toMillis(maxIdleTime);
+      return this;
+    }
+
+    /**
+     * Sets whether a background thread closes connections whose {@link #setConnectionTimeToLive
+     * time to live} or keep-alive duration expired. Defaults to {@code false}.
+     */
+    public Builder setEvictExpiredConnections(boolean evictExpiredConnections) {
+      this.evictExpiredConnections = evictExpiredConnections;
+      return this;
+    }
+
+    /** Returns a new instance of {@link ApacheHttpTransport} based on the options. */
+    public ApacheHttpTransport build() {
+      PoolingHttpClientConnectionManager connectionManager = newConnectionManager();
+      return new ApacheHttpTransport(
+          newHttpClientBuilder(connectionManager).build(), false, connectionManager);
+    }
+
+    /** Returns a new connection manager based on the options. */
+    PoolingHttpClientConnectionManager newConnectionManager() {
+      PoolingHttpClientConnectionManager connectionManager =
+          new PoolingHttpClientConnectionManager(
+              RegistryBuilder.<ConnectionSocketFactory>create()
+                  .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                  .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                  .build(),
+              null,
+              null,
+              null,
+              connectionTimeToLiveMillis,
+              TimeUnit.MILLISECONDS);
+      connectionManager.setMaxTotal(maxConnectionsTotal);
+      connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+      for (Map.Entry<HttpRoute, Integer> entry : maxConnectionsForRoutes.entrySet()) {
+        connectionManager.setMaxPerRoute(entry.getKey(), entry.getValue());
+      }
+      connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+      return connectionManager;
+    }
+
+    /** Returns a new Apache HTTP client builder using the given connection manager. */
+    HttpClientBuilder newHttpClientBuilder(PoolingHttpClientConnectionManager connectionManager) {
+      HttpClientBuilder builder =
+          newBaseHttpClientBuilder().setConnectionManager(connectionManager);
+      if (maxIdleTimeMillis > 0) {
+        builder.evictIdleConnections(maxIdleTimeMillis, TimeUnit.MILLISECONDS);
+      }
+      if (evictExpiredConnections) {
+        builder.evictExpiredConnections();
+      }
+      return builder;
+    }
+  }
 }
@@ -17,11 +17,13 @@ package com.google.api.client.http.apache.v2;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.Assume.assumeTrue;
 
+import com.google.api.client.http.ConnectionPoolStats;
 import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.http.HttpTransport;
@@ -37,6 +39,7 @@ import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.http.Header;
@@ -345,6 +348,65 @@ public class ApacheHttpTransportTest {
     }
   }
 
+  @Test
+  public void testConnectionPoolStats() throws IOException {
+    final HttpHandler handler =
+        new HttpHandler() {
+          @Override
+          public void handle(HttpExchange httpExchange) throws IOException {
+            byte[] response = "OK".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = httpExchange.getResponseBody()) {
+              out.write(response);
+            }
+          }
+        };
+    try (FakeServer server = new FakeServer(handler)) {
+      ApacheHttpTransport transport =
+          new ApacheHttpTransport.Builder()
+              .setMaxConnectionsTotal(10)
+              .setMaxConnectionsPerRoute(5)
+              .setMaxConnectionsForRoute("http://localhost:" + server.getPort(), 3)
+              .setMaxIdleTime(1, TimeUnit.MINUTES)
+              .setEvictExpiredConnections(true)
+              .build();
+      ConnectionPoolStats stats = transport.getConnectionPoolStats();
+      assertEquals(0, stats.getLeased());
+      assertEquals(10, stats.getMax());
+      GenericUrl testUrl = new GenericUrl("http://localhost/");
+      testUrl.setPort(server.getPort());
+      com.google.api.client.http.HttpResponse response =
+          transport.createRequestFactory().buildGetRequest(testUrl).execute();
+      stats = transport.getConnectionPoolStats();
+      assertEquals(1, stats.getLeased());
+      ConnectionPoolStats routeStats =
+          stats.getRoutes().get("http://localhost:" + server.getPort());
+      assertEquals(1, routeStats.getLeased());
+      assertEquals(3, routeStats.getMax());
+      assertEquals("OK", response.parseAsString());
+      stats = transport.getConnectionPoolStats();
+      assertEquals(0, stats.getLeased());
+      assertEquals(1, stats.getAvailable());
+      transport.shutdown();
+    }
+  }
+
+  @Test
+  public void testConnectionPoolStats_default() throws IOException {
+    ApacheHttpTransport transport = new ApacheHttpTransport();
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    assertEquals(0, stats.getLeased());
+    assertEquals(200, stats.getMax());
+    transport.shutdown();
+  }
+
+  @Test
+  public void testConnectionPoolStats_unknown() {
+    assertNull(
+        new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClient())
+            .getConnectionPoolStats());
+  }
+
   private boolean isWindows() {
     return System.getProperty("os.name").startsWith("Windows");
   }
@@ -14,6 +14,8 @@
 
 package com.google.api.client.http.apache.v5;
 
+import com.google.api.client.http.ConnectionPoolStats;
+import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpMethods;
 import com.google.api.client.http.HttpTransport;
 import com.google.common.annotations.Beta;
@@ -21,7 +23,11 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.net.ProxySelector;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.HttpRoute;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpDelete;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
@@ -39,8 +45,11 @@ import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.routing.SystemDefaultRoutePlanner;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.io.ModalCloseable;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
 
 /**
  * Thread-safe HTTP transport based on the Apache HTTP Client library.
@@ -49,11 +58,13 @@ import org.apache.hc.core5.io.ModalCloseable;
  * #getHttpClient() Apache HTTP Client} is only done at initialization time. For maximum efficiency,
  * applications should use a single globally-shared instance of the HTTP transport.
  *
- * <p>Default settings are specified in {@link #newDefaultHttpClient()}. Use the {@link
- * #Apache5HttpTransport(HttpClient)} constructor to override the Apache HTTP Client used. Please
- * read the <a
+ * <p>Default settings are specified in {@link #newDefaultHttpClient()}, and are the same as the
+ * default options of {@link Builder}. Use the {@link #Apache5HttpTransport(HttpClient)} constructor
+ * to override the Apache HTTP Client used. Please read the <a
  * href="https://github.com/apache/httpcomponents-client/blob/f898f1aca38f77f62a007856a674629cae5a02e6/httpclient5/src/test/java/org/apache/hc/client5/http/examples/ClientConfiguration.java">
- * Apache HTTP Client 5.x configuration example</a> for more complex configuration options.
+ * Apache HTTP Client 5.x configuration example</a> for more complex configuration options. Use
+ * {@link Builder} to configure the pool of connections and monitor it with {@link
+ * #getConnectionPoolStats()}.
  */
 public final class Apache5HttpTransport extends HttpTransport {
 
@@ -63,9 +74,20 @@ public final class Apache5HttpTransport extends HttpTransport {
   /** If the HTTP client uses mTLS channel. */
   private final boolean isMtls;
 
+  /**
+   * Connection manager if built by {@link Builder} or the default constructor, or {@code null} if
+   * unknown.
+   */
+  private final PoolingHttpClientConnectionManager connectionManager;
+
   /** Constructor that uses {@link #newDefaultHttpClient()} for the Apache HTTP client. */
   public Apache5HttpTransport() {
-    this(newDefaultHttpClient(), false);
+    this(new Builder().build());
+  }
+
+  /** Copy constructor, which shares the HTTP client and connection manager of the transport. */
+  private Apache5HttpTransport(Apache5HttpTransport transport) {
+    this(transport.httpClient, transport.isMtls, transport.connectionManager);
   }
 
   /**
@@ -81,8 +103,7 @@ public final class Apache5HttpTransport extends HttpTransport {
    * @param httpClient Apache HTTP client to use
    */
   public Apache5HttpTransport(HttpClient httpClient) {
-    this.httpClient = httpClient;
-    this.isMtls = false;
+    this(httpClient, false, null);
   }
 
   /**
@@ -102,8 +123,14 @@ public final class Apache5HttpTransport extends HttpTransport {
    */
   @Beta
   public Apache5HttpTransport(HttpClient httpClient, boolean isMtls) {
+    this(httpClient, isMtls, null);
+  }
+
+  Apache5HttpTransport(
+      HttpClient httpClient, boolean isMtls, PoolingHttpClientConnectionManager connectionManager) {
     this.httpClient = httpClient;
     this.isMtls = isMtls;
+    this.connectionManager = connectionManager;
   }
 
   /**
@@ -146,24 +173,14 @@ public final class Apache5HttpTransport extends HttpTransport {
    *       properties</a>.
    * </ul>
    *
+   * <p>The connection pool has the default options of {@link Builder}, but is not reported by
+   * {@link #getConnectionPoolStats()} of a transport using a client built by this builder.
+   *
    * @return new instance of the Apache HTTP client builder
    */
   public static HttpClientBuilder newDefaultHttpClientBuilder() {
-    PoolingHttpClientConnectionManager connectionManager =
-        PoolingHttpClientConnectionManagerBuilder.create()
-            .setSSLSocketFactory(SSLConnectionSocketFactory.getSocketFactory())
-            .setMaxConnTotal(200)
-            .setMaxConnPerRoute(20)
-            .setDefaultConnectionConfig(
-                ConnectionConfig.custom().setTimeToLive(-1, TimeUnit.MILLISECONDS).build())
-            .build();
-
-    return HttpClients.custom()
-        .useSystemProperties()
-        .setConnectionManager(connectionManager)
-        .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
-        .disableRedirectHandling()
-        .disableAutomaticRetries();
+    Builder builder = new Builder();
+    return builder.newHttpClientBuilder(builder.newConnectionManager());
   }
 
   @Override
@@ -218,4 +235,186 @@ public final class Apache5HttpTransport extends HttpTransport {
   public boolean isMtls() {
     return isMtls;
   }
+
+  /**
+   * Returns a snapshot of the statistics of the connection pool, in total and for each route, or
+   * {@code null} if the transport was constructed with an Apache HTTP client.
+   *
+   * @since 2.2
+   */
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    if (connectionManager == null) {
+      return null;
+    }
+    Map<String, ConnectionPoolStats> routes = new LinkedHashMap<>();
+    for (HttpRoute route : connectionManager.getRoutes()) {
+      routes.put(describe(route), toConnectionPoolStats(connectionManager.getStats(route), null));
+    }
+    return toConnectionPoolStats(connectionManager.getTotalStats(), routes);
+  }
+
+  private static ConnectionPoolStats toConnectionPoolStats(
+      PoolStats stats, Map<String, ConnectionPoolStats> routes) {
+    return new ConnectionPoolStats(
+        stats.getLeased(),
+        stats.getPending(),
+        stats.getAvailable(),
+        stats.getMax(),
+        routes == null ? Collections.<String, ConnectionPoolStats>emptyMap() : routes);
+  }
+
+  /** Returns the target of the route, followed by its proxy if any. */
+  private static String describe(HttpRoute route) {
+    HttpHost proxy = route.getProxyHost();
+    String target = route.getTargetHost().toURI();
+    return proxy == null ? target : target + " via " + proxy.toURI();
+  }
+
+  /**
+   * Builder for {@link Apache5HttpTransport} that configures the pool of connections.
+   *
+   * <p>The Apache HTTP client is configured as in {@link #newDefaultHttpClientBuilder()}, except
+   * for the connection pool settings. Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Builder {
+
+    /** Maximum number of connections. */
+    private int maxConnectionsTotal = 200;
+
+    /** Default maximum number of connections for each route. */
+    private int maxConnectionsPerRoute = 20;
+
+    /** Maximum number of connections of specific routes. */
+    private final Map<HttpRoute, Integer> maxConnectionsForRoutes = new LinkedHashMap<>();
+
+    /** Time to live of connections in milliseconds or {@code -1} for infinite. */
+    private long connectionTimeToLiveMillis = -1;
+
+    /** Inactivity in milliseconds after which connections are validated before use. */
+    private long validateAfterInactivityMillis = 2000;
+
+    /** Idle time in milliseconds after which connections are evicted or {@code 0} for never. */
+    private long maxIdleTimeMillis;
+
+    /** Whether to evict expired connections in the background. */
+    private boolean evictExpiredConnections;
+
+    /** Sets the maximum number of connections. Defaults to {@code 200}. */
+    public Builder setMaxConnectionsTotal(int maxConnectionsTotal) {
+      Preconditions.checkArgument(maxConnectionsTotal > 0);
+      this.maxConnectionsTotal = maxConnectionsTotal;
+      return this;
+    }
+
+    /** Sets the default maximum number of connections for each route. Defaults to {@code 20}. */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      Preconditions.checkArgument(maxConnectionsPerRoute > 0);
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of connections of the direct route to the host of the given URL,
+     * overriding the {@link #setMaxConnectionsPerRoute default} for that route.
+     *
+     * @param url URL of the host, such as {@code "https://storage.googleapis.com"}
+     * @param maxConnections maximum number of connections
+     */
+    public Builder setMaxConnectionsForRoute(String url, int maxConnections) {
+      Preconditions.checkArgument(maxConnections > 0);
+      GenericUrl genericUrl = new GenericUrl(url);
+      boolean secure = "https".equals(genericUrl.getScheme());
+      int port = genericUrl.getPort() == -1 ? (secure ? 443 : 80) : genericUrl.getPort();
+      HttpHost target = new HttpHost(genericUrl.getScheme(), genericUrl.getHost(), port);
+      maxConnectionsForRoutes.put(new HttpRoute(target, null, secure), maxConnections);
+      return this;
+    }
+
+    /**
+     * Sets the time to live of connections, after which they are closed instead of reused, or
+     * {@code -1} for infinite, which is the default.
+     */
+    public Builder setConnectionTimeToLive(long connectionTimeToLive, TimeUnit unit) {
+      this.connectionTimeToLiveMillis =
+          connectionTimeToLive < 0 ? -1 : unit.toMillis(connectionTimeToLive);
+      return this;
+    }
+
+    /**
+     * Sets the period of inactivity after which connections are validated before being reused, or a
+     * negative value to disable validation. Defaults to 2 seconds.
+     */
+    public Builder setValidateAfterInactivity(long validateAfterInactivity, TimeUnit unit) {
+      this.validateAfterInactivityMillis =
+          validateAfterInactivity < 0 ? -1 : unit.toMillis(validateAfterInactivity);
+      return this;
+    }
+
+    /**
+     * Sets the idle time after which a background thread closes connections, or {@code 0} to keep
+     * idle connections, which is the default.
+     */
+    public Builder setMaxIdleTime(long maxIdleTime, TimeUnit unit) {
+      Preconditions.checkArgument(maxIdleTime >= 0);
+      this.maxIdleTimeMillis = unit.toMillis(maxIdleTime);
+      return this;
+    }
+
+    /**
+     * Sets whether a background thread closes connections whose {@link #setConnectionTimeToLive
+     * time to live} or keep-alive duration expired. Defaults to {@code false}.
+     */
+    public Builder setEvictExpiredConnections(boolean evictExpiredConnections) {
+      this.evictExpiredConnections = evictExpiredConnections;
+      return this;
+    }
+
+    /** Returns a new instance of {@link Apache5HttpTransport} based on the options. */
+    public Apache5HttpTransport build() {
+      PoolingHttpClientConnectionManager connectionManager = newConnectionManager();
+      return new Apache5HttpTransport(
+          newHttpClientBuilder(connectionManager).build(), false, connectionManager);
+    }
+
+    /** Returns a new connection manager based on the options. */
+    PoolingHttpClientConnectionManager newConnectionManager() {
+      PoolingHttpClientConnectionManager connectionManager =
+          PoolingHttpClientConnectionManagerBuilder.create()
+              .setSSLSocketFactory(SSLConnectionSocketFactory.getSocketFactory())
+              .setMaxConnTotal(maxConnectionsTotal)
+              .setMaxConnPerRoute(maxConnectionsPerRoute)
+              .setDefaultConnectionConfig(
+                  ConnectionConfig.custom()
+                      .setTimeToLive(connectionTimeToLiveMillis, TimeUnit.MILLISECONDS)
+                      .setValidateAfterInactivity(
+                          validateAfterInactivityMillis, TimeUnit.MILLISECONDS)
+                      .build())
+              .build();
+      for (Map.Entry<HttpRoute, Integer> entry : maxConnectionsForRoutes.entrySet()) {
+        connectionManager.setMaxPerRoute(entry.getKey(), entry.getValue());
+      }
+      return connectionManager;
+    }
+
+    /** Returns a new Apache HTTP client builder using the given connection manager. */
+    HttpClientBuilder newHttpClientBuilder(PoolingHttpClientConnectionManager connectionManager) {
+      HttpClientBuilder builder =
+          HttpClients.custom()
+              .useSystemProperties()
+              .setConnectionManager(connectionManager)
+              .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+              .disableRedirectHandling()
+              .disableAutomaticRetries();
+      if (maxIdleTimeMillis > 0) {
+        builder.evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTimeMillis));
+      }
+      if (evictExpiredConnections) {
+        builder.evictExpiredConnections();
+      }
+      return builder;
+    }
+  }
 }
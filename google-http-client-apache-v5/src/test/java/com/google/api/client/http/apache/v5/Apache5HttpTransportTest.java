@@ -17,10 +17,12 @@ package com.google.api.client.http.apache.v5;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
 
+import com.google.api.client.http.ConnectionPoolStats;
 import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.http.HttpTransport;
@@ -28,6 +30,7 @@ import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.util.ByteArrayStreamingContent;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hc.client5.http.ConnectTimeoutException;
@@ -366,4 +369,64 @@ public class Apache5HttpTransportTest {
   private boolean isWindows() {
     return System.getProperty("os.name").startsWith("Windows");
   }
+
+  @Test
+  public void testConnectionPoolStats() throws IOException {
+    final HttpRequestHandler handler =
+        new HttpRequestHandler() {
+          @Override
+          public void handle(
+              ClassicHttpRequest request, ClassicHttpResponse response, HttpContext context)
+              throws HttpException, IOException {
+            byte[] responseData = "OK".getBytes(StandardCharsets.UTF_8);
+            response.setCode(HttpStatus.SC_OK);
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(responseData.length));
+            response.setEntity(new ByteArrayEntity(responseData, ContentType.TEXT_PLAIN));
+          }
+        };
+    try (FakeServer server = new FakeServer(handler)) {
+      Apache5HttpTransport transport =
+          new Apache5HttpTransport.Builder()
+              .setMaxConnectionsTotal(10)
+              .setMaxConnectionsPerRoute(5)
+              .setMaxConnectionsForRoute("http://localhost:" + server.getPort(), 3)
+              .setMaxIdleTime(1, TimeUnit.MINUTES)
+              .setEvictExpiredConnections(true)
+              .build();
+      ConnectionPoolStats stats = transport.getConnectionPoolStats();
+      assertEquals(0, stats.getLeased());
+      assertEquals(10, stats.getMax());
+      GenericUrl testUrl = new GenericUrl("http://localhost/");
+      testUrl.setPort(server.getPort());
+      com.google.api.client.http.HttpResponse response =
+          transport.createRequestFactory().buildGetRequest(testUrl).execute();
+      stats = transport.getConnectionPoolStats();
+      assertEquals(1, stats.getLeased());
+      ConnectionPoolStats routeStats =
+          stats.getRoutes().get("http://localhost:" + server.getPort());
+      assertEquals(1, routeStats.getLeased());
+      assertEquals(3, routeStats.getMax());
+      assertEquals("OK", response.parseAsString());
+      stats = transport.getConnectionPoolStats();
+      assertEquals(0, stats.getLeased());
+      assertEquals(1, stats.getAvailable());
+      transport.shutdown();
+    }
+  }
+
+  @Test
+  public void testConnectionPoolStats_default() throws IOException {
+    Apache5HttpTransport transport = new Apache5HttpTransport();
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    assertEquals(0, stats.getLeased());
+    assertEquals(200, stats.getMax());
+    transport.shutdown();
+  }
+
+  @Test
+  public void testConnectionPoolStats_unknown() {
+    assertNull(
+        new Apache5HttpTransport(Apache5HttpTransport.newDefaultHttpClient())
+            .getConnectionPoolStats());
+  }
 }
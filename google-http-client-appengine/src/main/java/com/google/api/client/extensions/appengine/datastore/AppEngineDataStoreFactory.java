@@ -14,15 +14,17 @@
 
 package com.google.api.client.extensions.appengine.datastore;
 
-import com.google.api.client.util.IOUtils;
 import com.google.api.client.util.Lists;
 import com.google.api.client.util.Maps;
 import com.google.api.client.util.Preconditions;
 import com.google.api.client.util.Sets;
 import com.google.api.client.util.store.AbstractDataStore;
 import com.google.api.client.util.store.AbstractDataStoreFactory;
+import com.google.api.client.util.store.BatchDataStore;
 import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreCodec;
 import com.google.api.client.util.store.DataStoreUtils;
+import com.google.api.client.util.store.SerializationDataStoreCodec;
 import com.google.appengine.api.datastore.Blob;
 import com.google.appengine.api.datastore.DatastoreService;
 import com.google.appengine.api.datastore.DatastoreServiceFactory;
@@ -35,7 +37,6 @@ import com.google.appengine.api.memcache.Expiration;
 import com.google.appengine.api.memcache.MemcacheService;
 import com.google.appengine.api.memcache.MemcacheServiceFactory;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
@@ -79,6 +80,7 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
 
   /** @param builder builder */
   public AppEngineDataStoreFactory(Builder builder) {
+    super(builder.codec);
     disableMemcache = builder.disableMemcache;
     memcacheExpiration = builder.memcacheExpiration;
   }
@@ -101,7 +103,8 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
     static final AppEngineDataStoreFactory INSTANCE = new AppEngineDataStoreFactory();
   }
 
-  static class AppEngineDataStore<V extends Serializable> extends AbstractDataStore<V> {
+  static class AppEngineDataStore<V extends Serializable> extends AbstractDataStore<V>
+      implements BatchDataStore<V> {
 
     /** Lock on access to the store. */
     private final Lock lock = new ReentrantLock();
@@ -118,18 +121,22 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
     /** Memcache expiration policy on puts. */
     final Expiration memcacheExpiration;
 
+    /** Codec of the values. */
+    private final DataStoreCodec codec;
+
     AppEngineDataStore(AppEngineDataStoreFactory dataStoreFactory, String id) {
       super(dataStoreFactory, id);
+      codec = dataStoreFactory.getCodec();
       memcache =
           dataStoreFactory.disableMemcache ? null : MemcacheServiceFactory.getMemcacheService(id);
       memcacheExpiration = dataStoreFactory.memcacheExpiration;
       dataStoreService = DatastoreServiceFactory.getDatastoreService();
     }
 
-    /** Deserializes the specified object from a Blob using an {@link ObjectInputStream}. */
+    /** Decodes the specified object from a Blob using the {@link DataStoreCodec}. */
     private V deserialize(Entity entity) throws IOException {
       Blob blob = (Blob) entity.getProperty(FIELD_VALUE);
-      return IOUtils.deserialize(blob.getBytes());
+      return codec.decode(blob.getBytes());
     }
 
     @Override
@@ -213,7 +220,7 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
       lock.lock();
       try {
         Entity entity = new Entity(getId(), key);
-        entity.setUnindexedProperty(FIELD_VALUE, new Blob(IOUtils.serialize(value)));
+        entity.setUnindexedProperty(FIELD_VALUE, new Blob(codec.encode(value)));
         dataStoreService.put(entity);
         if (memcache != null) {
           memcache.put(key, value, memcacheExpiration);
@@ -224,6 +231,98 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
       return this;
     }
 
+    /**
+     * Reads the memcache with a single call, and the remaining keys with a single datastore call.
+     */
+    @Override
+    public Map<String, V> getAll(Collection<String> keys) throws IOException {
+      Set<String> remaining = Sets.newHashSet();
+      for (String key : keys) {
+        if (key != null) {
+          remaining.add(key);
+        }
+      }
+      Map<String, V> result = Maps.newHashMap();
+      if (remaining.isEmpty()) {
+        return result;
+      }
+      lock.lock();
+      try {
+        if (memcache != null) {
+          for (Map.Entry<String, Object> entry : memcache.getAll(remaining).entrySet()) {
+            @SuppressWarnings("unchecked")
+            V value = (V) entry.getValue();
+            result.put(entry.getKey(), value);
+          }
+          remaining.removeAll(result.keySet());
+          if (remaining.isEmpty()) {
+            return result;
+          }
+        }
+        List<Key> dataKeys = Lists.newArrayList();
+        for (String key : remaining) {
+          dataKeys.add(KeyFactory.createKey(getId(), key));
+        }
+        Map<String, V> loaded = Maps.newHashMap();
+        for (Entity entity : dataStoreService.get(dataKeys).values()) {
+          loaded.put(entity.getKey().getName(), deserialize(entity));
+        }
+        if (memcache != null) {
+          remaining.removeAll(loaded.keySet());
+          memcache.deleteAll(remaining);
+          memcache.putAll(loaded, memcacheExpiration);
+        }
+        result.putAll(loaded);
+        return result;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Writes the datastore and the memcache with a single call each. */
+    @Override
+    public AppEngineDataStore<V> setAll(Map<String, ? extends V> values) throws IOException {
+      List<Entity> entities = Lists.newArrayList();
+      for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+        Entity entity = new Entity(getId(), Preconditions.checkNotNull(entry.getKey()));
+        entity.setUnindexedProperty(
+            FIELD_VALUE, new Blob(codec.encode(Preconditions.checkNotNull(entry.getValue()))));
+        entities.add(entity);
+      }
+      lock.lock();
+      try {
+        dataStoreService.put(entities);
+        if (memcache != null) {
+          memcache.putAll(values, memcacheExpiration);
+        }
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    /** Deletes from the datastore and the memcache with a single call each. */
+    @Override
+    public DataStore<V> deleteAll(Collection<String> keys) throws IOException {
+      Set<String> keySet = Sets.newHashSet();
+      List<Key> dataKeys = Lists.newArrayList();
+      for (String key : keys) {
+        if (key != null && keySet.add(key)) {
+          dataKeys.add(KeyFactory.createKey(getId(), key));
+        }
+      }
+      lock.lock();
+      try {
+        dataStoreService.delete(dataKeys);
+        if (memcache != null) {
+          memcache.deleteAll(keySet);
+        }
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
     @Override
     public DataStore<V> delete(String key) throws IOException {
       if (key == null) {
@@ -300,6 +399,9 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
     /** Memcache expiration policy on puts. */
     Expiration memcacheExpiration;
 
+    /** Codec of the values. */
+    DataStoreCodec codec = SerializationDataStoreCodec.getInstance();
+
     /** Returns whether to disable the memcache. */
     public final boolean getDisableMemcache() {
       return disableMemcache;
@@ -332,6 +434,28 @@ public class AppEngineDataStoreFactory extends AbstractDataStoreFactory {
       return this;
     }
 
+    /**
+     * Returns the codec of the values.
+     *
+     * @since 2.2
+     */
+    public final DataStoreCodec getCodec() {
+      return codec;
+    }
+
+    /**
+     * Sets the codec of the values ({@link SerializationDataStoreCodec} by default).
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     *
+     * @since 2.2
+     */
+    public Builder setCodec(DataStoreCodec codec) {
+      this.codec = Preconditions.checkNotNull(codec);
+      return this;
+    }
+
     /** Returns a new App Engine data store factory instance. */
     public AppEngineDataStoreFactory build() {
       return new AppEngineDataStoreFactory(this);
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, for example a stored baseline with the results of a change,
+ * and reports the benchmarks whose score or normalized allocation rate regressed by more than a
+ * threshold.
+ *
+ * <p>Usage: {@code BaselineComparison <baseline.json> <results.json> [thresholdPercent]}, where the
+ * threshold defaults to 10%. Exits with status 1 if any benchmark regressed.
+ */
+public final class BaselineComparison {
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println(
+          "Usage: BaselineComparison <baseline.json> <results.json> [thresholdPercent]");
+      System.exit(2);
+    }
+    double threshold = args.length == 3 ? Double.parseDouble(args[2]) : 10;
+    Map<String, JsonObject> baseline = read(args[0]);
+    Map<String, JsonObject> results = read(args[1]);
+    int regressions = 0;
+    System.out.println(
+        String.format(
+            Locale.ROOT,
+            "%-100s %14s %14s %8s %12s %12s %8s",
+            "Benchmark",
+            "Baseline",
+            "Current",
+            "Change",
+            "Base B/op",
+            "Cur B/op",
+            "Change"));
+    for (Map.Entry<String, JsonObject> entry : results.entrySet()) {
+      JsonObject before = baseline.get(entry.getKey());
+      if (before == null) {
+        continue;
+      }
+      JsonObject after = entry.getValue();
+      double scoreBefore = score(before.getAsJsonObject("primaryMetric"));
+      double scoreAfter = score(after.getAsJsonObject("primaryMetric"));
+      // higher is better for throughput, lower is better for the other modes
+      boolean higherIsBetter = "thrpt".equals(after.get("mode").getAsString());
+      double scoreChange = change(scoreBefore, scoreAfter);
+      boolean regressed = (higherIsBetter ? -scoreChange : scoreChange) > threshold;
+      double allocationBefore = allocation(before);
+      double allocationAfter = allocation(after);
+      double allocationChange = change(allocationBefore, allocationAfter);
+      // ignore tiny absolute allocation differences, which are measurement noise
+      if (allocationChange > threshold && allocationAfter - allocationBefore > 16) {
+        regressed = true;
+      }
+      if (regressed) {
+        regressions++;
+      }
+      System.out.println(
+          String.format(
+              Locale.ROOT,
+              "%-100s %14.3f %14.3f %+7.1f%% %12.1f %12.1f %+7.1f%%%s",
+              entry.getKey(),
+              scoreBefore,
+              scoreAfter,
+              scoreChange,
+              allocationBefore,
+              allocationAfter,
+              allocationChange,
+              regressed ? "  REGRESSION" : ""));
+    }
+    System.out.println(regressions + " regression(s) above " + threshold + "%");
+    System.exit(regressions == 0 ? 0 : 1);
+  }
+
+  /** Reads the results of a JMH JSON file keyed by benchmark name and parameters. */
+  private static Map<String, JsonObject> read(String path) throws IOException {
+    Map<String, JsonObject> results = new LinkedHashMap<String, JsonObject>();
+    Reader reader =
+        new InputStreamReader(Files.newInputStream(Paths.get(path)), StandardCharsets.UTF_8);
+    try {
+      JsonArray array = JsonParser.parseReader(reader).getAsJsonArray();
+      for (JsonElement element : array) {
+        JsonObject result = element.getAsJsonObject();
+        StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+        JsonObject params = result.getAsJsonObject("params");
+        if (params != null) {
+          Map<String, String> sorted = new TreeMap<String, String>();
+          for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+            sorted.put(param.getKey(), param.getValue().getAsString());
+          }
+          key.append(sorted);
+        }
+        results.put(key.toString(), result);
+      }
+    } finally {
+      reader.close();
+    }
+    return results;
+  }
+
+  private static double score(JsonObject metric) {
+    return metric == null ? Double.NaN : metric.get("score").getAsDouble();
+  }
+
+  private static double allocation(JsonObject result) {
+    JsonObject secondaryMetrics = result.getAsJsonObject("secondaryMetrics");
+    return secondaryMetrics == null
+        ? Double.NaN
+        : score(secondaryMetrics.getAsJsonObject(ALLOCATION_METRIC));
+  }
+
+  /** Returns the relative change in percent. */
+  private static double change(double before, double after) {
+    return before == 0 ? 0 : (after - before) * 100 / before;
+  }
+
+  private BaselineComparison() {}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.google.api.client.http.GZipDecoding;
+import com.google.api.client.http.GZipEncoding;
+import com.google.api.client.http.HttpDecoding;
+import com.google.api.client.http.brotli.BrotliDecoding;
+import com.google.api.client.http.zstd.ZstdDecoding;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.util.ByteArrayStreamingContent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of encoding and decoding JSON object lists, as returned by Google APIs, with gzip,
+ * Brotli and Zstandard.
+ *
+ * <p>Decoding uses {@link GZipDecoding}, {@link BrotliDecoding} and {@link ZstdDecoding}. Since the
+ * library only encodes requests with gzip, the Brotli and Zstandard content is encoded with the
+ * native Brotli4j and zstd-jni encoders, at Brotli quality {@value #BROTLI_QUALITY} and Zstandard
+ * level {@value #ZSTD_LEVEL}, which are common settings of servers compressing dynamic responses.
+ * Gzip is encoded with {@link GZipEncoding} at its default level.
+ *
+ * <p>The compression ratio of each encoding is printed by running this class:
+ *
+ * <pre>
+ * java -cp google-http-client-benchmarks/target/benchmarks.jar \
+ *     com.google.api.client.benchmarks.ContentEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentEncodingBenchmark {
+
+  /** Brotli quality of the encoded content. */
+  static final int BROTLI_QUALITY = 5;
+
+  /** Zstandard level of the encoded content. */
+  static final int ZSTD_LEVEL = 3;
+
+  @Param({"gzip", "br", "zstd"})
+  public String encoding;
+
+  @Param({"10", "100", "1000"})
+  public int itemCount;
+
+  private final GZipEncoding gzipEncoding = new GZipEncoding();
+
+  private final byte[] buffer = new byte[8192];
+
+  private HttpDecoding decoding;
+
+  private byte[] json;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    if ("br".equals(encoding)) {
+      Brotli4jLoader.ensureAvailability();
+      decoding = new BrotliDecoding();
+    } else if ("zstd".equals(encoding)) {
+      decoding = new ZstdDecoding();
+    } else {
+      decoding = new GZipDecoding();
+    }
+    json = newJson(itemCount);
+    encoded = encode(json);
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    return encode(json).length;
+  }
+
+  @Benchmark
+  public long decode() throws IOException {
+    InputStream in = decoding.decode(new ByteArrayInputStream(encoded));
+    long count = 0;
+    try {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        count += read;
+      }
+    } finally {
+      in.close();
+    }
+    return count;
+  }
+
+  private byte[] encode(byte[] data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+    if ("gzip".equals(encoding)) {
+      gzipEncoding.encode(new ByteArrayStreamingContent(data), out);
+    } else {
+      OutputStream encoder =
+          "br".equals(encoding)
+              ? new BrotliOutputStream(out, new Encoder.Parameters().setQuality(BROTLI_QUALITY))
+              : new ZstdOutputStream(out, ZSTD_LEVEL);
+      try {
+        encoder.write(data);
+      } finally {
+        encoder.close();
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /** Returns the JSON of an object list with the given number of items. */
+  static byte[] newJson(int itemCount) throws IOException {
+    return GsonFactory.getDefaultInstance().toByteArray(JsonBenchmark.newObjects(itemCount));
+  }
+
+  /** Prints the size of the encoded content and the compression ratio of each encoding. */
+  public static void main(String[] args) throws IOException {
+    System.out.printf("%-6s %6s %10s %10s %7s%n", "", "items", "bytes", "encoded", "ratio");
+    for (String encoding : new String[] {"gzip", "br", "zstd"}) {
+      for (int itemCount : new int[] {10, 100, 1000}) {
+        ContentEncodingBenchmark benchmark = new ContentEncodingBenchmark();
+        benchmark.encoding = encoding;
+        benchmark.itemCount = itemCount;
+        benchmark.setUp();
+        System.out.printf(
+            "%-6s %6d %10d %10d %7.2f%n",
+            encoding,
+            itemCount,
+            benchmark.json.length,
+            benchmark.encoded.length,
+            (double) benchmark.json.length / benchmark.encoded.length);
+      }
+    }
+  }
+}
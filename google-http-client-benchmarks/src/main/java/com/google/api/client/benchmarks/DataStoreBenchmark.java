@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.client.util.store.FileDataStoreFactory;
+import com.google.api.client.util.store.LogFileDataStoreFactory;
+import com.google.api.client.util.store.MappedFileDataStoreFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of updating a data store of {@link FileDataStoreFactory}, which rewrites all its
+ * entries immediately or in write-behind mode, compared to {@link LogFileDataStoreFactory}, which
+ * appends a record, with and without synchronizing it to the storage device, and to {@link
+ * MappedFileDataStoreFactory}, which also decodes the value on each read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataStoreBenchmark {
+
+  @Param({"file", "file-write-behind", "log", "log-sync", "mapped"})
+  public String factory;
+
+  /** Number of entries in the data store. */
+  @Param({"100", "10000"})
+  public int entries;
+
+  private Path dataDirectory;
+
+  private DataStoreFactory dataStoreFactory;
+
+  private DataStore<String> dataStore;
+
+  private int next;
+
+  @Setup
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("data-store-benchmark");
+    dataStoreFactory = newDataStoreFactory(dataDirectory.toFile());
+    dataStore = dataStoreFactory.getDataStore("credentials");
+    for (int i = 0; i < entries; i++) {
+      dataStore.set("user" + i, newCredential(i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    if (dataStoreFactory instanceof FileDataStoreFactory) {
+      ((FileDataStoreFactory) dataStoreFactory).shutdown();
+    }
+    try (Stream<Path> paths = Files.walk(dataDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  private DataStoreFactory newDataStoreFactory(File directory) throws IOException {
+    switch (factory) {
+      case "file":
+        return new FileDataStoreFactory(directory);
+      case "file-write-behind":
+        return new FileDataStoreFactory.Builder(directory)
+            .setWriteBehind(1, TimeUnit.SECONDS)
+            .build();
+      case "log":
+        return new LogFileDataStoreFactory(directory, false);
+      case "log-sync":
+        return new LogFileDataStoreFactory(directory, true);
+      case "mapped":
+        return new MappedFileDataStoreFactory.Builder(directory).setSyncWrites(false).build();
+      default:
+        throw new IllegalArgumentException(factory);
+    }
+  }
+
+  /** Replaces the value of an existing entry. */
+  @Benchmark
+  public DataStore<String> set() throws IOException {
+    int i = next++ % entries;
+    return dataStore.set("user" + i, newCredential(i + next));
+  }
+
+  /** Reads an existing entry. */
+  @Benchmark
+  public String get() throws IOException {
+    return dataStore.get("user" + (next++ % entries));
+  }
+
+  /** Returns a value the size of a serialized access token. */
+  static String newCredential(int i) {
+    return "ya29.a0AfB_byC" + i + "-access-token-of-a-typical-length-0123456789abcdefghijklmnop";
+  }
+}
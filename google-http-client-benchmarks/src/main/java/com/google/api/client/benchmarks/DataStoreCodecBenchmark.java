@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.store.CompactDataStoreCodec;
+import com.google.api.client.util.store.DataStoreCodec;
+import com.google.api.client.util.store.SerializationDataStoreCodec;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of encoding and decoding data store values with {@link SerializationDataStoreCodec}
+ * and {@link CompactDataStoreCodec}. The size of the encoded values is printed by {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataStoreCodecBenchmark {
+
+  @Param({"serialization", "compact"})
+  public String codec;
+
+  @Param({"token", "long", "boolean"})
+  public String value;
+
+  private DataStoreCodec dataStoreCodec;
+
+  private Serializable decoded;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    dataStoreCodec = newCodec(codec);
+    decoded = newValue(value);
+    encoded = dataStoreCodec.encode(decoded);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return dataStoreCodec.encode(decoded);
+  }
+
+  @Benchmark
+  public Serializable decode() throws IOException {
+    return dataStoreCodec.decode(encoded);
+  }
+
+  static DataStoreCodec newCodec(String codec) {
+    switch (codec) {
+      case "serialization":
+        return SerializationDataStoreCodec.getInstance();
+      case "compact":
+        return CompactDataStoreCodec.getDefaultInstance();
+      default:
+        throw new IllegalArgumentException(codec);
+    }
+  }
+
+  static Serializable newValue(String value) {
+    switch (value) {
+      case "token":
+        return "ya29.a0AfB_byC-access-token-of-a-typical-length-0123456789abcdefghijklmnop";
+      case "long":
+        return 1767225600000L;
+      case "boolean":
+        return Boolean.TRUE;
+      default:
+        throw new IllegalArgumentException(value);
+    }
+  }
+
+  /** Prints the size of the encoded values. */
+  public static void main(String[] args) throws IOException {
+    for (String value : new String[] {"token", "long", "boolean"}) {
+      for (String codec : new String[] {"serialization", "compact"}) {
+        System.out.println(
+            value + " " + codec + ": " + newCodec(codec).encode(newValue(value)).length + " bytes");
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.client.util.store.DataStoreUtils;
+import com.google.api.client.util.store.FileDataStoreFactory;
+import com.google.api.client.util.store.LogFileDataStoreFactory;
+import com.google.api.client.util.store.MappedFileDataStoreFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of opening a large data store and reading one of its values, with {@link
+ * FileDataStoreFactory} and {@link LogFileDataStoreFactory}, which read all the values, compared to
+ * {@link MappedFileDataStoreFactory}, which only reads the keys.
+ *
+ * <p>Run with {@code -prof gc} to compare the memory allocated by each open.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataStoreOpenBenchmark {
+
+  @Param({"file", "log", "mapped"})
+  public String factory;
+
+  /** Number of entries in the data store. */
+  @Param({"100000"})
+  public int entries;
+
+  private Path dataDirectory;
+
+  @Setup
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("data-store-open-benchmark");
+    DataStore<String> dataStore = newDataStoreFactory().getDataStore("credentials");
+    Map<String, String> values = new HashMap<>();
+    for (int i = 0; i < entries; i++) {
+      values.put("user" + i, DataStoreBenchmark.newCredential(i));
+    }
+    DataStoreUtils.setAll(dataStore, values);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(dataDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  private DataStoreFactory newDataStoreFactory() throws IOException {
+    File directory = dataDirectory.toFile();
+    switch (factory) {
+      case "file":
+        return new FileDataStoreFactory(directory);
+      case "log":
+        return new LogFileDataStoreFactory(directory, false);
+      case "mapped":
+        return new MappedFileDataStoreFactory.Builder(directory).setSyncWrites(false).build();
+      default:
+        throw new IllegalArgumentException(factory);
+    }
+  }
+
+  /** Opens the data store with a new factory, and reads a value. */
+  @Benchmark
+  public String open() throws IOException {
+    DataStore<String> dataStore = newDataStoreFactory().getDataStore("credentials");
+    return dataStore.get("user" + (entries / 2));
+  }
+}
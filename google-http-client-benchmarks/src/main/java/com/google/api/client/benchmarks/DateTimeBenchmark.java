@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.DateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of {@link DateTime#parseRfc3339} and {@link DateTime#toStringRfc3339}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeBenchmark {
+
+  @Param({"2025-01-06", "2025-01-06T10:00:00.123Z", "2025-01-06T10:00:00.123456789+05:30"})
+  public String value;
+
+  private DateTime dateTime;
+
+  private final StringBuilder builder = new StringBuilder();
+
+  @Setup
+  public void setUp() {
+    dateTime = DateTime.parseRfc3339(value);
+  }
+
+  @Benchmark
+  public DateTime parseRfc3339() {
+    return DateTime.parseRfc3339(value);
+  }
+
+  @Benchmark
+  public DateTime.SecondsAndNanos parseRfc3339ToSecondsAndNanos() {
+    return DateTime.parseRfc3339ToSecondsAndNanos(value);
+  }
+
+  @Benchmark
+  public String toStringRfc3339() {
+    return dateTime.toStringRfc3339();
+  }
+
+  @Benchmark
+  public StringBuilder appendRfc3339() {
+    builder.setLength(0);
+    return dateTime.appendRfc3339(builder);
+  }
+}
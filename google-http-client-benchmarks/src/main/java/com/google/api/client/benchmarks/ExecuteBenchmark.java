@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmarks of {@code HttpRequest.execute()} with each transport against a {@link
+ * LocalServer}, including reading the whole response content.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteBenchmark {
+
+  @Param({Transports.NET, Transports.APACHE_V2, Transports.APACHE_V5})
+  public String transport;
+
+  @Param({"128", "65536"})
+  public int responseSize;
+
+  private LocalServer server;
+
+  private HttpTransport httpTransport;
+
+  private HttpRequestFactory requestFactory;
+
+  private GenericUrl url;
+
+  private final byte[] buffer = new byte[8192];
+
+  @Setup
+  public void setUp() throws IOException {
+    server = new LocalServer.Builder().setResponseSize(responseSize).build();
+    httpTransport = Transports.newTransport(transport);
+    requestFactory = httpTransport.createRequestFactory();
+    url = new GenericUrl(server.getUrl() + "objects");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    httpTransport.shutdown();
+    server.stop();
+  }
+
+  @Benchmark
+  public long execute() throws IOException {
+    HttpResponse response = requestFactory.buildGetRequest(url).execute();
+    long count = 0;
+    try {
+      InputStream in = response.getContent();
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        count += read;
+      }
+    } finally {
+      // closes the content, which keeps the connection alive for reuse unlike disconnect()
+      response.ignore();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GZipDecoding;
+import com.google.api.client.http.GZipEncoding;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of gzip encoding with {@link GZipEncoding} and decoding with {@link GZipDecoding},
+ * compared to decoding with {@link GZIPInputStream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GZipBenchmark {
+
+  @Param({"1024", "65536", "1048576"})
+  public int size;
+
+  private final GZipEncoding encoding = new GZipEncoding();
+
+  private final GZipDecoding decoding = new GZipDecoding();
+
+  private final byte[] buffer = new byte[8192];
+
+  private ByteArrayContent content;
+
+  private byte[] compressed;
+
+  @Setup
+  public void setUp() throws IOException {
+    content = new ByteArrayContent("application/json", newJsonLikeData(size));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    encoding.encode(content, out);
+    compressed = out.toByteArray();
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length + 64);
+    encoding.encode(content, out);
+    return out.size();
+  }
+
+  @Benchmark
+  public long decode() throws IOException {
+    return drain(decoding.decode(new ByteArrayInputStream(compressed)));
+  }
+
+  @Benchmark
+  public long decodeWithGZipInputStream() throws IOException {
+    return drain(new GZIPInputStream(new ByteArrayInputStream(compressed)));
+  }
+
+  private long drain(InputStream in) throws IOException {
+    long count = 0;
+    try {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        count += read;
+      }
+    } finally {
+      in.close();
+    }
+    return count;
+  }
+
+  /** Returns compressible data of the given size, resembling a JSON response. */
+  static byte[] newJsonLikeData(int size) {
+    Random random = new Random(0);
+    byte[] data = new byte[size];
+    String[] words = {"\"name\":", "\"id\":", "\"size\":", "\"bucket\",", "{", "}", "[", "],"};
+    int i = 0;
+    while (i < size) {
+      String word = words[random.nextInt(words.length)];
+      for (int j = 0; j < word.length() && i < size; j++) {
+        data[i++] = (byte) word.charAt(j);
+      }
+      if (i < size) {
+        data[i++] = (byte) ('0' + random.nextInt(10));
+      }
+    }
+    return data;
+  }
+}
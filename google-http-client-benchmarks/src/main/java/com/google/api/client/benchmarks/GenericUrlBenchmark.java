@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.GenericUrl;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of parsing and building a {@link GenericUrl}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenericUrlBenchmark {
+
+  @Param({
+    "https://www.googleapis.com/storage/v1/b",
+    "https://user@www.googleapis.com:8443/upload/storage/v1/b/bucket/o"
+        + "?uploadType=resumable&name=a%2Fb%2Fc.txt&fields=id,name,size#frag"
+  })
+  public String url;
+
+  private GenericUrl genericUrl;
+
+  @Setup
+  public void setUp() {
+    genericUrl = new GenericUrl(url);
+  }
+
+  @Benchmark
+  public GenericUrl parse() {
+    return new GenericUrl(url);
+  }
+
+  @Benchmark
+  public String build() {
+    return genericUrl.build();
+  }
+
+  @Benchmark
+  public String setAndBuild() {
+    genericUrl.set("pageToken", "token");
+    return genericUrl.build();
+  }
+
+  @Benchmark
+  public String parseAndBuild() {
+    return new GenericUrl(url).build();
+  }
+}
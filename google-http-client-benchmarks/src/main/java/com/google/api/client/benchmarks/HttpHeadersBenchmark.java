@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of serializing and parsing {@link HttpHeaders}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpHeadersBenchmark {
+
+  private HttpHeaders headers;
+
+  private MockLowLevelHttpResponse response;
+
+  @Setup
+  public void setUp() {
+    headers =
+        new HttpHeaders()
+            .setAccept("application/json")
+            .setAcceptEncoding("gzip")
+            .setAuthorization("Bearer ya29.a0AfH6SMBx")
+            .setContentType("application/json; charset=UTF-8")
+            .setUserAgent("google-http-java-client/2.2 (gzip)")
+            .setIfNoneMatch("\"etag\"")
+            .set("x-goog-api-client", "gl-java/17 gdcl/2.2")
+            .set("x-goog-request-params", Arrays.asList("bucket=my-bucket", "object=a/b"));
+    response =
+        new MockLowLevelHttpResponse()
+            .addHeader("Content-Type", "application/json; charset=UTF-8")
+            .addHeader("Content-Length", "1024")
+            .addHeader("Cache-Control", "private, max-age=0, must-revalidate, no-transform")
+            .addHeader("Date", "Mon, 06 Jan 2025 10:00:00 GMT")
+            .addHeader("ETag", "\"CJiSkL3Vr+8CEAE=\"")
+            .addHeader("Expires", "Mon, 06 Jan 2025 10:00:00 GMT")
+            .addHeader("Server", "UploadServer")
+            .addHeader("Vary", "Origin")
+            .addHeader("Vary", "X-Origin")
+            .addHeader("X-GUploader-UploadID", "ADPycdtZkPDpx2eIVFs7Y0aTgK");
+  }
+
+  @Benchmark
+  public String serialize() throws IOException {
+    StringWriter writer = new StringWriter();
+    HttpHeaders.serializeHeadersForMultipartRequests(headers, null, null, writer);
+    return writer.toString();
+  }
+
+  @Benchmark
+  public HttpHeaders parse() throws IOException {
+    HttpHeaders parsed = new HttpHeaders();
+    parsed.fromHttpResponse(response, null);
+    return parsed;
+  }
+}
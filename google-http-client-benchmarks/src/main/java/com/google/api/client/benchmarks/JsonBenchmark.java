@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.DateTime;
+import com.google.api.client.util.Key;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of parsing and serializing JSON data classes with each {@link JsonFactory}.
+ *
+ * <p>{@code AndroidJsonFactory} is not included since it needs the Android runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  /** Object list, similar to the ones returned by Google APIs. */
+  public static class Objects extends GenericJson {
+    @Key public String kind;
+    @Key public String nextPageToken;
+    @Key public List<StorageObject> items;
+  }
+
+  /** Object metadata. */
+  public static class StorageObject extends GenericJson {
+    @Key public String id;
+    @Key public String name;
+    @Key public String bucket;
+    @Key public String contentType;
+    @Key public BigInteger size;
+    @Key public Long generation;
+    @Key public DateTime updated;
+    @Key public boolean temporaryHold;
+    @Key public List<String> tags;
+  }
+
+  @Param({"gson", "jackson2"})
+  public String factory;
+
+  @Param({"1", "100"})
+  public int itemCount;
+
+  private JsonFactory jsonFactory;
+
+  private Objects objects;
+
+  private String json;
+
+  @Setup
+  public void setUp() throws IOException {
+    jsonFactory = "gson".equals(factory) ? GsonFactory.getDefaultInstance() : new JacksonFactory();
+    objects = newObjects(itemCount);
+    json = jsonFactory.toString(objects);
+  }
+
+  /** Returns an object list with the given number of items. */
+  static Objects newObjects(int itemCount) {
+    Objects objects = new Objects();
+    objects.kind = "storage#objects";
+    objects.nextPageToken = "CgtwYXRoL3RvL29iag==";
+    objects.items = new ArrayList<StorageObject>();
+    for (int i = 0; i < itemCount; i++) {
+      StorageObject item = new StorageObject();
+      item.id = "my-bucket/path/to/object-" + i + "/1700000000000000";
+      item.name = "path/to/object-" + i;
+      item.bucket = "my-bucket";
+      item.contentType = "application/octet-stream";
+      item.size = BigInteger.valueOf(1024L * i);
+      item.generation = 1700000000000000L + i;
+      item.updated = new DateTime("2025-01-06T10:00:00.123Z");
+      item.temporaryHold = i % 2 == 0;
+      item.tags = new ArrayList<String>();
+      item.tags.add("tag-" + i);
+      item.tags.add("shared");
+      objects.items.add(item);
+    }
+    return objects;
+  }
+
+  @Benchmark
+  public Objects parse() throws IOException {
+    return jsonFactory.fromString(json, Objects.class);
+  }
+
+  @Benchmark
+  public String serialize() throws IOException {
+    return jsonFactory.toString(objects);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.metrics.Histogram;
+import com.google.api.client.util.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator that executes GET requests at a constant rate and records their latency.
+ *
+ * <p>Each thread sends requests on its own fixed schedule, so that the threads together send the
+ * target number of requests per second. When a response takes longer than the interval between two
+ * requests of a thread, the next request is sent as soon as possible, and its latency is measured
+ * from the time at which it should have been sent. This avoids coordinated omission: a slow
+ * response delays the requests behind it, and the recorded latencies include that delay, as they
+ * would for requests that arrive independently of each other. The time from actually sending the
+ * request to reading the whole response is also recorded as the service time.
+ *
+ * <p>Requests sent during the warm-up period are executed but not recorded.
+ */
+public final class LoadGenerator {
+
+  private final HttpRequestFactory requestFactory;
+
+  private final GenericUrl url;
+
+  private final double rate;
+
+  private final int threadCount;
+
+  private final long durationNanos;
+
+  private final long warmupNanos;
+
+  LoadGenerator(Builder builder) {
+    requestFactory = Preconditions.checkNotNull(builder.requestFactory);
+    url = Preconditions.checkNotNull(builder.url);
+    rate = builder.rate;
+    threadCount = builder.threadCount;
+    durationNanos = builder.durationNanos;
+    warmupNanos = builder.warmupNanos;
+  }
+
+  /** Runs the load for the warm-up period and the measured duration and returns the results. */
+  public LoadResult run() throws InterruptedException {
+    final Histogram latency = new Histogram();
+    final Histogram serviceTime = new Histogram();
+    final AtomicLong errorCount = new AtomicLong();
+    final long intervalNanos = (long) (threadCount * 1e9 / rate);
+    final long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+    final long measureNanos = startNanos + warmupNanos;
+    final long endNanos = measureNanos + durationNanos;
+    final CountDownLatch done = new CountDownLatch(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      final long offsetNanos = intervalNanos * i / threadCount;
+      Thread thread =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    for (long intended = startNanos + offsetNanos;
+                        intended < endNanos;
+                        intended += intervalNanos) {
+                      long now;
+                      while ((now = System.nanoTime()) < intended) {
+                        LockSupport.parkNanos(intended - now);
+                      }
+                      boolean success = execute();
+                      long end = System.nanoTime();
+                      if (intended >= measureNanos) {
+                        latency.record(end - intended);
+                        serviceTime.record(end - now);
+                        if (!success) {
+                          errorCount.incrementAndGet();
+                        }
+                      }
+                    }
+                  } finally {
+                    done.countDown();
+                  }
+                }
+              },
+              "load-generator-" + i);
+      thread.setDaemon(true);
+      thread.start();
+    }
+    done.await();
+    return new LoadResult(
+        rate,
+        System.nanoTime() - measureNanos,
+        latency.snapshot(),
+        serviceTime.snapshot(),
+        errorCount.get());
+  }
+
+  /** Executes a request and reads its content, returning whether it was successful. */
+  private boolean execute() {
+    byte[] buffer = new byte[8192];
+    try {
+      HttpResponse response = requestFactory.buildGetRequest(url).execute();
+      try {
+        InputStream in = response.getContent();
+        if (in != null) {
+          while (in.read(buffer) != -1) {
+            // consume the content
+          }
+        }
+      } finally {
+        // closes the content, which keeps the connection alive for reuse unlike disconnect()
+        response.ignore();
+      }
+      return true;
+    } catch (IOException e) {
+      return false;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  /** Builder for {@link LoadGenerator}. */
+  public static final class Builder {
+
+    HttpRequestFactory requestFactory;
+
+    GenericUrl url;
+
+    double rate = 100;
+
+    int threadCount = 8;
+
+    long durationNanos = TimeUnit.SECONDS.toNanos(10);
+
+    long warmupNanos = TimeUnit.SECONDS.toNanos(2);
+
+    /** Sets the request factory. */
+    public Builder setRequestFactory(HttpRequestFactory requestFactory) {
+      this.requestFactory = requestFactory;
+      return this;
+    }
+
+    /** Sets the URL of the requests. */
+    public Builder setUrl(GenericUrl url) {
+      this.url = url;
+      return this;
+    }
+
+    /** Sets the target number of requests per second. Defaults to 100. */
+    public Builder setRate(double rate) {
+      Preconditions.checkArgument(rate > 0);
+      this.rate = rate;
+      return this;
+    }
+
+    /** Sets the number of threads sending requests. Defaults to 8. */
+    public Builder setThreadCount(int threadCount) {
+      Preconditions.checkArgument(threadCount > 0);
+      this.threadCount = threadCount;
+      return this;
+    }
+
+    /** Sets the measured duration. Defaults to 10 seconds. */
+    public Builder setDuration(long duration, TimeUnit unit) {
+      Preconditions.checkArgument(duration > 0);
+      this.durationNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /** Sets the warm-up period before the measured duration. Defaults to 2 seconds. */
+    public Builder setWarmup(long warmup, TimeUnit unit) {
+      Preconditions.checkArgument(warmup >= 0);
+      this.warmupNanos = unit.toNanos(warmup);
+      return this;
+    }
+
+    /** Returns a new load generator. */
+    public LoadGenerator build() {
+      return new LoadGenerator(this);
+    }
+  }
+}
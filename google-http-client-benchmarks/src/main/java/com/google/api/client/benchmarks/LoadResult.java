@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.metrics.HistogramSnapshot;
+import java.util.Locale;
+
+/** Results of a {@link LoadGenerator} run. Latencies are in nanoseconds. */
+public final class LoadResult {
+
+  private final double targetRate;
+
+  private final long elapsedNanos;
+
+  private final HistogramSnapshot latency;
+
+  private final HistogramSnapshot serviceTime;
+
+  private final long errorCount;
+
+  LoadResult(
+      double targetRate,
+      long elapsedNanos,
+      HistogramSnapshot latency,
+      HistogramSnapshot serviceTime,
+      long errorCount) {
+    this.targetRate = targetRate;
+    this.elapsedNanos = elapsedNanos;
+    this.latency = latency;
+    this.serviceTime = serviceTime;
+    this.errorCount = errorCount;
+  }
+
+  /** Returns the target number of requests per second. */
+  public double getTargetRate() {
+    return targetRate;
+  }
+
+  /** Returns the number of completed requests per second during the measured duration. */
+  public double getThroughput() {
+    return latency.getCount() * 1e9 / elapsedNanos;
+  }
+
+  /** Returns the number of requests completed during the measured duration. */
+  public long getRequestCount() {
+    return latency.getCount();
+  }
+
+  /** Returns the number of requests that failed during the measured duration. */
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Returns the latencies from the time at which each request should have been sent, corrected for
+   * coordinated omission.
+   */
+  public HistogramSnapshot getLatency() {
+    return latency;
+  }
+
+  /** Returns the latencies from the time at which each request was actually sent. */
+  public HistogramSnapshot getServiceTime() {
+    return serviceTime;
+  }
+
+  /** Returns the header of the table of {@link #toRow rows}. */
+  public static String header() {
+    return String.format(
+        Locale.ROOT,
+        "%-24s %9s %9s %7s %9s %9s %9s %9s %9s %11s %11s",
+        "Configuration",
+        "target/s",
+        "actual/s",
+        "errors",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms",
+        "svc p50 ms",
+        "svc p99 ms");
+  }
+
+  /** Returns a row of the results table, labeled with the given name. */
+  public String toRow(String name) {
+    return String.format(
+        Locale.ROOT,
+        "%-24s %9.0f %9.0f %7d %9.3f %9.3f %9.3f %9.3f %9.3f %11.3f %11.3f",
+        name,
+        targetRate,
+        getThroughput(),
+        errorCount,
+        millis(latency.getMedian()),
+        millis(latency.get90thPercentile()),
+        millis(latency.get99thPercentile()),
+        millis(latency.getValueAtPercentile(99.9)),
+        millis(latency.getMax()),
+        millis(serviceTime.getMedian()),
+        millis(serviceTime.get99thPercentile()));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line load test that drives each transport with a {@link LoadGenerator} against a {@link
+ * LocalServer} and prints a table of throughput and latency, one row per transport and connection
+ * pool size.
+ *
+ * <p>Options, all optional, with their defaults:
+ *
+ * <ul>
+ *   <li>{@code --transports=net,apache-v2,apache-v5}: transports to compare
+ *   <li>{@code --rate=1000}: target requests per second
+ *   <li>{@code --threads=64}: number of threads sending requests
+ *   <li>{@code --duration=30}: measured duration in seconds
+ *   <li>{@code --warmup=5}: warm-up period in seconds
+ *   <li>{@code --response-size=1024}: response content size in bytes
+ *   <li>{@code --latency=0}: latency injected by the server in milliseconds
+ *   <li>{@code --gzip=false}: whether the server gzip encodes responses
+ *   <li>{@code --max-connections=20,64}: connection pool sizes of the Apache transports
+ * </ul>
+ *
+ * <p>For example, to answer which transport to run at 2000 requests per second with 64 threads
+ * against a server with a 5 ms latency:
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.google.api.client.benchmarks.LoadTest --rate=2000 --threads=64 \
+ *     --latency=5
+ * </pre>
+ */
+public final class LoadTest {
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Map<String, String> options = parseOptions(args);
+    List<String> transports =
+        Arrays.asList(option(options, "transports", "net,apache-v2,apache-v5").split(","));
+    double rate = Double.parseDouble(option(options, "rate", "1000"));
+    int threads = Integer.parseInt(option(options, "threads", "64"));
+    long duration = Long.parseLong(option(options, "duration", "30"));
+    long warmup = Long.parseLong(option(options, "warmup", "5"));
+    int responseSize = Integer.parseInt(option(options, "response-size", "1024"));
+    long latency = Long.parseLong(option(options, "latency", "0"));
+    boolean gzip = Boolean.parseBoolean(option(options, "gzip", "false"));
+    List<Integer> poolSizes = new ArrayList<Integer>();
+    int maxPoolSize = 0;
+    for (String poolSize : option(options, "max-connections", "20,64").split(",")) {
+      poolSizes.add(Integer.parseInt(poolSize));
+      maxPoolSize = Math.max(maxPoolSize, Integer.parseInt(poolSize));
+    }
+    if (System.getProperty("http.maxConnections") == null) {
+      System.setProperty("http.maxConnections", Integer.toString(maxPoolSize));
+    }
+
+    LocalServer server =
+        new LocalServer.Builder()
+            .setResponseSize(responseSize)
+            .setThreadCount(Math.max(4, Runtime.getRuntime().availableProcessors()))
+            .setBacklog(threads)
+            .setLatency(latency, TimeUnit.MILLISECONDS)
+            .setGzip(gzip)
+            .build();
+    try {
+      System.out.println(
+          String.format(
+              Locale.ROOT,
+              "rate=%.0f/s threads=%d duration=%ds warmup=%ds response-size=%d latency=%dms"
+                  + " gzip=%b",
+              rate,
+              threads,
+              duration,
+              warmup,
+              responseSize,
+              latency,
+              gzip));
+      System.out.println(LoadResult.header());
+      for (String transport : transports) {
+        if (Transports.NET.equals(transport)) {
+          System.out.println(
+              run(server, transport, maxPoolSize, rate, threads, duration, warmup)
+                  .toRow(transport));
+        } else {
+          for (int poolSize : poolSizes) {
+            System.out.println(
+                run(server, transport, poolSize, rate, threads, duration, warmup)
+                    .toRow(transport + " pool=" + poolSize));
+          }
+        }
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  private static LoadResult run(
+      LocalServer server,
+      String transport,
+      int poolSize,
+      double rate,
+      int threads,
+      long duration,
+      long warmup)
+      throws IOException, InterruptedException {
+    HttpTransport httpTransport = Transports.newTransport(transport, poolSize);
+    try {
+      return new LoadGenerator.Builder()
+          .setRequestFactory(httpTransport.createRequestFactory())
+          .setUrl(new GenericUrl(server.getUrl() + "load"))
+          .setRate(rate)
+          .setThreadCount(threads)
+          .setDuration(duration, TimeUnit.SECONDS)
+          .setWarmup(warmup, TimeUnit.SECONDS)
+          .build()
+          .run();
+    } finally {
+      httpTransport.shutdown();
+    }
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<String, String>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals == -1) {
+        throw new IllegalArgumentException("expected --name=value but got: " + arg);
+      }
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    return options;
+  }
+
+  private static String option(Map<String, String> options, String name, String defaultValue) {
+    String value = options.get(name);
+    return value == null ? defaultValue : value;
+  }
+
+  private LoadTest() {}
+}
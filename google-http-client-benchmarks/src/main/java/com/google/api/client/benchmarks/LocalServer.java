@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.Preconditions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process HTTP server on the loopback interface that returns a fixed response, optionally gzip
+ * encoded and after an injected latency.
+ *
+ * <p>Responses with an injected latency are written from a scheduler, so the latency does not
+ * occupy a handler thread and the server can have many more requests in flight than threads.
+ */
+public final class LocalServer {
+
+  static {
+    // Avoid Nagle's algorithm delaying responses written in several packets
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final HttpServer server;
+
+  private final ScheduledExecutorService executor;
+
+  private final byte[] body;
+
+  private final byte[] gzipBody;
+
+  private final long latencyNanos;
+
+  LocalServer(Builder builder) throws IOException {
+    body = GZipBenchmark.newJsonLikeData(builder.responseSize);
+    gzipBody = builder.gzip ? gzip(body) : null;
+    latencyNanos = builder.latencyNanos;
+    executor = Executors.newScheduledThreadPool(builder.threadCount);
+    server =
+        HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), builder.backlog);
+    server.createContext(
+        "/",
+        new HttpHandler() {
+          @Override
+          public void handle(final HttpExchange exchange) throws IOException {
+            InputStream in = exchange.getRequestBody();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+              // discard the request content
+            }
+            in.close();
+            if (latencyNanos == 0) {
+              respond(exchange);
+            } else {
+              executor.schedule(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      try {
+                        respond(exchange);
+                      } catch (IOException e) {
+                        exchange.close();
+                      }
+                    }
+                  },
+                  latencyNanos,
+                  TimeUnit.NANOSECONDS);
+            }
+          }
+        });
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  void respond(HttpExchange exchange) throws IOException {
+    byte[] content = body;
+    String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+    if (gzipBody != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+      content = gzipBody;
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, content.length == 0 ? -1 : content.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(content);
+    out.close();
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GZIPOutputStream out = new GZIPOutputStream(bytes);
+    out.write(data);
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  /** Returns the base URL of the server, ending with {@code "/"}. */
+  public String getUrl() {
+    return "http://localhost:" + server.getAddress().getPort() + "/";
+  }
+
+  /** Stops the server. */
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  /** Builder for {@link LocalServer}. */
+  public static final class Builder {
+
+    int responseSize = 1024;
+
+    int threadCount = 4;
+
+    int backlog = 0;
+
+    long latencyNanos;
+
+    boolean gzip;
+
+    /** Sets the number of bytes of the (decoded) response content. Defaults to 1024. */
+    public Builder setResponseSize(int responseSize) {
+      Preconditions.checkArgument(responseSize >= 0);
+      this.responseSize = responseSize;
+      return this;
+    }
+
+    /** Sets the number of threads handling requests. Defaults to 4. */
+    public Builder setThreadCount(int threadCount) {
+      Preconditions.checkArgument(threadCount > 0);
+      this.threadCount = threadCount;
+      return this;
+    }
+
+    /** Sets the size of the queue of incoming connections, or {@code 0} for the system default. */
+    public Builder setBacklog(int backlog) {
+      Preconditions.checkArgument(backlog >= 0);
+      this.backlog = backlog;
+      return this;
+    }
+
+    /** Sets the latency added before responding. Defaults to none. */
+    public Builder setLatency(long latency, TimeUnit unit) {
+      Preconditions.checkArgument(latency >= 0);
+      this.latencyNanos = unit.toNanos(latency);
+      return this;
+    }
+
+    /** Sets whether responses are gzip encoded if the request accepts it. Defaults to false. */
+    public Builder setGzip(boolean gzip) {
+      this.gzip = gzip;
+      return this;
+    }
+
+    /** Starts a new server. */
+    public LocalServer build() throws IOException {
+      return new LocalServer(this);
+    }
+  }
+}
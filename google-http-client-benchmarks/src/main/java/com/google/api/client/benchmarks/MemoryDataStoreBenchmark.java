@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.store.ConcurrentMemoryDataStoreFactory;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.client.util.store.MemoryDataStoreFactory;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Multi-threaded benchmarks of credential lookups in a data store of {@link
+ * MemoryDataStoreFactory}, compared to {@link ConcurrentMemoryDataStoreFactory} with and without
+ * cached values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryDataStoreBenchmark {
+
+  /** Number of entries in the data store. */
+  private static final int ENTRIES = 1000;
+
+  @Param({"memory", "concurrent", "concurrent-cached"})
+  public String factory;
+
+  private DataStore<String> dataStore;
+
+  @Setup
+  public void setUp() throws IOException {
+    dataStore = newDataStoreFactory().getDataStore("credentials");
+    for (int i = 0; i < ENTRIES; i++) {
+      dataStore.set("user" + i, newCredential(i));
+    }
+  }
+
+  private DataStoreFactory newDataStoreFactory() {
+    switch (factory) {
+      case "memory":
+        return new MemoryDataStoreFactory();
+      case "concurrent":
+        return new ConcurrentMemoryDataStoreFactory();
+      case "concurrent-cached":
+        return new ConcurrentMemoryDataStoreFactory(true);
+      default:
+        throw new IllegalArgumentException(factory);
+    }
+  }
+
+  /** Looks up a credential from 8 threads. */
+  @Benchmark
+  @Threads(8)
+  public String get() throws IOException {
+    return dataStore.get(randomKey());
+  }
+
+  /** Looks up a credential from 7 threads, while another thread refreshes credentials. */
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(7)
+  public String mixedGet() throws IOException {
+    return dataStore.get(randomKey());
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public DataStore<String> mixedSet() throws IOException {
+    int i = ThreadLocalRandom.current().nextInt(ENTRIES);
+    return dataStore.set("user" + i, newCredential(i));
+  }
+
+  /** Checks whether a credential exists from 8 threads. */
+  @Benchmark
+  @Threads(8)
+  public boolean containsKey() throws IOException {
+    return dataStore.containsKey(randomKey());
+  }
+
+  private static String randomKey() {
+    return "user" + ThreadLocalRandom.current().nextInt(ENTRIES);
+  }
+
+  /** Returns a value the size of a serialized access token. */
+  private static String newCredential(int i) {
+    return "ya29.a0AfB_byC" + i + "-access-token-of-a-typical-length-0123456789abcdefghijklmnop";
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.escape.CharEscapers;
+import com.google.api.client.util.escape.PercentEscaper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of {@link PercentEscaper} and {@link CharEscapers}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentEscaperBenchmark {
+
+  @Param({
+    "storage-v1-objects-list",
+    "projects/my-project/locations/us-central1/functions/my-function/versions/latest",
+    "path/to/an object (copy).txt",
+    "a%2Fb%20c/d e",
+    "café 日本"
+  })
+  public String value;
+
+  private String escaped;
+
+  private final PercentEscaper escaper =
+      new PercentEscaper(PercentEscaper.SAFECHARS_URLENCODER, true);
+
+  @Setup
+  public void setUp() {
+    escaped = CharEscapers.escapeUri(value);
+  }
+
+  @Benchmark
+  public String escape() {
+    return escaper.escape(value);
+  }
+
+  @Benchmark
+  public String escapeUriPath() {
+    return CharEscapers.escapeUriPath(value);
+  }
+
+  @Benchmark
+  public String escapeUriConformant() {
+    return CharEscapers.escapeUriConformant(value);
+  }
+
+  @Benchmark
+  public String escapeUriQuery() {
+    return CharEscapers.escapeUriQuery(value);
+  }
+
+  @Benchmark
+  public String escapeUriUserInfo() {
+    return CharEscapers.escapeUriUserInfo(value);
+  }
+
+  @Benchmark
+  public String escapeUriPathWithoutReservedAndPercentEncoded() {
+    return CharEscapers.escapeUriPathWithoutReservedAndPercentEncoded(value);
+  }
+
+  @Benchmark
+  public String decodeUri() {
+    return CharEscapers.decodeUri(escaped);
+  }
+}
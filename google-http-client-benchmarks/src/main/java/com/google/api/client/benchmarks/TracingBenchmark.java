@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.OpenCensusUtils;
+import com.google.api.client.http.opentelemetry.OpenTelemetryTracing;
+import com.google.api.client.testing.http.MockHttpTransport;
+import io.opencensus.trace.Tracing;
+import io.opencensus.trace.config.TraceParams;
+import io.opencensus.trace.samplers.Samplers;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the per-request overhead of tracing, executing requests against a {@link
+ * MockHttpTransport} with tracing disabled, and with OpenCensus or OpenTelemetry spans that are
+ * sampled or not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TracingBenchmark {
+
+  @Param({
+    "disabled",
+    "opencensus-unsampled",
+    "opencensus-sampled",
+    "opentelemetry-unsampled",
+    "opentelemetry-sampled"
+  })
+  public String mode;
+
+  private TraceParams originalTraceParams;
+
+  private HttpRequestFactory requestFactory;
+
+  private final GenericUrl url = new GenericUrl("https://www.googleapis.com/storage/v1/b/bucket");
+
+  @Setup
+  public void setUp() {
+    MockHttpTransport transport = new MockHttpTransport();
+    originalTraceParams = Tracing.getTraceConfig().getActiveTraceParams();
+    OpenCensusUtils.setIsTracingEnabled(mode.startsWith("opencensus-"));
+    if (mode.startsWith("opencensus-")) {
+      Tracing.getTraceConfig()
+          .updateActiveTraceParams(
+              originalTraceParams
+                  .toBuilder()
+                  .setSampler(
+                      mode.endsWith("-sampled") ? Samplers.alwaysSample() : Samplers.neverSample())
+                  .build());
+    } else if (mode.startsWith("opentelemetry-")) {
+      OpenTelemetrySdk openTelemetry =
+          OpenTelemetrySdk.builder()
+              .setTracerProvider(
+                  SdkTracerProvider.builder()
+                      .setSampler(
+                          mode.endsWith("-sampled") ? Sampler.alwaysOn() : Sampler.alwaysOff())
+                      .build())
+              .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+              .build();
+      transport.setEventListenerFactory(new OpenTelemetryTracing(openTelemetry));
+    }
+    requestFactory = transport.createRequestFactory();
+  }
+
+  @TearDown
+  public void tearDown() {
+    OpenCensusUtils.setIsTracingEnabled(true);
+    Tracing.getTraceConfig().updateActiveTraceParams(originalTraceParams);
+  }
+
+  @Benchmark
+  public int execute() throws IOException {
+    return requestFactory.buildGetRequest(url).execute().getStatusCode();
+  }
+}
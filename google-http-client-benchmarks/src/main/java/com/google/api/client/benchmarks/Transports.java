@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.client.http.apache.v5.Apache5HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+
+/** Names of the {@link HttpTransport} implementations that are benchmarked. */
+public final class Transports {
+
+  /** {@link NetHttpTransport}. */
+  public static final String NET = "net";
+
+  /** {@link ApacheHttpTransport}. */
+  public static final String APACHE_V2 = "apache-v2";
+
+  /** {@link Apache5HttpTransport}. */
+  public static final String APACHE_V5 = "apache-v5";
+
+  /** Returns a new transport with the default settings for the given name. */
+  public static HttpTransport newTransport(String name) {
+    if (NET.equals(name)) {
+      return new NetHttpTransport();
+    }
+    if (APACHE_V2.equals(name)) {
+      return new ApacheHttpTransport();
+    }
+    if (APACHE_V5.equals(name)) {
+      return new Apache5HttpTransport();
+    }
+    throw new IllegalArgumentException("unknown transport: " + name);
+  }
+
+  /**
+   * Returns a new transport for the given name whose connection pool keeps up to the given number
+   * of connections to the server.
+   *
+   * <p>The pool of {@link NetHttpTransport} is shared by the JVM and is sized by the {@code
+   * http.maxConnections} system property instead, which must be set before the first connection.
+   */
+  public static HttpTransport newTransport(String name, int maxConnections) {
+    if (APACHE_V2.equals(name)) {
+      return new ApacheHttpTransport(
+          ApacheHttpTransport.newDefaultHttpClientBuilder()
+              .setMaxConnTotal(maxConnections)
+              .setMaxConnPerRoute(maxConnections)
+              .build());
+    }
+    if (APACHE_V5.equals(name)) {
+      PoolingHttpClientConnectionManager connectionManager =
+          PoolingHttpClientConnectionManagerBuilder.create()
+              .setMaxConnTotal(maxConnections)
+              .setMaxConnPerRoute(maxConnections)
+              .build();
+      return new Apache5HttpTransport(
+          Apache5HttpTransport.newDefaultHttpClientBuilder()
+              .setConnectionManager(connectionManager)
+              .build());
+    }
+    return newTransport(name);
+  }
+
+  private Transports() {}
+}
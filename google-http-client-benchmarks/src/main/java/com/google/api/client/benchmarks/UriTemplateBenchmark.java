@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.http.UriTemplate;
+import com.google.api.client.util.GenericData;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of {@link UriTemplate#expand} and {@link UriTemplate.Compiled#expand}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UriTemplateBenchmark {
+
+  private static final String BASE_URL = "https://www.googleapis.com/storage/v1/";
+
+  private static final String URI_TEMPLATE = "b/{bucket}/o/{object}{?fields,prefix*}";
+
+  private GenericData parameters;
+
+  private UriTemplate.Compiled compiledTemplate;
+
+  private final StringBuilder builder = new StringBuilder();
+
+  @Setup
+  public void setUp() {
+    parameters = new GenericData();
+    parameters.set("bucket", "my-bucket");
+    parameters.set("object", "path/to/an object.txt");
+    parameters.set("fields", "items(id,name,size)");
+    parameters.set("prefix", Arrays.asList("a", "b/c"));
+    parameters.set("uploadType", "media");
+    compiledTemplate = UriTemplate.compile(BASE_URL, URI_TEMPLATE);
+  }
+
+  @Benchmark
+  public String expand() {
+    return UriTemplate.expand(BASE_URL, URI_TEMPLATE, parameters, true);
+  }
+
+  @Benchmark
+  public String expandCompiled() {
+    return compiledTemplate.expand(parameters, true);
+  }
+
+  @Benchmark
+  public StringBuilder expandCompiledIntoBuilder() {
+    builder.setLength(0);
+    return compiledTemplate.expand(parameters, true, builder);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import com.google.api.client.util.Key;
+import com.google.api.client.xml.XmlNamespaceDictionary;
+import com.google.api.client.xml.XmlObjectParser;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of parsing an Atom feed with {@link XmlObjectParser}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlBenchmark {
+
+  /** Atom feed. */
+  public static class Feed {
+    @Key public String title;
+    @Key public String updated;
+
+    @Key("entry")
+    public List<Entry> entries;
+  }
+
+  /** Atom entry. */
+  public static class Entry {
+    @Key public String id;
+    @Key public String title;
+    @Key public String updated;
+    @Key public String summary;
+  }
+
+  private XmlObjectParser parser;
+
+  private String xml;
+
+  @Setup
+  public void setUp() {
+    parser =
+        new XmlObjectParser(new XmlNamespaceDictionary().set("", "http://www.w3.org/2005/Atom"));
+    StringBuilder builder =
+        new StringBuilder(
+            "<?xml version=\"1.0\"?><feed xmlns=\"http://www.w3.org/2005/Atom\">"
+                + "<title>Benchmark feed</title><updated>2025-01-06T10:00:00Z</updated>");
+    for (int i = 0; i < 20; i++) {
+      builder
+          .append("<entry><id>urn:uuid:entry-")
+          .append(i)
+          .append("</id><title>Entry ")
+          .append(i)
+          .append("</title><updated>2025-01-06T10:00:00Z</updated><summary>Summary of entry ")
+          .append(i)
+          .append("</summary></entry>");
+    }
+    xml = builder.append("</feed>").toString();
+  }
+
+  @Benchmark
+  public Feed parse() throws IOException {
+    return parser.parseAndClose(new StringReader(xml), Feed.class);
+  }
+}
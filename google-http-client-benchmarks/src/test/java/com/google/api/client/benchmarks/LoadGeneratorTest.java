@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.util.IOUtils;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link LoadGenerator} and {@link LocalServer}. */
+@RunWith(JUnit4.class)
+public class LoadGeneratorTest {
+
+  @Test
+  public void testLocalServerGzipAndLatency() throws Exception {
+    LocalServer server =
+        new LocalServer.Builder()
+            .setResponseSize(4096)
+            .setGzip(true)
+            .setLatency(20, TimeUnit.MILLISECONDS)
+            .build();
+    HttpTransport transport = Transports.newTransport(Transports.NET);
+    try {
+      long start = System.nanoTime();
+      HttpResponse response =
+          transport
+              .createRequestFactory()
+              .buildGetRequest(new GenericUrl(server.getUrl()))
+              .execute();
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      IOUtils.copy(response.getContent(), content);
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+      assertEquals("gzip", response.getContentEncoding());
+      assertEquals(4096, content.size());
+    } finally {
+      transport.shutdown();
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testRun() throws Exception {
+    LocalServer server =
+        new LocalServer.Builder().setLatency(50, TimeUnit.MILLISECONDS).setThreadCount(2).build();
+    HttpTransport transport = Transports.newTransport(Transports.APACHE_V5, 8);
+    try {
+      LoadResult result =
+          new LoadGenerator.Builder()
+              .setRequestFactory(transport.createRequestFactory())
+              .setUrl(new GenericUrl(server.getUrl()))
+              .setRate(100)
+              .setThreadCount(8)
+              .setDuration(1, TimeUnit.SECONDS)
+              .setWarmup(200, TimeUnit.MILLISECONDS)
+              .build()
+              .run();
+      assertEquals(0, result.getErrorCount());
+      // 100 requests per second over 1 second, allowing for the scheduling of the threads
+      assertTrue(result.toRow("test"), Math.abs(result.getRequestCount() - 100) <= 8);
+      // requests overlap, since each one takes longer than the interval between two of them
+      assertTrue(result.getLatency().getMedian() >= TimeUnit.MILLISECONDS.toNanos(45));
+      assertTrue(result.getServiceTime().getMax() <= result.getLatency().getMax());
+    } finally {
+      transport.shutdown();
+      server.stop();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.brotli;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.api.client.http.GZipDecoding;
+import com.google.api.client.http.HttpDecodingRegistry;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link BrotliDecoding}. */
+@RunWith(JUnit4.class)
+public class BrotliDecodingTest {
+
+  private static final String SAMPLE = "{\"kind\":\"sample\",\"items\":[{\"id\":1},{\"id\":2}]}";
+
+  /**
+   * Returns the given data (at most 65536 bytes) as a Brotli stream consisting of a single
+   * uncompressed meta-block followed by an empty last meta-block (RFC 7932 section 9.2).
+   */
+  static byte[] toUncompressedBrotli(byte[] data) {
+    // WBITS = 16 (1 bit: 0), ISLAST = 0 (1 bit), MNIBBLES = 4 (2 bits: 0), MLEN - 1 (16 bits),
+    // ISUNCOMPRESSED = 1 (1 bit), padded to a byte boundary with zero bits
+    int header = (data.length - 1) << 4 | 1 << 20;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(header);
+    out.write(header >> 8);
+    out.write(header >> 16);
+    out.write(data, 0, data.length);
+    // ISLAST = 1, ISLASTEMPTY = 1
+    out.write(3);
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testDecode() throws IOException {
+    byte[] encoded = toUncompressedBrotli(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    InputStream decoded = new BrotliDecoding().decode(new ByteArrayInputStream(encoded));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IOUtils.copy(decoded, out);
+    assertEquals(SAMPLE, new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testExecute() throws IOException {
+    MockLowLevelHttpResponse lowLevelResponse =
+        new MockLowLevelHttpResponse()
+            .setContentType("application/json")
+            .setContentEncoding("br")
+            .setContent(toUncompressedBrotli(SAMPLE.getBytes(StandardCharsets.UTF_8)));
+    MockLowLevelHttpRequest lowLevelRequest =
+        new MockLowLevelHttpRequest().setResponse(lowLevelResponse);
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setDecodingRegistry(
+        new HttpDecodingRegistry.Builder()
+            .add(new BrotliDecoding())
+            .add(new GZipDecoding(), "x-gzip")
+            .build());
+    assertEquals(SAMPLE, request.execute().parseAsString());
+    assertEquals("br, gzip", lowLevelRequest.getFirstHeaderValue("Accept-Encoding"));
+  }
+}
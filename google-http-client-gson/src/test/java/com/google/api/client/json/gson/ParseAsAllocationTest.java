@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.json.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonObjectParser;
+import com.google.api.client.json.JsonString;
+import com.google.api.client.test.util.AllocationMeter;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.DateTime;
+import com.google.api.client.util.Key;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Allocation regression test of {@link com.google.api.client.http.HttpResponse#parseAs} with {@link
+ * GsonFactory}, which fails when the number of bytes allocated per parse exceeds its budget.
+ *
+ * <p>Lower the budget when an optimization reduces the allocations, to lock in the reduction.
+ */
+public class ParseAsAllocationTest {
+
+  static final long PARSE_AS_BUDGET = 28000;
+
+  /** Typical JSON response describing a storage object. */
+  static final String JSON =
+      "{\"kind\":\"storage#object\","
+          + "\"id\":\"bucket/path/to/object/1700000000000000\","
+          + "\"selfLink\":\"https://www.googleapis.com/storage/v1/b/bucket/o/path%2Fto%2Fobject\","
+          + "\"name\":\"path/to/object\",\"bucket\":\"bucket\","
+          + "\"generation\":\"1700000000000000\",\"metageneration\":\"1\","
+          + "\"contentType\":\"application/octet-stream\","
+          + "\"timeCreated\":\"2023-11-14T22:13:20.000Z\","
+          + "\"updated\":\"2023-11-14T22:13:20.000Z\","
+          + "\"size\":\"1048576\",\"md5Hash\":\"1B2M2Y8AsgTpgAmY7PhCfg==\","
+          + "\"crc32c\":\"AAAAAA==\",\"etag\":\"CICAgICAgICAAQ==\","
+          + "\"metadata\":{\"owner\":\"someone\",\"purpose\":\"test\"},"
+          + "\"acl\":[{\"entity\":\"user-someone\",\"role\":\"OWNER\"},"
+          + "{\"entity\":\"allUsers\",\"role\":\"READER\"}]}";
+
+  /** Storage object. */
+  public static class StorageObject extends GenericJson {
+    @Key String kind;
+    @Key String id;
+    @Key String selfLink;
+    @Key String name;
+    @Key String bucket;
+    @Key @JsonString Long generation;
+    @Key @JsonString Long metageneration;
+    @Key String contentType;
+    @Key DateTime timeCreated;
+    @Key DateTime updated;
+    @Key @JsonString BigInteger size;
+    @Key String md5Hash;
+    @Key String crc32c;
+    @Key String etag;
+    @Key Map<String, String> metadata;
+    @Key List<Acl> acl;
+  }
+
+  /** Access control entry. */
+  public static class Acl extends GenericJson {
+    @Key String entity;
+    @Key String role;
+  }
+
+  @Before
+  public void setUp() {
+    assumeTrue(AllocationMeter.isSupported());
+  }
+
+  @Test
+  public void testParseAs() throws Exception {
+    HttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest(url) {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                return new MockLowLevelHttpResponse()
+                    .setContentType("application/json; charset=UTF-8")
+                    .setContent(JSON);
+              }
+            };
+          }
+        };
+    final HttpRequestFactory requestFactory = transport.createRequestFactory();
+    final GenericUrl url = new GenericUrl("https://www.googleapis.com/storage/v1/b/bucket/o/obj");
+    final JsonObjectParser parser = new JsonObjectParser(GsonFactory.getDefaultInstance());
+    StorageObject object =
+        requestFactory
+            .buildGetRequest(url)
+            .setParser(parser)
+            .execute()
+            .parseAs(StorageObject.class);
+    assertEquals("path/to/object", object.name);
+    assertEquals(2, object.acl.size());
+    long bytes =
+        AllocationMeter.bytesPerOperation(
+            new AllocationMeter.Operation() {
+              public void run() throws Exception {
+                requestFactory
+                    .buildGetRequest(url)
+                    .setParser(parser)
+                    .execute()
+                    .parseAs(StorageObject.class);
+              }
+            });
+    assertTrue(
+        "HttpRequest.execute().parseAs allocated "
+            + bytes
+            + " bytes per operation, over its budget of "
+            + PARSE_AS_BUDGET,
+        bytes <= PARSE_AS_BUDGET);
+  }
+}
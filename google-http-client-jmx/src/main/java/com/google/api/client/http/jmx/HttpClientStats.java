@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.jmx;
+
+import com.google.api.client.http.ConnectionPoolStats;
+import com.google.api.client.http.HttpEventListener;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.util.Preconditions;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live statistics of the requests of an {@link HttpTransport} or of an {@link HttpRequestFactory},
+ * registered as an MXBean with the platform MBean server.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>{@code
+ * HttpClientStats stats = HttpClientStats.register(transport, "storage");
+ * ...
+ * stats.unregister();
+ * }</pre>
+ *
+ * <p>Registration installs the statistics as the {@link HttpEventListener.Factory} of the transport
+ * or request factory, {@link HttpEventListener#compose composed} with the factory that was
+ * installed before, if any. The MXBean is named {@code
+ * com.google.api.client.http:type=HttpTransport,name="storage"} for a transport and {@code
+ * com.google.api.client.http:type=HttpRequestFactory,name="storage"} for a request factory.
+ * Requests built by a request factory with registered statistics are also counted by the statistics
+ * registered for its transport.
+ *
+ * <p>Counters are {@link LongAdder}s, so recording is cheap under contention, and only the
+ * exception counters allocate, the first time an exception class is seen.
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class HttpClientStats implements HttpEventListener.Factory, HttpClientStatsMXBean {
+
+  /** Domain of the object names of the MXBeans. */
+  public static final String DOMAIN = "com.google.api.client.http";
+
+  /** Number of status classes. */
+  private static final int STATUS_CLASS_COUNT = 6;
+
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder inFlightRequests = new LongAdder();
+  private final LongAdder retryingRequests = new LongAdder();
+  private final LongAdder attemptCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+  private final LongAdder backOffCount = new LongAdder();
+  private final LongAdder backOffMillis = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+
+  /** Number of responses by status class, where index {@code 0} is for unknown status codes. */
+  private final LongAdder[] responseCounts = new LongAdder[STATUS_CLASS_COUNT];
+
+  /** Number of exceptions by class name. */
+  private final ConcurrentMap<String, LongAdder> exceptionCounts = new ConcurrentHashMap<>();
+
+  /** Transport whose connection pool is reported. */
+  private final HttpTransport transport;
+
+  /** Object name of the MXBean or {@code null} if not registered. */
+  private volatile ObjectName objectName;
+
+  /** @param transport transport whose connection pool is reported */
+  HttpClientStats(HttpTransport transport) {
+    this.transport = Preconditions.checkNotNull(transport);
+    for (int i = 0; i < STATUS_CLASS_COUNT; i++) {
+      responseCounts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Installs statistics as the event listener factory of the given transport and registers them
+   * with the platform MBean server.
+   *
+   * @param transport HTTP transport
+   * @param name name of the transport in the object name of the MXBean
+   * @return registered statistics
+   */
+  public static HttpClientStats register(HttpTransport transport, String name) throws JMException {
+    HttpClientStats stats = new HttpClientStats(transport);
+    stats.registerMBean("HttpTransport", name);
+    transport.setEventListenerFactory(
+        HttpEventListener.compose(transport.getEventListenerFactory(), stats));
+    return stats;
+  }
+
+  /**
+   * Installs statistics as the event listener factory of the given request factory and registers
+   * them with the platform MBean server.
+   *
+   * @param requestFactory HTTP request factory
+   * @param name name of the request factory in the object name of the MXBean
+   * @return registered statistics
+   */
+  public static HttpClientStats register(HttpRequestFactory requestFactory, String name)
+      throws JMException {
+    final HttpTransport transport = requestFactory.getTransport();
+    HttpEventListener.Factory delegate = requestFactory.getEventListenerFactory();
+    if (delegate == null) {
+      // keep the events flowing to whatever is installed on the transport
+      delegate =
+          request -> {
+            HttpEventListener.Factory factory = transport.getEventListenerFactory();
+            return factory == null ? null : factory.newEventListener(request);
+          };
+    }
+    HttpClientStats stats = new HttpClientStats(transport);
+    stats.registerMBean("HttpRequestFactory", name);
+    requestFactory.setEventListenerFactory(HttpEventListener.compose(delegate, stats));
+    return stats;
+  }
+
+  private void registerMBean(String type, String name) throws JMException {
+    ObjectName newObjectName =
+        new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, newObjectName);
+    objectName = newObjectName;
+  }
+
+  /** Returns the object name of the MXBean or {@code null} if it is not registered. */
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  /**
+   * Unregisters the MXBean. Statistics are still recorded until they are replaced as the event
+   * listener factory of the transport or request factory.
+   */
+  public void unregister() throws JMException {
+    ObjectName name = objectName;
+    if (name != null) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      objectName = null;
+    }
+  }
+
+  @Override
+  public HttpEventListener newEventListener(HttpRequest request) {
+    return new StatsListener();
+  }
+
+  @Override
+  public long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  @Override
+  public long getInFlightRequests() {
+    return inFlightRequests.sum();
+  }
+
+  @Override
+  public long getRetryingRequests() {
+    return retryingRequests.sum();
+  }
+
+  @Override
+  public long getAttemptCount() {
+    return attemptCount.sum();
+  }
+
+  @Override
+  public long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  @Override
+  public long getBackOffCount() {
+    return backOffCount.sum();
+  }
+
+  @Override
+  public long getBackOffMillis() {
+    return backOffMillis.sum();
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent.sum();
+  }
+
+  @Override
+  public long getBytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  @Override
+  public Map<String, Long> getResponseCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    for (int i = 0; i < STATUS_CLASS_COUNT; i++) {
+      long count = responseCounts[i].sum();
+      if (count != 0) {
+        counts.put(i == 0 ? "other" : i + "xx", count);
+      }
+    }
+    return counts;
+  }
+
+  @Override
+  public Map<String, Long> getExceptionCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    for (Map.Entry<String, LongAdder> entry : exceptionCounts.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().sum());
+    }
+    return counts;
+  }
+
+  @Override
+  public int getPoolLeased() {
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    return stats == null ? -1 : stats.getLeased();
+  }
+
+  @Override
+  public int getPoolPending() {
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    return stats == null ? -1 : stats.getPending();
+  }
+
+  @Override
+  public int getPoolAvailable() {
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    return stats == null ? -1 : stats.getAvailable();
+  }
+
+  @Override
+  public int getPoolMax() {
+    ConnectionPoolStats stats = transport.getConnectionPoolStats();
+    return stats == null ? -1 : stats.getMax();
+  }
+
+  /** Listener of a single request execution. */
+  private final class StatsListener extends HttpEventListener {
+
+    /** Whether the execution was retried. */
+    private boolean retried;
+
+    @Override
+    public void executeStart(long nanoTime) {
+      requestCount.increment();
+      inFlightRequests.increment();
+    }
+
+    @Override
+    public void attemptStart(int attempt, long nanoTime) {
+      attemptCount.increment();
+      if (attempt > 0) {
+        retryCount.increment();
+        if (!retried) {
+          retried = true;
+          retryingRequests.increment();
+        }
+      }
+    }
+
+    @Override
+    public void requestBodyEnd(long byteCount, long nanoTime) {
+      bytesSent.add(byteCount);
+    }
+
+    @Override
+    public void backOff(long millis, long nanoTime) {
+      backOffCount.increment();
+      backOffMillis.add(millis);
+    }
+
+    @Override
+    public void executeEnd(int statusCode, long nanoTime) {
+      end();
+      responseCounts[statusCode >= 100 && statusCode < 600 ? statusCode / 100 : 0].increment();
+    }
+
+    @Override
+    public void executeFailed(Exception exception, long nanoTime) {
+      end();
+      exceptionCounts
+          .computeIfAbsent(exception.getClass().getName(), name -> new LongAdder())
+          .increment();
+    }
+
+    @Override
+    public void responseBodyEnd(long byteCount, long nanoTime) {
+      bytesReceived.add(byteCount);
+    }
+
+    private void end() {
+      inFlightRequests.decrement();
+      if (retried) {
+        retryingRequests.decrement();
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.jmx;
+
+import java.util.Map;
+
+/**
+ * JMX management interface of {@link HttpClientStats}.
+ *
+ * <p>Counters are cumulative since registration, while in-flight and connection pool attributes are
+ * current values.
+ *
+ * @since 2.2
+ */
+public interface HttpClientStatsMXBean {
+
+  /** Returns the number of started request executions. */
+  long getRequestCount();
+
+  /** Returns the number of request executions in progress. */
+  long getInFlightRequests();
+
+  /** Returns the number of request executions in progress that are retrying. */
+  long getRetryingRequests();
+
+  /** Returns the number of attempts, including retries. */
+  long getAttemptCount();
+
+  /** Returns the number of retries. */
+  long getRetryCount();
+
+  /** Returns the number of back-off sleeps between attempts. */
+  long getBackOffCount();
+
+  /** Returns the total time of back-off sleeps between attempts in milliseconds. */
+  long getBackOffMillis();
+
+  /** Returns the number of request content bytes written. */
+  long getBytesSent();
+
+  /** Returns the number of response content bytes read before decoding. */
+  long getBytesReceived();
+
+  /**
+   * Returns the number of request executions that ended with a response by status class, such as
+   * {@code "2xx"}.
+   */
+  Map<String, Long> getResponseCounts();
+
+  /**
+   * Returns the number of request executions that failed with an exception other than an {@code
+   * HttpResponseException}, by exception class name.
+   */
+  Map<String, Long> getExceptionCounts();
+
+  /** Returns the number of connections in use or {@code -1} if unknown. */
+  int getPoolLeased();
+
+  /** Returns the number of requests waiting for a connection or {@code -1} if unknown. */
+  int getPoolPending();
+
+  /** Returns the number of idle connections or {@code -1} if unknown. */
+  int getPoolAvailable();
+
+  /** Returns the maximum number of connections or {@code -1} if unknown. */
+  int getPoolMax();
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.jmx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler;
+import com.google.api.client.http.HttpEventListener;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.testing.util.MockBackOff;
+import com.google.api.client.testing.util.MockSleeper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link HttpClientStats}. */
+@RunWith(JUnit4.class)
+public class HttpClientStatsTest {
+
+  private final List<HttpClientStats> registered = new ArrayList<>();
+
+  @After
+  public void tearDown() throws JMException {
+    for (HttpClientStats stats : registered) {
+      stats.unregister();
+    }
+  }
+
+  private HttpClientStats register(MockHttpTransport transport, String name) throws JMException {
+    HttpClientStats stats = HttpClientStats.register(transport, name);
+    registered.add(stats);
+    return stats;
+  }
+
+  private static GenericUrl url() {
+    return new GenericUrl("https://example.com/path");
+  }
+
+  @Test
+  public void testRegister() throws Exception {
+    MockHttpTransport transport = new MockHttpTransport();
+    HttpClientStats stats = register(transport, "test:register");
+    assertSame(stats, transport.getEventListenerFactory());
+
+    ObjectName name = stats.getObjectName();
+    assertEquals(
+        new ObjectName("com.google.api.client.http:type=HttpTransport,name=\"test:register\""),
+        name);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    assertTrue(server.isRegistered(name));
+
+    transport.createRequestFactory().buildGetRequest(url()).execute().disconnect();
+    assertEquals(1L, server.getAttribute(name, "RequestCount"));
+    assertEquals(-1, server.getAttribute(name, "PoolMax"));
+
+    stats.unregister();
+    assertFalse(server.isRegistered(name));
+    assertNull(stats.getObjectName());
+  }
+
+  @Test
+  public void testCounts() throws Exception {
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                getStreamingContent().writeTo(new ByteArrayOutputStream());
+                return new MockLowLevelHttpResponse().setContent("hello");
+              }
+            };
+          }
+        };
+    HttpClientStats stats = register(transport, "test:counts");
+
+    HttpRequest request =
+        transport
+            .createRequestFactory()
+            .buildPostRequest(url(), new ByteArrayContent("text/plain", new byte[] {1, 2, 3}));
+    request.execute().parseAsString();
+
+    assertEquals(1, stats.getRequestCount());
+    assertEquals(0, stats.getInFlightRequests());
+    assertEquals(1, stats.getAttemptCount());
+    assertEquals(0, stats.getRetryCount());
+    assertEquals(3, stats.getBytesSent());
+    assertEquals(5, stats.getBytesReceived());
+    assertEquals(Collections.singletonMap("2xx", 1L), stats.getResponseCounts());
+    assertTrue(stats.getExceptionCounts().isEmpty());
+  }
+
+  @Test
+  public void testRetries() throws Exception {
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          int attempts;
+
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() {
+                return new MockLowLevelHttpResponse().setStatusCode(++attempts < 3 ? 503 : 404);
+              }
+            };
+          }
+        };
+    HttpClientStats stats = register(transport, "test:retries");
+
+    HttpRequest request = transport.createRequestFactory().buildGetRequest(url());
+    request.setUnsuccessfulResponseHandler(
+        new HttpBackOffUnsuccessfulResponseHandler(new MockBackOff().setBackOffMillis(20))
+            .setSleeper(new MockSleeper()));
+    try {
+      request.execute();
+      fail("expected " + HttpResponseException.class);
+    } catch (HttpResponseException e) {
+      assertEquals(404, e.getStatusCode());
+    }
+
+    assertEquals(1, stats.getRequestCount());
+    assertEquals(0, stats.getInFlightRequests());
+    assertEquals(0, stats.getRetryingRequests());
+    assertEquals(3, stats.getAttemptCount());
+    assertEquals(2, stats.getRetryCount());
+    assertEquals(2, stats.getBackOffCount());
+    assertEquals(40, stats.getBackOffMillis());
+    assertEquals(Collections.singletonMap("4xx", 1L), stats.getResponseCounts());
+  }
+
+  @Test
+  public void testExceptions() throws Exception {
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                throw new UnknownHostException("example.com");
+              }
+            };
+          }
+        };
+    HttpClientStats stats = register(transport, "test:exceptions");
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        transport.createRequestFactory().buildGetRequest(url()).execute();
+        fail("expected " + UnknownHostException.class);
+      } catch (UnknownHostException e) {
+        // expected
+      }
+    }
+
+    assertEquals(2, stats.getRequestCount());
+    assertEquals(0, stats.getInFlightRequests());
+    assertEquals(
+        Collections.singletonMap(UnknownHostException.class.getName(), 2L),
+        stats.getExceptionCounts());
+    assertTrue(stats.getResponseCounts().isEmpty());
+  }
+
+  @Test
+  public void testDelegate() throws Exception {
+    final List<Integer> statusCodes = new ArrayList<>();
+    MockHttpTransport transport = new MockHttpTransport();
+    transport.setEventListenerFactory(
+        request ->
+            new HttpEventListener() {
+              @Override
+              public void executeEnd(int statusCode, long nanoTime) {
+                statusCodes.add(statusCode);
+              }
+            });
+    HttpClientStats transportStats = register(transport, "test:delegate");
+
+    HttpRequestFactory requestFactory = transport.createRequestFactory();
+    HttpClientStats factoryStats = HttpClientStats.register(requestFactory, "test:delegate");
+    registered.add(factoryStats);
+    assertEquals(
+        new ObjectName("com.google.api.client.http:type=HttpRequestFactory,name=\"test:delegate\""),
+        factoryStats.getObjectName());
+
+    requestFactory.buildGetRequest(url()).execute().disconnect();
+
+    assertEquals(1, factoryStats.getRequestCount());
+    assertEquals(1, transportStats.getRequestCount());
+    assertEquals(Collections.singletonList(200), statusCodes);
+  }
+
+  @Test
+  public void testResponseCounts_other() {
+    HttpClientStats stats = new HttpClientStats(new MockHttpTransport());
+    HttpEventListener listener = stats.newEventListener(null);
+    listener.executeStart(0);
+    listener.executeEnd(999, 0);
+    Map<String, Long> counts = stats.getResponseCounts();
+    assertEquals(Collections.singletonMap("other", 1L), counts);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values, such as latencies in nanoseconds.
+ *
+ * <p>Values are counted in logarithmic buckets that are each divided in {@code 32} linear
+ * sub-buckets, as in an HDR histogram, so that percentiles are reported with a relative error of at
+ * most about 3%. Values above {@link #MAX_TRACKABLE_VALUE} (about 4.9 hours in nanoseconds) are
+ * counted as {@link #MAX_TRACKABLE_VALUE}, and negative values as {@code 0}.
+ *
+ * <p>Recording does not allocate and does not lock. Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class Histogram {
+
+  /** Number of bits of linear precision in each logarithmic bucket. */
+  static final int SUB_BUCKET_BITS = 5;
+
+  /** Number of linear sub-buckets in each logarithmic bucket. */
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** Number of bits of the largest trackable value. */
+  private static final int MAX_VALUE_BITS = 44;
+
+  /** Largest trackable value. */
+  public static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+  /** Number of buckets. */
+  static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  /** Count of each bucket. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  /** Sum of the recorded values. */
+  private final AtomicLong sum = new AtomicLong();
+
+  /** Smallest recorded value or {@link Long#MAX_VALUE} if none. */
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+  /** Largest recorded value or {@code 0} if none. */
+  private final AtomicLong max = new AtomicLong();
+
+  /** Records the given value. */
+  public void record(long value) {
+    value = Math.min(Math.max(value, 0), MAX_TRACKABLE_VALUE);
+    counts.incrementAndGet(bucketIndex(value));
+    sum.addAndGet(value);
+    long current;
+    while (value < (current = min.get()) && !min.compareAndSet(current, value)) {}
+    while (value > (current = max.get()) && !max.compareAndSet(current, value)) {}
+  }
+
+  /**
+   * Returns a snapshot of the recorded values.
+   *
+   * <p>Values recorded concurrently may or may not be included in the snapshot.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] snapshotCounts = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += snapshotCounts[i] = counts.get(i);
+    }
+    return count == 0
+        ? new HistogramSnapshot(snapshotCounts, 0, 0, 0, 0)
+        : new HistogramSnapshot(snapshotCounts, count, sum.get(), min.get(), max.get());
+  }
+
+  /** Returns the index of the bucket of the given value between {@code 0} and the max value. */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+  }
+
+  /** Returns the largest value counted in the bucket of the given index. */
+  static long highestEquivalentValue(int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowest = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
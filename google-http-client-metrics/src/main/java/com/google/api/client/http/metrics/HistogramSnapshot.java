@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import com.google.api.client.util.Objects;
+import com.google.api.client.util.Preconditions;
+
+/**
+ * Immutable snapshot of a {@link Histogram}.
+ *
+ * @since 2.2
+ */
+public final class HistogramSnapshot {
+
+  /** Count of each bucket. */
+  private final long[] counts;
+
+  /** Number of recorded values. */
+  private final long count;
+
+  /** Sum of the recorded values. */
+  private final long sum;
+
+  /** Smallest recorded value or {@code 0} if none. */
+  private final long min;
+
+  /** Largest recorded value or {@code 0} if none. */
+  private final long max;
+
+  HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+  }
+
+  /** Returns the number of recorded values. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the sum of the recorded values. */
+  public long getSum() {
+    return sum;
+  }
+
+  /** Returns the smallest recorded value or {@code 0} if none. */
+  public long getMin() {
+    return min;
+  }
+
+  /** Returns the largest recorded value or {@code 0} if none. */
+  public long getMax() {
+    return max;
+  }
+
+  /** Returns the mean of the recorded values or {@code 0} if none. */
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /** Returns the median of the recorded values. */
+  public long getMedian() {
+    return getValueAtPercentile(50);
+  }
+
+  /** Returns the 90th percentile of the recorded values. */
+  public long get90thPercentile() {
+    return getValueAtPercentile(90);
+  }
+
+  /** Returns the 99th percentile of the recorded values. */
+  public long get99thPercentile() {
+    return getValueAtPercentile(99);
+  }
+
+  /**
+   * Returns the value at the given percentile, such that the given percentage of the recorded
+   * values are smaller or equivalent to it, or {@code 0} if there are no recorded values.
+   *
+   * @param percentile percentile between {@code 0} and {@code 100}
+   */
+  public long getValueAtPercentile(double percentile) {
+    Preconditions.checkArgument(percentile >= 0 && percentile <= 100);
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long cumulative = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulative += counts[i];
+      if (cumulative >= target) {
+        return Math.max(min, Math.min(max, Histogram.highestEquivalentValue(i)));
+      }
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("count", count)
+        .add("min", min)
+        .add("median", getMedian())
+        .add("p90", get90thPercentile())
+        .add("p99", get99thPercentile())
+        .add("max", max)
+        .toString();
+  }
+}
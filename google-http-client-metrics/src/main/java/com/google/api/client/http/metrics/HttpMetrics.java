@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpEventListener;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.util.NanoClock;
+import com.google.api.client.util.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the latency, attempt count, request and response content bytes, and failures of HTTP
+ * requests, keyed by host, request method and status class.
+ *
+ * <p>Metrics are recorded for each {@link HttpRequest#execute()} of requests that use this as their
+ * {@link HttpEventListener.Factory}, for example for all requests of a transport:
+ *
+ * <pre>
+ * HttpMetrics metrics = new HttpMetrics();
+ * transport.setEventListenerFactory(metrics);
+ * ...
+ * for (HttpMetricsSnapshot snapshot : metrics.getSnapshots()) {
+ * System.out.println(snapshot);
+ * }
+ * </pre>
+ *
+ * <p>A request uses a single event listener factory, so use {@link HttpEventListener#compose} to
+ * record metrics along with other listeners, for example {@code
+ * transport.setEventListenerFactory(HttpEventListener.compose(metrics, tracing))}.
+ *
+ * <p>Latencies are recorded into lock-free {@link Histogram}s, and recording does not allocate once
+ * a host, method and status class has been seen, except for the small per-execution event listener.
+ * Response content bytes are recorded as the content is consumed, including after the request
+ * itself has been recorded.
+ *
+ * <p>Metrics may also be monitored with JMX, since this is an {@link HttpMetricsMXBean}:
+ *
+ * <pre>
+ * ManagementFactory.getPlatformMBeanServer()
+ * .registerMBean(metrics, new ObjectName("com.google.api.client.http:type=HttpMetrics"));
+ * </pre>
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class HttpMetrics implements HttpEventListener.Factory, HttpMetricsMXBean {
+
+  /** Default maximum number of distinct hosts. */
+  public static final int DEFAULT_MAX_HOSTS = 100;
+
+  /** Host under which requests are recorded once the maximum number of hosts is reached. */
+  public static final String OTHER_HOST = "other";
+
+  /** Number of status classes, including {@code 0} for no response. */
+  private static final int STATUS_CLASS_COUNT = 6;
+
+  /** Nano clock. */
+  private final NanoClock nanoClock;
+
+  /** Maximum number of distinct hosts. */
+  private final int maxHosts;
+
+  /** Metrics by host, method and status class. */
+  private final ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<RequestMetrics>>>
+      metrics =
+          new ConcurrentHashMap<
+              String, ConcurrentMap<String, AtomicReferenceArray<RequestMetrics>>>();
+
+  /** Constructs metrics with the default settings. */
+  public HttpMetrics() {
+    this(new Builder());
+  }
+
+  /** @param builder builder */
+  HttpMetrics(Builder builder) {
+    nanoClock = builder.nanoClock;
+    maxHosts = builder.maxHosts;
+  }
+
+  /** Returns the maximum number of distinct hosts. */
+  public int getMaxHosts() {
+    return maxHosts;
+  }
+
+  @Override
+  public HttpEventListener newEventListener(HttpRequest request) {
+    GenericUrl url = request.getUrl();
+    String host = url == null ? null : url.getHost();
+    return new MetricsListener(host == null ? "" : host, request.getRequestMethod());
+  }
+
+  /**
+   * Returns the snapshots of the metrics of each host, method and status class that was recorded.
+   */
+  @Override
+  public List<HttpMetricsSnapshot> getSnapshots() {
+    List<HttpMetricsSnapshot> snapshots = new ArrayList<HttpMetricsSnapshot>();
+    for (ConcurrentMap<String, AtomicReferenceArray<RequestMetrics>> byMethod : metrics.values()) {
+      for (AtomicReferenceArray<RequestMetrics> byStatusClass : byMethod.values()) {
+        for (int i = 0; i < STATUS_CLASS_COUNT; i++) {
+          RequestMetrics requestMetrics = byStatusClass.get(i);
+          if (requestMetrics != null) {
+            snapshots.add(requestMetrics.snapshot());
+          }
+        }
+      }
+    }
+    return snapshots;
+  }
+
+  /** Returns the metrics of the given host, method and status class, creating them if needed. */
+  RequestMetrics getRequestMetrics(String host, String method, int statusClass) {
+    ConcurrentMap<String, AtomicReferenceArray<RequestMetrics>> byMethod = metrics.get(host);
+    if (byMethod == null && metrics.size() >= maxHosts) {
+      host = OTHER_HOST;
+      byMethod = metrics.get(host);
+    }
+    if (byMethod == null) {
+      ConcurrentMap<String, AtomicReferenceArray<RequestMetrics>> newByMethod =
+          new ConcurrentHashMap<String, AtomicReferenceArray<RequestMetrics>>();
+      byMethod = metrics.putIfAbsent(host, newByMethod);
+      if (byMethod == null) {
+        byMethod = newByMethod;
+      }
+    }
+    AtomicReferenceArray<RequestMetrics> byStatusClass = byMethod.get(method);
+    if (byStatusClass == null) {
+      AtomicReferenceArray<RequestMetrics> newByStatusClass =
+          new AtomicReferenceArray<RequestMetrics>(STATUS_CLASS_COUNT);
+      byStatusClass = byMethod.putIfAbsent(method, newByStatusClass);
+      if (byStatusClass == null) {
+        byStatusClass = newByStatusClass;
+      }
+    }
+    RequestMetrics requestMetrics = byStatusClass.get(statusClass);
+    if (requestMetrics == null) {
+      byStatusClass.compareAndSet(statusClass, null, new RequestMetrics(host, method, statusClass));
+      requestMetrics = byStatusClass.get(statusClass);
+    }
+    return requestMetrics;
+  }
+
+  /** Event listener of a single request execution. */
+  private final class MetricsListener extends HttpEventListener {
+
+    /** Host. */
+    private final String host;
+
+    /** Request method. */
+    private final String method;
+
+    /** Start time. */
+    private long startTime;
+
+    /** Number of attempts. */
+    private int attempts;
+
+    /** Number of request content bytes written. */
+    private long requestBytes;
+
+    /** Number of response content bytes read before the request was recorded. */
+    private long responseBytes;
+
+    /** Metrics the request was recorded into or {@code null} before the end of the execution. */
+    private RequestMetrics requestMetrics;
+
+    MetricsListener(String host, String method) {
+      super(nanoClock);
+      this.host = host;
+      this.method = method;
+    }
+
+    @Override
+    public void executeStart(long nanoTime) {
+      startTime = nanoTime;
+    }
+
+    @Override
+    public void attemptStart(int attempt, long nanoTime) {
+      attempts++;
+    }
+
+    @Override
+    public void requestBodyEnd(long byteCount, long nanoTime) {
+      requestBytes += byteCount;
+    }
+
+    @Override
+    public void executeEnd(int statusCode, long nanoTime) {
+      record(statusCode >= 100 && statusCode < 600 ? statusCode / 100 : 0, nanoTime, null);
+    }
+
+    @Override
+    public void executeFailed(Exception exception, long nanoTime) {
+      record(0, nanoTime, exception);
+    }
+
+    @Override
+    public void responseBodyEnd(long byteCount, long nanoTime) {
+      if (requestMetrics == null) {
+        responseBytes += byteCount;
+      } else {
+        requestMetrics.recordResponseBytes(byteCount);
+      }
+    }
+
+    private void record(int statusClass, long nanoTime, Exception exception) {
+      requestMetrics = getRequestMetrics(host, method, statusClass);
+      requestMetrics.record(nanoTime - startTime, attempts, requestBytes, responseBytes, exception);
+    }
+  }
+
+  /**
+   * Builder for {@link HttpMetrics}.
+   *
+   * <p>Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Builder {
+
+    /** Nano clock. */
+    NanoClock nanoClock = NanoClock.SYSTEM;
+
+    /** Maximum number of distinct hosts. */
+    int maxHosts = DEFAULT_MAX_HOSTS;
+
+    /** Returns the nano clock used to measure latencies. */
+    public NanoClock getNanoClock() {
+      return nanoClock;
+    }
+
+    /**
+     * Sets the nano clock used to measure latencies.
+     *
+     * <p>Defaults to {@link NanoClock#SYSTEM}.
+     */
+    public Builder setNanoClock(NanoClock nanoClock) {
+      this.nanoClock = Preconditions.checkNotNull(nanoClock);
+      return this;
+    }
+
+    /** Returns the maximum number of distinct hosts. */
+    public int getMaxHosts() {
+      return maxHosts;
+    }
+
+    /**
+     * Sets the maximum number of distinct hosts, after which requests to other hosts are recorded
+     * under {@link #OTHER_HOST} to bound memory usage.
+     *
+     * <p>Defaults to {@link #DEFAULT_MAX_HOSTS}.
+     */
+    public Builder setMaxHosts(int maxHosts) {
+      Preconditions.checkArgument(maxHosts > 0);
+      this.maxHosts = maxHosts;
+      return this;
+    }
+
+    /** Returns a new instance of {@link HttpMetrics} based on the options. */
+    public HttpMetrics build() {
+      return new HttpMetrics(this);
+    }
+  }
+}
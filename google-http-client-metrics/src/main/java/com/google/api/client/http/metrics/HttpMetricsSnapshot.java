@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import com.google.api.client.util.Objects;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the metrics of the requests for a host, method and status class.
+ *
+ * @since 2.2
+ */
+public final class HttpMetricsSnapshot {
+
+  private final String host;
+  private final String method;
+  private final int statusClass;
+  private final long requestCount;
+  private final long attemptCount;
+  private final long requestBytes;
+  private final long responseBytes;
+  private final HistogramSnapshot latency;
+  private final Map<String, Long> errorCounts;
+
+  HttpMetricsSnapshot(
+      String host,
+      String method,
+      int statusClass,
+      long requestCount,
+      long attemptCount,
+      long requestBytes,
+      long responseBytes,
+      HistogramSnapshot latency,
+      Map<String, Long> errorCounts) {
+    this.host = host;
+    this.method = method;
+    this.statusClass = statusClass;
+    this.requestCount = requestCount;
+    this.attemptCount = attemptCount;
+    this.requestBytes = requestBytes;
+    this.responseBytes = responseBytes;
+    this.latency = latency;
+    this.errorCounts = Collections.unmodifiableMap(errorCounts);
+  }
+
+  /**
+   * Returns the host of the request URL, {@link HttpMetrics#OTHER_HOST} once the maximum number of
+   * hosts is reached, or {@code ""} for none.
+   */
+  public String getHost() {
+    return host;
+  }
+
+  /** Returns the HTTP request method. */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * Returns the class of the status code of the last response (for example {@code 2} for {@code
+   * 2xx}), or {@code 0} if no response was received.
+   */
+  public int getStatusClass() {
+    return statusClass;
+  }
+
+  /** Returns the number of requests. */
+  public long getRequestCount() {
+    return requestCount;
+  }
+
+  /** Returns the total number of attempts, including retries and redirects. */
+  public long getAttemptCount() {
+    return attemptCount;
+  }
+
+  /** Returns the total number of request content bytes written, after encoding. */
+  public long getRequestBytes() {
+    return requestBytes;
+  }
+
+  /** Returns the total number of response content bytes read, before decoding. */
+  public long getResponseBytes() {
+    return responseBytes;
+  }
+
+  /**
+   * Returns the latency of {@link com.google.api.client.http.HttpRequest#execute()} in nanoseconds.
+   */
+  public HistogramSnapshot getLatency() {
+    return latency;
+  }
+
+  /**
+   * Returns the unmodifiable number of requests that failed by exception class name, which is only
+   * non-empty if {@link #getStatusClass()} is {@code 0}.
+   */
+  public Map<String, Long> getErrorCounts() {
+    return errorCounts;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("host", host)
+        .add("method", method)
+        .add("statusClass", statusClass)
+        .add("requestCount", requestCount)
+        .add("attemptCount", attemptCount)
+        .add("requestBytes", requestBytes)
+        .add("responseBytes", responseBytes)
+        .add("latency", latency)
+        .add("errorCounts", errorCounts)
+        .toString();
+  }
+}
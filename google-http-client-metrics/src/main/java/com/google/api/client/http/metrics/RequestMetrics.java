@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Thread-safe metrics of the requests for a host, method and status class. */
+final class RequestMetrics {
+
+  /** Host. */
+  private final String host;
+
+  /** Request method. */
+  private final String method;
+
+  /** Status class or {@code 0} if no response was received. */
+  private final int statusClass;
+
+  /** Latency in nanoseconds. */
+  private final Histogram latency = new Histogram();
+
+  /** Number of requests. */
+  private final AtomicLong requestCount = new AtomicLong();
+
+  /** Number of attempts. */
+  private final AtomicLong attemptCount = new AtomicLong();
+
+  /** Number of request content bytes written. */
+  private final AtomicLong requestBytes = new AtomicLong();
+
+  /** Number of response content bytes read. */
+  private final AtomicLong responseBytes = new AtomicLong();
+
+  /** Number of requests that failed by exception class name. */
+  private final ConcurrentMap<String, AtomicLong> errorCounts =
+      new ConcurrentHashMap<String, AtomicLong>();
+
+  RequestMetrics(String host, String method, int statusClass) {
+    this.host = host;
+    this.method = method;
+    this.statusClass = statusClass;
+  }
+
+  /**
+   * Records a request.
+   *
+   * @param latencyNanos latency in nanoseconds
+   * @param attempts number of attempts
+   * @param requestBytes number of request content bytes written
+   * @param responseBytes number of response content bytes read so far
+   * @param exception exception the request failed with or {@code null} for none
+   */
+  void record(
+      long latencyNanos, int attempts, long requestBytes, long responseBytes, Exception exception) {
+    latency.record(latencyNanos);
+    requestCount.incrementAndGet();
+    attemptCount.addAndGet(attempts);
+    this.requestBytes.addAndGet(requestBytes);
+    this.responseBytes.addAndGet(responseBytes);
+    if (exception != null) {
+      String name = exception.getClass().getName();
+      AtomicLong count = errorCounts.get(name);
+      if (count == null) {
+        AtomicLong newCount = new AtomicLong();
+        count = errorCounts.putIfAbsent(name, newCount);
+        if (count == null) {
+          count = newCount;
+        }
+      }
+      count.incrementAndGet();
+    }
+  }
+
+  /** Records response content bytes read after the request was recorded. */
+  void recordResponseBytes(long responseBytes) {
+    this.responseBytes.addAndGet(responseBytes);
+  }
+
+  HttpMetricsSnapshot snapshot() {
+    Map<String, Long> errors = new TreeMap<String, Long>();
+    for (Map.Entry<String, AtomicLong> entry : errorCounts.entrySet()) {
+      errors.put(entry.getKey(), entry.getValue().get());
+    }
+    return new HttpMetricsSnapshot(
+        host,
+        method,
+        statusClass,
+        requestCount.get(),
+        attemptCount.get(),
+        requestBytes.get(),
+        responseBytes.get(),
+        latency.snapshot(),
+        errors);
+  }
+}
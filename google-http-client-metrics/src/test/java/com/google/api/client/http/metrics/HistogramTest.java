@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link Histogram}. */
+@RunWith(JUnit4.class)
+public class HistogramTest {
+
+  @Test
+  public void testBucketIndex() {
+    assertEquals(0, Histogram.bucketIndex(0));
+    assertEquals(63, Histogram.bucketIndex(63));
+    assertEquals(64, Histogram.bucketIndex(64));
+    assertEquals(64, Histogram.bucketIndex(65));
+    assertEquals(65, Histogram.bucketIndex(66));
+    assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Histogram.MAX_TRACKABLE_VALUE));
+    // buckets are contiguous and ordered
+    for (int i = 0; i < Histogram.BUCKET_COUNT; i++) {
+      long highest = Histogram.highestEquivalentValue(i);
+      assertEquals(i, Histogram.bucketIndex(highest));
+      if (i + 1 < Histogram.BUCKET_COUNT) {
+        assertEquals(i + 1, Histogram.bucketIndex(highest + 1));
+      }
+    }
+  }
+
+  @Test
+  public void testSnapshot_empty() {
+    HistogramSnapshot snapshot = new Histogram().snapshot();
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMin());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getMedian());
+    assertEquals(0, snapshot.getMean(), 0);
+  }
+
+  @Test
+  public void testSnapshot() {
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    histogram.record(-1);
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(1001, snapshot.getCount());
+    assertEquals(0, snapshot.getMin());
+    assertEquals(1000000, snapshot.getMax());
+    assertEquals(500500000L, snapshot.getSum());
+    assertWithinError(500000, snapshot.getMedian());
+    assertWithinError(900000, snapshot.get90thPercentile());
+    assertWithinError(990000, snapshot.get99thPercentile());
+    assertEquals(1000000, snapshot.getValueAtPercentile(100));
+    assertEquals(0, snapshot.getValueAtPercentile(0));
+  }
+
+  @Test
+  public void testRecord_maxTrackableValue() {
+    Histogram histogram = new Histogram();
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Histogram.MAX_TRACKABLE_VALUE, histogram.snapshot().getMax());
+  }
+
+  @Test
+  public void testRecord_concurrent() throws InterruptedException {
+    final Histogram histogram = new Histogram();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] =
+          new Thread() {
+            @Override
+            public void run() {
+              Random random = new Random();
+              for (int i = 0; i < 10000; i++) {
+                histogram.record(random.nextInt(1000000));
+              }
+            }
+          };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000, histogram.snapshot().getCount());
+  }
+
+  private static void assertWithinError(long expected, long actual) {
+    assertTrue(
+        actual + " not within 1/32 of " + expected, Math.abs(actual - expected) <= expected / 32);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpIOExceptionHandler;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.NanoClock;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link HttpMetrics}. */
+@RunWith(JUnit4.class)
+public class HttpMetricsTest {
+
+  /** Nano clock that advances by one millisecond on each call. */
+  static final class TickingNanoClock implements NanoClock {
+
+    long time;
+
+    public long nanoTime() {
+      return time += 1000000;
+    }
+  }
+
+  /** Transport that responds with the status code in the "status" query parameter. */
+  static final class StatusTransport extends MockHttpTransport {
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, final String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+          if (getStreamingContent() != null) {
+            getStreamingContent().writeTo(new ByteArrayOutputStream());
+          }
+          Object status = new GenericUrl(url).getFirst("status");
+          if (status == null) {
+            throw new SocketTimeoutException();
+          }
+          return new MockLowLevelHttpResponse()
+              .setStatusCode(Integer.parseInt((String) status))
+              .setContent("hello");
+        }
+      };
+    }
+  }
+
+  private static Map<String, HttpMetricsSnapshot> getSnapshots(HttpMetrics metrics) {
+    Map<String, HttpMetricsSnapshot> snapshots = new HashMap<String, HttpMetricsSnapshot>();
+    for (HttpMetricsSnapshot snapshot : metrics.getSnapshots()) {
+      snapshots.put(
+          snapshot.getHost() + " " + snapshot.getMethod() + " " + snapshot.getStatusClass(),
+          snapshot);
+    }
+    return snapshots;
+  }
+
+  @Test
+  public void testRecord() throws IOException {
+    HttpMetrics metrics = new HttpMetrics.Builder().setNanoClock(new TickingNanoClock()).build();
+    HttpRequestFactory factory = new StatusTransport().createRequestFactory();
+    factory.setEventListenerFactory(metrics);
+
+    for (int i = 0; i < 3; i++) {
+      factory
+          .buildGetRequest(new GenericUrl("http://a.example.com/?status=200"))
+          .execute()
+          .parseAsString();
+    }
+    factory
+        .buildPostRequest(
+            new GenericUrl("http://b.example.com/?status=201"),
+            new ByteArrayContent(null, new byte[10]))
+        .execute()
+        .disconnect();
+    try {
+      factory.buildGetRequest(new GenericUrl("http://a.example.com/?status=404")).execute();
+      fail("expected " + HttpResponseException.class);
+    } catch (HttpResponseException e) {
+      // expected
+    }
+    try {
+      factory
+          .buildGetRequest(new GenericUrl("http://a.example.com/"))
+          .setNumberOfRetries(2)
+          .setIOExceptionHandler(
+              new HttpIOExceptionHandler() {
+                public boolean handleIOException(HttpRequest request, boolean supportsRetry) {
+                  return supportsRetry;
+                }
+              })
+          .execute();
+      fail("expected " + SocketTimeoutException.class);
+    } catch (SocketTimeoutException e) {
+      // expected
+    }
+
+    Map<String, HttpMetricsSnapshot> snapshots = getSnapshots(metrics);
+    assertEquals(4, snapshots.size());
+
+    HttpMetricsSnapshot ok = snapshots.get("a.example.com GET 2");
+    assertEquals(3, ok.getRequestCount());
+    assertEquals(3, ok.getAttemptCount());
+    assertEquals(0, ok.getRequestBytes());
+    assertEquals(15, ok.getResponseBytes());
+    assertEquals(3, ok.getLatency().getCount());
+    assertEquals(Collections.emptyMap(), ok.getErrorCounts());
+
+    HttpMetricsSnapshot post = snapshots.get("b.example.com POST 2");
+    assertEquals(1, post.getRequestCount());
+    assertEquals(10, post.getRequestBytes());
+
+    assertEquals(1, snapshots.get("a.example.com GET 4").getRequestCount());
+
+    HttpMetricsSnapshot failed = snapshots.get("a.example.com GET 0");
+    assertEquals(1, failed.getRequestCount());
+    assertEquals(3, failed.getAttemptCount());
+    assertEquals(
+        Collections.singletonMap(SocketTimeoutException.class.getName(), 1L),
+        failed.getErrorCounts());
+    assertEquals(failed.getLatency().getMin(), failed.getLatency().getMax());
+  }
+
+  @Test
+  public void testMaxHosts() throws IOException {
+    HttpMetrics metrics = new HttpMetrics.Builder().setMaxHosts(2).build();
+    HttpRequestFactory factory = new StatusTransport().createRequestFactory();
+    factory.setEventListenerFactory(metrics);
+    for (String host : new String[] {"a", "b", "c", "d", "a"}) {
+      factory.buildGetRequest(new GenericUrl("http://" + host + "/?status=200")).execute();
+    }
+    Map<String, HttpMetricsSnapshot> snapshots = getSnapshots(metrics);
+    assertEquals(3, snapshots.size());
+    assertEquals(2, snapshots.get("a GET 2").getRequestCount());
+    assertEquals(1, snapshots.get("b GET 2").getRequestCount());
+    assertEquals(2, snapshots.get(HttpMetrics.OTHER_HOST + " GET 2").getRequestCount());
+  }
+
+  @Test
+  public void testMBean() throws Exception {
+    HttpMetrics metrics = new HttpMetrics();
+    HttpRequestFactory factory = new StatusTransport().createRequestFactory();
+    factory.setEventListenerFactory(metrics);
+    factory.buildGetRequest(new GenericUrl("http://a/?status=200")).execute();
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("com.google.api.client.http:type=HttpMetrics,name=test");
+    server.registerMBean(metrics, name);
+    try {
+      CompositeData[] snapshots = (CompositeData[]) server.getAttribute(name, "Snapshots");
+      assertEquals(1, snapshots.length);
+      assertEquals("a", snapshots[0].get("host"));
+      assertEquals(1L, ((CompositeData) snapshots[0].get("latency")).get("count"));
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.opentelemetry;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpEventListener;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.StructuredHttpLogger;
+import com.google.api.client.util.Preconditions;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link HttpEventListener.Factory} that traces each {@link HttpRequest#execute()} with an
+ * OpenTelemetry {@link SpanKind#CLIENT client} span.
+ *
+ * <p>The span is a child of the {@link Context#current() current context} and is named after the
+ * request method. Its context is injected in the request {@link HttpHeaders} with the {@link
+ * OpenTelemetry#getPropagators() configured text map propagator}, for example as a W3C {@code
+ * traceparent} header, and the headers are restored when the execution ends, so that they can be
+ * reused for another request. The span is not made current, so that it cannot stay attached to the
+ * calling thread when {@link HttpRequest#execute()} ends without an end event, for example with an
+ * {@link Error}. Attributes follow the OpenTelemetry HTTP client semantic conventions and are only
+ * computed when the span {@link Span#isRecording() is recording}, so requests that are not sampled
+ * only pay for starting the span and propagating its context. The user info and the values of the
+ * query parameters of {@link StructuredHttpLogger.Builder#DEFAULT_REDACTED_QUERY_PARAMETERS} are
+ * replaced with {@value StructuredHttpLogger#REDACTED} in the recorded URL.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>{@code
+ * OpenCensusUtils.setIsTracingEnabled(false);
+ * transport.setEventListenerFactory(new OpenTelemetryTracing(openTelemetry));
+ * }</pre>
+ *
+ * <p>Installing it this way replaces any other event listener factory of the transport. To keep
+ * one, for example {@code HttpMetrics}, install both with {@link HttpEventListener#compose}:
+ *
+ * <pre>{@code
+ * transport.setEventListenerFactory(
+ *     HttpEventListener.compose(new OpenTelemetryTracing(openTelemetry), metrics));
+ * }</pre>
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class OpenTelemetryTracing implements HttpEventListener.Factory {
+
+  /** Name of the instrumentation scope of the {@link Tracer}. */
+  public static final String INSTRUMENTATION_SCOPE_NAME = "com.google.http-client";
+
+  static final AttributeKey<String> HTTP_REQUEST_METHOD =
+      AttributeKey.stringKey("http.request.method");
+  static final AttributeKey<String> URL_FULL = AttributeKey.stringKey("url.full");
+  static final AttributeKey<String> SERVER_ADDRESS = AttributeKey.stringKey("server.address");
+  static final AttributeKey<Long> SERVER_PORT = AttributeKey.longKey("server.port");
+  static final AttributeKey<Long> HTTP_RESPONSE_STATUS_CODE =
+      AttributeKey.longKey("http.response.status_code");
+  static final AttributeKey<Long> HTTP_REQUEST_RESEND_COUNT =
+      AttributeKey.longKey("http.request.resend_count");
+  static final AttributeKey<Long> HTTP_REQUEST_BODY_SIZE =
+      AttributeKey.longKey("http.request.body.size");
+  static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+
+  /** Setter of propagation fields into request headers. */
+  private static final TextMapSetter<HttpHeaders> HEADERS_SETTER =
+      new TextMapSetter<HttpHeaders>() {
+        @Override
+        public void set(HttpHeaders carrier, String key, String value) {
+          if (carrier != null) {
+            carrier.set(key, value);
+          }
+        }
+      };
+
+  private final Tracer tracer;
+
+  private final TextMapPropagator propagator;
+
+  /** @param openTelemetry OpenTelemetry instance providing the tracer and propagators */
+  public OpenTelemetryTracing(OpenTelemetry openTelemetry) {
+    Preconditions.checkNotNull(openTelemetry);
+    tracer = openTelemetry.getTracer(INSTRUMENTATION_SCOPE_NAME);
+    propagator = openTelemetry.getPropagators().getTextMapPropagator();
+  }
+
+  @Override
+  public HttpEventListener newEventListener(HttpRequest request) {
+    return new TracingListener(request);
+  }
+
+  /** Listener that records the span of a single execution. */
+  private final class TracingListener extends HttpEventListener {
+
+    private final HttpRequest request;
+
+    private Span span;
+
+    /**
+     * Values of the propagation fields in the request headers before the span context was injected,
+     * or {@code null} for none.
+     */
+    private Map<String, Object> previousFields;
+
+    TracingListener(HttpRequest request) {
+      this.request = request;
+    }
+
+    @Override
+    public void executeStart(long nanoTime) {
+      Context parent = Context.current();
+      span =
+          tracer
+              .spanBuilder(request.getRequestMethod())
+              .setParent(parent)
+              .setSpanKind(SpanKind.CLIENT)
+              .startSpan();
+      if (span.isRecording()) {
+        GenericUrl url = request.getUrl();
+        span.setAttribute(HTTP_REQUEST_METHOD, request.getRequestMethod());
+        span.setAttribute(
+            URL_FULL,
+            StructuredHttpLogger.redact(
+                url, StructuredHttpLogger.Builder.DEFAULT_REDACTED_QUERY_PARAMETERS));
+        span.setAttribute(SERVER_ADDRESS, url.getHost());
+        int port = url.getPort();
+        if (port == -1) {
+          port = "https".equals(url.getScheme()) ? 443 : 80;
+        }
+        span.setAttribute(SERVER_PORT, port);
+      }
+      HttpHeaders headers = request.getHeaders();
+      Collection<String> fields = propagator.fields();
+      if (!fields.isEmpty()) {
+        previousFields = new HashMap<String, Object>();
+        for (String field : fields) {
+          previousFields.put(field, headers.get(field));
+        }
+      }
+      propagator.inject(parent.with(span), headers, HEADERS_SETTER);
+    }
+
+    @Override
+    public void attemptStart(int attempt, long nanoTime) {
+      if (attempt > 0 && span.isRecording()) {
+        span.setAttribute(HTTP_REQUEST_RESEND_COUNT, attempt);
+      }
+    }
+
+    @Override
+    public void requestBodyEnd(long byteCount, long nanoTime) {
+      if (span.isRecording()) {
+        span.setAttribute(HTTP_REQUEST_BODY_SIZE, byteCount);
+      }
+    }
+
+    @Override
+    public void executeEnd(int statusCode, long nanoTime) {
+      if (span.isRecording()) {
+        span.setAttribute(HTTP_RESPONSE_STATUS_CODE, statusCode);
+        if (statusCode >= 400) {
+          span.setAttribute(ERROR_TYPE, Integer.toString(statusCode));
+          span.setStatus(StatusCode.ERROR);
+        }
+      }
+      end();
+    }
+
+    @Override
+    public void executeFailed(Exception exception, long nanoTime) {
+      if (span.isRecording()) {
+        span.recordException(exception);
+        span.setAttribute(ERROR_TYPE, exception.getClass().getName());
+        span.setStatus(StatusCode.ERROR, exception.getMessage());
+      }
+      end();
+    }
+
+    private void end() {
+      span.end();
+      // restore the headers, which the caller may reuse for a request that is not traced
+      if (previousFields != null) {
+        HttpHeaders headers = request.getHeaders();
+        for (Map.Entry<String, Object> entry : previousFields.entrySet()) {
+          if (entry.getValue() == null) {
+            headers.remove(entry.getKey());
+          } else {
+            headers.set(entry.getKey(), entry.getValue());
+          }
+        }
+        previousFields = null;
+      }
+    }
+  }
+}
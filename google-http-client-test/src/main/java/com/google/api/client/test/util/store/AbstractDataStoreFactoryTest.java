@@ -23,9 +23,13 @@ import static org.junit.Assert.fail;
 import com.google.api.client.util.Beta;
 import com.google.api.client.util.store.DataStore;
 import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.client.util.store.DataStoreUtils;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
@@ -265,4 +269,47 @@ public abstract class AbstractDataStoreFactoryTest {
     assertFalse(stringTyped.containsValue("new"));
     assertFalse(stringTyped.containsValue("other"));
   }
+
+  @Test
+  public void testBatch() throws Exception {
+    Map<String, String> values = new HashMap<String, String>();
+    values.put("k", "v");
+    values.put("k2", "v2");
+    values.put("k3", "v3");
+    DataStoreUtils.setAll(stringTyped, values);
+    assertEquals(3, stringTyped.size());
+    assertEquals("v2", stringTyped.get("k2"));
+    assertEquals(
+        ImmutableMap.of("k", "v", "k3", "v3"),
+        DataStoreUtils.getAll(stringTyped, Arrays.asList("k", "k3", "missing", null)));
+    // served from any cache as well
+    assertEquals(
+        ImmutableMap.of("k", "v", "k3", "v3"),
+        DataStoreUtils.getAll(stringTyped, Arrays.asList("k", "k3")));
+    assertTrue(DataStoreUtils.getAll(stringTyped, Arrays.<String>asList()).isEmpty());
+
+    values.put("k", "new");
+    values.remove("k3");
+    DataStoreUtils.setAll(stringTyped, values);
+    assertEquals("new", stringTyped.get("k"));
+    assertEquals("v3", stringTyped.get("k3"));
+
+    DataStoreUtils.deleteAll(stringTyped, Arrays.asList("k", "k3", "missing", null));
+    assertEquals(Sets.newHashSet("k2"), Sets.newHashSet(stringTyped.keySet()));
+    assertNull(stringTyped.get("k"));
+    assertTrue(DataStoreUtils.getAll(stringTyped, Arrays.asList("k", "k3")).isEmpty());
+  }
+
+  @Test
+  public void testBatch_nullValue() throws Exception {
+    Map<String, String> values = new HashMap<String, String>();
+    values.put("k", "v");
+    values.put("k2", null);
+    try {
+      DataStoreUtils.setAll(stringTyped, values);
+      fail("expected " + NullPointerException.class);
+    } catch (NullPointerException e) {
+      // expected
+    }
+  }
 }
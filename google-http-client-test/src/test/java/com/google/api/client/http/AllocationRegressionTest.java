@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.api.client.test.util.AllocationMeter;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Allocation regression tests of the request and response path, which fail when the number of bytes
+ * allocated per operation exceeds its budget.
+ *
+ * <p>Budgets are set with some headroom above the measured allocations, so that they catch
+ * regressions without failing on small differences between JVMs. Lower a budget when an
+ * optimization reduces the allocations of its operation, to lock in the reduction.
+ */
+@RunWith(JUnit4.class)
+public class AllocationRegressionTest {
+
+  static final long EXECUTE_BUDGET = 9000;
+
+  static final long GENERIC_URL_BUILD_BUDGET = 500;
+
+  static final long SERIALIZE_HEADERS_BUDGET = 1600;
+
+  @Before
+  public void setUp() {
+    assumeTrue(AllocationMeter.isSupported());
+  }
+
+  private static void assertBudget(String operation, long budget, long bytes) {
+    assertTrue(
+        operation + " allocated " + bytes + " bytes per operation, over its budget of " + budget,
+        bytes <= budget);
+  }
+
+  @Test
+  public void testExecute() throws Exception {
+    final MockLowLevelHttpRequest lowLevelRequest =
+        new MockLowLevelHttpRequest() {
+          @Override
+          public LowLevelHttpResponse execute() throws IOException {
+            return new MockLowLevelHttpResponse().setContent("{\"a\":1}");
+          }
+        };
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    final HttpRequestFactory requestFactory = transport.createRequestFactory();
+    final GenericUrl url = new GenericUrl("https://www.googleapis.com/storage/v1/b/bucket/o/obj");
+    long bytes =
+        AllocationMeter.bytesPerOperation(
+            new AllocationMeter.Operation() {
+              public void run() throws Exception {
+                HttpResponse response = requestFactory.buildGetRequest(url).execute();
+                response.ignore();
+              }
+            });
+    assertBudget("HttpRequest.execute()", EXECUTE_BUDGET, bytes);
+  }
+
+  @Test
+  public void testGenericUrlBuild() throws Exception {
+    final GenericUrl url =
+        new GenericUrl(
+            "https://www.googleapis.com/storage/v1/b/bucket/o/path%2Fto%2Fobject?alt=media&generation=12345&userProject=project");
+    long bytes =
+        AllocationMeter.bytesPerOperation(
+            new AllocationMeter.Operation() {
+              public void run() {
+                url.build();
+              }
+            });
+    assertBudget("GenericUrl.build()", GENERIC_URL_BUILD_BUDGET, bytes);
+  }
+
+  @Test
+  public void testSerializeHeaders() throws Exception {
+    final HttpHeaders headers =
+        new HttpHeaders()
+            .setAccept("application/json")
+            .setAcceptEncoding("gzip")
+            .setAuthorization("Bearer token")
+            .setUserAgent("allocation-test")
+            .setIfNoneMatch("\"etag\"")
+            .set("x-goog-api-client", "gl-java/17 gdcl/2.2")
+            .set("x-goog-request-params", Arrays.asList("bucket=bucket", "object=obj"));
+    final LowLevelHttpRequest lowLevelRequest =
+        new LowLevelHttpRequest() {
+          @Override
+          public void addHeader(String name, String value) {}
+
+          @Override
+          public LowLevelHttpResponse execute() {
+            throw new UnsupportedOperationException();
+          }
+        };
+    long bytes =
+        AllocationMeter.bytesPerOperation(
+            new AllocationMeter.Operation() {
+              public void run() throws Exception {
+                HttpHeaders.serializeHeaders(headers, null, null, null, lowLevelRequest);
+              }
+            });
+    assertBudget("HttpHeaders.serializeHeaders", SERIALIZE_HEADERS_BUDGET, bytes);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.test.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the number of bytes allocated by the current thread with {@code
+ * com.sun.management.ThreadMXBean}, which is not available on every JVM.
+ *
+ * <p>Used by the allocation regression tests, which should skip their assertions with {@code
+ * assumeTrue(AllocationMeter.isSupported())}.
+ */
+public final class AllocationMeter {
+
+  /** Operation to measure. */
+  public interface Operation {
+    void run() throws Exception;
+  }
+
+  /** Thread MX bean or {@code null} if allocation measurement is not supported. */
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = newThreadMXBean();
+
+  private static com.sun.management.ThreadMXBean newThreadMXBean() {
+    try {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (sunBean.isThreadAllocatedMemorySupported()) {
+          sunBean.setThreadAllocatedMemoryEnabled(true);
+          return sunBean;
+        }
+      }
+    } catch (LinkageError e) {
+      // not supported
+    } catch (UnsupportedOperationException e) {
+      // not supported
+    }
+    return null;
+  }
+
+  /** Returns whether allocations can be measured on this JVM. */
+  public static boolean isSupported() {
+    return THREAD_MX_BEAN != null;
+  }
+
+  /**
+   * Returns the number of bytes allocated per run of the given operation, as the lowest average of
+   * several rounds after a warm-up, so that the JIT compiler and lazily initialized caches do not
+   * count.
+   */
+  public static long bytesPerOperation(Operation operation) throws Exception {
+    int iterations = 1000;
+    for (int i = 0; i < 10 * iterations; i++) {
+      operation.run();
+    }
+    long overhead = Long.MAX_VALUE;
+    long min = Long.MAX_VALUE;
+    for (int round = 0; round < 5; round++) {
+      long before = allocatedBytes();
+      overhead = Math.min(overhead, allocatedBytes() - before);
+      long start = allocatedBytes();
+      for (int i = 0; i < iterations; i++) {
+        operation.run();
+      }
+      min = Math.min(min, allocatedBytes() - start);
+    }
+    return Math.max(0, (min - overhead) / iterations);
+  }
+
+  private static long allocatedBytes() {
+    return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private AllocationMeter() {}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.test.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.api.client.util.store.ConcurrentMemoryDataStoreFactory;
+import com.google.api.client.util.store.DataStore;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ConcurrentMemoryDataStoreFactory}. */
+@RunWith(JUnit4.class)
+public class ConcurrentMemoryDataStoreFactoryTest extends AbstractDataStoreFactoryTest {
+
+  @Override
+  protected ConcurrentMemoryDataStoreFactory newDataStoreFactory() {
+    return new ConcurrentMemoryDataStoreFactory(true);
+  }
+
+  @Test
+  public void testCacheValues() throws IOException {
+    DataStore<ArrayList<String>> store =
+        new ConcurrentMemoryDataStoreFactory(true).getDataStore("foo");
+    ArrayList<String> value = new ArrayList<String>(Arrays.asList("a"));
+    store.set("k", value);
+    value.add("b");
+    ArrayList<String> cached = store.get("k");
+    assertEquals(Arrays.asList("a"), cached);
+    assertSame(cached, store.get("k"));
+    assertSame(cached, store.values().iterator().next());
+
+    store.set("k", value);
+    assertEquals(Arrays.asList("a", "b"), store.get("k"));
+  }
+
+  @Test
+  public void testNoCacheValues() throws IOException {
+    DataStore<ArrayList<String>> store = new ConcurrentMemoryDataStoreFactory().getDataStore("foo");
+    store.set("k", new ArrayList<String>(Arrays.asList("a")));
+    ArrayList<String> value = store.get("k");
+    assertNotSame(value, store.get("k"));
+    value.add("b");
+    assertEquals(Arrays.asList("a"), store.get("k"));
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    final DataStore<String> store = newDataStoreFactory().getDataStore("foo");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int t = 0; t < 8; t++) {
+        final String prefix = "t" + t + "-";
+        futures.add(
+            executor.submit(
+                new Callable<Void>() {
+                  public Void call() throws IOException {
+                    for (int i = 0; i < 1000; i++) {
+                      store.set(prefix + i, "v" + i);
+                      assertEquals("v" + i, store.get(prefix + i));
+                      store.set("shared", prefix + i);
+                      store.get("shared");
+                    }
+                    return null;
+                  }
+                }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(8 * 1000 + 1, store.size());
+    store.clear();
+  }
+}
@@ -18,11 +18,14 @@ import static java.nio.file.Files.createTempDirectory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.api.client.util.store.CompactDataStoreCodec;
 import com.google.api.client.util.store.DataStore;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.common.collect.ImmutableSet;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -53,4 +56,119 @@ public class FileDataStoreFactoryTest extends AbstractDataStoreFactoryTest {
     store.clear();
     assertTrue(new FileDataStoreFactory(factory.getDataDirectory()).getDataStore("foo").isEmpty());
   }
+
+  @Test
+  public void testCodec() throws IOException {
+    FileDataStoreFactory factory = newDataStoreFactory();
+    factory.<String>getDataStore("foo").set("k", "v");
+    // existing values are still read after switching codecs
+    DataStore<String> store =
+        new FileDataStoreFactory(
+                factory.getDataDirectory(), CompactDataStoreCodec.getDefaultInstance())
+            .getDataStore("foo");
+    assertEquals("v", store.get("k"));
+    store.set("k2", "v2");
+    assertEquals(
+        ImmutableSet.of("k", "k2"),
+        new FileDataStoreFactory(
+                factory.getDataDirectory(), CompactDataStoreCodec.getDefaultInstance())
+            .getDataStore("foo")
+            .keySet());
+  }
+
+  @Test
+  public void testWriteBehind() throws IOException {
+    File dataDirectory = newDataStoreFactory().getDataDirectory();
+    FileDataStoreFactory factory =
+        new FileDataStoreFactory.Builder(dataDirectory)
+            .setWriteBehind(1, TimeUnit.HOURS)
+            .setMaxUnsavedChanges(3)
+            .build();
+    DataStore<String> store = factory.getDataStore("foo");
+    store.set("k1", "v1");
+    store.set("k2", "v2");
+    assertEquals("v2", store.get("k2"));
+    assertTrue(new FileDataStoreFactory(dataDirectory).getDataStore("foo").isEmpty());
+
+    // saved once the maximum number of unsaved changes is reached
+    store.set("k3", "v3");
+    assertEquals(3, new FileDataStoreFactory(dataDirectory).getDataStore("foo").size());
+
+    store.delete("k1");
+    assertEquals(3, new FileDataStoreFactory(dataDirectory).getDataStore("foo").size());
+    factory.flush();
+    assertEquals(
+        ImmutableSet.of("k2", "k3"),
+        new FileDataStoreFactory(dataDirectory).getDataStore("foo").keySet());
+
+    // saved immediately after shutdown
+    store.set("k4", "v4");
+    factory.shutdown();
+    assertEquals(3, new FileDataStoreFactory(dataDirectory).getDataStore("foo").size());
+    store.set("k5", "v5");
+    assertEquals(4, new FileDataStoreFactory(dataDirectory).getDataStore("foo").size());
+  }
+
+  @Test
+  public void testWriteBehind_delay() throws Exception {
+    File dataDirectory = newDataStoreFactory().getDataDirectory();
+    FileDataStoreFactory factory =
+        new FileDataStoreFactory.Builder(dataDirectory)
+            .setWriteBehind(10, TimeUnit.MILLISECONDS)
+            .build();
+    try {
+      factory.<String>getDataStore("foo").set("k", "v");
+      long deadline = System.currentTimeMillis() + 10000;
+      while (new FileDataStoreFactory(dataDirectory).getDataStore("foo").isEmpty()) {
+        assertTrue(System.currentTimeMillis() < deadline);
+        Thread.sleep(10);
+      }
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Test
+  public void testWriteBehind_retry() throws Exception {
+    File dataDirectory = newDataStoreFactory().getDataDirectory();
+    FileDataStoreFactory factory =
+        new FileDataStoreFactory.Builder(dataDirectory)
+            .setWriteBehind(10, TimeUnit.MILLISECONDS)
+            .build();
+    // a directory in place of the temporary file makes saving fail
+    File tempFile = new File(dataDirectory, "foo.tmp");
+    assertTrue(tempFile.mkdir());
+    try {
+      factory.<String>getDataStore("foo").set("k", "v");
+      Thread.sleep(100);
+      assertTrue(new FileDataStoreFactory(dataDirectory).getDataStore("foo").isEmpty());
+
+      // saved by a later attempt without further changes
+      assertTrue(tempFile.delete());
+      long deadline = System.currentTimeMillis() + 10000;
+      while (new FileDataStoreFactory(dataDirectory).getDataStore("foo").isEmpty()) {
+        assertTrue(System.currentTimeMillis() < deadline);
+        Thread.sleep(10);
+      }
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Test
+  public void testWriteBehind_garbageCollected() throws Exception {
+    File dataDirectory = newDataStoreFactory().getDataDirectory();
+    WeakReference<FileDataStoreFactory> reference =
+        new WeakReference<FileDataStoreFactory>(
+            new FileDataStoreFactory.Builder(dataDirectory)
+                .setWriteBehind(10, TimeUnit.MILLISECONDS)
+                .build());
+    // not kept alive by the shutdown hook
+    long deadline = System.currentTimeMillis() + 10000;
+    while (reference.get() != null) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      System.gc();
+      Thread.sleep(10);
+    }
+  }
 }
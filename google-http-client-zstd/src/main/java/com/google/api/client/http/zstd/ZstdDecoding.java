@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.zstd;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.google.api.client.http.HttpDecoding;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Zstandard ({@code "zstd"}) HTTP content decoding based on the zstd-jni native bindings.
+ *
+ * <p>The native decompression context is released when the content returned by {@link
+ * com.google.api.client.http.HttpResponse#getContent()} is closed, or otherwise when it is garbage
+ * collected.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>
+ * request.setDecodingRegistry(new HttpDecodingRegistry.Builder()
+ * .add(new ZstdDecoding())
+ * .add(new GZipDecoding(), "x-gzip")
+ * .build());
+ * </pre>
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public class ZstdDecoding implements HttpDecoding {
+
+  @Override
+  public String getName() {
+    return "zstd";
+  }
+
+  @Override
+  public InputStream decode(InputStream content) throws IOException {
+    return new ZstdInputStream(content);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http.zstd;
+
+import static org.junit.Assert.assertEquals;
+
+import com.github.luben.zstd.Zstd;
+import com.google.api.client.http.GZipDecoding;
+import com.google.api.client.http.HttpDecodingRegistry;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ZstdDecoding}. */
+@RunWith(JUnit4.class)
+public class ZstdDecodingTest {
+
+  private static final String SAMPLE = "{\"kind\":\"sample\",\"items\":[{\"id\":1},{\"id\":2}]}";
+
+  private static String decode(byte[] encoded) throws IOException {
+    InputStream decoded = new ZstdDecoding().decode(new ByteArrayInputStream(encoded));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IOUtils.copy(decoded, out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testDecode() throws IOException {
+    assertEquals(SAMPLE, decode(Zstd.compress(SAMPLE.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void testDecode_concatenatedFrames() throws IOException {
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    encoded.write(Zstd.compress(SAMPLE.getBytes(StandardCharsets.UTF_8)));
+    encoded.write(Zstd.compress(SAMPLE.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(SAMPLE + SAMPLE, decode(encoded.toByteArray()));
+  }
+
+  @Test
+  public void testExecute() throws IOException {
+    MockLowLevelHttpResponse lowLevelResponse =
+        new MockLowLevelHttpResponse()
+            .setContentType("application/json")
+            .setContentEncoding("zstd")
+            .setContent(Zstd.compress(SAMPLE.getBytes(StandardCharsets.UTF_8)));
+    MockLowLevelHttpRequest lowLevelRequest =
+        new MockLowLevelHttpRequest().setResponse(lowLevelResponse);
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setDecodingRegistry(
+        new HttpDecodingRegistry.Builder()
+            .add(new ZstdDecoding())
+            .add(new GZipDecoding(), "x-gzip")
+            .build());
+    assertEquals(SAMPLE, request.execute().parseAsString());
+    assertEquals("zstd, gzip", lowLevelRequest.getFirstHeaderValue("Accept-Encoding"));
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Preconditions;
+import com.google.api.client.util.StreamingContent;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Abstract HTTP content encoding based on a {@link Deflater}.
+ *
+ * <p>Deflaters are reused across requests from a bounded pool (see {@link #setMaxPooledDeflaters}),
+ * with a configurable compression {@link #setLevel level} and {@link #setStrategy strategy}.
+ * Content that is smaller than {@link #getMinimumContentLength()} or whose media type is one of
+ * {@link #getIncompressibleMediaTypes()} is not encoded.
+ *
+ * <p>Implementation is thread-safe once configured, so a single instance may be shared by all
+ * requests.
+ *
+ * @since 2.2
+ */
+public abstract class AbstractDeflaterEncoding implements ConditionalHttpEncoding {
+
+  /** Default maximum number of idle deflaters kept for reuse. */
+  public static final int DEFAULT_MAX_POOLED_DEFLATERS = 4;
+
+  /** Size of the buffer for compressed data. */
+  private static final int BUFFER_SIZE = 4096;
+
+  /** Compression level. */
+  private int level = Deflater.DEFAULT_COMPRESSION;
+
+  /** Compression strategy. */
+  private int strategy = Deflater.DEFAULT_STRATEGY;
+
+  /** Maximum number of idle deflaters kept for reuse. */
+  private int maxPooledDeflaters = DEFAULT_MAX_POOLED_DEFLATERS;
+
+  /** Minimum length of content with a known length to encode. */
+  private long minimumContentLength;
+
+  /** Lower-case media types (possibly of the form {@code "type/*"}) that are not encoded. */
+  private Set<String> incompressibleMediaTypes = Collections.emptySet();
+
+  /** Deflater pool or {@code null} until first used or after a configuration change. */
+  private volatile DeflaterPool deflaterPool;
+
+  /**
+   * Returns whether the deflaters should omit the ZLIB header and checksum, as is needed for
+   * formats that provide their own framing such as GZIP.
+   */
+  protected abstract boolean isNowrap();
+
+  /**
+   * Encodes the streaming content into the output stream using the given deflater.
+   *
+   * <p>Implementations must not close the output stream, and should not end the deflater.
+   *
+   * @param content streaming content
+   * @param out buffered output stream
+   * @param deflater deflater configured with the compression level and strategy
+   */
+  protected abstract void deflate(StreamingContent content, OutputStream out, Deflater deflater)
+      throws IOException;
+
+  @Override
+  public void encode(StreamingContent content, OutputStream out) throws IOException {
+    // must not close the underlying output stream
+    OutputStream out2 =
+        new BufferedOutputStream(out) {
+          @Override
+          public void close() throws IOException {
+            // copy implementation of super.close(), except do not close the underlying output
+            // stream
+            try {
+              flush();
+            } catch (IOException ignored) {
+              // fall through
+            }
+          }
+        };
+    DeflaterPool pool = getDeflaterPool();
+    Deflater deflater = pool.acquire();
+    try {
+      deflate(content, out2, deflater);
+      out2.flush();
+    } finally {
+      pool.release(deflater);
+    }
+  }
+
+  /**
+   * Returns a deflater output stream that writes compressed data to the given output stream using
+   * the given deflater.
+   *
+   * <p>Callers should call {@link DeflaterOutputStream#finish()} but not {@link
+   * DeflaterOutputStream#close()}.
+   */
+  protected static DeflaterOutputStream newDeflaterOutputStream(
+      OutputStream out, Deflater deflater) {
+    return new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Returns {@code false} if the media type of the content is one of {@link
+   * #getIncompressibleMediaTypes()}, or if {@link #getMinimumContentLength()} is positive and the
+   * content length is known and smaller.
+   */
+  @Override
+  public boolean isEncodingRequired(HttpContent content) throws IOException {
+    if (!incompressibleMediaTypes.isEmpty() && isIncompressible(content.getType())) {
+      return false;
+    }
+    if (minimumContentLength > 0) {
+      // only computed if needed, since computing the length may require serializing the content
+      long length = content.getLength();
+      return length < 0 || length >= minimumContentLength;
+    }
+    return true;
+  }
+
+  private boolean isIncompressible(String type) {
+    if (type == null) {
+      return false;
+    }
+    int semicolon = type.indexOf(';');
+    String mediaType =
+        (semicolon == -1 ? type : type.substring(0, semicolon)).trim().toLowerCase(Locale.ENGLISH);
+    if (incompressibleMediaTypes.contains(mediaType)) {
+      return true;
+    }
+    int slash = mediaType.indexOf('/');
+    return slash != -1
+        && incompressibleMediaTypes.contains(mediaType.substring(0, slash + 1) + '*');
+  }
+
+  /** Returns the compression level (defaults to {@link Deflater#DEFAULT_COMPRESSION}). */
+  public final int getLevel() {
+    return level;
+  }
+
+  /**
+   * Sets the compression level (defaults to {@link Deflater#DEFAULT_COMPRESSION}).
+   *
+   * @param level {@link Deflater#DEFAULT_COMPRESSION} or a level between {@link
+   *     Deflater#NO_COMPRESSION} and {@link Deflater#BEST_COMPRESSION}
+   */
+  public AbstractDeflaterEncoding setLevel(int level) {
+    Preconditions.checkArgument(
+        level == Deflater.DEFAULT_COMPRESSION
+            || level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION);
+    this.level = level;
+    resetDeflaterPool();
+    return this;
+  }
+
+  /** Returns the compression strategy (defaults to {@link Deflater#DEFAULT_STRATEGY}). */
+  public final int getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Sets the compression strategy (defaults to {@link Deflater#DEFAULT_STRATEGY}).
+   *
+   * @param strategy {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link
+   *     Deflater#HUFFMAN_ONLY}
+   */
+  public AbstractDeflaterEncoding setStrategy(int strategy) {
+    Preconditions.checkArgument(
+        strategy == Deflater.DEFAULT_STRATEGY
+            || strategy == Deflater.FILTERED
+            || strategy == Deflater.HUFFMAN_ONLY);
+    this.strategy = strategy;
+    resetDeflaterPool();
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of idle deflaters kept for reuse (defaults to {@link
+   * #DEFAULT_MAX_POOLED_DEFLATERS}).
+   */
+  public final int getMaxPooledDeflaters() {
+    return maxPooledDeflaters;
+  }
+
+  /**
+   * Sets the maximum number of idle deflaters kept for reuse (defaults to {@link
+   * #DEFAULT_MAX_POOLED_DEFLATERS}).
+   *
+   * <p>Each idle deflater retains its native memory (a few hundred kilobytes), so this should be
+   * about the number of requests expected to be encoded concurrently. {@code 0} disables pooling.
+   */
+  public AbstractDeflaterEncoding setMaxPooledDeflaters(int maxPooledDeflaters) {
+    Preconditions.checkArgument(maxPooledDeflaters >= 0);
+    this.maxPooledDeflaters = maxPooledDeflaters;
+    resetDeflaterPool();
+    return this;
+  }
+
+  /**
+   * Returns the minimum length of content with a known length to encode (defaults to {@code 0} to
+   * encode all content).
+   */
+  public final long getMinimumContentLength() {
+    return minimumContentLength;
+  }
+
+  /**
+   * Sets the minimum length of content with a known length to encode (defaults to {@code 0} to
+   * encode all content).
+   *
+   * <p>Small content may get larger when compressed, and the compression overhead is not worth it.
+   * Note that determining the content length may require serializing the content twice for content
+   * whose length is not known in advance, such as {@link
+   * com.google.api.client.http.json.JsonHttpContent}.
+   */
+  public AbstractDeflaterEncoding setMinimumContentLength(long minimumContentLength) {
+    Preconditions.checkArgument(minimumContentLength >= 0);
+    this.minimumContentLength = minimumContentLength;
+    return this;
+  }
+
+  /**
+   * Returns the unmodifiable set of lower-case media types that are not encoded (defaults to an
+   * empty set).
+   */
+  public final Set<String> getIncompressibleMediaTypes() {
+    return incompressibleMediaTypes;
+  }
+
+  /**
+   * Sets the media types that are not encoded, typically because they are already compressed
+   * (defaults to an empty set).
+   *
+   * <p>Media types are of the form {@code "type/subtype"} (for example {@code "image/png"}) or
+   * {@code "type/*"} (for example {@code "video/*"}), and are matched case insensitively and
+   * without parameters.
+   */
+  public AbstractDeflaterEncoding setIncompressibleMediaTypes(
+      Collection<String> incompressibleMediaTypes) {
+    Set<String> mediaTypes = new HashSet<String>();
+    for (String mediaType : incompressibleMediaTypes) {
+      mediaTypes.add(mediaType.trim().toLowerCase(Locale.ENGLISH));
+    }
+    this.incompressibleMediaTypes = Collections.unmodifiableSet(mediaTypes);
+    return this;
+  }
+
+  final DeflaterPool getDeflaterPool() {
+    DeflaterPool pool = deflaterPool;
+    if (pool == null) {
+      pool = new DeflaterPool(level, strategy, isNowrap(), maxPooledDeflaters);
+      deflaterPool = pool;
+    }
+    return pool;
+  }
+
+  private void resetDeflaterPool() {
+    DeflaterPool pool = deflaterPool;
+    deflaterPool = null;
+    if (pool != null) {
+      pool.clear();
+    }
+  }
+}
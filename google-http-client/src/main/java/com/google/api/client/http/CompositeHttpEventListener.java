@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.IOException;
+
+/**
+ * Event listener that forwards every event to several listeners, in order, as returned by the
+ * factory of {@link HttpEventListener#compose}.
+ *
+ * <p>Events are timed with the nano clock of the first listener. Body previews are forwarded to
+ * each listener up to its own {@link #getBodyPreviewLimit() body preview limit}.
+ */
+final class CompositeHttpEventListener extends HttpEventListener {
+
+  /** Listeners that events are forwarded to. */
+  private final HttpEventListener[] listeners;
+
+  /** Body preview limit of each listener. */
+  private final int[] previewLimits;
+
+  /** Maximum body preview limit of the listeners. */
+  private final int maxPreviewLimit;
+
+  /** Number of bytes of the request content that may still be reported to each listener. */
+  private final int[] requestPreviewRemaining;
+
+  /** Number of bytes of the response content that may still be reported to each listener. */
+  private final int[] responsePreviewRemaining;
+
+  /** @param listeners at least two listeners that events are forwarded to */
+  CompositeHttpEventListener(HttpEventListener[] listeners) {
+    super(listeners[0].getNanoClock());
+    this.listeners = listeners;
+    previewLimits = new int[listeners.length];
+    int max = 0;
+    for (int i = 0; i < listeners.length; i++) {
+      previewLimits[i] = listeners[i].getBodyPreviewLimit();
+      max = Math.max(max, previewLimits[i]);
+    }
+    maxPreviewLimit = max;
+    requestPreviewRemaining = max == 0 ? null : previewLimits.clone();
+    responsePreviewRemaining = max == 0 ? null : previewLimits.clone();
+  }
+
+  @Override
+  public void executeStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.executeStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void attemptStart(int attempt, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.attemptStart(attempt, nanoTime);
+    }
+  }
+
+  @Override
+  public void interceptStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.interceptStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void interceptEnd(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.interceptEnd(nanoTime);
+    }
+  }
+
+  @Override
+  public void requestHeadersStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.requestHeadersStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void requestHeadersEnd(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.requestHeadersEnd(nanoTime);
+    }
+  }
+
+  @Override
+  public void connectStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.connectStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void connectEnd(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.connectEnd(nanoTime);
+    }
+  }
+
+  @Override
+  public void requestBodyStart(long nanoTime) {
+    if (requestPreviewRemaining != null) {
+      System.arraycopy(previewLimits, 0, requestPreviewRemaining, 0, previewLimits.length);
+    }
+    for (HttpEventListener listener : listeners) {
+      listener.requestBodyStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void requestBodyEnd(long byteCount, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.requestBodyEnd(byteCount, nanoTime);
+    }
+  }
+
+  @Override
+  public void responseHeadersEnd(int statusCode, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.responseHeadersEnd(statusCode, nanoTime);
+    }
+  }
+
+  @Override
+  public void attemptFailed(int attempt, IOException exception, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.attemptFailed(attempt, exception, nanoTime);
+    }
+  }
+
+  @Override
+  public void backOff(long backOffMillis, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.backOff(backOffMillis, nanoTime);
+    }
+  }
+
+  @Override
+  public void retryDecision(int attempt, boolean retry, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.retryDecision(attempt, retry, nanoTime);
+    }
+  }
+
+  @Override
+  public void executeEnd(int statusCode, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.executeEnd(statusCode, nanoTime);
+    }
+  }
+
+  @Override
+  public void executeFailed(Exception exception, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.executeFailed(exception, nanoTime);
+    }
+  }
+
+  @Override
+  public void responseBodyStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.responseBodyStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void responseBodyEnd(long byteCount, long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.responseBodyEnd(byteCount, nanoTime);
+    }
+  }
+
+  @Override
+  public void parseStart(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.parseStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void parseEnd(long nanoTime) {
+    for (HttpEventListener listener : listeners) {
+      listener.parseEnd(nanoTime);
+    }
+  }
+
+  @Override
+  public int getBodyPreviewLimit() {
+    return maxPreviewLimit;
+  }
+
+  @Override
+  public void requestBodyPreview(byte[] buffer, int offset, int length) {
+    for (int i = 0; i < listeners.length; i++) {
+      int n = Math.min(length, requestPreviewRemaining[i]);
+      if (n > 0) {
+        requestPreviewRemaining[i] -= n;
+        listeners[i].requestBodyPreview(buffer, offset, n);
+      }
+    }
+  }
+
+  @Override
+  public void responseBodyPreview(byte[] buffer, int offset, int length) {
+    for (int i = 0; i < listeners.length; i++) {
+      int n = Math.min(length, responsePreviewRemaining[i]);
+      if (n > 0) {
+        responsePreviewRemaining[i] -= n;
+        listeners[i].responseBodyPreview(buffer, offset, n);
+      }
+    }
+  }
+}
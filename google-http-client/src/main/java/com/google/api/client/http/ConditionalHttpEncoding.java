@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.IOException;
+
+/**
+ * HTTP content encoding that may decline to encode some content, for example content that is too
+ * small to benefit from compression or that is already compressed.
+ *
+ * <p>When {@link #isEncodingRequired} returns {@code false}, the content is sent as is and without
+ * a {@code Content-Encoding} header.
+ *
+ * @since 2.2
+ */
+public interface ConditionalHttpEncoding extends HttpEncoding {
+
+  /**
+   * Returns whether the given content should be encoded.
+   *
+   * @param content HTTP content
+   */
+  boolean isEncodingRequired(HttpContent content) throws IOException;
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Objects;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the statistics of the connection pool of an {@link HttpTransport}, in total
+ * or for a single route.
+ *
+ * <p>A pool is starved when requests are {@link #getPending() pending} while the number of {@link
+ * #getLeased() leased} connections is at the {@link #getMax() maximum}.
+ *
+ * @since 2.2
+ */
+public final class ConnectionPoolStats {
+
+  private final int leased;
+
+  private final int pending;
+
+  private final int available;
+
+  private final int max;
+
+  private final Map<String, ConnectionPoolStats> routes;
+
+  /**
+   * @param leased number of connections in use
+   * @param pending number of requests waiting for a connection
+   * @param available number of idle connections
+   * @param max maximum number of connections
+   * @param routes statistics of each route, keyed by route description, which is copied
+   */
+  public ConnectionPoolStats(
+      int leased, int pending, int available, int max, Map<String, ConnectionPoolStats> routes) {
+    this.leased = leased;
+    this.pending = pending;
+    this.available = available;
+    this.max = max;
+    this.routes =
+        routes.isEmpty()
+            ? Collections.<String, ConnectionPoolStats>emptyMap()
+            : Collections.unmodifiableMap(new LinkedHashMap<String, ConnectionPoolStats>(routes));
+  }
+
+  /** Returns the number of connections in use. */
+  public int getLeased() {
+    return leased;
+  }
+
+  /** Returns the number of requests waiting for a connection. */
+  public int getPending() {
+    return pending;
+  }
+
+  /** Returns the number of idle connections that are kept alive. */
+  public int getAvailable() {
+    return available;
+  }
+
+  /** Returns the maximum number of connections. */
+  public int getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the unmodifiable statistics of each route with connections or pending requests, keyed
+   * by route description such as {@code "https://www.googleapis.com:443"}, or an empty map for the
+   * statistics of a single route.
+   */
+  public Map<String, ConnectionPoolStats> getRoutes() {
+    return routes;
+  }
+
+  @Override
+  public String toString() {
+    Objects.ToStringHelper helper =
+        Objects.toStringHelper(this)
+            .add("leased", leased)
+            .add("pending", pending)
+            .add("available", available)
+            .add("max", max);
+    if (!routes.isEmpty()) {
+      helper.add("routes", routes);
+    }
+    return helper.toString();
+  }
+}
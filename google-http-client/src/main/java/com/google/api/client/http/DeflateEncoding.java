@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.StreamingContent;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Deflate HTTP content encoding, which is the ZLIB format (RFC 1950) as specified by RFC 9110.
+ *
+ * <p>Deflaters are reused across requests and compression can be configured or skipped for some
+ * content, see {@link AbstractDeflaterEncoding}. Sample usage:
+ *
+ * <pre>
+ * request.setEncoding(new DeflateEncoding()
+ * .setLevel(Deflater.BEST_SPEED)
+ * .setMinimumContentLength(1024)
+ * .setIncompressibleMediaTypes(Arrays.asList("image/*", "video/*", "application/zip")));
+ * </pre>
+ *
+ * @since 2.2
+ */
+public class DeflateEncoding extends AbstractDeflaterEncoding {
+
+  @Override
+  public String getName() {
+    return "deflate";
+  }
+
+  @Override
+  protected boolean isNowrap() {
+    return false;
+  }
+
+  @Override
+  protected void deflate(StreamingContent content, OutputStream out, Deflater deflater)
+      throws IOException {
+    DeflaterOutputStream deflaterOut = newDeflaterOutputStream(out, deflater);
+    content.writeTo(deflaterOut);
+    deflaterOut.finish();
+  }
+
+  @Override
+  public DeflateEncoding setLevel(int level) {
+    return (DeflateEncoding) super.setLevel(level);
+  }
+
+  @Override
+  public DeflateEncoding setStrategy(int strategy) {
+    return (DeflateEncoding) super.setStrategy(strategy);
+  }
+
+  @Override
+  public DeflateEncoding setMaxPooledDeflaters(int maxPooledDeflaters) {
+    return (DeflateEncoding) super.setMaxPooledDeflaters(maxPooledDeflaters);
+  }
+
+  @Override
+  public DeflateEncoding setMinimumContentLength(long minimumContentLength) {
+    return (DeflateEncoding) super.setMinimumContentLength(minimumContentLength);
+  }
+
+  @Override
+  public DeflateEncoding setIncompressibleMediaTypes(Collection<String> incompressibleMediaTypes) {
+    return (DeflateEncoding) super.setIncompressibleMediaTypes(incompressibleMediaTypes);
+  }
+}
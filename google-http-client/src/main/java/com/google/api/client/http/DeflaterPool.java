@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Thread-safe bounded pool of {@link Deflater}s sharing the same compression level, strategy and
+ * format, which avoids allocating and initializing native compression state for every request.
+ *
+ * <p>Deflaters that do not fit in the pool when released are {@link Deflater#end() ended}
+ * immediately.
+ */
+final class DeflaterPool {
+
+  /** Compression level. */
+  private final int level;
+
+  /** Compression strategy. */
+  private final int strategy;
+
+  /** Whether to omit the ZLIB header and checksum (as needed for the GZIP format). */
+  private final boolean nowrap;
+
+  /** Idle deflaters or {@code null} if pooling is disabled. */
+  private final BlockingQueue<Deflater> idle;
+
+  /**
+   * @param level compression level
+   * @param strategy compression strategy
+   * @param nowrap whether to omit the ZLIB header and checksum
+   * @param maxIdle maximum number of idle deflaters to keep or {@code 0} to disable pooling
+   */
+  DeflaterPool(int level, int strategy, boolean nowrap, int maxIdle) {
+    this.level = level;
+    this.strategy = strategy;
+    this.nowrap = nowrap;
+    idle = maxIdle == 0 ? null : new ArrayBlockingQueue<Deflater>(maxIdle);
+  }
+
+  /** Returns an idle deflater from the pool or a new one if none is available. */
+  Deflater acquire() {
+    Deflater deflater = idle == null ? null : idle.poll();
+    if (deflater == null) {
+      deflater = new Deflater(level, nowrap);
+      deflater.setStrategy(strategy);
+    }
+    return deflater;
+  }
+
+  /** Resets the given deflater and returns it to the pool, or ends it if the pool is full. */
+  void release(Deflater deflater) {
+    if (idle != null) {
+      deflater.reset();
+      if (idle.offer(deflater)) {
+        return;
+      }
+    }
+    deflater.end();
+  }
+
+  /** Ends all idle deflaters. */
+  void clear() {
+    if (idle != null) {
+      Deflater deflater;
+      while ((deflater = idle.poll()) != null) {
+        deflater.end();
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that counts the bytes read and reports {@link HttpEventListener#responseBodyEnd}
+ * once the end of the stream is reached or the stream is closed, whichever comes first.
+ */
+final class EventListenerInputStream extends FilterInputStream {
+
+  /** Event listener. */
+  private final HttpEventListener listener;
+
+  /** Number of bytes read. */
+  private long count;
+
+  /** Number of bytes read when the stream was marked. */
+  private long markCount;
+
+  /** Whether the end event has been reported. */
+  private boolean ended;
+
+  EventListenerInputStream(InputStream in, HttpEventListener listener) {
+    super(in);
+    this.listener = listener;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = in.read();
+    if (b == -1) {
+      end();
+    } else {
+      count++;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int n = in.read(b, off, len);
+    if (n == -1) {
+      end();
+    } else {
+      count += n;
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = in.skip(n);
+    count += skipped;
+    return skipped;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    in.mark(readlimit);
+    markCount = count;
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    in.reset();
+    count = markCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      in.close();
+    } finally {
+      end();
+    }
+  }
+
+  /** Reports the end of the content, unless already reported. */
+  void end() {
+    if (!ended) {
+      ended = true;
+      listener.responseBodyEnd(count, listener.nanoTime());
+    }
+  }
+}
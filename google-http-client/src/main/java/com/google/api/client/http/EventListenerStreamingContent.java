@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.StreamingContent;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming content that reports {@link HttpEventListener#requestBodyStart} and {@link
+ * HttpEventListener#requestBodyEnd} each time it is written.
+ */
+final class EventListenerStreamingContent implements StreamingContent {
+
+  /** Streaming content. */
+  private final StreamingContent content;
+
+  /** Event listener. */
+  private final HttpEventListener listener;
+
+  EventListenerStreamingContent(StreamingContent content, HttpEventListener listener) {
+    this.content = content;
+    this.listener = listener;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    CountingOutputStream countingOut = new CountingOutputStream(out);
+    listener.requestBodyStart(listener.nanoTime());
+    content.writeTo(countingOut);
+    listener.requestBodyEnd(countingOut.count, listener.nanoTime());
+  }
+
+  /** Output stream that counts the number of bytes written. */
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    /** Number of bytes written. */
+    long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
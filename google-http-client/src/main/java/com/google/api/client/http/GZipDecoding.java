@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * GZip HTTP content decoding.
+ *
+ * <p>Inflaters are reused across responses from a bounded pool (see {@link #setMaxPooledInflaters})
+ * and returned to it, releasing their native memory if the pool is full, when the decoded input
+ * stream is closed. Concatenated GZIP members are decoded as a single stream.
+ *
+ * <p>Implementation is thread-safe once configured, so a single instance may be shared by all
+ * requests.
+ *
+ * @since 2.2
+ */
+public class GZipDecoding implements HttpDecoding {
+
+  /** Default maximum number of idle inflaters kept for reuse. */
+  public static final int DEFAULT_MAX_POOLED_INFLATERS = 4;
+
+  /** Default size of the buffer for compressed data. */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /** Maximum number of idle inflaters kept for reuse. */
+  private int maxPooledInflaters = DEFAULT_MAX_POOLED_INFLATERS;
+
+  /** Size of the buffer for compressed data. */
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+  /** Inflater pool or {@code null} until first used or after a configuration change. */
+  private volatile InflaterPool inflaterPool;
+
+  @Override
+  public String getName() {
+    return "gzip";
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The GZIP header of the first member is read eagerly, so this throws {@link
+   * java.io.EOFException} if the content is empty. The returned input stream must be closed to
+   * return its inflater to the pool.
+   */
+  @Override
+  public InputStream decode(InputStream content) throws IOException {
+    return new PooledGZipInputStream(content, getInflaterPool(), bufferSize);
+  }
+
+  /**
+   * Returns the maximum number of idle inflaters kept for reuse (defaults to {@link
+   * #DEFAULT_MAX_POOLED_INFLATERS}).
+   */
+  public final int getMaxPooledInflaters() {
+    return maxPooledInflaters;
+  }
+
+  /**
+   * Sets the maximum number of idle inflaters kept for reuse (defaults to {@link
+   * #DEFAULT_MAX_POOLED_INFLATERS}).
+   *
+   * <p>Each idle inflater retains its native memory (a few tens of kilobytes), so this should be
+   * about the number of responses expected to be decoded concurrently. {@code 0} disables pooling.
+   */
+  public GZipDecoding setMaxPooledInflaters(int maxPooledInflaters) {
+    Preconditions.checkArgument(maxPooledInflaters >= 0);
+    this.maxPooledInflaters = maxPooledInflaters;
+    InflaterPool pool = inflaterPool;
+    inflaterPool = null;
+    if (pool != null) {
+      pool.clear();
+    }
+    return this;
+  }
+
+  /**
+   * Returns the size of the buffer for compressed data (defaults to {@link #DEFAULT_BUFFER_SIZE}).
+   */
+  public final int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the size of the buffer for compressed data (defaults to {@link #DEFAULT_BUFFER_SIZE}).
+   *
+   * <p>Larger buffers reduce the number of reads from the underlying input stream and of calls into
+   * the native inflater.
+   */
+  public GZipDecoding setBufferSize(int bufferSize) {
+    Preconditions.checkArgument(bufferSize > 0);
+    this.bufferSize = bufferSize;
+    return this;
+  }
+
+  final InflaterPool getInflaterPool() {
+    InflaterPool pool = inflaterPool;
+    if (pool == null) {
+      pool = new InflaterPool(maxPooledInflaters);
+      inflaterPool = pool;
+    }
+    return pool;
+  }
+}
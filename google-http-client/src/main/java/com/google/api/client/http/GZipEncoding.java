@@ -15,18 +15,40 @@
 package com.google.api.client.http;
 
 import com.google.api.client.util.StreamingContent;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPOutputStream;
 
 /**
  * GZip HTTP content encoding.
  *
+ * <p>Since 2.2, deflaters are reused across requests and compression can be configured or skipped
+ * for some content, see {@link AbstractDeflaterEncoding}. Sample usage:
+ *
+ * <pre>
+ * request.setEncoding(new GZipEncoding()
+ * .setLevel(Deflater.BEST_SPEED)
+ * .setMinimumContentLength(1024)
+ * .setIncompressibleMediaTypes(Arrays.asList("image/*", "video/*", "application/zip")));
+ * </pre>
+ *
  * @since 1.14
  * @author Yaniv Inbar
  */
-public class GZipEncoding implements HttpEncoding {
+public class GZipEncoding extends AbstractDeflaterEncoding {
+
+  /**
+   * GZIP header magic number, compression method (deflate), flags, mtime, xfl and OS, as written by
+   * {@link GZIPOutputStream} on the running JDK.
+   */
+  static final byte[] HEADER = newHeader();
 
   @Override
   public String getName() {
@@ -34,24 +56,66 @@ public class GZipEncoding implements HttpEncoding {
   }
 
   @Override
-  public void encode(StreamingContent content, OutputStream out) throws IOException {
-    // must not close the underlying output stream
-    OutputStream out2 =
-        new BufferedOutputStream(out) {
-          @Override
-          public void close() throws IOException {
-            // copy implementation of super.close(), except do not close the underlying output
-            // stream
-            try {
-              flush();
-            } catch (IOException ignored) {
-              // fall through
-            }
-          }
-        };
-    GZIPOutputStream zipper = new GZIPOutputStream(out2);
-    content.writeTo(zipper);
-    // cannot call just zipper.finish() because that would cause a severe memory leak
-    zipper.close();
+  protected boolean isNowrap() {
+    return true;
+  }
+
+  @Override
+  protected void deflate(StreamingContent content, OutputStream out, Deflater deflater)
+      throws IOException {
+    out.write(HEADER);
+    CRC32 crc = new CRC32();
+    DeflaterOutputStream deflaterOut = newDeflaterOutputStream(out, deflater);
+    content.writeTo(new CheckedOutputStream(deflaterOut, crc));
+    deflaterOut.finish();
+    writeInt(out, (int) crc.getValue());
+    writeInt(out, (int) deflater.getBytesRead());
+  }
+
+  /**
+   * Returns the header written by {@link GZIPOutputStream}, whose OS byte is 0 before Java 16 and
+   * 255 (unknown) since (JDK-8244706), so that encoded content stays the same as before.
+   */
+  private static byte[] newHeader() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      new GZIPOutputStream(out).close();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return Arrays.copyOf(out.toByteArray(), 10);
+  }
+
+  /** Writes an integer in little-endian byte order. */
+  static void writeInt(OutputStream out, int value) throws IOException {
+    out.write(value);
+    out.write(value >> 8);
+    out.write(value >> 16);
+    out.write(value >> 24);
+  }
+
+  @Override
+  public GZipEncoding setLevel(int level) {
+    return (GZipEncoding) super.setLevel(level);
+  }
+
+  @Override
+  public GZipEncoding setStrategy(int strategy) {
+    return (GZipEncoding) super.setStrategy(strategy);
+  }
+
+  @Override
+  public GZipEncoding setMaxPooledDeflaters(int maxPooledDeflaters) {
+    return (GZipEncoding) super.setMaxPooledDeflaters(maxPooledDeflaters);
+  }
+
+  @Override
+  public GZipEncoding setMinimumContentLength(long minimumContentLength) {
+    return (GZipEncoding) super.setMinimumContentLength(minimumContentLength);
+  }
+
+  @Override
+  public GZipEncoding setIncompressibleMediaTypes(Collection<String> incompressibleMediaTypes) {
+    return (GZipEncoding) super.setIncompressibleMediaTypes(incompressibleMediaTypes);
   }
 }
@@ -31,7 +31,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * URL builder in which the query parameters are specified as generic data key/value pairs, based on
@@ -86,6 +85,9 @@ public class GenericUrl extends GenericData {
    */
   private boolean verbatim;
 
+  /** Result of the last {@link #build()} or {@code null} if it must be built again. */
+  private BuiltUrl builtUrl;
+
   public GenericUrl() {}
 
   /**
@@ -122,7 +124,19 @@ public class GenericUrl extends GenericData {
    * @throws IllegalArgumentException if URL has a syntax error
    */
   public GenericUrl(String encodedUrl, boolean verbatim) {
-    this(parseURL(encodedUrl), verbatim);
+    this(UrlParts.parse(encodedUrl), verbatim);
+  }
+
+  private GenericUrl(UrlParts parts, boolean verbatim) {
+    this(
+        parts.scheme,
+        parts.host,
+        parts.port,
+        parts.path,
+        parts.fragment,
+        parts.query,
+        parts.userInfo,
+        verbatim);
   }
 
   /**
@@ -246,6 +260,7 @@ public class GenericUrl extends GenericData {
 
   @Override
   public GenericUrl set(String fieldName, Object value) {
+    builtUrl = null;
     return (GenericUrl) super.set(fieldName, value);
   }
 
@@ -265,6 +280,7 @@ public class GenericUrl extends GenericData {
    */
   public final void setScheme(String scheme) {
     this.scheme = Preconditions.checkNotNull(scheme);
+    builtUrl = null;
   }
 
   /**
@@ -283,6 +299,7 @@ public class GenericUrl extends GenericData {
    */
   public final void setHost(String host) {
     this.host = Preconditions.checkNotNull(host);
+    builtUrl = null;
   }
 
   /**
@@ -301,6 +318,7 @@ public class GenericUrl extends GenericData {
    */
   public final void setUserInfo(String userInfo) {
     this.userInfo = userInfo;
+    builtUrl = null;
   }
 
   /**
@@ -320,6 +338,7 @@ public class GenericUrl extends GenericData {
   public final void setPort(int port) {
     Preconditions.checkArgument(port >= -1, "expected port >= -1");
     this.port = port;
+    builtUrl = null;
   }
 
   /**
@@ -346,6 +365,7 @@ public class GenericUrl extends GenericData {
    */
   public void setPathParts(List<String> pathParts) {
     this.pathParts = pathParts;
+    builtUrl = null;
   }
 
   /**
@@ -364,14 +384,125 @@ public class GenericUrl extends GenericData {
    */
   public final void setFragment(String fragment) {
     this.fragment = fragment;
+    builtUrl = null;
   }
 
   /**
    * Constructs the string representation of the URL, including the path specified by {@link
    * #pathParts} and the query parameters specified by this generic URL.
+   *
+   * <p>The result is reused by later calls until this URL is changed, unless it has query parameter
+   * values other than strings, primitive wrappers, enums and collections of them, which may change
+   * without this URL being changed.
    */
   public final String build() {
-    return buildAuthority() + buildRelativeUrl();
+    BuiltUrl built = builtUrl;
+    if (built != null && isBuiltFrom(built.state)) {
+      return built.url;
+    }
+    String url = buildAuthority() + buildRelativeUrl();
+    Object[] state = buildState();
+    builtUrl = state == null ? null : new BuiltUrl(url, state);
+    return url;
+  }
+
+  /**
+   * Immutable result of {@link #build()}, kept in a single field so that it is read consistently
+   * without synchronization.
+   */
+  private static final class BuiltUrl {
+
+    /** URL string. */
+    final String url;
+
+    /**
+     * Path parts followed by the query parameter names and values that the URL string was built
+     * from, compared by identity to detect changes made other than through the setters.
+     */
+    final Object[] state;
+
+    BuiltUrl(String url, Object[] state) {
+      this.url = url;
+      this.state = state;
+    }
+  }
+
+  /**
+   * Returns the path parts followed by the query parameter names and values, each collection value
+   * followed by its size and elements, or {@code null} if a value may change without this URL or
+   * the collection being changed.
+   */
+  private Object[] buildState() {
+    List<Object> state = new ArrayList<Object>();
+    if (pathParts != null) {
+      state.addAll(pathParts);
+    }
+    for (Map.Entry<String, Object> entry : entrySet()) {
+      Object value = entry.getValue();
+      state.add(entry.getKey());
+      state.add(value);
+      if (value instanceof Collection<?>) {
+        Collection<?> collectionValue = (Collection<?>) value;
+        state.add(collectionValue.size());
+        for (Object repeatedValue : collectionValue) {
+          if (!isImmutable(repeatedValue)) {
+            return null;
+          }
+          state.add(repeatedValue);
+        }
+      } else if (!isImmutable(value)) {
+        return null;
+      }
+    }
+    return state.toArray();
+  }
+
+  /** Returns whether the path parts and query parameters are still the same as in the state. */
+  private boolean isBuiltFrom(Object[] state) {
+    int index = 0;
+    if (pathParts != null) {
+      if (pathParts.size() > state.length) {
+        return false;
+      }
+      for (String pathPart : pathParts) {
+        if (state[index++] != pathPart) {
+          return false;
+        }
+      }
+    }
+    for (Map.Entry<String, Object> entry : entrySet()) {
+      Object value = entry.getValue();
+      if (index + 2 > state.length || state[index++] != entry.getKey() || state[index++] != value) {
+        return false;
+      }
+      if (value instanceof Collection<?>) {
+        Collection<?> collectionValue = (Collection<?>) value;
+        int size = collectionValue.size();
+        if (index + 1 + size > state.length || !state[index++].equals(size)) {
+          return false;
+        }
+        for (Object repeatedValue : collectionValue) {
+          if (state[index++] != repeatedValue) {
+            return false;
+          }
+        }
+      }
+    }
+    return index == state.length;
+  }
+
+  private static boolean isImmutable(Object value) {
+    return value == null
+        || value instanceof String
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Boolean
+        || value instanceof Short
+        || value instanceof Byte
+        || value instanceof Character
+        || value instanceof Double
+        || value instanceof Float
+        || value instanceof Enum<?>;
   }
 
   /**
@@ -524,6 +655,7 @@ public class GenericUrl extends GenericData {
    */
   public void setRawPath(String encodedPath) {
     pathParts = toPathParts(encodedPath, verbatim);
+    builtUrl = null;
   }
 
   /**
@@ -546,6 +678,7 @@ public class GenericUrl extends GenericData {
         pathParts.set(size - 1, pathParts.get(size - 1) + appendedPathParts.get(0));
         pathParts.addAll(appendedPathParts.subList(1, appendedPathParts.size()));
       }
+      builtUrl = null;
     }
   }
   /**
@@ -607,9 +740,9 @@ public class GenericUrl extends GenericData {
     }
   }
 
-  /** Adds query parameters from the provided entrySet into the buffer. */
+  /** Adds query parameters from the provided entries into the buffer. */
   static void addQueryParams(
-      Set<Entry<String, Object>> entrySet, StringBuilder buf, boolean verbatim) {
+      Iterable<Entry<String, Object>> entrySet, StringBuilder buf, boolean verbatim) {
     // (similar to UrlEncodedContent)
     boolean first = true;
     for (Map.Entry<String, Object> nameValueEntry : entrySet) {
@@ -679,4 +812,142 @@ public class GenericUrl extends GenericData {
       throw new IllegalArgumentException(e);
     }
   }
+
+  /** Raw components of a URL string, as returned by the getters of {@link URL}. */
+  private static final class UrlParts {
+
+    final String scheme;
+    final String host;
+    final int port;
+    final String path;
+    final String fragment;
+    final String query;
+    final String userInfo;
+
+    UrlParts(
+        String scheme,
+        String host,
+        int port,
+        String path,
+        String fragment,
+        String query,
+        String userInfo) {
+      this.scheme = scheme;
+      this.host = host;
+      this.port = port;
+      this.path = path;
+      this.fragment = fragment;
+      this.query = query;
+      this.userInfo = userInfo;
+    }
+
+    /**
+     * Parses the given encoded URL with the same result as {@link URL#URL(String)}.
+     *
+     * <p>Any {@link MalformedURLException} is wrapped in an {@link IllegalArgumentException}.
+     */
+    static UrlParts parse(String encodedUrl) {
+      UrlParts parts = encodedUrl == null ? null : parseHttpUrl(encodedUrl);
+      if (parts == null) {
+        URL url = parseURL(encodedUrl);
+        parts =
+            new UrlParts(
+                url.getProtocol(),
+                url.getHost(),
+                url.getPort(),
+                url.getPath(),
+                url.getRef(),
+                url.getQuery(),
+                url.getUserInfo());
+      }
+      return parts;
+    }
+
+    /**
+     * Parses the given encoded URL in a single pass if it is a common {@code http} or {@code https}
+     * URL with a host name, or returns {@code null} for {@link URL} to parse or reject it.
+     */
+    private static UrlParts parseHttpUrl(String encodedUrl) {
+      int length = encodedUrl.length();
+      int authorityStart;
+      if (encodedUrl.regionMatches(true, 0, "http://", 0, 7)) {
+        authorityStart = 7;
+      } else if (encodedUrl.regionMatches(true, 0, "https://", 0, 8)) {
+        authorityStart = 8;
+      } else {
+        return null;
+      }
+      if (encodedUrl.charAt(length - 1) <= ' ') {
+        // URL trims whitespace
+        return null;
+      }
+      // authority ends at the first '/', '?' or '#'
+      int hostStart = authorityStart;
+      int portStart = -1;
+      int authorityEnd = authorityStart;
+      for (; authorityEnd < length; authorityEnd++) {
+        char c = encodedUrl.charAt(authorityEnd);
+        if (c == '/' || c == '?' || c == '#') {
+          break;
+        }
+        if (c == '@') {
+          if (hostStart != authorityStart) {
+            // not a server based authority
+            return null;
+          }
+          hostStart = authorityEnd + 1;
+          portStart = -1;
+        } else if (c == ':') {
+          if (portStart == -1) {
+            portStart = authorityEnd;
+          }
+        }
+      }
+      int hostEnd = portStart == -1 ? authorityEnd : portStart;
+      if (hostEnd == hostStart) {
+        return null;
+      }
+      for (int i = hostStart; i < hostEnd; i++) {
+        char c = encodedUrl.charAt(i);
+        boolean isHostChar =
+            (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '.'
+                || c == '-'
+                || c == '_'
+                || c == '~';
+        if (!isHostChar) {
+          // for example an IPv6 literal
+          return null;
+        }
+      }
+      int port = -1;
+      if (portStart != -1 && portStart + 1 < authorityEnd) {
+        if (authorityEnd - portStart > 6) {
+          return null;
+        }
+        port = 0;
+        for (int i = portStart + 1; i < authorityEnd; i++) {
+          char c = encodedUrl.charAt(i);
+          if (c < '0' || c > '9') {
+            return null;
+          }
+          port = port * 10 + c - '0';
+        }
+      }
+      int fragmentStart = encodedUrl.indexOf('#', authorityEnd);
+      int limit = fragmentStart == -1 ? length : fragmentStart;
+      int queryStart = encodedUrl.indexOf('?', authorityEnd);
+      int pathEnd = queryStart == -1 || queryStart > limit ? limit : queryStart;
+      return new UrlParts(
+          encodedUrl.substring(0, authorityStart - 3),
+          encodedUrl.substring(hostStart, hostEnd),
+          port,
+          encodedUrl.substring(authorityEnd, pathEnd),
+          fragmentStart == -1 ? null : encodedUrl.substring(fragmentStart + 1),
+          pathEnd == limit ? null : encodedUrl.substring(pathEnd + 1, limit),
+          hostStart == authorityStart ? null : encodedUrl.substring(authorityStart, hostStart - 1));
+    }
+  }
 }
@@ -15,7 +15,6 @@
 package com.google.api.client.http;
 
 import com.google.api.client.util.BackOff;
-import com.google.api.client.util.BackOffUtils;
 import com.google.api.client.util.Beta;
 import com.google.api.client.util.Preconditions;
 import com.google.api.client.util.Sleeper;
@@ -95,11 +94,26 @@ public class HttpBackOffIOExceptionHandler implements HttpIOExceptionHandler {
       return false;
     }
     try {
-      return BackOffUtils.next(sleeper, backOff);
+      return next(request);
     } catch (InterruptedException exception) {
       // Mark thread as interrupted since we cannot throw InterruptedException here.
       Thread.currentThread().interrupt();
       return false;
     }
   }
+
+  /**
+   * Sleeps for the next back-off time, reporting it to the request, and returns whether to retry.
+   */
+  private boolean next(HttpRequest request) throws InterruptedException, IOException {
+    long backOffTime = backOff.nextBackOffMillis();
+    if (backOffTime == BackOff.STOP) {
+      return false;
+    }
+    if (request != null) {
+      request.reportBackOff(backOffTime);
+    }
+    sleeper.sleep(backOffTime);
+    return true;
+  }
 }
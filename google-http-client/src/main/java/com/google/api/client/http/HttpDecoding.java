@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * HTTP response content decoding, selected by the {@code Content-Encoding} of the response.
+ *
+ * <p>Implementations should be thread-safe, because a single instance is shared by all requests
+ * using the same {@link HttpDecodingRegistry}.
+ *
+ * @since 2.2
+ * @see HttpDecodingRegistry
+ */
+public interface HttpDecoding {
+
+  /**
+   * Returns the content coding name (for example {@code "gzip"}) as advertised in the {@code
+   * Accept-Encoding} header.
+   */
+  String getName();
+
+  /**
+   * Returns an input stream that decodes the given encoded content.
+   *
+   * <p>Closing the returned input stream must close the given input stream.
+   *
+   * @param content encoded content
+   * @return decoded content
+   */
+  InputStream decode(InputStream content) throws IOException;
+}
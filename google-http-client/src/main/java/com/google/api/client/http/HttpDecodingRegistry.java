@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Preconditions;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable registry of the {@link HttpDecoding}s that may be used to decode HTTP response content.
+ *
+ * <p>The registry determines both the {@code Accept-Encoding} header advertised by a request (see
+ * {@link HttpRequest#setDecodingRegistry}) and the decoding applied by {@link
+ * HttpResponse#getContent()} based on the {@code Content-Encoding} of the response. Response
+ * content with a content coding that is not registered is returned as is.
+ *
+ * <p>Sample usage, assuming the {@code google-http-client-brotli} and {@code
+ * google-http-client-zstd} modules are on the class path:
+ *
+ * <pre>
+ * HttpDecodingRegistry registry = new HttpDecodingRegistry.Builder()
+ * .add(new ZstdDecoding())
+ * .add(new BrotliDecoding())
+ * .add(new GZipDecoding(), "x-gzip")
+ * .build();
+ * HttpRequestFactory requestFactory = transport.createRequestFactory(
+ * new HttpRequestInitializer() {
+ * public void initialize(HttpRequest request) {
+ * request.setDecodingRegistry(registry);
+ * }
+ * });
+ * </pre>
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class HttpDecodingRegistry {
+
+  /**
+   * Default registry which only supports {@code "gzip"} (and its legacy alias {@code "x-gzip"}).
+   */
+  private static final HttpDecodingRegistry DEFAULT =
+      new Builder().add(new GZipDecoding(), "x-gzip").build();
+
+  /** Map from lower-case content coding name or alias to decoding. */
+  private final Map<String, HttpDecoding> decodings;
+
+  /** {@code Accept-Encoding} header value or {@code null} for no registered decodings. */
+  private final String acceptEncoding;
+
+  HttpDecodingRegistry(Builder builder) {
+    decodings = Collections.unmodifiableMap(new LinkedHashMap<String, HttpDecoding>(builder.map));
+    acceptEncoding =
+        builder.acceptEncoding.length() == 0 ? null : builder.acceptEncoding.toString();
+  }
+
+  /** Returns the default registry which only supports {@code "gzip"} and {@code "x-gzip"}. */
+  public static HttpDecodingRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the decoding registered for the given {@code Content-Encoding} header value or {@code
+   * null} for none.
+   *
+   * <p>Matching is case insensitive and ignores leading and trailing whitespace.
+   *
+   * @param contentEncoding content encoding or {@code null} for none
+   */
+  public HttpDecoding getDecoding(String contentEncoding) {
+    if (contentEncoding == null) {
+      return null;
+    }
+    return decodings.get(contentEncoding.trim().toLowerCase(Locale.ENGLISH));
+  }
+
+  /**
+   * Returns the {@code Accept-Encoding} header value listing the registered content codings in
+   * registration order (aliases excluded), or {@code null} for none.
+   */
+  public String getAcceptEncoding() {
+    return acceptEncoding;
+  }
+
+  /**
+   * Builder for {@link HttpDecodingRegistry}.
+   *
+   * <p>Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Builder {
+
+    /** Map from lower-case content coding name or alias to decoding. */
+    final Map<String, HttpDecoding> map = new LinkedHashMap<String, HttpDecoding>();
+
+    /** {@code Accept-Encoding} header value being built. */
+    final StringBuilder acceptEncoding = new StringBuilder();
+
+    /**
+     * Registers a decoding for its {@link HttpDecoding#getName() name} and for the given aliases.
+     *
+     * <p>Only the name is advertised in the {@code Accept-Encoding} header, in registration order,
+     * so register the preferred decodings first.
+     *
+     * @param decoding decoding
+     * @param aliases additional content coding names that the decoding should be used for, for
+     *     example {@code "x-gzip"}
+     */
+    public Builder add(HttpDecoding decoding, String... aliases) {
+      String name = Preconditions.checkNotNull(decoding.getName()).toLowerCase(Locale.ENGLISH);
+      Preconditions.checkArgument(!map.containsKey(name), "duplicate content coding: %s", name);
+      map.put(name, decoding);
+      if (acceptEncoding.length() != 0) {
+        acceptEncoding.append(", ");
+      }
+      acceptEncoding.append(name);
+      for (String alias : aliases) {
+        String lowerCaseAlias = alias.toLowerCase(Locale.ENGLISH);
+        Preconditions.checkArgument(
+            !map.containsKey(lowerCaseAlias), "duplicate content coding: %s", lowerCaseAlias);
+        map.put(lowerCaseAlias, decoding);
+      }
+      return this;
+    }
+
+    /** Returns a new registry with the decodings registered so far. */
+    public HttpDecodingRegistry build() {
+      return new HttpDecodingRegistry(this);
+    }
+  }
+}
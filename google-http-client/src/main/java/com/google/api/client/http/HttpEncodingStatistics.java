@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Objects;
+
+/**
+ * Immutable statistics of the encoding of HTTP content by an {@link HttpEncoding}.
+ *
+ * @since 2.2
+ * @see HttpRequest#getEncodingStatistics()
+ */
+public final class HttpEncodingStatistics {
+
+  /** Number of bytes of content before encoding. */
+  private final long unencodedLength;
+
+  /** Number of bytes of content after encoding. */
+  private final long encodedLength;
+
+  /** Nanoseconds spent encoding, excluding writes to the underlying output stream. */
+  private final long encodingNanos;
+
+  HttpEncodingStatistics(long unencodedLength, long encodedLength, long encodingNanos) {
+    this.unencodedLength = unencodedLength;
+    this.encodedLength = encodedLength;
+    this.encodingNanos = encodingNanos;
+  }
+
+  /** Returns the number of bytes of content before encoding. */
+  public long getUnencodedLength() {
+    return unencodedLength;
+  }
+
+  /** Returns the number of bytes of content after encoding. */
+  public long getEncodedLength() {
+    return encodedLength;
+  }
+
+  /**
+   * Returns the compression ratio, which is the unencoded length divided by the encoded length, or
+   * {@code 0} if nothing was written.
+   */
+  public double getCompressionRatio() {
+    return encodedLength == 0 ? 0 : (double) unencodedLength / encodedLength;
+  }
+
+  /**
+   * Returns the number of nanoseconds spent encoding, excluding the time spent writing encoded
+   * content to the underlying output stream (but including the time spent by the content to produce
+   * the unencoded bytes).
+   */
+  public long getEncodingNanos() {
+    return encodingNanos;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("unencodedLength", unencodedLength)
+        .add("encodedLength", encodedLength)
+        .add("encodingNanos", encodingNanos)
+        .toString();
+  }
+}
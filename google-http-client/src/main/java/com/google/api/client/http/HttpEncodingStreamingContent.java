@@ -16,6 +16,7 @@ package com.google.api.client.http;
 
 import com.google.api.client.util.Preconditions;
 import com.google.api.client.util.StreamingContent;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -44,8 +45,37 @@ public final class HttpEncodingStreamingContent implements StreamingContent {
     this.encoding = Preconditions.checkNotNull(encoding);
   }
 
+  /** Statistics of the last encoding or {@code null} if not yet written. */
+  private volatile HttpEncodingStatistics statistics;
+
   public void writeTo(OutputStream out) throws IOException {
-    encoding.encode(content, out);
+    CountingStreamingContent countingContent = new CountingStreamingContent(content);
+    TimingOutputStream timingOut = new TimingOutputStream(out);
+    long start = System.nanoTime();
+    encoding.encode(countingContent, timingOut);
+    long elapsed = System.nanoTime() - start;
+    statistics =
+        new HttpEncodingStatistics(
+            countingContent.count, timingOut.count, elapsed - timingOut.writeNanos);
+  }
+
+  /**
+   * Returns the statistics of the last time the content was written or {@code null} if it has not
+   * been written yet.
+   *
+   * @since 2.2
+   */
+  public HttpEncodingStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Returns whether the given content should be encoded with the given encoding, which is always
+   * the case unless the encoding is a {@link ConditionalHttpEncoding} that declines to encode it.
+   */
+  static boolean isEncodingRequired(HttpEncoding encoding, HttpContent content) throws IOException {
+    return !(encoding instanceof ConditionalHttpEncoding)
+        || ((ConditionalHttpEncoding) encoding).isEncodingRequired(content);
   }
 
   /** Returns the streaming content. */
@@ -57,4 +87,71 @@ public final class HttpEncodingStreamingContent implements StreamingContent {
   public HttpEncoding getEncoding() {
     return encoding;
   }
+
+  /** Streaming content that counts the number of bytes it writes. */
+  private static final class CountingStreamingContent implements StreamingContent {
+
+    private final StreamingContent content;
+
+    /** Number of bytes written. */
+    long count;
+
+    CountingStreamingContent(StreamingContent content) {
+      this.content = content;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+      content.writeTo(
+          new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+              out.write(b);
+              count++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+              out.write(b, off, len);
+              count += len;
+            }
+          });
+    }
+  }
+
+  /** Output stream that counts the number of bytes and the time spent writing them. */
+  private static final class TimingOutputStream extends FilterOutputStream {
+
+    /** Number of bytes written. */
+    long count;
+
+    /** Nanoseconds spent writing and flushing. */
+    long writeNanos;
+
+    TimingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      long start = System.nanoTime();
+      out.write(b);
+      writeNanos += System.nanoTime() - start;
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      long start = System.nanoTime();
+      out.write(b, off, len);
+      writeNanos += System.nanoTime() - start;
+      count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      long start = System.nanoTime();
+      out.flush();
+      writeNanos += System.nanoTime() - start;
+    }
+  }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.NanoClock;
+import com.google.api.client.util.Preconditions;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Listener for the phases of a single {@link HttpRequest#execute()}, for example to measure where
+ * the latency of a request goes.
+ *
+ * <p>A new listener is created for each call to {@link HttpRequest#execute()} by the {@link
+ * Factory} registered with {@link HttpRequest#setEventListenerFactory}, {@link
+ * HttpRequestFactory#setEventListenerFactory} or {@link HttpTransport#setEventListenerFactory}, so
+ * implementations may keep per-execution state in fields. No listener is created, and no event is
+ * reported, if no factory is registered. Use {@link #compose} to register several factories.
+ *
+ * <p>Every callback receives the {@link #getNanoClock() nano clock} time at which the event
+ * occurred. Default implementations do nothing, and subclasses override the callbacks they are
+ * interested in. Callbacks must not throw exceptions and should return quickly, since they are
+ * called on the thread executing the request or reading its response.
+ *
+ * <p>For each attempt, events are reported in this order, where the ones between brackets are
+ * optional:
+ *
+ * <ol>
+ *   <li>{@link #attemptStart}
+ *   <li>[{@link #interceptStart}, {@link #interceptEnd}] if there is an {@link
+ *       HttpExecuteInterceptor}
+ *   <li>{@link #requestHeadersStart}, {@link #requestHeadersEnd}
+ *   <li>[{@link #connectStart}, {@link #connectEnd}] if the transport reports them; for {@code
+ *       NetHttpTransport} the connection time includes the TLS handshake
+ *   <li>[{@link #requestBodyStart}, {@link #requestBodyEnd}] if there is content, with the number
+ *       of bytes written after {@link HttpEncoding encoding}
+ *   <li>{@link #responseHeadersEnd} or {@link #attemptFailed}
+ *   <li>[{@link #backOff}] if the request backs off before retrying
+ *   <li>{@link #retryDecision}
+ * </ol>
+ *
+ * <p>Attempts are preceded by {@link #executeStart} and followed by {@link #executeEnd} or {@link
+ * #executeFailed}. Then, as the response is consumed, {@link #responseBodyStart} and {@link
+ * #responseBodyEnd} are reported with the number of bytes read before {@link HttpDecoding decoding}
+ * (so the time in between includes decoding), and {@link #parseStart} and {@link #parseEnd} are
+ * reported by {@link HttpResponse#parseAs}. Response body events may be reported on a different
+ * thread than the other events.
+ *
+ * <p>Listeners that return a positive {@link #getBodyPreviewLimit() body preview limit} also
+ * receive the first bytes of the request content before encoding in {@link #requestBodyPreview},
+ * and the first bytes of the response content after decoding in {@link #responseBodyPreview}.
+ * Unlike the other callbacks, they receive no time.
+ *
+ * @since 2.2
+ */
+public abstract class HttpEventListener {
+
+  /**
+   * Factory of event listeners.
+   *
+   * <p>Implementations should normally be thread-safe.
+   *
+   * @since 2.2
+   */
+  public interface Factory {
+
+    /**
+     * Returns a new event listener for a call to {@link HttpRequest#execute()} on the given
+     * request, or {@code null} to report no events for this call.
+     */
+    HttpEventListener newEventListener(HttpRequest request);
+  }
+
+  /**
+   * Returns a factory of listeners that forward every event to the listeners of all the given
+   * factories, in order, so that several integrations can observe the same requests.
+   *
+   * <p>Sample usage:
+   *
+   * <pre>
+   * transport.setEventListenerFactory(
+   * HttpEventListener.compose(metrics, tracing, transport.getEventListenerFactory()));
+   * </pre>
+   *
+   * <p>{@code null} factories are ignored, and if a single factory remains, it is returned as is.
+   * {@code null} listeners returned by the factories are also ignored. If a single listener remains
+   * for a request, it is returned as is, and if none remains, no events are reported for the
+   * request. Otherwise, events are timed with the nano clock of the first listener, and body
+   * previews are reported to each listener up to its own {@link #getBodyPreviewLimit() body preview
+   * limit}.
+   *
+   * @param factories factories of the listeners, each of which may be {@code null}
+   * @return composite factory
+   */
+  public static Factory compose(Factory... factories) {
+    final Factory[] nonNullFactories = new Factory[factories.length];
+    int count = 0;
+    for (Factory factory : factories) {
+      if (factory != null) {
+        nonNullFactories[count++] = factory;
+      }
+    }
+    if (count == 1) {
+      return nonNullFactories[0];
+    }
+    final int factoryCount = count;
+    return new Factory() {
+      @Override
+      public HttpEventListener newEventListener(HttpRequest request) {
+        HttpEventListener[] listeners = new HttpEventListener[factoryCount];
+        int listenerCount = 0;
+        for (int i = 0; i < factoryCount; i++) {
+          HttpEventListener listener = nonNullFactories[i].newEventListener(request);
+          if (listener != null) {
+            listeners[listenerCount++] = listener;
+          }
+        }
+        switch (listenerCount) {
+          case 0:
+            return null;
+          case 1:
+            return listeners[0];
+          default:
+            return new CompositeHttpEventListener(Arrays.copyOf(listeners, listenerCount));
+        }
+      }
+    };
+  }
+
+  /** Nano clock. */
+  private final NanoClock nanoClock;
+
+  /** Constructs a listener that uses {@link NanoClock#SYSTEM}. */
+  protected HttpEventListener() {
+    this(NanoClock.SYSTEM);
+  }
+
+  /** @param nanoClock nano clock used for event times */
+  protected HttpEventListener(NanoClock nanoClock) {
+    this.nanoClock = Preconditions.checkNotNull(nanoClock);
+  }
+
+  /** Returns the nano clock used for event times. */
+  public final NanoClock getNanoClock() {
+    return nanoClock;
+  }
+
+  /** Returns the current time of the {@link #getNanoClock() nano clock}. */
+  public final long nanoTime() {
+    return nanoClock.nanoTime();
+  }
+
+  /** Invoked at the start of {@link HttpRequest#execute()}. */
+  public void executeStart(long nanoTime) {}
+
+  /**
+   * Invoked at the start of an attempt.
+   *
+   * @param attempt attempt number, starting with {@code 0} for the first attempt
+   */
+  public void attemptStart(int attempt, long nanoTime) {}
+
+  /** Invoked before running the {@link HttpExecuteInterceptor}. */
+  public void interceptStart(long nanoTime) {}
+
+  /** Invoked after running the {@link HttpExecuteInterceptor}. */
+  public void interceptEnd(long nanoTime) {}
+
+  /** Invoked before building the URL and serializing the request headers. */
+  public void requestHeadersStart(long nanoTime) {}
+
+  /** Invoked after serializing the request headers. */
+  public void requestHeadersEnd(long nanoTime) {}
+
+  /** Invoked by transports that support it before establishing a connection. */
+  public void connectStart(long nanoTime) {}
+
+  /** Invoked by transports that support it after establishing a connection. */
+  public void connectEnd(long nanoTime) {}
+
+  /** Invoked before writing the first byte of the request content. */
+  public void requestBodyStart(long nanoTime) {}
+
+  /**
+   * Invoked after writing the request content.
+   *
+   * @param byteCount number of bytes written
+   */
+  public void requestBodyEnd(long byteCount, long nanoTime) {}
+
+  /**
+   * Invoked once the response status line and headers have been received.
+   *
+   * @param statusCode HTTP status code
+   */
+  public void responseHeadersEnd(int statusCode, long nanoTime) {}
+
+  /**
+   * Invoked when an attempt failed with an I/O exception.
+   *
+   * @param attempt attempt number, starting with {@code 0} for the first attempt
+   * @param exception I/O exception
+   */
+  public void attemptFailed(int attempt, IOException exception, long nanoTime) {}
+
+  /**
+   * Invoked before sleeping between attempts, by {@link HttpRequest} for its {@link BackOffPolicy}
+   * and by {@link HttpBackOffUnsuccessfulResponseHandler} and {@link
+   * HttpBackOffIOExceptionHandler}.
+   *
+   * @param backOffMillis time to sleep in milliseconds
+   */
+  public void backOff(long backOffMillis, long nanoTime) {}
+
+  /**
+   * Invoked after deciding whether to retry, including any back-off sleep.
+   *
+   * @param attempt attempt number, starting with {@code 0} for the first attempt
+   * @param retry whether the request will be retried
+   */
+  public void retryDecision(int attempt, boolean retry, long nanoTime) {}
+
+  /**
+   * Invoked at the end of {@link HttpRequest#execute()} when a response was received, including
+   * when an {@link HttpResponseException} is thrown for it.
+   *
+   * @param statusCode HTTP status code of the last response
+   */
+  public void executeEnd(int statusCode, long nanoTime) {}
+
+  /**
+   * Invoked at the end of {@link HttpRequest#execute()} when it throws an exception other than an
+   * {@link HttpResponseException}.
+   *
+   * @param exception I/O exception or runtime exception
+   */
+  public void executeFailed(Exception exception, long nanoTime) {}
+
+  /**
+   * Invoked the first time the response content is requested, when a response without content is
+   * received, or when the response is {@link HttpResponse#ignore() ignored} before its content is
+   * requested.
+   */
+  public void responseBodyStart(long nanoTime) {}
+
+  /**
+   * Invoked once the response content has been fully read or closed, once a response without
+   * content is received, or once the response is {@link HttpResponse#ignore() ignored} or {@link
+   * HttpResponse#disconnect() disconnected}.
+   *
+   * @param byteCount number of bytes read before decoding
+   */
+  public void responseBodyEnd(long byteCount, long nanoTime) {}
+
+  /**
+   * Returns the maximum number of bytes of the request content and of the response content that are
+   * reported to {@link #requestBodyPreview} and {@link #responseBodyPreview}, or {@code 0} to
+   * report none, which is the default.
+   */
+  public int getBodyPreviewLimit() {
+    return 0;
+  }
+
+  /**
+   * Invoked with the next bytes of the request content before encoding as they are written, until
+   * the {@link #getBodyPreviewLimit() body preview limit} is reached. Reported bytes start over
+   * with each {@link #requestBodyStart}.
+   *
+   * @param buffer buffer of the bytes, which must not be modified or retained
+   * @param offset offset of the first byte in the buffer
+   * @param length number of bytes
+   */
+  public void requestBodyPreview(byte[] buffer, int offset, int length) {}
+
+  /**
+   * Invoked with the next bytes of the response content after decoding as they are read, until the
+   * {@link #getBodyPreviewLimit() body preview limit} is reached.
+   *
+   * @param buffer buffer of the bytes, which must not be modified or retained
+   * @param offset offset of the first byte in the buffer
+   * @param length number of bytes
+   */
+  public void responseBodyPreview(byte[] buffer, int offset, int length) {}
+
+  /** Invoked before parsing the response content. */
+  public void parseStart(long nanoTime) {}
+
+  /** Invoked after parsing the response content. */
+  public void parseEnd(long nanoTime) {}
+}
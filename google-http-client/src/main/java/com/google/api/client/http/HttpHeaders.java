@@ -33,7 +33,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -61,9 +60,13 @@ public class HttpHeaders extends GenericData {
   @Key("Accept")
   private List<String> accept;
 
+  /** Default {@code "Accept-Encoding"} header. */
+  static final String DEFAULT_ACCEPT_ENCODING = "gzip";
+
   /** {@code "Accept-Encoding"} header. */
   @Key("Accept-Encoding")
-  private List<String> acceptEncoding = new ArrayList<String>(Collections.singleton("gzip"));
+  private List<String> acceptEncoding =
+      new ArrayList<String>(Collections.singleton(DEFAULT_ACCEPT_ENCODING));
 
   /** {@code "Authorization"} header. */
   @Key("Authorization")
@@ -218,6 +221,13 @@ public class HttpHeaders extends GenericData {
     return this;
   }
 
+  /** Returns whether the {@code "Accept-Encoding"} header has its default value. */
+  boolean hasDefaultAcceptEncoding() {
+    return acceptEncoding != null
+        && acceptEncoding.size() == 1
+        && DEFAULT_ACCEPT_ENCODING.equals(acceptEncoding.get(0));
+  }
+
   /**
    * Returns the first {@code "Authorization"} header or {@code null} for none.
    *
@@ -901,13 +911,15 @@ public class HttpHeaders extends GenericData {
       LowLevelHttpRequest lowLevelHttpRequest,
       Writer writer)
       throws IOException {
-    HashSet<String> headerNames = new HashSet<String>();
+    // names are compared linearly since there are few headers, which avoids hashing every name
+    ArrayList<String> headerNames = new ArrayList<String>();
     for (Map.Entry<String, Object> headerEntry : headers.entrySet()) {
       String name = headerEntry.getKey();
       Preconditions.checkArgument(
-          headerNames.add(name),
+          !headerNames.contains(name),
           "multiple headers of the same name (headers are case insensitive): %s",
           name);
+      headerNames.add(name);
       Object value = headerEntry.getValue();
       if (value != null) {
         // compute the display name from the declared field name to fix capitalization
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Objects;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Structured record of a call to {@link HttpRequest#execute()} logged by a {@link
+ * StructuredHttpLogger}.
+ *
+ * <p>Records and their body preview buffers are reused by the logger once its {@link
+ * StructuredHttpLogger.Sink sink} returns, so sinks must copy whatever they need to keep and must
+ * not retain the record.
+ *
+ * @since 2.2
+ */
+public final class HttpLogRecord {
+
+  /** Buffer of the request body preview. */
+  private final byte[] requestBodyPreview;
+
+  /** Buffer of the response body preview. */
+  private final byte[] responseBodyPreview;
+
+  long startTimeMillis;
+  String requestMethod;
+  String url;
+  int attemptCount;
+  int statusCode;
+  long timeToResponseHeadersNanos;
+  long durationNanos;
+  long requestBodySize;
+  long responseBodySize;
+  int requestBodyPreviewLength;
+  int responseBodyPreviewLength;
+  Exception exception;
+
+  /** @param bodyPreviewLimit size of the body preview buffers */
+  HttpLogRecord(int bodyPreviewLimit) {
+    requestBodyPreview = new byte[bodyPreviewLimit];
+    responseBodyPreview = new byte[bodyPreviewLimit];
+    clear();
+  }
+
+  /** Resets all fields so that the record can be reused. */
+  void clear() {
+    startTimeMillis = 0;
+    requestMethod = null;
+    url = null;
+    attemptCount = 0;
+    statusCode = -1;
+    timeToResponseHeadersNanos = -1;
+    durationNanos = -1;
+    requestBodySize = -1;
+    responseBodySize = -1;
+    requestBodyPreviewLength = 0;
+    responseBodyPreviewLength = 0;
+    exception = null;
+  }
+
+  /** Appends bytes to the request body preview, up to the size of its buffer. */
+  void appendRequestBodyPreview(byte[] buffer, int offset, int length) {
+    int n = Math.min(length, requestBodyPreview.length - requestBodyPreviewLength);
+    System.arraycopy(buffer, offset, requestBodyPreview, requestBodyPreviewLength, n);
+    requestBodyPreviewLength += n;
+  }
+
+  /** Appends bytes to the response body preview, up to the size of its buffer. */
+  void appendResponseBodyPreview(byte[] buffer, int offset, int length) {
+    int n = Math.min(length, responseBodyPreview.length - responseBodyPreviewLength);
+    System.arraycopy(buffer, offset, responseBodyPreview, responseBodyPreviewLength, n);
+    responseBodyPreviewLength += n;
+  }
+
+  /** Returns the time at which the execution started in milliseconds since the epoch. */
+  public long getStartTimeMillis() {
+    return startTimeMillis;
+  }
+
+  /** Returns the HTTP request method of the last attempt. */
+  public String getRequestMethod() {
+    return requestMethod;
+  }
+
+  /**
+   * Returns the URL of the last attempt, which differs from the original URL after a redirect, with
+   * its credentials replaced with {@link StructuredHttpLogger#REDACTED}.
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /** Returns the number of attempts. */
+  public int getAttemptCount() {
+    return attemptCount;
+  }
+
+  /** Returns the HTTP status code of the last response or {@code -1} if none was received. */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Returns the time in nanoseconds from the start of the execution until the headers of the last
+   * response were received or {@code -1} if none was received.
+   */
+  public long getTimeToResponseHeadersNanos() {
+    return timeToResponseHeadersNanos;
+  }
+
+  /** Returns the duration of {@link HttpRequest#execute()} in nanoseconds. */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /** Returns the number of bytes of request content written or {@code -1} if none was written. */
+  public long getRequestBodySize() {
+    return requestBodySize;
+  }
+
+  /**
+   * Returns the number of bytes of response content read before decoding, or {@code -1} if the
+   * content was not fully read or closed before the record was logged.
+   */
+  public long getResponseBodySize() {
+    return responseBodySize;
+  }
+
+  /**
+   * Returns a read-only view of the first bytes of the request content before encoding, which is
+   * empty if body previews are disabled. It must not be used after the sink returns.
+   */
+  public ByteBuffer getRequestBodyPreview() {
+    return ByteBuffer.wrap(requestBodyPreview, 0, requestBodyPreviewLength).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns a read-only view of the first bytes of the response content after decoding, which is
+   * empty if body previews are disabled. It must not be used after the sink returns.
+   */
+  public ByteBuffer getResponseBodyPreview() {
+    return ByteBuffer.wrap(responseBodyPreview, 0, responseBodyPreviewLength).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the exception thrown by {@link HttpRequest#execute()}, other than an {@link
+   * HttpResponseException}, or {@code null} for none.
+   */
+  public Exception getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    Objects.ToStringHelper helper =
+        Objects.toStringHelper(this)
+            .add("startTimeMillis", startTimeMillis)
+            .add("requestMethod", requestMethod)
+            .add("url", url)
+            .add("attemptCount", attemptCount)
+            .add("statusCode", statusCode)
+            .add("timeToResponseHeadersNanos", timeToResponseHeadersNanos)
+            .add("durationNanos", durationNanos)
+            .add("requestBodySize", requestBodySize)
+            .add("responseBodySize", responseBodySize);
+    if (requestBodyPreviewLength > 0) {
+      helper.add(
+          "requestBodyPreview",
+          new String(requestBodyPreview, 0, requestBodyPreviewLength, StandardCharsets.UTF_8));
+    }
+    if (responseBodyPreviewLength > 0) {
+      helper.add(
+          "responseBodyPreview",
+          new String(responseBodyPreview, 0, responseBodyPreviewLength, StandardCharsets.UTF_8));
+    }
+    if (exception != null) {
+      helper.add("exception", exception);
+    }
+    return helper.toString();
+  }
+}
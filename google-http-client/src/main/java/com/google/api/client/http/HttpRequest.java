@@ -168,6 +168,18 @@ public final class HttpRequest {
   /** HTTP content encoding or {@code null} for none. */
   private HttpEncoding encoding;
 
+  /** Encoded streaming content of the last execution attempt or {@code null} for none. */
+  private HttpEncodingStreamingContent encodingContent;
+
+  /** Registry of the decodings used to decode HTTP response content. */
+  private HttpDecodingRegistry decodingRegistry = HttpDecodingRegistry.getDefault();
+
+  /** Factory of the event listeners of each execution or {@code null} for none. */
+  private HttpEventListener.Factory eventListenerFactory;
+
+  /** Event listener of the current execution or {@code null} for none. */
+  private HttpEventListener activeEventListener;
+
   /** The {@link BackOffPolicy} to use between retry attempts or {@code null} for none. */
   @Deprecated @Beta private BackOffPolicy backOffPolicy;
 
@@ -216,6 +228,7 @@ public final class HttpRequest {
    */
   HttpRequest(HttpTransport transport, String requestMethod) {
     this.transport = transport;
+    eventListenerFactory = transport.getEventListenerFactory();
     setRequestMethod(requestMethod);
   }
 
@@ -305,6 +318,84 @@ public final class HttpRequest {
     return this;
   }
 
+  /**
+   * Returns the statistics of the encoding of the content by {@link #getEncoding()} in the last
+   * execution attempt, or {@code null} if the content was not encoded.
+   *
+   * <p>The statistics are only available once the content has been written, which is usually when
+   * {@link #execute()} returns.
+   *
+   * @since 2.2
+   */
+  public HttpEncodingStatistics getEncodingStatistics() {
+    return encodingContent == null ? null : encodingContent.getStatistics();
+  }
+
+  /**
+   * Returns the registry of the decodings used to decode HTTP response content.
+   *
+   * <p>Defaults to {@link HttpDecodingRegistry#getDefault()}.
+   *
+   * @since 2.2
+   */
+  public HttpDecodingRegistry getDecodingRegistry() {
+    return decodingRegistry;
+  }
+
+  /**
+   * Sets the registry of the decodings used to decode HTTP response content.
+   *
+   * <p>Requests advertise {@link HttpDecodingRegistry#getAcceptEncoding()} in their {@code
+   * Accept-Encoding} header when they are executed, unless the header of {@link #getHeaders()} was
+   * changed from its default {@code "gzip"}. The headers themselves are not modified.
+   *
+   * <p>Defaults to {@link HttpDecodingRegistry#getDefault()}.
+   *
+   * @since 2.2
+   */
+  public HttpRequest setDecodingRegistry(HttpDecodingRegistry decodingRegistry) {
+    this.decodingRegistry = Preconditions.checkNotNull(decodingRegistry);
+    return this;
+  }
+
+  /**
+   * Returns the factory of the event listener created for each call to {@link #execute()} or {@code
+   * null} for none.
+   *
+   * <p>Defaults to {@link HttpRequestFactory#getEventListenerFactory()} for requests built by a
+   * request factory that has one, and otherwise to {@link HttpTransport#getEventListenerFactory()}.
+   *
+   * @since 2.2
+   */
+  public HttpEventListener.Factory getEventListenerFactory() {
+    return eventListenerFactory;
+  }
+
+  /**
+   * Sets the factory of the event listener created for each call to {@link #execute()} or {@code
+   * null} for none.
+   *
+   * <p>Defaults to {@link HttpRequestFactory#getEventListenerFactory()} for requests built by a
+   * request factory that has one, and otherwise to {@link HttpTransport#getEventListenerFactory()}.
+   *
+   * @since 2.2
+   */
+  public HttpRequest setEventListenerFactory(HttpEventListener.Factory eventListenerFactory) {
+    this.eventListenerFactory = eventListenerFactory;
+    return this;
+  }
+
+  /**
+   * Reports to the event listener of the current execution, if any, that the request is about to
+   * sleep for the given back-off time before retrying.
+   */
+  void reportBackOff(long backOffMillis) {
+    HttpEventListener eventListener = activeEventListener;
+    if (eventListener != null) {
+      eventListener.backOff(backOffMillis, eventListener.nanoTime());
+    }
+  }
+
   /**
    * {@link Beta} <br>
    * Returns the {@link BackOffPolicy} to use between retry attempts or {@code null} for none.
@@ -845,8 +936,40 @@ public final class HttpRequest {
    *     #getThrowExceptionOnExecuteError()} is {@code true})
    * @see HttpResponse#isSuccessStatusCode()
    */
-  @SuppressWarnings("deprecation")
   public HttpResponse execute() throws IOException {
+    HttpEventListener eventListener =
+        eventListenerFactory == null ? null : eventListenerFactory.newEventListener(this);
+    if (eventListener == null) {
+      return execute(null);
+    }
+    eventListener.executeStart(eventListener.nanoTime());
+    HttpResponse response;
+    activeEventListener = eventListener;
+    try {
+      response = execute(eventListener);
+    } catch (HttpResponseException e) {
+      eventListener.executeEnd(e.getStatusCode(), eventListener.nanoTime());
+      throw e;
+    } catch (IOException e) {
+      eventListener.executeFailed(e, eventListener.nanoTime());
+      throw e;
+    } catch (RuntimeException e) {
+      eventListener.executeFailed(e, eventListener.nanoTime());
+      throw e;
+    } finally {
+      activeEventListener = null;
+    }
+    eventListener.executeEnd(response.getStatusCode(), eventListener.nanoTime());
+    return response;
+  }
+
+  /**
+   * Executes the HTTP request as specified in {@link #execute()}.
+   *
+   * @param eventListener event listener or {@code null} for none
+   */
+  @SuppressWarnings("deprecation")
+  private HttpResponse execute(HttpEventListener eventListener) throws IOException {
     boolean retryRequest = false;
     Preconditions.checkArgument(numRetries >= 0);
     int retriesRemaining = numRetries;
@@ -860,13 +983,23 @@ public final class HttpRequest {
     Preconditions.checkNotNull(requestMethod);
     Preconditions.checkNotNull(url);
 
+    // no span at all when tracing is disabled, and no attribute work when it is not recording
     Span span =
-        tracer
-            .spanBuilder(OpenCensusUtils.SPAN_NAME_HTTP_REQUEST_EXECUTE)
-            .setRecordEvents(OpenCensusUtils.isRecordEvent())
-            .startSpan();
+        OpenCensusUtils.isTracingEnabled()
+            ? tracer
+                .spanBuilder(OpenCensusUtils.SPAN_NAME_HTTP_REQUEST_EXECUTE)
+                .setRecordEvents(OpenCensusUtils.isRecordEvent())
+                .startSpan()
+            : null;
+    boolean spanRecording = OpenCensusUtils.isRecording(span);
     do {
-      span.addAnnotation("retry #" + (numRetries - retriesRemaining));
+      int attempt = numRetries - retriesRemaining;
+      if (eventListener != null) {
+        eventListener.attemptStart(attempt, eventListener.nanoTime());
+      }
+      if (spanRecording) {
+        span.addAnnotation("retry #" + attempt);
+      }
       // Cleanup any unneeded response from a previous iteration
       if (response != null) {
         response.ignore();
@@ -874,17 +1007,29 @@ public final class HttpRequest {
 
       response = null;
       executeException = null;
+      encodingContent = null;
 
       // run the interceptor
       if (executeInterceptor != null) {
+        if (eventListener != null) {
+          eventListener.interceptStart(eventListener.nanoTime());
+        }
         executeInterceptor.intercept(this);
+        if (eventListener != null) {
+          eventListener.interceptEnd(eventListener.nanoTime());
+        }
+      }
+      if (eventListener != null) {
+        eventListener.requestHeadersStart(eventListener.nanoTime());
       }
       // build low-level HTTP request
       String urlString = url.build();
-      addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_METHOD, requestMethod);
-      addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_HOST, url.getHost());
-      addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_PATH, url.getRawPath());
-      addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_URL, urlString);
+      if (spanRecording) {
+        addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_METHOD, requestMethod);
+        addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_HOST, url.getHost());
+        addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_PATH, url.getRawPath());
+        addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_URL, urlString);
+      }
 
       LowLevelHttpRequest lowLevelHttpRequest = transport.buildRequest(requestMethod, urlString);
       Logger logger = HttpTransport.LOGGER;
@@ -921,7 +1066,18 @@ public final class HttpRequest {
           addSpanAttribute(span, HttpTraceAttributeConstants.HTTP_USER_AGENT, newUserAgent);
         }
       }
-      OpenCensusUtils.propagateTracingContext(span, headers);
+      if (span != null) {
+        OpenCensusUtils.propagateTracingContext(span, headers);
+      }
+
+      // advertise the decodings of the registry unless the accept encoding was set explicitly
+      String acceptEncoding = decodingRegistry.getAcceptEncoding();
+      boolean negotiateEncoding =
+          headers.hasDefaultAcceptEncoding()
+              && !HttpHeaders.DEFAULT_ACCEPT_ENCODING.equals(acceptEncoding);
+      if (negotiateEncoding) {
+        headers.setAcceptEncoding(acceptEncoding);
+      }
 
       // headers
       HttpHeaders.serializeHeaders(headers, logbuf, curlbuf, logger, lowLevelHttpRequest);
@@ -929,6 +1085,13 @@ public final class HttpRequest {
         // set the original user agent back so that retries do not keep appending to it
         headers.setUserAgent(originalUserAgent);
       }
+      if (negotiateEncoding) {
+        headers.setAcceptEncoding(HttpHeaders.DEFAULT_ACCEPT_ENCODING);
+      }
+      if (eventListener != null) {
+        eventListener.requestHeadersEnd(eventListener.nanoTime());
+        lowLevelHttpRequest.setEventListener(eventListener);
+      }
 
       // content
       StreamingContent streamingContent = content;
@@ -943,13 +1106,21 @@ public final class HttpRequest {
               new LoggingStreamingContent(
                   streamingContent, HttpTransport.LOGGER, Level.CONFIG, contentLoggingLimit);
         }
+        // preview content before encoding
+        int bodyPreviewLimit = eventListener == null ? 0 : eventListener.getBodyPreviewLimit();
+        if (bodyPreviewLimit > 0) {
+          streamingContent =
+              new PreviewStreamingContent(streamingContent, eventListener, bodyPreviewLimit);
+        }
         // encoding
-        if (encoding == null) {
+        if (encoding == null
+            || !HttpEncodingStreamingContent.isEncodingRequired(encoding, content)) {
           contentEncoding = null;
           contentLength = content.getLength();
         } else {
           contentEncoding = encoding.getName();
-          streamingContent = new HttpEncodingStreamingContent(streamingContent, encoding);
+          encodingContent = new HttpEncodingStreamingContent(streamingContent, encoding);
+          streamingContent = encodingContent;
         }
         // append content headers to log buffer
         if (loggable) {
@@ -980,7 +1151,10 @@ public final class HttpRequest {
         lowLevelHttpRequest.setContentType(contentType);
         lowLevelHttpRequest.setContentEncoding(contentEncoding);
         lowLevelHttpRequest.setContentLength(contentLength);
-        lowLevelHttpRequest.setStreamingContent(streamingContent);
+        lowLevelHttpRequest.setStreamingContent(
+            eventListener == null
+                ? streamingContent
+                : new EventListenerStreamingContent(streamingContent, eventListener));
       }
       // log from buffer
       if (loggable) {
@@ -1006,11 +1180,17 @@ public final class HttpRequest {
 
       // switch tracing scope to current span
       @SuppressWarnings("MustBeClosedChecker")
-      Scope ws = tracer.withSpan(span);
-      OpenCensusUtils.recordSentMessageEvent(span, lowLevelHttpRequest.getContentLength());
+      Scope ws = span == null ? null : tracer.withSpan(span);
+      if (spanRecording) {
+        OpenCensusUtils.recordSentMessageEvent(span, lowLevelHttpRequest.getContentLength());
+      }
       try {
         LowLevelHttpResponse lowLevelHttpResponse = lowLevelHttpRequest.execute();
-        if (lowLevelHttpResponse != null) {
+        if (eventListener != null && lowLevelHttpResponse != null) {
+          eventListener.responseHeadersEnd(
+              lowLevelHttpResponse.getStatusCode(), eventListener.nanoTime());
+        }
+        if (spanRecording && lowLevelHttpResponse != null) {
           OpenCensusUtils.recordReceivedMessageEvent(span, lowLevelHttpResponse.getContentLength());
           span.putAttribute(
               HttpTraceAttributeConstants.HTTP_STATUS_CODE,
@@ -1019,7 +1199,7 @@ public final class HttpRequest {
         // Flag used to indicate if an exception is thrown before the response is constructed.
         boolean responseConstructed = false;
         try {
-          response = new HttpResponse(this, lowLevelHttpResponse);
+          response = new HttpResponse(this, lowLevelHttpResponse, eventListener);
           responseConstructed = true;
         } finally {
           if (!responseConstructed) {
@@ -1030,11 +1210,19 @@ public final class HttpRequest {
           }
         }
       } catch (IOException e) {
+        if (eventListener != null) {
+          eventListener.attemptFailed(attempt, e, eventListener.nanoTime());
+        }
         if (!retryOnExecuteIOException
             && (ioExceptionHandler == null
                 || !ioExceptionHandler.handleIOException(this, retryRequest))) {
-          // static analysis shows response is always null here
-          span.end(OpenCensusUtils.getEndSpanOptions(null));
+          if (eventListener != null) {
+            eventListener.retryDecision(attempt, false, eventListener.nanoTime());
+          }
+          if (span != null) {
+            // static analysis shows response is always null here
+            span.end(OpenCensusUtils.getEndSpanOptions(null));
+          }
           throw e;
         }
         // Save the exception in case the retries do not work and we need to re-throw it later.
@@ -1043,7 +1231,9 @@ public final class HttpRequest {
           logger.log(Level.WARNING, "exception thrown while executing request", e);
         }
       } finally {
-        ws.close();
+        if (ws != null) {
+          ws.close();
+        }
       }
 
       // Flag used to indicate if an exception is thrown before the response has completed
@@ -1069,6 +1259,9 @@ public final class HttpRequest {
               // before retrying
               long backOffTime = backOffPolicy.getNextBackOffMillis();
               if (backOffTime != BackOffPolicy.STOP) {
+                if (eventListener != null) {
+                  eventListener.backOff(backOffTime, eventListener.nanoTime());
+                }
                 try {
                   sleeper.sleep(backOffTime);
                 } catch (InterruptedException exception) {
@@ -1092,6 +1285,9 @@ public final class HttpRequest {
         // Once there are no more retries remaining, this will be -1
         // Count redirects as retries, we want a finite limit of redirects.
         retriesRemaining--;
+        if (eventListener != null) {
+          eventListener.retryDecision(attempt, retryRequest, eventListener.nanoTime());
+        }
 
         responseProcessed = true;
       } finally {
@@ -1100,7 +1296,10 @@ public final class HttpRequest {
         }
       }
     } while (retryRequest);
-    span.end(OpenCensusUtils.getEndSpanOptions(response == null ? null : response.getStatusCode()));
+    if (span != null) {
+      span.end(
+          OpenCensusUtils.getEndSpanOptions(response == null ? null : response.getStatusCode()));
+    }
 
     if (response == null) {
       // Retries did not help resolve the execute exception, re-throw it.
@@ -1219,7 +1418,7 @@ public final class HttpRequest {
   }
 
   private static void addSpanAttribute(Span span, String key, String value) {
-    if (value != null) {
+    if (value != null && OpenCensusUtils.isRecording(span)) {
       span.putAttribute(key, AttributeValue.stringAttributeValue(value));
     }
   }
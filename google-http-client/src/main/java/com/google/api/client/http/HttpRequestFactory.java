@@ -43,6 +43,9 @@ public final class HttpRequestFactory {
   /** HTTP request initializer or {@code null} for none. */
   private final HttpRequestInitializer initializer;
 
+  /** Factory of the event listeners of each request execution or {@code null} for none. */
+  private volatile HttpEventListener.Factory eventListenerFactory;
+
   /**
    * @param transport HTTP transport
    * @param initializer HTTP request initializer or {@code null} for none
@@ -72,6 +75,31 @@ public final class HttpRequestFactory {
     return initializer;
   }
 
+  /**
+   * Returns the factory of the event listener created for each execution of a request built by this
+   * request factory or {@code null} to use {@link HttpTransport#getEventListenerFactory()}.
+   *
+   * @since 2.2
+   */
+  public HttpEventListener.Factory getEventListenerFactory() {
+    return eventListenerFactory;
+  }
+
+  /**
+   * Sets the factory of the event listener created for each execution of a request built by this
+   * request factory or {@code null} to use {@link HttpTransport#getEventListenerFactory()}.
+   *
+   * <p>This is applied before the {@link #getInitializer() initializer}, which may override it with
+   * {@link HttpRequest#setEventListenerFactory}.
+   *
+   * @since 2.2
+   */
+  public HttpRequestFactory setEventListenerFactory(
+      HttpEventListener.Factory eventListenerFactory) {
+    this.eventListenerFactory = eventListenerFactory;
+    return this;
+  }
+
   /**
    * Builds a request for the given HTTP method, URL, and content.
    *
@@ -87,6 +115,9 @@ public final class HttpRequestFactory {
     if (url != null) {
       request.setUrl(url);
     }
+    if (eventListenerFactory != null) {
+      request.setEventListenerFactory(eventListenerFactory);
+    }
     if (initializer != null) {
       initializer.initialize(request);
     }
@@ -27,7 +27,6 @@ import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,12 +80,6 @@ public final class HttpResponse {
   /** Whether {@link #getContent()} should return raw input stream. */
   private final boolean returnRawInputStream;
 
-  /** Content encoding for GZip */
-  private static final String CONTENT_ENCODING_GZIP = "gzip";
-
-  /** Content encoding for GZip (legacy) */
-  private static final String CONTENT_ENCODING_XGZIP = "x-gzip";
-
   /**
    * Determines the limit to the content size that will be logged during {@link #getContent()}.
    *
@@ -108,11 +101,37 @@ public final class HttpResponse {
    */
   private boolean loggingEnabled;
 
+  /** Default size of the buffer used to support mark/reset on unsuccessful response content. */
+  private static final int DEFAULT_MARK_BUFFER_SIZE = 8192;
+
   /** Signals whether the content has been read from the input stream. */
   private boolean contentRead;
 
+  /** Event listener of the execution that received this response or {@code null} for none. */
+  private final HttpEventListener eventListener;
+
+  /** Content reporting events to the event listener or {@code null} before it is requested. */
+  private EventListenerInputStream eventListenerContent;
+
+  /** Whether the response content was reported to the event listener. */
+  private boolean responseBodyReported;
+
+  /** Tracker of the {@link ResponseLeakDetector} or {@code null} if not tracked. */
+  private final ResponseLeakDetector.Tracker leakTracker;
+
   HttpResponse(HttpRequest request, LowLevelHttpResponse response) throws IOException {
+    this(request, response, null);
+  }
+
+  /**
+   * @param request HTTP request
+   * @param response low-level HTTP response
+   * @param eventListener event listener or {@code null} for none
+   */
+  HttpResponse(HttpRequest request, LowLevelHttpResponse response, HttpEventListener eventListener)
+      throws IOException {
     this.request = request;
+    this.eventListener = eventListener;
     this.returnRawInputStream = request.getResponseReturnRawInputStream();
     contentLoggingLimit = request.getContentLoggingLimit();
     loggingEnabled = request.isLoggingEnabled();
@@ -156,6 +175,28 @@ public final class HttpResponse {
     if (loggable) {
       logger.config(logbuf.toString());
     }
+
+    ResponseLeakDetector leakDetector = request.getTransport().getResponseLeakDetector();
+    leakTracker = leakDetector == null ? null : leakDetector.track(this, response, request);
+
+    // a response without content, for example to a HEAD request, has already ended
+    if (eventListener != null
+        && hasNoContent(request.getRequestMethod(), statusCode, response.getContentLength())) {
+      reportResponseBodyEnd();
+    }
+  }
+
+  /**
+   * Returns whether a response is known to have no content from its request method, status code and
+   * content length, like {@link #hasMessageBody()} but without asking the low-level response for
+   * its content, which may be costly.
+   */
+  static boolean hasNoContent(String requestMethod, int statusCode, long contentLength) {
+    return HttpMethods.HEAD.equals(requestMethod)
+        || statusCode / 100 == 1
+        || statusCode == HttpStatusCodes.STATUS_CODE_NO_CONTENT
+        || statusCode == HttpStatusCodes.STATUS_CODE_NOT_MODIFIED
+        || contentLength == 0;
   }
 
   /**
@@ -338,6 +379,15 @@ public final class HttpResponse {
    *
    * <p>{@link HttpResponse#disconnect} does not have to be called if the content is closed.
    *
+   * <p>Unless {@link HttpRequest#getResponseReturnRawInputStream()} is {@code true}, the content is
+   * decoded using the {@link HttpDecoding} registered in {@link HttpRequest#getDecodingRegistry()}
+   * for the {@link #getContentEncoding() content encoding}.
+   *
+   * <p>Content of an unsuccessful response (see {@link #isSuccessStatusCode()}) always supports
+   * {@link InputStream#mark}/{@link InputStream#reset}, so that it may be inspected by an {@link
+   * HttpUnsuccessfulResponseHandler} and later by {@link HttpResponseException}. Content of a
+   * successful response is returned without additional buffering.
+   *
    * @return input stream content of the HTTP response or {@code null} for none
    * @throws IOException I/O exception
    */
@@ -348,22 +398,37 @@ public final class HttpResponse {
         // Flag used to indicate if an exception is thrown before the content is successfully
         // processed.
         boolean contentProcessed = false;
+        // Whether the content length of the low-level response no longer applies to the content.
+        boolean contentDecoded = false;
+        if (eventListener != null && !responseBodyReported) {
+          eventListener.responseBodyStart(eventListener.nanoTime());
+          responseBodyReported = true;
+          eventListenerContent =
+              new EventListenerInputStream(lowLevelResponseContent, eventListener);
+          lowLevelResponseContent = eventListenerContent;
+        }
         try {
-          // gzip encoding (wrap content with GZipInputStream)
+          // content encoding (wrap content with the registered decoding, e.g. GZipInputStream)
           if (!returnRawInputStream && this.contentEncoding != null) {
-            String contentEncoding = this.contentEncoding.trim().toLowerCase(Locale.ENGLISH);
-            if (CONTENT_ENCODING_GZIP.equals(contentEncoding)
-                || CONTENT_ENCODING_XGZIP.equals(contentEncoding)) {
-              // Wrap the original stream in a ConsumingInputStream before passing it to
-              // GZIPInputStream. The GZIPInputStream leaves content unconsumed in the original
+            HttpDecoding decoding = request.getDecodingRegistry().getDecoding(contentEncoding);
+            if (decoding != null) {
+              // Wrap the original stream in a ConsumingInputStream before passing it to the
+              // decoder. Decoders like GZIPInputStream leave content unconsumed in the original
               // stream (it almost always leaves the last chunk unconsumed in chunked responses).
               // ConsumingInputStream ensures that any unconsumed bytes are read at close.
               // GZIPInputStream.close() --> ConsumingInputStream.close() -->
               // exhaust(ConsumingInputStream)
               lowLevelResponseContent =
-                  GzipSupport.newGzipInputStream(new ConsumingInputStream(lowLevelResponseContent));
+                  decoding.decode(new ConsumingInputStream(lowLevelResponseContent));
+              contentDecoded = true;
             }
           }
+          // preview content after decoding
+          int bodyPreviewLimit = eventListener == null ? 0 : eventListener.getBodyPreviewLimit();
+          if (bodyPreviewLimit > 0) {
+            lowLevelResponseContent =
+                new PreviewInputStream(lowLevelResponseContent, eventListener, bodyPreviewLimit);
+          }
           // logging (wrap content with LoggingInputStream)
           Logger logger = HttpTransport.LOGGER;
           if (loggingEnabled && logger.isLoggable(Level.CONFIG)) {
@@ -371,12 +436,19 @@ public final class HttpResponse {
                 new LoggingInputStream(
                     lowLevelResponseContent, logger, Level.CONFIG, contentLoggingLimit);
           }
-          if (returnRawInputStream) {
+          if (returnRawInputStream
+              || isSuccessStatusCode()
+              || lowLevelResponseContent.markSupported()) {
             content = lowLevelResponseContent;
           } else {
             // wrap the content with BufferedInputStream to support
             // mark()/reset() while error checking in error handlers
-            content = new BufferedInputStream(lowLevelResponseContent);
+            content =
+                new BufferedInputStream(
+                    lowLevelResponseContent,
+                    contentDecoded
+                        ? DEFAULT_MARK_BUFFER_SIZE
+                        : getMarkBufferSize(response.getContentLength()));
           }
           contentProcessed = true;
         } catch (EOFException e) {
@@ -388,11 +460,33 @@ public final class HttpResponse {
           }
         }
       }
+      if (eventListener != null && !responseBodyReported) {
+        // no content, although the response did not tell in advance
+        reportResponseBodyEnd();
+      }
+      if (leakTracker != null) {
+        if (content == null) {
+          leakTracker.close();
+        } else {
+          content = new LeakTrackingInputStream(content, this, leakTracker);
+        }
+      }
       contentRead = true;
     }
     return content;
   }
 
+  /**
+   * Returns the size of the buffer used to support mark/reset on response content of the given
+   * length, which is the content length when it is known and smaller than the default buffer size.
+   */
+  static int getMarkBufferSize(long contentLength) {
+    if (contentLength >= 0 && contentLength < DEFAULT_MARK_BUFFER_SIZE) {
+      return Math.max(1, (int) contentLength);
+    }
+    return DEFAULT_MARK_BUFFER_SIZE;
+  }
+
   /**
    * Writes the content of the HTTP response into the given destination output stream.
    *
@@ -425,6 +519,9 @@ public final class HttpResponse {
 
   /** Closes the content of the HTTP response from {@link #getContent()}, ignoring any content. */
   public void ignore() throws IOException {
+    if (leakTracker != null) {
+      leakTracker.close();
+    }
     if (this.response == null) {
       return;
     }
@@ -432,6 +529,20 @@ public final class HttpResponse {
     if (lowLevelResponseContent != null) {
       lowLevelResponseContent.close();
     }
+    if (eventListener != null) {
+      if (eventListenerContent != null) {
+        eventListenerContent.end();
+      } else if (!responseBodyReported) {
+        reportResponseBodyEnd();
+      }
+    }
+  }
+
+  /** Reports to the event listener the start and end of content that is not read. */
+  private void reportResponseBodyEnd() {
+    eventListener.responseBodyStart(eventListener.nanoTime());
+    eventListener.responseBodyEnd(0, eventListener.nanoTime());
+    responseBodyReported = true;
   }
 
   /**
@@ -457,7 +568,16 @@ public final class HttpResponse {
     if (!hasMessageBody()) {
       return null;
     }
-    return request.getParser().parseAndClose(getContent(), getContentCharset(), dataClass);
+    if (eventListener == null) {
+      return request.getParser().parseAndClose(getContent(), getContentCharset(), dataClass);
+    }
+    InputStream content = getContent();
+    eventListener.parseStart(eventListener.nanoTime());
+    try {
+      return request.getParser().parseAndClose(content, getContentCharset(), dataClass);
+    } finally {
+      eventListener.parseEnd(eventListener.nanoTime());
+    }
   }
 
   /**
@@ -487,7 +607,16 @@ public final class HttpResponse {
     if (!hasMessageBody()) {
       return null;
     }
-    return request.getParser().parseAndClose(getContent(), getContentCharset(), dataType);
+    if (eventListener == null) {
+      return request.getParser().parseAndClose(getContent(), getContentCharset(), dataType);
+    }
+    InputStream content = getContent();
+    eventListener.parseStart(eventListener.nanoTime());
+    try {
+      return request.getParser().parseAndClose(content, getContentCharset(), dataType);
+    } finally {
+      eventListener.parseEnd(eventListener.nanoTime());
+    }
   }
 
   /**
@@ -83,6 +83,12 @@ public abstract class HttpTransport {
     Arrays.sort(SUPPORTED_METHODS);
   }
 
+  /** Factory of the event listeners of each request execution or {@code null} for none. */
+  private volatile HttpEventListener.Factory eventListenerFactory;
+
+  /** Detector of leaked responses or {@code null} for none. */
+  private volatile ResponseLeakDetector responseLeakDetector;
+
   /**
    * Returns a new instance of an HTTP request factory based on this HTTP transport.
    *
@@ -105,6 +111,50 @@ public abstract class HttpTransport {
     return new HttpRequestFactory(this, initializer);
   }
 
+  /**
+   * Returns the factory of the event listener created for each execution of a request built from
+   * this transport or {@code null} for none.
+   *
+   * @since 2.2
+   */
+  public final HttpEventListener.Factory getEventListenerFactory() {
+    return eventListenerFactory;
+  }
+
+  /**
+   * Sets the factory of the event listener created for each execution of a request built from this
+   * transport or {@code null} for none.
+   *
+   * <p>This only applies to requests built after this call, and may be overridden by {@link
+   * HttpRequestFactory#setEventListenerFactory} or {@link HttpRequest#setEventListenerFactory}.
+   * There is no overhead when no factory is set.
+   *
+   * @since 2.2
+   */
+  public final void setEventListenerFactory(HttpEventListener.Factory eventListenerFactory) {
+    this.eventListenerFactory = eventListenerFactory;
+  }
+
+  /**
+   * Returns the detector of leaked responses to requests built from this transport or {@code null}
+   * for none.
+   *
+   * @since 2.2
+   */
+  public final ResponseLeakDetector getResponseLeakDetector() {
+    return responseLeakDetector;
+  }
+
+  /**
+   * Sets the detector of leaked responses to requests built from this transport or {@code null} for
+   * none, which is the default.
+   *
+   * @since 2.2
+   */
+  public final void setResponseLeakDetector(ResponseLeakDetector responseLeakDetector) {
+    this.responseLeakDetector = responseLeakDetector;
+  }
+
   /**
    * Builds a request without specifying the HTTP method.
    *
@@ -138,6 +188,19 @@ public abstract class HttpTransport {
     return false;
   }
 
+  /**
+   * Returns a snapshot of the statistics of the connection pool of the transport or {@code null} if
+   * they are not known.
+   *
+   * <p>Default implementation returns {@code null}, but subclasses that manage a pool of
+   * connections may override.
+   *
+   * @since 2.2
+   */
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return null;
+  }
+
   /**
    * Builds a low level HTTP request for the given HTTP method.
    *
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Inflater;
+
+/**
+ * Thread-safe bounded pool of raw (GZIP compatible) {@link Inflater}s, which avoids allocating and
+ * initializing native decompression state for every response.
+ *
+ * <p>Inflaters that do not fit in the pool when released are {@link Inflater#end() ended}
+ * immediately.
+ */
+final class InflaterPool {
+
+  /** Idle inflaters or {@code null} if pooling is disabled. */
+  private final BlockingQueue<Inflater> idle;
+
+  /** @param maxIdle maximum number of idle inflaters to keep or {@code 0} to disable pooling */
+  InflaterPool(int maxIdle) {
+    idle = maxIdle == 0 ? null : new ArrayBlockingQueue<Inflater>(maxIdle);
+  }
+
+  /** Returns an idle inflater from the pool or a new one if none is available. */
+  Inflater acquire() {
+    Inflater inflater = idle == null ? null : idle.poll();
+    return inflater == null ? new Inflater(true) : inflater;
+  }
+
+  /** Resets the given inflater and returns it to the pool, or ends it if the pool is full. */
+  void release(Inflater inflater) {
+    if (idle != null) {
+      inflater.reset();
+      if (idle.offer(inflater)) {
+        return;
+      }
+    }
+    inflater.end();
+  }
+
+  /** Ends all idle inflaters. */
+  void clear() {
+    if (idle != null) {
+      Inflater inflater;
+      while ((inflater = idle.poll()) != null) {
+        inflater.end();
+      }
+    }
+  }
+}
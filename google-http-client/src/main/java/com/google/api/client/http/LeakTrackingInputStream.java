@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response content tracked by a {@link ResponseLeakDetector}, which closes the tracker once the
+ * content is closed or fully read.
+ *
+ * <p>It keeps the response strongly reachable while the content is reachable, so that content still
+ * in use is not reported as leaked after the response itself is dropped.
+ */
+final class LeakTrackingInputStream extends FilterInputStream {
+
+  /** Response, only held to keep it reachable. */
+  @SuppressWarnings("unused")
+  private final HttpResponse response;
+
+  private final ResponseLeakDetector.Tracker tracker;
+
+  LeakTrackingInputStream(
+      InputStream in, HttpResponse response, ResponseLeakDetector.Tracker tracker) {
+    super(in);
+    this.response = response;
+    this.tracker = tracker;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int result = in.read();
+    if (result == -1) {
+      tracker.close();
+    }
+    return result;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int result = in.read(b, off, len);
+    if (result == -1) {
+      tracker.close();
+    }
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    tracker.close();
+    in.close();
+  }
+}
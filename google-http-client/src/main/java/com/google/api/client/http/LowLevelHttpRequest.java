@@ -43,6 +43,9 @@ public abstract class LowLevelHttpRequest {
   /** Streaming content or {@code null} for no content. */
   private StreamingContent streamingContent;
 
+  /** Event listener or {@code null} for none. */
+  private HttpEventListener eventListener;
+
   /**
    * Adds a header to the HTTP request.
    *
@@ -132,6 +135,27 @@ public abstract class LowLevelHttpRequest {
     return streamingContent;
   }
 
+  /**
+   * Sets the event listener to report connection-level events to or {@code null} for none.
+   *
+   * @since 2.2
+   */
+  public final void setEventListener(HttpEventListener eventListener) {
+    this.eventListener = eventListener;
+  }
+
+  /**
+   * Returns the event listener to report connection-level events to or {@code null} for none.
+   *
+   * <p>Subclasses should report {@link HttpEventListener#connectStart} and {@link
+   * HttpEventListener#connectEnd} to it if they can observe when a connection is established.
+   *
+   * @since 2.2
+   */
+  public final HttpEventListener getEventListener() {
+    return eventListener;
+  }
+
   /**
    * Sets the connection and read timeouts.
    *
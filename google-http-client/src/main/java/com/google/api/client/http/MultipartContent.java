@@ -80,7 +80,8 @@ public class MultipartContent extends AbstractHttpContent {
         headers.setContentType(content.getType());
         HttpEncoding encoding = part.encoding;
         long contentLength;
-        if (encoding == null) {
+        if (encoding == null
+            || !HttpEncodingStreamingContent.isEncodingRequired(encoding, content)) {
           contentLength = content.getLength();
           streamingContent = content;
         } else {
@@ -61,6 +61,26 @@ public class OpenCensusUtils {
   /** Whether spans should be recorded locally. Defaults to true. */
   private static volatile boolean isRecordEvent = true;
 
+  /** Whether {@link HttpRequest#execute()} creates OpenCensus spans. Defaults to true. */
+  private static volatile boolean isTracingEnabled = true;
+
+  /** {@link EndSpanOptions} for each status, which are immutable. */
+  private static final EndSpanOptions END_SPAN_OPTIONS_OK = newEndSpanOptions(Status.OK);
+
+  private static final EndSpanOptions END_SPAN_OPTIONS_INVALID_ARGUMENT =
+      newEndSpanOptions(Status.INVALID_ARGUMENT);
+  private static final EndSpanOptions END_SPAN_OPTIONS_UNAUTHENTICATED =
+      newEndSpanOptions(Status.UNAUTHENTICATED);
+  private static final EndSpanOptions END_SPAN_OPTIONS_PERMISSION_DENIED =
+      newEndSpanOptions(Status.PERMISSION_DENIED);
+  private static final EndSpanOptions END_SPAN_OPTIONS_NOT_FOUND =
+      newEndSpanOptions(Status.NOT_FOUND);
+  private static final EndSpanOptions END_SPAN_OPTIONS_FAILED_PRECONDITION =
+      newEndSpanOptions(Status.FAILED_PRECONDITION);
+  private static final EndSpanOptions END_SPAN_OPTIONS_UNAVAILABLE =
+      newEndSpanOptions(Status.UNAVAILABLE);
+  private static final EndSpanOptions END_SPAN_OPTIONS_UNKNOWN = newEndSpanOptions(Status.UNKNOWN);
+
   /** {@link TextFormat} used in tracing context propagation. */
   @Nullable @VisibleForTesting static volatile TextFormat propagationTextFormat = null;
 
@@ -104,6 +124,41 @@ public class OpenCensusUtils {
     isRecordEvent = recordEvent;
   }
 
+  /**
+   * Sets whether {@link HttpRequest#execute()} creates OpenCensus spans.
+   *
+   * <p>When disabled, no span is created, no attribute, annotation or message event is recorded,
+   * and no tracing context is propagated, so tracing has no overhead. This is useful when not using
+   * OpenCensus, or when tracing with another {@link HttpEventListener}.
+   *
+   * @param tracingEnabled whether to create OpenCensus spans
+   * @since 2.2
+   */
+  public static void setIsTracingEnabled(boolean tracingEnabled) {
+    isTracingEnabled = tracingEnabled;
+  }
+
+  /**
+   * Returns whether {@link HttpRequest#execute()} creates OpenCensus spans.
+   *
+   * @return whether {@link HttpRequest#execute()} creates OpenCensus spans
+   * @since 2.2
+   */
+  public static boolean isTracingEnabled() {
+    return isTracingEnabled;
+  }
+
+  /**
+   * Returns whether attributes, annotations and message events added to the given span are
+   * recorded, so that the work of computing them may be skipped otherwise.
+   *
+   * @param span span or {@code null} for none
+   * @since 2.2
+   */
+  public static boolean isRecording(@Nullable Span span) {
+    return span != null && span.getOptions().contains(Span.Options.RECORD_EVENTS);
+  }
+
   /**
    * Returns the tracing component of OpenCensus.
    *
@@ -146,37 +201,31 @@ public class OpenCensusUtils {
    * @return an {@code EndSpanOptions} that best suits the status code.
    */
   public static EndSpanOptions getEndSpanOptions(@Nullable Integer statusCode) {
-    // Always sample the span, but optionally export it.
-    EndSpanOptions.Builder builder = EndSpanOptions.builder();
     if (statusCode == null) {
-      builder.setStatus(Status.UNKNOWN);
+      return END_SPAN_OPTIONS_UNKNOWN;
     } else if (!HttpStatusCodes.isSuccess(statusCode)) {
       switch (statusCode) {
         case HttpStatusCodes.STATUS_CODE_BAD_REQUEST:
-          builder.setStatus(Status.INVALID_ARGUMENT);
-          break;
+          return END_SPAN_OPTIONS_INVALID_ARGUMENT;
         case HttpStatusCodes.STATUS_CODE_UNAUTHORIZED:
-          builder.setStatus(Status.UNAUTHENTICATED);
-          break;
+          return END_SPAN_OPTIONS_UNAUTHENTICATED;
         case HttpStatusCodes.STATUS_CODE_FORBIDDEN:
-          builder.setStatus(Status.PERMISSION_DENIED);
-          break;
+          return END_SPAN_OPTIONS_PERMISSION_DENIED;
         case HttpStatusCodes.STATUS_CODE_NOT_FOUND:
-          builder.setStatus(Status.NOT_FOUND);
-          break;
+          return END_SPAN_OPTIONS_NOT_FOUND;
         case HttpStatusCodes.STATUS_CODE_PRECONDITION_FAILED:
-          builder.setStatus(Status.FAILED_PRECONDITION);
-          break;
+          return END_SPAN_OPTIONS_FAILED_PRECONDITION;
         case HttpStatusCodes.STATUS_CODE_SERVER_ERROR:
-          builder.setStatus(Status.UNAVAILABLE);
-          break;
+          return END_SPAN_OPTIONS_UNAVAILABLE;
         default:
-          builder.setStatus(Status.UNKNOWN);
+          return END_SPAN_OPTIONS_UNKNOWN;
       }
-    } else {
-      builder.setStatus(Status.OK);
     }
-    return builder.build();
+    return END_SPAN_OPTIONS_OK;
+  }
+
+  private static EndSpanOptions newEndSpanOptions(Status status) {
+    return EndSpanOptions.builder().setStatus(status).build();
   }
 
   /**
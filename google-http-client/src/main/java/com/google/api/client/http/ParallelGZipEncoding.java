@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Preconditions;
+import com.google.api.client.util.StreamingContent;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZip HTTP content encoding that compresses blocks of the content concurrently, in the style of <a
+ * href="https://zlib.net/pigz/">pigz</a>, for very large content where single-threaded compression
+ * is slower than the network.
+ *
+ * <p>The content is split into blocks of {@link #getBlockSize()} bytes which are compressed on the
+ * given executor, each primed with the last 32 KiB of the previous block as a dictionary so that
+ * the compression ratio is close to that of {@link GZipEncoding}. The compressed blocks are written
+ * in order as a single valid GZIP member, with a CRC-32 combined from the CRC-32s of the blocks.
+ * The last block is compressed on the calling thread, so content smaller than a block never uses
+ * the executor.
+ *
+ * <p>At most {@link #getMaxBlocksInFlight()} blocks are being compressed or waiting to be written
+ * at any time, which bounds memory usage to about twice that number of blocks.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * request.setEncoding(new ParallelGZipEncoding(executor).setMaxBlocksInFlight(8));
+ * </pre>
+ *
+ * <p>The executor is not shut down by this class. Since each block is compressed with a pooled
+ * {@link Deflater}, {@link #setMaxPooledDeflaters} should typically be set to about the number of
+ * executor threads.
+ *
+ * <p>Implementation is thread-safe once configured.
+ *
+ * @since 2.2
+ */
+public class ParallelGZipEncoding extends AbstractDeflaterEncoding {
+
+  /** Default block size. */
+  public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+  /** Size of the dictionary taken from the end of the previous block (the deflate window size). */
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+
+  /** Executor used to compress blocks. */
+  private final ExecutorService executor;
+
+  /** Block size. */
+  private int blockSize = DEFAULT_BLOCK_SIZE;
+
+  /** Maximum number of blocks being compressed or waiting to be written. */
+  private int maxBlocksInFlight = 2 * Runtime.getRuntime().availableProcessors();
+
+  /** @param executor executor used to compress blocks */
+  public ParallelGZipEncoding(ExecutorService executor) {
+    this.executor = Preconditions.checkNotNull(executor);
+  }
+
+  @Override
+  public String getName() {
+    return "gzip";
+  }
+
+  @Override
+  protected boolean isNowrap() {
+    return true;
+  }
+
+  @Override
+  protected void deflate(StreamingContent content, OutputStream out, Deflater deflater)
+      throws IOException {
+    out.write(GZipEncoding.HEADER);
+    BlockOutputStream blocks = new BlockOutputStream(out);
+    boolean finished = false;
+    try {
+      content.writeTo(blocks);
+      blocks.finish(deflater);
+      finished = true;
+    } finally {
+      if (!finished) {
+        blocks.cancel();
+      }
+    }
+  }
+
+  /** Returns the block size (defaults to {@link #DEFAULT_BLOCK_SIZE}). */
+  public final int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Sets the block size (defaults to {@link #DEFAULT_BLOCK_SIZE}).
+   *
+   * <p>Smaller blocks allow for more parallelism but slightly decrease the compression ratio. The
+   * block size must be at least 32 KiB.
+   */
+  public ParallelGZipEncoding setBlockSize(int blockSize) {
+    Preconditions.checkArgument(blockSize >= DICTIONARY_SIZE);
+    this.blockSize = blockSize;
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of blocks being compressed or waiting to be written (defaults to
+   * twice the number of available processors).
+   */
+  public final int getMaxBlocksInFlight() {
+    return maxBlocksInFlight;
+  }
+
+  /**
+   * Sets the maximum number of blocks being compressed or waiting to be written (defaults to twice
+   * the number of available processors).
+   */
+  public ParallelGZipEncoding setMaxBlocksInFlight(int maxBlocksInFlight) {
+    Preconditions.checkArgument(maxBlocksInFlight > 0);
+    this.maxBlocksInFlight = maxBlocksInFlight;
+    return this;
+  }
+
+  @Override
+  public ParallelGZipEncoding setLevel(int level) {
+    return (ParallelGZipEncoding) super.setLevel(level);
+  }
+
+  @Override
+  public ParallelGZipEncoding setStrategy(int strategy) {
+    return (ParallelGZipEncoding) super.setStrategy(strategy);
+  }
+
+  @Override
+  public ParallelGZipEncoding setMaxPooledDeflaters(int maxPooledDeflaters) {
+    return (ParallelGZipEncoding) super.setMaxPooledDeflaters(maxPooledDeflaters);
+  }
+
+  @Override
+  public ParallelGZipEncoding setMinimumContentLength(long minimumContentLength) {
+    return (ParallelGZipEncoding) super.setMinimumContentLength(minimumContentLength);
+  }
+
+  @Override
+  public ParallelGZipEncoding setIncompressibleMediaTypes(
+      Collection<String> incompressibleMediaTypes) {
+    return (ParallelGZipEncoding) super.setIncompressibleMediaTypes(incompressibleMediaTypes);
+  }
+
+  /** Output stream that splits content into blocks and writes them compressed in order. */
+  private final class BlockOutputStream extends OutputStream {
+
+    /** Underlying output stream. */
+    private final OutputStream out;
+
+    /** Blocks being compressed, in content order. */
+    private final Deque<Future<CompressedBlock>> pending =
+        new ArrayDeque<Future<CompressedBlock>>();
+
+    /** Deflater pool used for blocks compressed by the executor. */
+    private final DeflaterPool pool = getDeflaterPool();
+
+    /** Current block. */
+    private byte[] buffer = new byte[blockSize];
+
+    /** Number of bytes in the current block. */
+    private int count;
+
+    /** Previous (full) block or {@code null} for none. */
+    private byte[] previous;
+
+    /** CRC-32 of the content written so far. */
+    private int crc;
+
+    /** Length of the content written so far. */
+    private long length;
+
+    BlockOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (count == buffer.length) {
+        submitBlock();
+      }
+      buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        if (count == buffer.length) {
+          submitBlock();
+        }
+        int n = Math.min(len, buffer.length - count);
+        System.arraycopy(b, off, buffer, count, n);
+        count += n;
+        off += n;
+        len -= n;
+      }
+    }
+
+    private void submitBlock() throws IOException {
+      while (pending.size() >= maxBlocksInFlight) {
+        writeBlock(await(pending.removeFirst()));
+      }
+      final byte[] input = buffer;
+      final byte[] dictionary = previous;
+      pending.addLast(
+          executor.submit(
+              new Callable<CompressedBlock>() {
+                public CompressedBlock call() {
+                  Deflater deflater = pool.acquire();
+                  try {
+                    return compress(deflater, input, input.length, dictionary, false);
+                  } finally {
+                    pool.release(deflater);
+                  }
+                }
+              }));
+      previous = input;
+      buffer = new byte[blockSize];
+      count = 0;
+    }
+
+    /** Compresses the last block on the calling thread and writes all blocks and the trailer. */
+    void finish(Deflater deflater) throws IOException {
+      CompressedBlock last = compress(deflater, buffer, count, previous, true);
+      while (!pending.isEmpty()) {
+        writeBlock(await(pending.removeFirst()));
+      }
+      writeBlock(last);
+      GZipEncoding.writeInt(out, crc);
+      GZipEncoding.writeInt(out, (int) length);
+    }
+
+    /** Cancels the blocks that have not been written. */
+    void cancel() {
+      for (Future<CompressedBlock> future : pending) {
+        future.cancel(false);
+      }
+      pending.clear();
+    }
+
+    private void writeBlock(CompressedBlock block) throws IOException {
+      out.write(block.output, 0, block.outputLength);
+      crc = crc32Combine(crc, block.crc, block.inputLength);
+      length += block.inputLength;
+    }
+  }
+
+  /** Waits for the given block to be compressed. */
+  private static CompressedBlock await(Future<CompressedBlock> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException exception = new InterruptedIOException();
+      exception.initCause(e);
+      throw exception;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Compresses a block of content.
+   *
+   * @param deflater reset deflater
+   * @param input block
+   * @param inputLength number of bytes in the block
+   * @param dictionary previous full block or {@code null} for none
+   * @param last whether this is the last block, which is finished instead of flushed to a byte
+   *     boundary
+   */
+  static CompressedBlock compress(
+      Deflater deflater, byte[] input, int inputLength, byte[] dictionary, boolean last) {
+    if (dictionary != null) {
+      deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+    }
+    deflater.setInput(input, 0, inputLength);
+    byte[] output = new byte[inputLength / 2 + 64];
+    int outputLength = 0;
+    if (last) {
+      deflater.finish();
+      while (!deflater.finished()) {
+        if (outputLength == output.length) {
+          output = grow(output);
+        }
+        outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+      }
+    } else {
+      // a sync flush ends the block on a byte boundary so that blocks can be concatenated
+      while (true) {
+        if (outputLength == output.length) {
+          output = grow(output);
+        }
+        int available = output.length - outputLength;
+        int n = deflater.deflate(output, outputLength, available, Deflater.SYNC_FLUSH);
+        outputLength += n;
+        if (n < available) {
+          break;
+        }
+      }
+    }
+    CRC32 crc = new CRC32();
+    crc.update(input, 0, inputLength);
+    return new CompressedBlock(output, outputLength, (int) crc.getValue(), inputLength);
+  }
+
+  private static byte[] grow(byte[] array) {
+    byte[] result = new byte[array.length * 2];
+    System.arraycopy(array, 0, result, 0, array.length);
+    return result;
+  }
+
+  /**
+   * Returns the CRC-32 of the concatenation of two byte sequences given their CRC-32s and the
+   * length of the second sequence, as {@code crc32_combine} in zlib.
+   */
+  static int crc32Combine(int crc1, int crc2, long length2) {
+    if (length2 <= 0) {
+      return crc1 ^ crc2;
+    }
+    // operator for one zero bit in odd, then two zero bits in even
+    int[] even = new int[32];
+    int[] odd = new int[32];
+    odd[0] = 0xedb88320;
+    int row = 1;
+    for (int n = 1; n < 32; n++) {
+      odd[n] = row;
+      row <<= 1;
+    }
+    gf2MatrixSquare(even, odd);
+    gf2MatrixSquare(odd, even);
+    // apply length2 zero bytes to crc1 (the first square puts the operator for one zero byte in
+    // even)
+    do {
+      gf2MatrixSquare(even, odd);
+      if ((length2 & 1) != 0) {
+        crc1 = gf2MatrixTimes(even, crc1);
+      }
+      length2 >>= 1;
+      if (length2 == 0) {
+        break;
+      }
+      gf2MatrixSquare(odd, even);
+      if ((length2 & 1) != 0) {
+        crc1 = gf2MatrixTimes(odd, crc1);
+      }
+      length2 >>= 1;
+    } while (length2 != 0);
+    return crc1 ^ crc2;
+  }
+
+  private static int gf2MatrixTimes(int[] matrix, int vector) {
+    int sum = 0;
+    for (int i = 0; vector != 0; i++, vector >>>= 1) {
+      if ((vector & 1) != 0) {
+        sum ^= matrix[i];
+      }
+    }
+    return sum;
+  }
+
+  private static void gf2MatrixSquare(int[] square, int[] matrix) {
+    for (int n = 0; n < 32; n++) {
+      square[n] = gf2MatrixTimes(matrix, matrix[n]);
+    }
+  }
+
+  /** Compressed block of content. */
+  static final class CompressedBlock {
+
+    final byte[] output;
+    final int outputLength;
+    final int crc;
+    final int inputLength;
+
+    CompressedBlock(byte[] output, int outputLength, int crc, int inputLength) {
+      this.output = output;
+      this.outputLength = outputLength;
+      this.crc = crc;
+      this.inputLength = inputLength;
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Input stream that decompresses GZIP content like {@link java.util.zip.GZIPInputStream}, but with
+ * an {@link Inflater} borrowed from an {@link InflaterPool} and returned to it on {@link #close()},
+ * and with a configurable input buffer size.
+ *
+ * <p>Concatenated GZIP members are decompressed as a single stream. Unlike {@link
+ * java.util.zip.GZIPInputStream}, the presence of another member is determined by reading from the
+ * underlying stream rather than relying on {@link InputStream#available()}, which may return 0 at a
+ * member boundary that aligns with a chunk boundary, so the whole content is always consumed. As
+ * with {@link java.util.zip.GZIPInputStream}, anything following a member that is not a valid GZIP
+ * header is ignored.
+ *
+ * <p>Implementation is not thread-safe.
+ */
+final class PooledGZipInputStream extends InputStream {
+
+  /** GZIP header flags. */
+  private static final int FHCRC = 2;
+
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  /** Underlying input stream. */
+  private final InputStream in;
+
+  /** Pool the inflater is returned to. */
+  private final InflaterPool pool;
+
+  /** Input buffer. */
+  private final byte[] buffer;
+
+  /** Position of the next byte to read in the buffer. */
+  private int position;
+
+  /** Number of valid bytes in the buffer. */
+  private int limit;
+
+  /** Inflater or {@code null} once closed. */
+  private Inflater inflater;
+
+  /** CRC-32 of the current member. */
+  private final CRC32 crc = new CRC32();
+
+  /** Whether the end of the last member has been reached. */
+  private boolean eof;
+
+  /** Buffer for {@link #read()}. */
+  private byte[] singleByte;
+
+  /**
+   * Reads the header of the first member.
+   *
+   * @param in underlying input stream
+   * @param pool inflater pool
+   * @param bufferSize input buffer size
+   * @throws EOFException if the underlying input stream is empty
+   * @throws ZipException if the content does not start with a valid GZIP header
+   */
+  PooledGZipInputStream(InputStream in, InflaterPool pool, int bufferSize) throws IOException {
+    this.in = in;
+    this.pool = pool;
+    this.buffer = new byte[bufferSize];
+    readHeader();
+    inflater = pool.acquire();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (singleByte == null) {
+      singleByte = new byte[1];
+    }
+    return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (inflater == null) {
+      throw new IOException("Stream closed");
+    }
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+    while (!eof) {
+      int n;
+      try {
+        n = inflater.inflate(b, off, len);
+      } catch (DataFormatException e) {
+        String message = e.getMessage();
+        throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+      }
+      if (n > 0) {
+        crc.update(b, off, n);
+        return n;
+      }
+      if (inflater.finished()) {
+        // unread input that belongs to the trailer or the next member
+        position = limit - inflater.getRemaining();
+        readTrailer();
+        if (!readNextHeader()) {
+          eof = true;
+        }
+      } else if (inflater.needsDictionary()) {
+        throw new ZipException("Unexpected preset dictionary");
+      } else if (inflater.needsInput()) {
+        if (position == limit && !fill()) {
+          throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+        inflater.setInput(buffer, position, limit - position);
+        position = limit;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int available() throws IOException {
+    if (inflater == null) {
+      throw new IOException("Stream closed");
+    }
+    return eof ? 0 : 1;
+  }
+
+  /** Returns the inflater to the pool and closes the underlying input stream. */
+  @Override
+  public void close() throws IOException {
+    if (inflater != null) {
+      Inflater inflater = this.inflater;
+      this.inflater = null;
+      pool.release(inflater);
+      in.close();
+    }
+  }
+
+  /** Refills the buffer and returns {@code false} at the end of the underlying input stream. */
+  private boolean fill() throws IOException {
+    int n = in.read(buffer, 0, buffer.length);
+    if (n == -1) {
+      position = limit = 0;
+      return false;
+    }
+    position = 0;
+    limit = n;
+    return true;
+  }
+
+  /** Reads an unsigned byte, throwing {@link EOFException} at the end of the stream. */
+  private int readUByte() throws IOException {
+    if (position == limit && !fill()) {
+      throw new EOFException();
+    }
+    return buffer[position++] & 0xff;
+  }
+
+  private int readUShort() throws IOException {
+    return readUByte() | readUByte() << 8;
+  }
+
+  private long readUInt() throws IOException {
+    return (readUShort() | (long) readUShort() << 16) & 0xffffffffL;
+  }
+
+  private void skipBytes(int n) throws IOException {
+    for (int i = 0; i < n; i++) {
+      readUByte();
+    }
+  }
+
+  /** Reads a member header, throwing {@link ZipException} if it is not valid. */
+  private void readHeader() throws IOException {
+    if (readUShort() != 0x8b1f) {
+      throw new ZipException("Not in GZIP format");
+    }
+    readMemberHeaderAfterMagic();
+  }
+
+  private void readMemberHeaderAfterMagic() throws IOException {
+    if (readUByte() != 8) {
+      throw new ZipException("Unsupported compression method");
+    }
+    int flags = readUByte();
+    // modification time, extra flags and operating system
+    skipBytes(6);
+    if ((flags & FEXTRA) != 0) {
+      skipBytes(readUShort());
+    }
+    if ((flags & FNAME) != 0) {
+      while (readUByte() != 0) {}
+    }
+    if ((flags & FCOMMENT) != 0) {
+      while (readUByte() != 0) {}
+    }
+    if ((flags & FHCRC) != 0) {
+      // the header CRC is not verified, as in GZIPInputStream when the header is not buffered
+      skipBytes(2);
+    }
+  }
+
+  /** Reads and verifies the trailer of the current member. */
+  private void readTrailer() throws IOException {
+    long expectedCrc = readUInt();
+    long expectedSize = readUInt();
+    if (expectedCrc != crc.getValue()
+        || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+      throw new ZipException("Corrupt GZIP trailer");
+    }
+  }
+
+  /**
+   * Reads the header of the next member if any and returns whether there is one.
+   *
+   * <p>As with {@link java.util.zip.GZIPInputStream}, content following a member that does not
+   * start with a valid header is ignored.
+   */
+  private boolean readNextHeader() throws IOException {
+    try {
+      if (position == limit && !fill()) {
+        return false;
+      }
+      if (readUShort() != 0x8b1f) {
+        return false;
+      }
+      readMemberHeaderAfterMagic();
+    } catch (EOFException e) {
+      return false;
+    } catch (ZipException e) {
+      return false;
+    }
+    inflater.reset();
+    crc.reset();
+    return true;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that reports the first bytes read to {@link HttpEventListener#responseBodyPreview},
+ * up to the {@link HttpEventListener#getBodyPreviewLimit() body preview limit}.
+ *
+ * <p>Bytes read again after {@link #reset()} are not reported twice.
+ */
+final class PreviewInputStream extends FilterInputStream {
+
+  /** Event listener. */
+  private final HttpEventListener listener;
+
+  /** Maximum number of bytes to report. */
+  private final int limit;
+
+  /** Position in the stream. */
+  private long position;
+
+  /** Position in the stream when the stream was marked. */
+  private long markPosition;
+
+  /** Number of bytes reported. */
+  private int reported;
+
+  /** Buffer used to report a single byte. */
+  private final byte[] singleByte = new byte[1];
+
+  PreviewInputStream(InputStream in, HttpEventListener listener, int limit) {
+    super(in);
+    this.listener = listener;
+    this.limit = limit;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = in.read();
+    if (b != -1) {
+      if (position == reported && reported < limit) {
+        reported++;
+        singleByte[0] = (byte) b;
+        listener.responseBodyPreview(singleByte, 0, 1);
+      }
+      position++;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int n = in.read(b, off, len);
+    if (n > 0) {
+      // only report the bytes past the ones already reported
+      long skip = reported - position;
+      if (skip >= 0 && skip < n && reported < limit) {
+        int count = (int) Math.min(n - skip, limit - reported);
+        listener.responseBodyPreview(b, off + (int) skip, count);
+        reported += count;
+      }
+      position += n;
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = in.skip(n);
+    position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    in.mark(readlimit);
+    markPosition = position;
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    in.reset();
+    position = markPosition;
+  }
+}
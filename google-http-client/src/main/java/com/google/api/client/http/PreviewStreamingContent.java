@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.StreamingContent;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming content that reports the first bytes written to {@link
+ * HttpEventListener#requestBodyPreview}, up to the {@link HttpEventListener#getBodyPreviewLimit()
+ * body preview limit} each time it is written.
+ */
+final class PreviewStreamingContent implements StreamingContent {
+
+  /** Streaming content. */
+  private final StreamingContent content;
+
+  /** Event listener. */
+  private final HttpEventListener listener;
+
+  /** Maximum number of bytes to report. */
+  private final int limit;
+
+  PreviewStreamingContent(StreamingContent content, HttpEventListener listener, int limit) {
+    this.content = content;
+    this.listener = listener;
+    this.limit = limit;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    content.writeTo(new PreviewOutputStream(out));
+  }
+
+  /** Output stream that reports the first bytes written. */
+  private final class PreviewOutputStream extends FilterOutputStream {
+
+    /** Number of bytes that may still be reported. */
+    private int remaining = limit;
+
+    /** Buffer used to report a single byte. */
+    private final byte[] singleByte = new byte[1];
+
+    PreviewOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      if (remaining > 0) {
+        remaining--;
+        singleByte[0] = (byte) b;
+        listener.requestBodyPreview(singleByte, 0, 1);
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      if (remaining > 0) {
+        int n = Math.min(len, remaining);
+        remaining -= n;
+        listener.requestBodyPreview(b, off, n);
+      }
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Preconditions;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in detector of {@link HttpResponse responses} that are garbage-collected while their content
+ * is still open, which means that the connection they use is never returned to the connection pool
+ * of the transport.
+ *
+ * <p>A response is closed once its {@link HttpResponse#getContent() content} is closed or fully
+ * read, once it is {@link HttpResponse#ignore() ignored} or {@link HttpResponse#disconnect()
+ * disconnected}, or if it has no content. A sample of the responses is tracked with phantom
+ * references. When a tracked response that was not closed is garbage-collected, the detector logs a
+ * warning with the stack trace of the call that created it, and {@link
+ * LowLevelHttpResponse#disconnect() disconnects} the low-level response to reclaim the connection.
+ * Leaks are detected when responses are created, so no thread is started.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>{@code
+ * transport.setResponseLeakDetector(new ResponseLeakDetector().setSamplingRate(0.01));
+ * }</pre>
+ *
+ * <p>Tracking a response costs a stack trace and a few small objects, so the overhead is
+ * proportional to the {@link #setSamplingRate sampling rate}. Responses that are not sampled cost
+ * an atomic increment.
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class ResponseLeakDetector {
+
+  static final Logger LOGGER = Logger.getLogger(ResponseLeakDetector.class.getName());
+
+  /** Default sampling rate, which tracks one response out of 100. */
+  public static final double DEFAULT_SAMPLING_RATE = 0.01;
+
+  /** Queue of the trackers of garbage-collected responses. */
+  private final ReferenceQueue<HttpResponse> queue = new ReferenceQueue<HttpResponse>();
+
+  /** Trackers of the responses that are not closed, which keeps them strongly reachable. */
+  private final Set<Tracker> trackers =
+      Collections.newSetFromMap(new ConcurrentHashMap<Tracker, Boolean>());
+
+  /** Number of created responses. */
+  private final AtomicLong responseCount = new AtomicLong();
+
+  /** Number of detected leaks. */
+  private final AtomicLong leakCount = new AtomicLong();
+
+  /** Track one response out of this number, or none if {@code 0}. */
+  private volatile long samplingInterval = Math.round(1 / DEFAULT_SAMPLING_RATE);
+
+  /** Whether to record the stack trace of the creation of tracked responses. */
+  private volatile boolean recordStackTrace = true;
+
+  /**
+   * Sets the fraction of the responses that are tracked between {@code 0} for none and {@code 1}
+   * for all, which defaults to {@link #DEFAULT_SAMPLING_RATE}.
+   *
+   * <p>The detector tracks one response out of the nearest whole number to {@code 1 /
+   * samplingRate}.
+   */
+  public ResponseLeakDetector setSamplingRate(double samplingRate) {
+    Preconditions.checkArgument(samplingRate >= 0 && samplingRate <= 1);
+    samplingInterval = samplingRate == 0 ? 0 : Math.round(1 / samplingRate);
+    return this;
+  }
+
+  /** Returns the fraction of the responses that are tracked. */
+  public double getSamplingRate() {
+    long interval = samplingInterval;
+    return interval == 0 ? 0 : 1.0 / interval;
+  }
+
+  /**
+   * Sets whether to record the stack trace of the creation of tracked responses, which is included
+   * in the report of their leak. Defaults to {@code true}.
+   */
+  public ResponseLeakDetector setRecordStackTrace(boolean recordStackTrace) {
+    this.recordStackTrace = recordStackTrace;
+    return this;
+  }
+
+  /** Returns whether to record the stack trace of the creation of tracked responses. */
+  public boolean getRecordStackTrace() {
+    return recordStackTrace;
+  }
+
+  /** Returns the number of leaked responses detected so far. */
+  public long getLeakCount() {
+    return leakCount.get();
+  }
+
+  /**
+   * Reports and reclaims the responses that were garbage-collected since the last call without
+   * being closed, and starts tracking the given response if it is sampled and has content.
+   *
+   * @param response HTTP response
+   * @param lowLevelResponse low-level HTTP response
+   * @param request HTTP request
+   * @return tracker to {@link Tracker#close() close} once the response is closed or {@code null} if
+   *     the response is not tracked
+   */
+  Tracker track(HttpResponse response, LowLevelHttpResponse lowLevelResponse, HttpRequest request)
+      throws IOException {
+    detectLeaks();
+    long interval = samplingInterval;
+    if (interval == 0 || responseCount.getAndIncrement() % interval != 0) {
+      return null;
+    }
+    // a response without content, for example to a HEAD request, holds no connection
+    if (HttpResponse.hasNoContent(
+        request.getRequestMethod(),
+        lowLevelResponse.getStatusCode(),
+        lowLevelResponse.getContentLength())) {
+      return null;
+    }
+    String description =
+        request.getRequestMethod()
+            + " "
+            + request.getUrl().buildAuthority()
+            + request.getUrl().getRawPath();
+    Throwable creation =
+        recordStackTrace ? new Throwable("HttpResponse created for " + description) : null;
+    Tracker tracker = new Tracker(response, lowLevelResponse, description, creation);
+    trackers.add(tracker);
+    return tracker;
+  }
+
+  /**
+   * Reports and reclaims the responses that were garbage-collected without being closed.
+   *
+   * @return number of leaks detected by this call
+   */
+  int detectLeaks() {
+    int count = 0;
+    Tracker tracker;
+    while ((tracker = (Tracker) queue.poll()) != null) {
+      if (trackers.remove(tracker)) {
+        count++;
+        leakCount.incrementAndGet();
+        tracker.reclaim();
+      }
+    }
+    return count;
+  }
+
+  /** Phantom reference to a tracked response. */
+  final class Tracker extends PhantomReference<HttpResponse> {
+
+    /** Low-level response to disconnect if the response leaks. */
+    private final LowLevelHttpResponse lowLevelResponse;
+
+    /** Request method and URL without query. */
+    private final String description;
+
+    /** Stack trace of the creation of the response or {@code null} if not recorded. */
+    private final Throwable creation;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    Tracker(
+        HttpResponse response,
+        LowLevelHttpResponse lowLevelResponse,
+        String description,
+        Throwable creation) {
+      super(response, queue);
+      this.lowLevelResponse = lowLevelResponse;
+      this.description = description;
+      this.creation = creation;
+    }
+
+    /** Stops tracking the response, which was closed. */
+    void close() {
+      if (closed.compareAndSet(false, true)) {
+        trackers.remove(this);
+        clear();
+      }
+    }
+
+    /** Reports the leak and disconnects the low-level response. */
+    void reclaim() {
+      LOGGER.log(
+          Level.WARNING,
+          "HttpResponse for "
+              + description
+              + " was garbage-collected without closing or fully reading its content, or calling"
+              + " disconnect(), and its connection was leaked until now."
+              + (creation == null
+                  ? " Enable ResponseLeakDetector.setRecordStackTrace to see where it was created."
+                  : ""),
+          creation);
+      try {
+        lowLevelResponse.disconnect();
+      } catch (IOException e) {
+        LOGGER.log(Level.FINE, "exception disconnecting leaked response", e);
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.FINE, "exception disconnecting leaked response", e);
+      }
+    }
+  }
+}
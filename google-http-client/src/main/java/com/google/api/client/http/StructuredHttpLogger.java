@@ -0,0 +1,573 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import com.google.api.client.util.Clock;
+import com.google.api.client.util.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event listener factory that logs a sample of the calls to {@link HttpRequest#execute()} as
+ * structured {@link HttpLogRecord records}, which are handed off to a {@link Sink} on a background
+ * thread.
+ *
+ * <p>Unlike the logging enabled by {@link HttpRequest#setLoggingEnabled} at {@link Level#CONFIG},
+ * which formats every request and copies all the content it logs, this logger is meant to stay on
+ * under load: requests that are not sampled cost a map lookup and an atomic increment, records and
+ * their bounded body preview buffers are reused, and records are dropped rather than blocking the
+ * request when the sink falls behind.
+ *
+ * <p>Sample usage:
+ *
+ * <pre>{@code
+ * StructuredHttpLogger logger =
+ *     new StructuredHttpLogger.Builder()
+ *         .setSamplingRate(0.01)
+ *         .setSamplingRate("storage.googleapis.com", 0.1)
+ *         .setBodyPreviewLimit(256)
+ *         .setSink(sink)
+ *         .build();
+ * transport.setEventListenerFactory(logger);
+ * }</pre>
+ *
+ * <p>The logger may be combined with other event listener factories of the transport with {@link
+ * HttpEventListener#compose}.
+ *
+ * <p>When body previews are enabled, the record of a call is logged once its response content is
+ * fully read or closed, or once the response is {@link HttpResponse#ignore() ignored} or {@link
+ * HttpResponse#disconnect() disconnected}, so responses that are left open are not logged. Records
+ * of responses without content, for example to {@code HEAD} requests, and records of calls without
+ * body previews are logged at the end of {@link HttpRequest#execute()}.
+ *
+ * <p>Like the {@code Authorization} header in the logging of {@link HttpRequest}, credentials are
+ * not logged: the user info of the logged URL and the values of its {@link
+ * Builder#setRedactedQueryParameters redacted query parameters} are replaced with {@value
+ * #REDACTED}.
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class StructuredHttpLogger implements HttpEventListener.Factory {
+
+  static final Logger LOGGER = Logger.getLogger(StructuredHttpLogger.class.getName());
+
+  /**
+   * Sink of the records of a {@link StructuredHttpLogger}, which is called on the background thread
+   * of the logger.
+   *
+   * @since 2.2
+   */
+  public interface Sink {
+
+    /**
+     * Logs the given record, which is reused once this method returns.
+     *
+     * @param record record of a call to {@link HttpRequest#execute()}
+     */
+    void log(HttpLogRecord record) throws IOException;
+  }
+
+  /** Sink that logs each record at {@link Level#INFO} to the logger of this class. */
+  public static final Sink LOGGING_SINK =
+      new Sink() {
+        public void log(HttpLogRecord record) {
+          if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.info(record.toString());
+          }
+        }
+      };
+
+  /** Value logged in place of the user info and of the redacted query parameters of URLs. */
+  public static final String REDACTED = "REDACTED";
+
+  /** Record that stops the background thread. */
+  private static final HttpLogRecord SHUTDOWN = new HttpLogRecord(0);
+
+  /** Sampler of the hosts that have a sampling rate other than the default. */
+  private final Map<String, Sampler> hostSamplers;
+
+  /** Sampler of the other hosts. */
+  private final Sampler defaultSampler;
+
+  /** Maximum number of bytes of content to preview. */
+  private final int bodyPreviewLimit;
+
+  /** Lower case names of the query parameters whose values are not logged. */
+  private final Set<String> redactedQueryParameters;
+
+  /** Sink of the records. */
+  private final Sink sink;
+
+  /** Clock used for the start time of records. */
+  private final Clock clock;
+
+  /** Records waiting to be logged. */
+  private final BlockingQueue<HttpLogRecord> queue;
+
+  /** Records that can be reused. */
+  private final BlockingQueue<HttpLogRecord> pool;
+
+  /** Number of logged records. */
+  private final AtomicLong loggedCount = new AtomicLong();
+
+  /** Number of records dropped because the queue was full. */
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  /** Background thread that hands off records to the sink. */
+  private final Thread thread;
+
+  /** Whether {@link #shutdown()} was called. */
+  private volatile boolean shutdown;
+
+  StructuredHttpLogger(Builder builder) {
+    hostSamplers = new HashMap<String, Sampler>();
+    for (Map.Entry<String, Double> entry : builder.hostSamplingRates.entrySet()) {
+      hostSamplers.put(entry.getKey(), new Sampler(entry.getValue()));
+    }
+    defaultSampler = new Sampler(builder.samplingRate);
+    bodyPreviewLimit = builder.bodyPreviewLimit;
+    redactedQueryParameters = new HashSet<String>(builder.redactedQueryParameters);
+    sink = builder.sink;
+    clock = builder.clock;
+    queue = new ArrayBlockingQueue<HttpLogRecord>(builder.queueCapacity);
+    pool = new ArrayBlockingQueue<HttpLogRecord>(builder.queueCapacity);
+    thread =
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("google-http-client-logger-%d")
+            .build()
+            .newThread(
+                new Runnable() {
+                  public void run() {
+                    drain();
+                  }
+                });
+    thread.start();
+  }
+
+  public HttpEventListener newEventListener(HttpRequest request) {
+    if (shutdown) {
+      return null;
+    }
+    Sampler sampler = hostSamplers.isEmpty() ? null : hostSamplers.get(request.getUrl().getHost());
+    if (!(sampler == null ? defaultSampler : sampler).sample()) {
+      return null;
+    }
+    HttpLogRecord record = pool.poll();
+    return new RecordListener(
+        this, request, record == null ? new HttpLogRecord(bodyPreviewLimit) : record);
+  }
+
+  /** Returns the maximum number of bytes of the request and response content to preview. */
+  public int getBodyPreviewLimit() {
+    return bodyPreviewLimit;
+  }
+
+  /** Returns the number of records handed off to the sink so far. */
+  public long getLoggedCount() {
+    return loggedCount.get();
+  }
+
+  /** Returns the number of records dropped so far because the sink fell behind. */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Stops sampling new calls, waits for the queued records to be handed off to the sink, and stops
+   * the background thread.
+   */
+  public void shutdown() throws InterruptedException {
+    shutdown = true;
+    queue.put(SHUTDOWN);
+    thread.join();
+  }
+
+  /** Queues the given record to be logged, or drops it if the queue is full. */
+  void publish(HttpLogRecord record) {
+    if (!queue.offer(record)) {
+      droppedCount.incrementAndGet();
+      recycle(record);
+    }
+  }
+
+  /** Hands off queued records to the sink until {@link #shutdown()}. */
+  void drain() {
+    while (true) {
+      HttpLogRecord record;
+      try {
+        record = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (record == SHUTDOWN) {
+        return;
+      }
+      try {
+        sink.log(record);
+        loggedCount.incrementAndGet();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "exception thrown while logging record", e);
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.WARNING, "exception thrown while logging record", e);
+      } finally {
+        recycle(record);
+      }
+    }
+  }
+
+  /**
+   * Returns the given URL as a string, with its user info and the values of its redacted query
+   * parameters replaced with {@link #REDACTED}.
+   */
+  String redact(GenericUrl url) {
+    return redact(url, redactedQueryParameters);
+  }
+
+  /**
+   * Returns the given URL as a string, with its user info and the values of the given query
+   * parameters replaced with {@link #REDACTED}, for example to record it in traces.
+   *
+   * @param url URL
+   * @param redactedQueryParameters lower case names of the query parameters to redact, for example
+   *     {@link Builder#DEFAULT_REDACTED_QUERY_PARAMETERS}
+   * @return URL string
+   */
+  public static String redact(GenericUrl url, Set<String> redactedQueryParameters) {
+    boolean redacted = url.getUserInfo() != null;
+    for (String name : url.keySet()) {
+      if (redactedQueryParameters.contains(name.toLowerCase(Locale.US))) {
+        redacted = true;
+        break;
+      }
+    }
+    if (!redacted) {
+      return url.build();
+    }
+    GenericUrl copy = url.clone();
+    if (copy.getUserInfo() != null) {
+      copy.setUserInfo(REDACTED);
+    }
+    for (String name : url.keySet()) {
+      if (redactedQueryParameters.contains(name.toLowerCase(Locale.US))) {
+        copy.set(name, REDACTED);
+      }
+    }
+    return copy.build();
+  }
+
+  private void recycle(HttpLogRecord record) {
+    record.clear();
+    pool.offer(record);
+  }
+
+  /** Samples one call out of the nearest whole number to the inverse of the sampling rate. */
+  private static final class Sampler {
+
+    /** Sample one call out of this number, or none if {@code 0}. */
+    private final long interval;
+
+    /** Number of calls. */
+    private final AtomicLong count = new AtomicLong();
+
+    Sampler(double samplingRate) {
+      interval = samplingRate == 0 ? 0 : Math.round(1 / samplingRate);
+    }
+
+    boolean sample() {
+      return interval != 0 && count.getAndIncrement() % interval == 0;
+    }
+  }
+
+  /** Listener that fills the record of a single call. */
+  private static final class RecordListener extends HttpEventListener {
+
+    private final StructuredHttpLogger logger;
+
+    private final HttpRequest request;
+
+    private final HttpLogRecord record;
+
+    /** Time at which the execution started. */
+    private long startNanos;
+
+    /** Whether response content of the last attempt was requested. */
+    private boolean responseBodyStarted;
+
+    /** Whether response content is being read. */
+    private boolean responseBodyOpen;
+
+    /** Whether the execution ended. */
+    private boolean executeEnded;
+
+    /** Whether the record was published, after which it must no longer be used. */
+    private boolean published;
+
+    RecordListener(StructuredHttpLogger logger, HttpRequest request, HttpLogRecord record) {
+      this.logger = logger;
+      this.request = request;
+      this.record = record;
+    }
+
+    @Override
+    public int getBodyPreviewLimit() {
+      return logger.bodyPreviewLimit;
+    }
+
+    @Override
+    public void executeStart(long nanoTime) {
+      startNanos = nanoTime;
+      record.startTimeMillis = logger.clock.currentTimeMillis();
+    }
+
+    @Override
+    public void attemptStart(int attempt, long nanoTime) {
+      record.attemptCount = attempt + 1;
+      record.statusCode = -1;
+      record.timeToResponseHeadersNanos = -1;
+      record.responseBodySize = -1;
+      record.responseBodyPreviewLength = 0;
+      responseBodyStarted = false;
+    }
+
+    @Override
+    public void requestBodyStart(long nanoTime) {
+      record.requestBodyPreviewLength = 0;
+    }
+
+    @Override
+    public void requestBodyPreview(byte[] buffer, int offset, int length) {
+      record.appendRequestBodyPreview(buffer, offset, length);
+    }
+
+    @Override
+    public void requestBodyEnd(long byteCount, long nanoTime) {
+      record.requestBodySize = byteCount;
+    }
+
+    @Override
+    public void responseHeadersEnd(int statusCode, long nanoTime) {
+      record.statusCode = statusCode;
+      record.timeToResponseHeadersNanos = nanoTime - startNanos;
+    }
+
+    @Override
+    public void executeEnd(int statusCode, long nanoTime) {
+      end(null, nanoTime);
+      if (logger.bodyPreviewLimit == 0 || responseBodyStarted && !responseBodyOpen) {
+        publish();
+      }
+    }
+
+    @Override
+    public void executeFailed(Exception exception, long nanoTime) {
+      end(exception, nanoTime);
+      publish();
+    }
+
+    @Override
+    public void responseBodyStart(long nanoTime) {
+      if (!published) {
+        responseBodyStarted = true;
+        responseBodyOpen = true;
+        record.responseBodyPreviewLength = 0;
+      }
+    }
+
+    @Override
+    public void responseBodyPreview(byte[] buffer, int offset, int length) {
+      if (!published) {
+        record.appendResponseBodyPreview(buffer, offset, length);
+      }
+    }
+
+    @Override
+    public void responseBodyEnd(long byteCount, long nanoTime) {
+      if (!published) {
+        responseBodyOpen = false;
+        record.responseBodySize = byteCount;
+        if (executeEnded) {
+          publish();
+        }
+      }
+    }
+
+    private void end(Exception exception, long nanoTime) {
+      executeEnded = true;
+      record.durationNanos = nanoTime - startNanos;
+      record.requestMethod = request.getRequestMethod();
+      record.url = logger.redact(request.getUrl());
+      record.exception = exception;
+    }
+
+    private void publish() {
+      if (!published) {
+        published = true;
+        logger.publish(record);
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link StructuredHttpLogger}.
+   *
+   * <p>Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Builder {
+
+    /** Default sampling rate, which logs one call out of 100. */
+    public static final double DEFAULT_SAMPLING_RATE = 0.01;
+
+    /** Default capacity of the queue of records waiting to be logged. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Default names of the query parameters whose values are not logged, which carry API keys,
+     * OAuth 2.0 tokens and codes, signed URL signatures and credentials, and resumable upload IDs.
+     */
+    public static final Set<String> DEFAULT_REDACTED_QUERY_PARAMETERS =
+        Collections.unmodifiableSet(
+            new HashSet<String>(
+                Arrays.asList(
+                    "access_token",
+                    "api_key",
+                    "client_secret",
+                    "code",
+                    "key",
+                    "password",
+                    "refresh_token",
+                    "sig",
+                    "signature",
+                    "token",
+                    "upload_id",
+                    "x-amz-credential",
+                    "x-amz-security-token",
+                    "x-amz-signature",
+                    "x-goog-credential",
+                    "x-goog-signature")));
+
+    double samplingRate = DEFAULT_SAMPLING_RATE;
+
+    final Map<String, Double> hostSamplingRates = new HashMap<String, Double>();
+
+    int bodyPreviewLimit;
+
+    int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    final Set<String> redactedQueryParameters =
+        new HashSet<String>(DEFAULT_REDACTED_QUERY_PARAMETERS);
+
+    Sink sink = LOGGING_SINK;
+
+    Clock clock = Clock.SYSTEM;
+
+    /**
+     * Sets the fraction of the calls that are logged between {@code 0} for none and {@code 1} for
+     * all, for hosts without a specific sampling rate. Defaults to {@link #DEFAULT_SAMPLING_RATE}.
+     *
+     * <p>The logger samples one call out of the nearest whole number to {@code 1 / samplingRate}.
+     */
+    public Builder setSamplingRate(double samplingRate) {
+      Preconditions.checkArgument(samplingRate >= 0 && samplingRate <= 1);
+      this.samplingRate = samplingRate;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of the calls to the given host that are logged, between {@code 0} for none
+     * and {@code 1} for all.
+     *
+     * @param host host as returned by {@link GenericUrl#getHost()}, such as {@code
+     *     "storage.googleapis.com"}
+     * @param samplingRate sampling rate
+     */
+    public Builder setSamplingRate(String host, double samplingRate) {
+      Preconditions.checkNotNull(host);
+      Preconditions.checkArgument(samplingRate >= 0 && samplingRate <= 1);
+      hostSamplingRates.put(host, samplingRate);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of the request content and of the response content that are
+     * kept in each record, or {@code 0} to keep none, which is the default.
+     *
+     * <p>Each pooled record holds two buffers of this size.
+     */
+    public Builder setBodyPreviewLimit(int bodyPreviewLimit) {
+      Preconditions.checkArgument(bodyPreviewLimit >= 0);
+      this.bodyPreviewLimit = bodyPreviewLimit;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of records waiting to be logged, beyond which new records are
+     * dropped. Defaults to {@link #DEFAULT_QUEUE_CAPACITY}.
+     */
+    public Builder setQueueCapacity(int queueCapacity) {
+      Preconditions.checkArgument(queueCapacity > 0);
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Sets the names of the query parameters whose values are replaced with {@link
+     * StructuredHttpLogger#REDACTED} in the logged URL, compared ignoring case. Defaults to {@link
+     * #DEFAULT_REDACTED_QUERY_PARAMETERS}.
+     */
+    public Builder setRedactedQueryParameters(Collection<String> names) {
+      redactedQueryParameters.clear();
+      for (String name : names) {
+        redactedQueryParameters.add(name.toLowerCase(Locale.US));
+      }
+      return this;
+    }
+
+    /** Sets the sink of the records. Defaults to {@link StructuredHttpLogger#LOGGING_SINK}. */
+    public Builder setSink(Sink sink) {
+      this.sink = Preconditions.checkNotNull(sink);
+      return this;
+    }
+
+    /** Sets the clock used for the start time of records. Defaults to {@link Clock#SYSTEM}. */
+    public Builder setClock(Clock clock) {
+      this.clock = Preconditions.checkNotNull(clock);
+      return this;
+    }
+
+    /** Returns a new logger, which starts its background thread. */
+    public StructuredHttpLogger build() {
+      return new StructuredHttpLogger(this);
+    }
+  }
+}
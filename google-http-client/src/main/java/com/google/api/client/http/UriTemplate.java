@@ -14,17 +14,21 @@
 
 package com.google.api.client.http;
 
+import com.google.api.client.util.ClassInfo;
 import com.google.api.client.util.Data;
 import com.google.api.client.util.FieldInfo;
 import com.google.api.client.util.Preconditions;
 import com.google.api.client.util.Types;
 import com.google.api.client.util.escape.CharEscapers;
 import com.google.common.base.Splitter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Expands URI Templates.
@@ -50,6 +54,8 @@ import java.util.Map;
  * &list=red&list=green&list=blue {&keys} -> &keys=semi,%3B,dot,.,comma,%2C {&keys*} ->
  * &semi=%3B&dot=.&comma=%2C {?var,list} -> ?var=value&list=red,green,blue
  *
+ * <p>Templates that are expanded repeatedly may be compiled once with {@link #compile(String)}.
+ *
  * @since 1.6
  * @author Ravi Mistry
  */
@@ -211,18 +217,7 @@ public class UriTemplate {
    */
   public static String expand(
       String baseUrl, String uriTemplate, Object parameters, boolean addUnusedParamsAsQueryParams) {
-    String pathUri;
-    if (uriTemplate.startsWith("/")) {
-      // Remove the base path from the base URL.
-      GenericUrl url = new GenericUrl(baseUrl);
-      url.setRawPath(null);
-      pathUri = url.build() + uriTemplate;
-    } else if (uriTemplate.startsWith("http://") || uriTemplate.startsWith("https://")) {
-      pathUri = uriTemplate;
-    } else {
-      pathUri = baseUrl + uriTemplate;
-    }
-    return expand(pathUri, parameters, addUnusedParamsAsQueryParams);
+    return compile(baseUrl, uriTemplate).expand(parameters, addUnusedParamsAsQueryParams);
   }
 
   /**
@@ -242,35 +237,70 @@ public class UriTemplate {
    */
   public static String expand(
       String pathUri, Object parameters, boolean addUnusedParamsAsQueryParams) {
-    Map<String, Object> variableMap = getMap(parameters);
-    StringBuilder pathBuf = new StringBuilder();
+    return compile(pathUri).expand(parameters, addUnusedParamsAsQueryParams);
+  }
+
+  /**
+   * Compiles a URI template that is relative to a base URL, resolving it against the base URL as
+   * {@link #expand(String, String, Object, boolean)} does.
+   *
+   * @param baseUrl The base URL which the URI component is relative to.
+   * @param uriTemplate URI component. It may contain one or more sequences of the form "{name}".
+   * @return compiled template
+   * @since 2.2
+   */
+  public static Compiled compile(String baseUrl, String uriTemplate) {
+    String pathUri;
+    if (uriTemplate.startsWith("/")) {
+      // Remove the base path from the base URL.
+      GenericUrl url = new GenericUrl(baseUrl);
+      url.setRawPath(null);
+      pathUri = url.build() + uriTemplate;
+    } else if (uriTemplate.startsWith("http://") || uriTemplate.startsWith("https://")) {
+      pathUri = uriTemplate;
+    } else {
+      pathUri = baseUrl + uriTemplate;
+    }
+    return compile(pathUri);
+  }
+
+  /**
+   * Compiles a URI template so that it is parsed only once for any number of expansions.
+   *
+   * @param pathUri URI component. It may contain one or more sequences of the form "{name}".
+   * @return compiled template
+   * @since 2.2
+   */
+  public static Compiled compile(String pathUri) {
+    List<Object> segments = new ArrayList<Object>();
+    Map<String, Integer> varIndexes = new HashMap<String, Integer>();
     int cur = 0;
     int length = pathUri.length();
     while (cur < length) {
       int next = pathUri.indexOf('{', cur);
       if (next == -1) {
-        if (cur == 0 && !addUnusedParamsAsQueryParams) {
-          // No expansions exist and we do not need to add any query parameters.
-          return pathUri;
-        }
-        pathBuf.append(pathUri.substring(cur));
+        segments.add(pathUri.substring(cur));
         break;
       }
-      pathBuf.append(pathUri.substring(cur, next));
+      if (next != cur) {
+        segments.add(pathUri.substring(cur, next));
+      }
       int close = pathUri.indexOf('}', next + 2);
       cur = close + 1;
 
       String templates = pathUri.substring(next + 1, close);
       CompositeOutput compositeOutput = getCompositeOutput(templates);
-      ListIterator<String> templateIterator =
-          Splitter.on(',').splitToList(templates).listIterator();
-      boolean isFirstParameter = true;
+      List<String> templateList = Splitter.on(',').splitToList(templates);
+      String[] varNames = new String[templateList.size()];
+      boolean[] explodes = new boolean[varNames.length];
+      int[] expressionVarIndexes = new int[varNames.length];
+      ListIterator<String> templateIterator = templateList.listIterator();
       while (templateIterator.hasNext()) {
+        int i = templateIterator.nextIndex();
         String template = templateIterator.next();
         boolean containsExplodeModifier = template.endsWith("*");
 
-        int varNameStartIndex =
-            templateIterator.nextIndex() == 1 ? compositeOutput.getVarNameStartIndex() : 0;
+        int varNameStartIndex = i == 0 ? compositeOutput.getVarNameStartIndex() : 0;
         int varNameEndIndex = template.length();
         if (containsExplodeModifier) {
           // The expression contains an explode modifier '*' at the end, update end index.
@@ -278,118 +308,306 @@ public class UriTemplate {
         }
         // Now get varName devoid of any prefixes and explode modifiers.
         String varName = template.substring(varNameStartIndex, varNameEndIndex);
+        Integer varIndex = varIndexes.get(varName);
+        if (varIndex == null) {
+          varIndex = varIndexes.size();
+          varIndexes.put(varName, varIndex);
+        }
+        varNames[i] = varName;
+        explodes[i] = containsExplodeModifier;
+        expressionVarIndexes[i] = varIndex;
+      }
+      segments.add(new Expression(compositeOutput, varNames, explodes, expressionVarIndexes));
+    }
+    return new Compiled(pathUri, segments.toArray(), varIndexes);
+  }
+
+  /**
+   * URI template compiled by {@link UriTemplate#compile(String)}, which expands to the same result
+   * as {@link UriTemplate#expand(String, Object, boolean)} without parsing the template again.
+   *
+   * <p>Implementation is immutable and thread-safe.
+   *
+   * @since 2.2
+   */
+  public static final class Compiled {
+
+    /** URI template. */
+    private final String pathUri;
+
+    /** Literal string and {@link Expression} segments of the template. */
+    private final Object[] segments;
 
-        Object value = variableMap.remove(varName);
-        if (value == null) {
-          // The value for this variable is undefined. continue with the next template.
+    /** Whether the template contains any expression. */
+    private final boolean hasExpressions;
+
+    /** Index of each distinct variable name in the template. */
+    private final Map<String, Integer> varIndexes;
+
+    /** Variable names by index. */
+    private final String[] varNames;
+
+    /**
+     * Field information of each variable by index, for parameters of a class other than a map, with
+     * {@code null} for a variable that is not a field of the class.
+     */
+    private final ConcurrentHashMap<Class<?>, FieldInfo[]> fieldInfos =
+        new ConcurrentHashMap<Class<?>, FieldInfo[]>();
+
+    Compiled(String pathUri, Object[] segments, Map<String, Integer> varIndexes) {
+      this.pathUri = pathUri;
+      this.segments = segments;
+      this.varIndexes = varIndexes;
+      varNames = new String[varIndexes.size()];
+      for (Map.Entry<String, Integer> entry : varIndexes.entrySet()) {
+        varNames[entry.getValue()] = entry.getKey();
+      }
+      hasExpressions = !varIndexes.isEmpty();
+    }
+
+    /** Returns the URI template. */
+    public String getTemplate() {
+      return pathUri;
+    }
+
+    /**
+     * Expands the template.
+     *
+     * @param parameters an object with parameters designated by Key annotations. If the template
+     *     has no variable references, parameters may be {@code null}.
+     * @param addUnusedParamsAsQueryParams If true then parameters that do not match the template
+     *     are appended to the expanded template as query parameters.
+     * @return The expanded template
+     */
+    public String expand(Object parameters, boolean addUnusedParamsAsQueryParams) {
+      if (!hasExpressions && !addUnusedParamsAsQueryParams) {
+        // No expansions exist and we do not need to add any query parameters.
+        return pathUri;
+      }
+      return expand(parameters, addUnusedParamsAsQueryParams, new StringBuilder()).toString();
+    }
+
+    /**
+     * Expands the template into the given string builder, which may be reused across expansions.
+     *
+     * @param parameters an object with parameters designated by Key annotations. If the template
+     *     has no variable references, parameters may be {@code null}.
+     * @param addUnusedParamsAsQueryParams If true then parameters that do not match the template
+     *     are appended to the expanded template as query parameters.
+     * @param builder string builder to append the expanded template to
+     * @return the given string builder
+     */
+    public StringBuilder expand(
+        Object parameters, boolean addUnusedParamsAsQueryParams, StringBuilder builder) {
+      List<Map.Entry<String, Object>> unusedParameters =
+          addUnusedParamsAsQueryParams ? new ArrayList<Map.Entry<String, Object>>() : null;
+      Object[] values = getValues(parameters, unusedParameters);
+      for (Object segment : segments) {
+        if (segment instanceof String) {
+          builder.append((String) segment);
           continue;
         }
-        if (!isFirstParameter) {
-          pathBuf.append(compositeOutput.getExplodeJoiner());
-        } else {
-          pathBuf.append(compositeOutput.getOutputPrefix());
-          isFirstParameter = false;
+        Expression expression = (Expression) segment;
+        CompositeOutput compositeOutput = expression.compositeOutput;
+        boolean isFirstParameter = true;
+        for (int i = 0; i < expression.varNames.length; i++) {
+          int varIndex = expression.varIndexes[i];
+          Object value = values[varIndex];
+          if (value == null) {
+            // The value for this variable is undefined. continue with the next template.
+            continue;
+          }
+          // a variable is only expanded the first time it is referenced
+          values[varIndex] = null;
+          if (!isFirstParameter) {
+            builder.append(compositeOutput.getExplodeJoiner());
+          } else {
+            builder.append(compositeOutput.getOutputPrefix());
+            isFirstParameter = false;
+          }
+          appendValue(
+              builder, expression.varNames[i], value, expression.explodes[i], compositeOutput);
+        }
+      }
+      if (addUnusedParamsAsQueryParams) {
+        // Add the parameters that are not in the template as query parameters.
+        GenericUrl.addQueryParams(unusedParameters, builder, false);
+      }
+      return builder;
+    }
+
+    /**
+     * Returns the non-null value of each variable by index, and adds the other parameters to the
+     * given list unless it is {@code null}.
+     */
+    private Object[] getValues(
+        Object parameters, List<Map.Entry<String, Object>> unusedParameters) {
+      Object[] values = new Object[varNames.length];
+      if (parameters == null || Data.isNull(parameters)) {
+        return values;
+      }
+      if (unusedParameters == null && !(parameters instanceof Map<?, ?>)) {
+        FieldInfo[] parameterFieldInfos = getFieldInfos(parameters.getClass());
+        for (int i = 0; i < values.length; i++) {
+          FieldInfo fieldInfo = parameterFieldInfos[i];
+          if (fieldInfo != null) {
+            Object value = fieldInfo.getValue(parameters);
+            if (value != null && !Data.isNull(value)) {
+              values[i] = value;
+            }
+          }
+        }
+        return values;
+      }
+      for (Map.Entry<String, Object> entry : Data.mapOf(parameters).entrySet()) {
+        Object value = entry.getValue();
+        if (value != null && !Data.isNull(value)) {
+          Integer varIndex = varIndexes.get(entry.getKey());
+          if (varIndex != null) {
+            values[varIndex] = value;
+          } else if (unusedParameters != null) {
+            unusedParameters.add(entry);
+          }
         }
-        if (value instanceof Iterator<?>) {
-          // Get the list property value.
-          Iterator<?> iterator = (Iterator<?>) value;
-          value = getListPropertyValue(varName, iterator, containsExplodeModifier, compositeOutput);
-        } else if (value instanceof Iterable<?> || value.getClass().isArray()) {
-          // Get the list property value.
-          Iterator<?> iterator = Types.iterableOf(value).iterator();
-          value = getListPropertyValue(varName, iterator, containsExplodeModifier, compositeOutput);
-        } else if (value.getClass().isEnum()) {
-          String name = FieldInfo.of((Enum<?>) value).getName();
-          value = getSimpleValue(varName, name != null ? name : value.toString(), compositeOutput);
-        } else if (!Data.isValueOfPrimitiveType(value)) {
-          // Parse the value as a key/value map.
-          Map<String, Object> map = getMap(value);
-          value = getMapPropertyValue(varName, map, containsExplodeModifier, compositeOutput);
-        } else {
-          // For everything else...
-          value = getSimpleValue(varName, value.toString(), compositeOutput);
+      }
+      return values;
+    }
+
+    private FieldInfo[] getFieldInfos(Class<?> parametersClass) {
+      FieldInfo[] result = fieldInfos.get(parametersClass);
+      if (result == null) {
+        ClassInfo classInfo = ClassInfo.of(parametersClass);
+        result = new FieldInfo[varNames.length];
+        for (int i = 0; i < result.length; i++) {
+          result[i] = classInfo.getFieldInfo(varNames[i]);
         }
-        pathBuf.append(value);
+        fieldInfos.put(parametersClass, result);
       }
+      return result;
     }
-    if (addUnusedParamsAsQueryParams) {
-      // Add the parameters remaining in the variableMap as query parameters.
-      GenericUrl.addQueryParams(variableMap.entrySet(), pathBuf, false);
+  }
+
+  /** Expression of a compiled template, for example {@code "{?fields,prefix*}"}. */
+  private static final class Expression {
+
+    final CompositeOutput compositeOutput;
+
+    /** Variable names devoid of any prefixes and explode modifiers. */
+    final String[] varNames;
+
+    /** Whether each variable has the explode modifier "*". */
+    final boolean[] explodes;
+
+    /** Index of each variable in {@link Compiled#varNames}. */
+    final int[] varIndexes;
+
+    Expression(
+        CompositeOutput compositeOutput, String[] varNames, boolean[] explodes, int[] varIndexes) {
+      this.compositeOutput = compositeOutput;
+      this.varNames = varNames;
+      this.explodes = explodes;
+      this.varIndexes = varIndexes;
+    }
+  }
+
+  private static void appendValue(
+      StringBuilder builder,
+      String varName,
+      Object value,
+      boolean containsExplodeModifier,
+      CompositeOutput compositeOutput) {
+    if (value instanceof Iterator<?>) {
+      // Get the list property value.
+      Iterator<?> iterator = (Iterator<?>) value;
+      appendListPropertyValue(builder, varName, iterator, containsExplodeModifier, compositeOutput);
+    } else if (value instanceof Iterable<?> || value.getClass().isArray()) {
+      // Get the list property value.
+      Iterator<?> iterator = Types.iterableOf(value).iterator();
+      appendListPropertyValue(builder, varName, iterator, containsExplodeModifier, compositeOutput);
+    } else if (value.getClass().isEnum()) {
+      String name = FieldInfo.of((Enum<?>) value).getName();
+      appendSimpleValue(builder, varName, name != null ? name : value.toString(), compositeOutput);
+    } else if (!Data.isValueOfPrimitiveType(value)) {
+      // Parse the value as a key/value map.
+      Map<String, Object> map = getMap(value);
+      appendMapPropertyValue(builder, varName, map, containsExplodeModifier, compositeOutput);
+    } else {
+      // For everything else...
+      appendSimpleValue(builder, varName, value.toString(), compositeOutput);
     }
-    return pathBuf.toString();
   }
 
-  private static String getSimpleValue(String name, String value, CompositeOutput compositeOutput) {
+  private static void appendSimpleValue(
+      StringBuilder builder, String name, String value, CompositeOutput compositeOutput) {
     if (compositeOutput.requiresVarAssignment()) {
-      return String.format("%s=%s", name, compositeOutput.getEncodedValue(value));
+      builder.append(name).append('=');
     }
-    return compositeOutput.getEncodedValue(value);
+    builder.append(compositeOutput.getEncodedValue(value));
   }
 
   /**
    * Expand the template of a composite list property. Eg: If d := ["red", "green", "blue"] then
    * {/d*} is expanded to "/red/green/blue"
    *
+   * @param builder the string builder to append the expanded list template to
    * @param varName the name of the variable the value corresponds to. E.g. "d"
    * @param iterator the iterator over list values. E.g. ["red", "green", "blue"]
    * @param containsExplodeModifiersSet to true if the template contains the explode modifier "*"
    * @param compositeOutput an instance of CompositeOutput. Contains information on how the
    *     expansion should be done
-   * @return the expanded list template
    * @throws IllegalArgumentException if the required list path parameter is empty
    */
-  private static String getListPropertyValue(
+  private static void appendListPropertyValue(
+      StringBuilder builder,
       String varName,
       Iterator<?> iterator,
       boolean containsExplodeModifier,
       CompositeOutput compositeOutput) {
     if (!iterator.hasNext()) {
-      return "";
+      return;
     }
-    StringBuilder retBuf = new StringBuilder();
     String joiner;
     if (containsExplodeModifier) {
       joiner = compositeOutput.getExplodeJoiner();
     } else {
       joiner = COMPOSITE_NON_EXPLODE_JOINER;
       if (compositeOutput.requiresVarAssignment()) {
-        retBuf.append(CharEscapers.escapeUriPath(varName));
-        retBuf.append("=");
+        builder.append(CharEscapers.escapeUriPath(varName));
+        builder.append("=");
       }
     }
     while (iterator.hasNext()) {
       if (containsExplodeModifier && compositeOutput.requiresVarAssignment()) {
-        retBuf.append(CharEscapers.escapeUriPath(varName));
-        retBuf.append("=");
+        builder.append(CharEscapers.escapeUriPath(varName));
+        builder.append("=");
       }
-      retBuf.append(compositeOutput.getEncodedValue(iterator.next().toString()));
+      builder.append(compositeOutput.getEncodedValue(iterator.next().toString()));
       if (iterator.hasNext()) {
-        retBuf.append(joiner);
+        builder.append(joiner);
       }
     }
-    return retBuf.toString();
   }
 
   /**
    * Expand the template of a composite map property. Eg: If d := [("semi", ";"),("dot",
    * "."),("comma", ",")] then {/d*} is expanded to "/semi=%3B/dot=./comma=%2C"
    *
+   * @param builder the string builder to append the expanded map template to
    * @param varName the name of the variable the value corresponds to. Eg: "d"
    * @param map the map property value. Eg: [("semi", ";"),("dot", "."),("comma", ",")]
    * @param containsExplodeModifier Set to true if the template contains the explode modifier "*"
    * @param compositeOutput contains information on how the expansion should be done
-   * @return the expanded map template
    * @throws IllegalArgumentException if the required list path parameter is map
    */
-  private static String getMapPropertyValue(
+  private static void appendMapPropertyValue(
+      StringBuilder builder,
       String varName,
       Map<String, Object> map,
       boolean containsExplodeModifier,
       CompositeOutput compositeOutput) {
     if (map.isEmpty()) {
-      return "";
+      return;
     }
-    StringBuilder retBuf = new StringBuilder();
     String joiner;
     String mapElementsJoiner;
     if (containsExplodeModifier) {
@@ -399,8 +617,8 @@ public class UriTemplate {
       joiner = COMPOSITE_NON_EXPLODE_JOINER;
       mapElementsJoiner = COMPOSITE_NON_EXPLODE_JOINER;
       if (compositeOutput.requiresVarAssignment()) {
-        retBuf.append(CharEscapers.escapeUriPath(varName));
-        retBuf.append("=");
+        builder.append(CharEscapers.escapeUriPath(varName));
+        builder.append("=");
       }
     }
     for (Iterator<Map.Entry<String, Object>> mapIterator = map.entrySet().iterator();
@@ -408,13 +626,12 @@ public class UriTemplate {
       Map.Entry<String, Object> entry = mapIterator.next();
       String encodedKey = compositeOutput.getEncodedValue(entry.getKey());
       String encodedValue = compositeOutput.getEncodedValue(entry.getValue().toString());
-      retBuf.append(encodedKey);
-      retBuf.append(mapElementsJoiner);
-      retBuf.append(encodedValue);
+      builder.append(encodedKey);
+      builder.append(mapElementsJoiner);
+      builder.append(encodedValue);
       if (mapIterator.hasNext()) {
-        retBuf.append(joiner);
+        builder.append(joiner);
       }
     }
-    return retBuf.toString();
   }
 }
@@ -14,6 +14,7 @@
 
 package com.google.api.client.http.javanet;
 
+import com.google.api.client.http.HttpEventListener;
 import com.google.api.client.http.LowLevelHttpRequest;
 import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.util.Preconditions;
@@ -37,6 +38,9 @@ final class NetHttpRequest extends LowLevelHttpRequest {
   private final HttpURLConnection connection;
   private int writeTimeout;
 
+  /** Whether {@link #connect} has been called. */
+  private boolean connected;
+
   /** @param connection HTTP URL connection */
   NetHttpRequest(HttpURLConnection connection) {
     this.connection = connection;
@@ -110,6 +114,10 @@ final class NetHttpRequest extends LowLevelHttpRequest {
         } else {
           connection.setChunkedStreamingMode(0);
         }
+        if (getEventListener() != null) {
+          // connect explicitly rather than implicitly in getOutputStream() to report it
+          connect(connection);
+        }
         final OutputStream out = connection.getOutputStream();
 
         boolean threw = true;
@@ -148,7 +156,7 @@ final class NetHttpRequest extends LowLevelHttpRequest {
     // connect
     boolean successfulConnection = false;
     try {
-      connection.connect();
+      connect(connection);
       NetHttpResponse response = new NetHttpResponse(connection);
       successfulConnection = true;
       return response;
@@ -159,6 +167,22 @@ final class NetHttpRequest extends LowLevelHttpRequest {
     }
   }
 
+  /**
+   * Connects if not already connected, reporting the connection events to the event listener if
+   * any.
+   */
+  private void connect(HttpURLConnection connection) throws IOException {
+    HttpEventListener eventListener = getEventListener();
+    if (eventListener == null) {
+      connection.connect();
+    } else if (!connected) {
+      eventListener.connectStart(eventListener.nanoTime());
+      connection.connect();
+      eventListener.connectEnd(eventListener.nanoTime());
+    }
+    connected = true;
+  }
+
   private boolean hasResponse(HttpURLConnection connection) {
     try {
       return connection.getResponseCode() > 0;
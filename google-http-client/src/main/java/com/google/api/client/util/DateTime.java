@@ -14,17 +14,13 @@
 
 package com.google.api.client.util;
 
-import com.google.common.base.Strings;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.Objects;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Immutable representation of a date with an optional time and an optional time zone based on <a
@@ -39,15 +35,17 @@ public final class DateTime implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
-  private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+  /** Number of milliseconds in a day. */
+  private static final long MILLIS_PER_DAY = 86400000L;
 
-  /** Regular expression for parsing RFC3339 date/times. */
-  private static final String RFC3339_REGEX =
-      "(\\d{4})-(\\d{2})-(\\d{2})" // yyyy-MM-dd
-          + "([Tt](\\d{2}):(\\d{2}):(\\d{2})(\\.\\d{1,9})?)?" // 'T'HH:mm:ss.nanoseconds
-          + "([Zz]|([+-])(\\d{2}):(\\d{2}))?"; // 'Z' or time zone shift HH:mm following '+' or '-'
+  /** Number of days from January 1, 1 (Gregorian) to the Unix epoch. */
+  private static final long EPOCH_FIXED_DATE = 719163;
 
-  private static final Pattern RFC3339_PATTERN = Pattern.compile(RFC3339_REGEX);
+  /**
+   * Number of days from January 1, 1 (Gregorian) to October 15, 1582, before which {@link
+   * GregorianCalendar} uses the Julian calendar.
+   */
+  private static final long GREGORIAN_CUTOVER_FIXED_DATE = 577736;
 
   /**
    * Date/time value expressed as the number of ms since the Unix epoch.
@@ -180,29 +178,63 @@ public final class DateTime implements Serializable {
 
   /** Formats the value as an RFC 3339 date/time string. */
   public String toStringRfc3339() {
-    StringBuilder sb = new StringBuilder();
-    Calendar dateTime = new GregorianCalendar(GMT);
+    return appendRfc3339(new StringBuilder(29)).toString();
+  }
+
+  /**
+   * Appends the value formatted as an RFC 3339 date/time string to the given string builder, like
+   * {@link #toStringRfc3339()} but without creating a string.
+   *
+   * <p>As with {@link GregorianCalendar}, dates before October 15, 1582 are formatted in the Julian
+   * calendar, and years before 1 are formatted as years of the BC era.
+   *
+   * @param sb string builder
+   * @return the given string builder
+   * @since 2.2
+   */
+  public StringBuilder appendRfc3339(StringBuilder sb) {
     long localTime = value + (tzShift * 60000L);
-    dateTime.setTimeInMillis(localTime);
+    long fixedDate = floorDiv(localTime, MILLIS_PER_DAY) + EPOCH_FIXED_DATE;
+    int timeOfDay = (int) (localTime - (fixedDate - EPOCH_FIXED_DATE) * MILLIS_PER_DAY);
+    long year;
+    int month;
+    int day;
+    if (fixedDate >= GREGORIAN_CUTOVER_FIXED_DATE) {
+      // proleptic Gregorian date of the days since March 1, 0
+      long days = fixedDate - EPOCH_FIXED_DATE + 719468;
+      long era = floorDiv(days, 146097);
+      int dayOfEra = (int) (days - era * 146097);
+      int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+      int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+      int shiftedMonth = (5 * dayOfYear + 2) / 153;
+      day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+      month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+      year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+    } else {
+      year = floorDiv(4 * (fixedDate + 1) + 1464, 1461);
+      int dayOfYear = (int) (fixedDate - julianFixedDate(year, 1, 1));
+      if (fixedDate >= julianFixedDate(year, 3, 1)) {
+        dayOfYear += floorMod(year, 4) == 0 ? 1 : 2;
+      }
+      month = (12 * dayOfYear + 373) / 367;
+      day = (int) (fixedDate - julianFixedDate(year, month, 1)) + 1;
+    }
     // date
-    appendInt(sb, dateTime.get(Calendar.YEAR), 4);
+    appendInt(sb, (int) (year > 0 ? year : 1 - year), 4);
     sb.append('-');
-    appendInt(sb, dateTime.get(Calendar.MONTH) + 1, 2);
+    appendInt(sb, month, 2);
     sb.append('-');
-    appendInt(sb, dateTime.get(Calendar.DAY_OF_MONTH), 2);
+    appendInt(sb, day, 2);
     if (!dateOnly) {
       // time
       sb.append('T');
-      appendInt(sb, dateTime.get(Calendar.HOUR_OF_DAY), 2);
+      appendInt(sb, timeOfDay / 3600000, 2);
       sb.append(':');
-      appendInt(sb, dateTime.get(Calendar.MINUTE), 2);
+      appendInt(sb, timeOfDay / 60000 % 60, 2);
       sb.append(':');
-      appendInt(sb, dateTime.get(Calendar.SECOND), 2);
-
-      if (dateTime.isSet(Calendar.MILLISECOND)) {
-        sb.append('.');
-        appendInt(sb, dateTime.get(Calendar.MILLISECOND), 3);
-      }
+      appendInt(sb, timeOfDay / 1000 % 60, 2);
+      sb.append('.');
+      appendInt(sb, timeOfDay % 1000, 3);
       // time zone
       if (tzShift == 0) {
         sb.append('Z');
@@ -222,7 +254,7 @@ public final class DateTime implements Serializable {
         appendInt(sb, tzMinutes, 2);
       }
     }
-    return sb.toString();
+    return sb;
   }
 
   @Override
@@ -268,10 +300,16 @@ public final class DateTime implements Serializable {
    * <p>For the date-only case, the time zone is ignored and the hourOfDay, minute, second, and
    * millisecond parameters are set to zero.
    *
+   * <p>The accepted format is {@code yyyy-MM-dd}, optionally followed by a time {@code
+   * 'T'HH:mm:ss}, where {@code 'T'} may be lower case, with an optional fraction of a second of 1
+   * to 9 digits following {@code '.'}, optionally followed by {@code 'Z'} (or {@code 'z'}) or a
+   * time zone shift {@code HH:mm} following {@code '+'} or {@code '-'}. All digits are ASCII
+   * digits.
+   *
    * @param str Date/time string in RFC3339 format
    * @throws NumberFormatException if {@code str} doesn't match the RFC3339 standard format; an
-   *     exception is thrown if {@code str} doesn't match {@code RFC3339_REGEX} or if it contains a
-   *     time zone shift but no time.
+   *     exception is thrown if {@code str} doesn't match the format above or if it contains a time
+   *     zone shift but no time.
    */
   public static DateTime parseRfc3339(String str) {
     return parseRfc3339WithNanoSeconds(str).toDateTime();
@@ -280,10 +318,13 @@ public final class DateTime implements Serializable {
   /**
    * Parses an RFC3339 timestamp to a pair of seconds and nanoseconds since Unix Epoch.
    *
+   * <p>The accepted format is the same as for {@link #parseRfc3339}, and any fraction of a second
+   * is kept to nanosecond precision.
+   *
    * @param str Date/time string in RFC3339 format
    * @throws IllegalArgumentException if {@code str} doesn't match the RFC3339 standard format; an
-   *     exception is thrown if {@code str} doesn't match {@code RFC3339_REGEX} or if it contains a
-   *     time zone shift but no time.
+   *     exception is thrown if {@code str} doesn't match the format of {@link #parseRfc3339} or if
+   *     it contains a time zone shift but no time.
    */
   public static SecondsAndNanos parseRfc3339ToSecondsAndNanos(String str) {
     Rfc3339ParseResult time = parseRfc3339WithNanoSeconds(str);
@@ -370,22 +411,78 @@ public final class DateTime implements Serializable {
 
   private static Rfc3339ParseResult parseRfc3339WithNanoSeconds(String str)
       throws NumberFormatException {
-    Matcher matcher = RFC3339_PATTERN.matcher(str);
-    if (!matcher.matches()) {
-      throw new NumberFormatException("Invalid date/time format: " + str);
+    int length = str.length();
+    // yyyy-MM-dd
+    if (length < 10 || str.charAt(4) != '-' || str.charAt(7) != '-') {
+      throw invalidFormat(str);
     }
-
-    int year = Integer.parseInt(matcher.group(1)); // yyyy
-    int month = Integer.parseInt(matcher.group(2)) - 1; // MM
-    int day = Integer.parseInt(matcher.group(3)); // dd
-    boolean isTimeGiven = matcher.group(4) != null; // 'T'HH:mm:ss.milliseconds
-    String tzShiftRegexGroup = matcher.group(9); // 'Z', or time zone shift HH:mm following '+'/'-'
-    boolean isTzShiftGiven = tzShiftRegexGroup != null;
+    int year = parseDigits(str, 0, 4);
+    int month = parseDigits(str, 5, 2);
+    int day = parseDigits(str, 8, 2);
+    if (year < 0 || month < 0 || day < 0) {
+      throw invalidFormat(str);
+    }
+    int position = 10;
+    boolean isTimeGiven = false;
+    boolean isTzShiftGiven = false;
     int hourOfDay = 0;
     int minute = 0;
     int second = 0;
     int nanoseconds = 0;
-    Integer tzShiftInteger = null;
+    int tzShift = 0;
+    // 'T'HH:mm:ss.nanoseconds
+    if (position < length && (str.charAt(position) == 'T' || str.charAt(position) == 't')) {
+      if (length < position + 9
+          || str.charAt(position + 3) != ':'
+          || str.charAt(position + 6) != ':') {
+        throw invalidFormat(str);
+      }
+      hourOfDay = parseDigits(str, position + 1, 2);
+      minute = parseDigits(str, position + 4, 2);
+      second = parseDigits(str, position + 7, 2);
+      if (hourOfDay < 0 || minute < 0 || second < 0) {
+        throw invalidFormat(str);
+      }
+      isTimeGiven = true;
+      position += 9;
+      if (position < length && str.charAt(position) == '.') {
+        int start = ++position;
+        while (position < length && position - start < 9 && isDigit(str.charAt(position))) {
+          nanoseconds = nanoseconds * 10 + str.charAt(position++) - '0';
+        }
+        if (position == start) {
+          throw invalidFormat(str);
+        }
+        for (int i = position - start; i < 9; i++) {
+          nanoseconds *= 10;
+        }
+      }
+    }
+    // 'Z', or time zone shift HH:mm following '+'/'-'
+    if (position < length) {
+      char c = str.charAt(position);
+      if (c == 'Z' || c == 'z') {
+        isTzShiftGiven = true;
+        position++;
+      } else if ((c == '+' || c == '-')
+          && length >= position + 6
+          && str.charAt(position + 3) == ':') {
+        int tzHours = parseDigits(str, position + 1, 2);
+        int tzMinutes = parseDigits(str, position + 4, 2);
+        if (tzHours < 0 || tzMinutes < 0) {
+          throw invalidFormat(str);
+        }
+        tzShift = tzHours * 60 + tzMinutes;
+        if (c == '-') {
+          tzShift = -tzShift;
+        }
+        isTzShiftGiven = true;
+        position += 6;
+      }
+    }
+    if (position != length) {
+      throw invalidFormat(str);
+    }
 
     if (isTzShiftGiven && !isTimeGiven) {
       throw new NumberFormatException(
@@ -393,40 +490,108 @@ public final class DateTime implements Serializable {
               + " without specifying time: "
               + str);
     }
-
-    if (isTimeGiven) {
-      hourOfDay = Integer.parseInt(matcher.group(5)); // HH
-      minute = Integer.parseInt(matcher.group(6)); // mm
-      second = Integer.parseInt(matcher.group(7)); // ss
-      if (matcher.group(8) != null) { // contains .nanoseconds?
-        String fraction = Strings.padEnd(matcher.group(8).substring(1), 9, '0');
-        nanoseconds = Integer.parseInt(fraction);
-      }
-    }
-    Calendar dateTime = new GregorianCalendar(GMT);
-    dateTime.clear();
-    dateTime.set(year, month, day, hourOfDay, minute, second);
-    long value = dateTime.getTimeInMillis();
-
-    if (isTimeGiven && isTzShiftGiven) {
-      if (Character.toUpperCase(tzShiftRegexGroup.charAt(0)) != 'Z') {
-        int tzShift =
-            Integer.parseInt(matcher.group(11)) * 60 // time zone shift HH
-                + Integer.parseInt(matcher.group(12)); // time zone shift mm
-        if (matcher.group(10).charAt(0) == '-') { // time zone shift + or -
-          tzShift = -tzShift;
-        }
-        value -= tzShift * 60000L; // e.g. if 1 hour ahead of UTC, subtract an hour to get UTC time
-        tzShiftInteger = tzShift;
-      } else {
-        tzShiftInteger = 0;
-      }
+    long value = toMillis(year, month - 1, day, hourOfDay, minute, second);
+    Integer tzShiftInteger = null;
+    if (isTzShiftGiven) {
+      value -= tzShift * 60000L; // e.g. if 1 hour ahead of UTC, subtract an hour to get UTC time
+      tzShiftInteger = tzShift;
     }
     // convert to seconds and nanoseconds
     long secondsSinceEpoch = value / 1000L;
     return new Rfc3339ParseResult(secondsSinceEpoch, nanoseconds, isTimeGiven, tzShiftInteger);
   }
 
+  private static NumberFormatException invalidFormat(String str) {
+    return new NumberFormatException("Invalid date/time format: " + str);
+  }
+
+  /** Returns whether the given character is an ASCII digit, like {@code \d} in a regex. */
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /** Parses the given number of ASCII digits at the given index, or returns {@code -1}. */
+  private static int parseDigits(String str, int index, int count) {
+    int result = 0;
+    for (int i = index; i < index + count; i++) {
+      char c = str.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      result = result * 10 + c - '0';
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of milliseconds since the Unix epoch of the given date and time in GMT, as a
+   * lenient {@link GregorianCalendar} would compute it, that is with the fields out of their range
+   * carried over to the next field, and in the Julian calendar before October 15, 1582.
+   *
+   * @param month month, starting with {@code 0} for January
+   */
+  private static long toMillis(
+      int year, int month, int day, int hourOfDay, int minute, int second) {
+    long timeOfDay = ((hourOfDay * 60L + minute) * 60 + second) * 1000;
+    long fixedDate = timeOfDay / MILLIS_PER_DAY + day - 1;
+    timeOfDay %= MILLIS_PER_DAY;
+    long normalizedYear = year + floorDiv(month, 12);
+    int normalizedMonth = (int) floorMod(month, 12) + 1;
+    long gregorianFixedDate = fixedDate + gregorianFixedDate(normalizedYear, normalizedMonth);
+    if (year >= 1582 && gregorianFixedDate >= GREGORIAN_CUTOVER_FIXED_DATE) {
+      fixedDate = gregorianFixedDate;
+    } else {
+      fixedDate += julianFixedDate(normalizedYear, normalizedMonth, 1);
+    }
+    return (fixedDate - EPOCH_FIXED_DATE) * MILLIS_PER_DAY + timeOfDay;
+  }
+
+  /**
+   * Returns the number of days from January 1, 1 (Gregorian) to the first day of the given month of
+   * the proleptic Gregorian calendar.
+   *
+   * @param month month, starting with {@code 1} for January
+   */
+  private static long gregorianFixedDate(long year, int month) {
+    long previousYear = year - 1;
+    long days =
+        1
+            + 365 * previousYear
+            + floorDiv(previousYear, 4)
+            - floorDiv(previousYear, 100)
+            + floorDiv(previousYear, 400)
+            + (367 * month - 362) / 12;
+    if (month > 2) {
+      boolean leap =
+          floorMod(year, 4) == 0 && (floorMod(year, 100) != 0 || floorMod(year, 400) == 0);
+      days -= leap ? 1 : 2;
+    }
+    return days;
+  }
+
+  /**
+   * Returns the number of days from January 1, 1 (Gregorian) to the given date of the proleptic
+   * Julian calendar.
+   *
+   * @param month month, starting with {@code 1} for January
+   */
+  private static long julianFixedDate(long year, int month, int day) {
+    long days = -2 + 365 * (year - 1) + day + floorDiv(year - 1, 4) + (367 * month - 362) / 12;
+    if (month > 2) {
+      days -= floorMod(year, 4) == 0 ? 1 : 2;
+    }
+    return days;
+  }
+
+  private static long floorDiv(long x, long y) {
+    long result = x / y;
+    return (x % y != 0 && (x ^ y) < 0) ? result - 1 : result;
+  }
+
+  private static long floorMod(long x, long y) {
+    return x - floorDiv(x, y) * y;
+  }
+
   /** Appends a zero-padded number to a string builder. */
   private static void appendInt(StringBuilder sb, int num, int numDigits) {
     if (num < 0) {
@@ -1,8 +1,5 @@
 package com.google.api.client.util.escape;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * An {@link Escaper} implementation that preserves percent-encoded sequences in the input string.
  *
@@ -11,9 +8,6 @@ import java.util.regex.Pattern;
  */
 final class PercentEncodedEscaper extends Escaper {
 
-  /** Pattern to match valid percent-encoded sequences (e.g., %20). */
-  static final Pattern PCT_ENCODE_PATTERN = Pattern.compile("%[0-9A-Fa-f]{2}");
-
   private final Escaper escaper;
 
   public PercentEncodedEscaper(Escaper escaper) {
@@ -36,22 +30,37 @@ final class PercentEncodedEscaper extends Escaper {
       return string;
     }
 
-    Matcher matcher = PCT_ENCODE_PATTERN.matcher(string);
+    int start = string.indexOf('%');
+    if (start == -1) {
+      // no percent-encoded sequences
+      return escaper.escape(string);
+    }
     StringBuilder sb = new StringBuilder();
 
     int lastEnd = 0;
-    while (matcher.find()) {
-      sb.append(escaper.escape(string.substring(lastEnd, matcher.start())));
-
-      sb.append(string.substring(matcher.start(), matcher.end()));
-
-      lastEnd = matcher.end();
+    int length = string.length();
+    // find valid percent-encoded sequences (e.g., %20)
+    for (int i = start; i < length - 2; i++) {
+      if (string.charAt(i) == '%'
+          && isHexDigit(string.charAt(i + 1))
+          && isHexDigit(string.charAt(i + 2))) {
+        if (lastEnd < i) {
+          sb.append(escaper.escape(string.substring(lastEnd, i)));
+        }
+        sb.append(string, i, i + 3);
+        lastEnd = i + 3;
+        i += 2;
+      }
     }
 
-    if (lastEnd < string.length()) {
+    if (lastEnd < length) {
       sb.append(escaper.escape(string.substring(lastEnd)));
     }
 
     return sb.toString();
   }
+
+  private static boolean isHexDigit(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+  }
 }
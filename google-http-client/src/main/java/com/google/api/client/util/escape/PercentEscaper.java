@@ -14,6 +14,8 @@
 
 package com.google.api.client.util.escape;
 
+import java.util.Arrays;
+
 /**
  * A {@code UnicodeEscaper} that escapes some set of Java characters using the URI percent encoding
  * scheme. The set of safe characters (those which remain unescaped) is specified on construction.
@@ -95,6 +97,9 @@ public class PercentEscaper extends UnicodeEscaper {
 
   private static final char[] UPPER_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
 
+  /** Maximum number of characters that a code point is escaped to, as four "%XY" UTF-8 bytes. */
+  private static final int MAX_ESCAPED_LENGTH = 12;
+
   /** If true we should convert space to the {@code +} character. */
   private final boolean plusForSpace;
 
@@ -105,6 +110,12 @@ public class PercentEscaper extends UnicodeEscaper {
    */
   private final boolean[] safeOctets;
 
+  /**
+   * Whether a subclass overrides how code points are escaped, in which case strings must be escaped
+   * through {@link #escape(int)}.
+   */
+  private final boolean escapesCodePoints;
+
   /**
    * Constructs a URI escaper with the specified safe characters. The space character is escaped to
    * %20 in accordance with the URI specification.
@@ -149,6 +160,7 @@ public class PercentEscaper extends UnicodeEscaper {
     }
     this.plusForSpace = plusForSpace;
     safeOctets = createSafeOctets(safeChars);
+    escapesCodePoints = getClass() != PercentEscaper.class;
   }
 
   /**
@@ -199,16 +211,59 @@ public class PercentEscaper extends UnicodeEscaper {
    */
   @Override
   public String escape(String s) {
+    boolean[] safeOctets = this.safeOctets;
     int slen = s.length();
     for (int index = 0; index < slen; index++) {
       char c = s.charAt(index);
       if (c >= safeOctets.length || !safeOctets[c]) {
-        return escapeSlow(s, index);
+        return escapesCodePoints ? escapeSlow(s, index) : escapeFrom(s, index);
       }
     }
     return s;
   }
 
+  /**
+   * Escapes the given string starting at the given index like {@link #escapeSlow}, but writes the
+   * escaped code points directly into the thread-local buffer instead of allocating an array for
+   * each one.
+   */
+  private String escapeFrom(String s, int index) {
+    boolean[] safeOctets = this.safeOctets;
+    int end = s.length();
+    char[] dest = Platform.charBufferFromThreadLocal();
+    if (dest.length < index + MAX_ESCAPED_LENGTH) {
+      dest = new char[end + MAX_ESCAPED_LENGTH];
+    }
+    s.getChars(0, index, dest, 0);
+    int destIndex = index;
+    while (index < end) {
+      if (dest.length - destIndex < MAX_ESCAPED_LENGTH) {
+        char[] copy = new char[2 * dest.length + end - index];
+        System.arraycopy(dest, 0, copy, 0, destIndex);
+        dest = copy;
+      }
+      char c = s.charAt(index);
+      if (c < safeOctets.length && safeOctets[c]) {
+        dest[destIndex++] = c;
+        index++;
+      } else if (c == ' ' && plusForSpace) {
+        dest[destIndex++] = '+';
+        index++;
+      } else if (c <= 0x7F) {
+        destIndex = appendEscapedByte(c, dest, destIndex);
+        index++;
+      } else {
+        int cp = codePointAt(s, index, end);
+        if (cp < 0) {
+          throw new IllegalArgumentException("Trailing high surrogate at end of input");
+        }
+        destIndex = appendEscapedUtf8(cp, dest, destIndex);
+        index += Character.charCount(cp);
+      }
+    }
+    return new String(dest, 0, destIndex);
+  }
+
   /** Escapes the given Unicode code point in UTF-8. */
   @Override
   protected char[] escape(int cp) {
@@ -218,72 +273,47 @@ public class PercentEscaper extends UnicodeEscaper {
       return null;
     } else if (cp == ' ' && plusForSpace) {
       return URI_ESCAPED_SPACE;
-    } else if (cp <= 0x7F) {
+    }
+    char[] dest = new char[MAX_ESCAPED_LENGTH];
+    int length = appendEscapedUtf8(cp, dest, 0);
+    return length == dest.length ? dest : Arrays.copyOf(dest, length);
+  }
+
+  /**
+   * Writes the given Unicode code point as "%XY" escaped UTF-8 bytes at the given index of the
+   * given array, which must have room for {@link #MAX_ESCAPED_LENGTH} characters, and returns the
+   * index after them.
+   */
+  private static int appendEscapedUtf8(int cp, char[] dest, int index) {
+    if (cp <= 0x7F) {
       // Single byte UTF-8 characters
-      // Start with "%--" and fill in the blanks
-      char[] dest = new char[3];
-      dest[0] = '%';
-      dest[2] = UPPER_HEX_DIGITS[cp & 0xF];
-      dest[1] = UPPER_HEX_DIGITS[cp >>> 4];
-      return dest;
+      return appendEscapedByte(cp, dest, index);
     } else if (cp <= 0x7ff) {
       // Two byte UTF-8 characters [cp >= 0x80 && cp <= 0x7ff]
-      // Start with "%--%--" and fill in the blanks
-      char[] dest = new char[6];
-      dest[0] = '%';
-      dest[3] = '%';
-      dest[5] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[4] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[2] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[1] = UPPER_HEX_DIGITS[0xC | cp];
-      return dest;
+      index = appendEscapedByte(0xC0 | cp >>> 6, dest, index);
+      return appendEscapedByte(0x80 | cp & 0x3F, dest, index);
     } else if (cp <= 0xffff) {
       // Three byte UTF-8 characters [cp >= 0x800 && cp <= 0xffff]
-      // Start with "%E-%--%--" and fill in the blanks
-      char[] dest = new char[9];
-      dest[0] = '%';
-      dest[1] = 'E';
-      dest[3] = '%';
-      dest[6] = '%';
-      dest[8] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[7] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[5] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[4] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[2] = UPPER_HEX_DIGITS[cp];
-      return dest;
+      index = appendEscapedByte(0xE0 | cp >>> 12, dest, index);
+      index = appendEscapedByte(0x80 | cp >>> 6 & 0x3F, dest, index);
+      return appendEscapedByte(0x80 | cp & 0x3F, dest, index);
     } else if (cp <= 0x10ffff) {
-      char[] dest = new char[12];
       // Four byte UTF-8 characters [cp >= 0xffff && cp <= 0x10ffff]
-      // Start with "%F-%--%--%--" and fill in the blanks
-      dest[0] = '%';
-      dest[1] = 'F';
-      dest[3] = '%';
-      dest[6] = '%';
-      dest[9] = '%';
-      dest[11] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[10] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[8] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[7] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[5] = UPPER_HEX_DIGITS[cp & 0xF];
-      cp >>>= 4;
-      dest[4] = UPPER_HEX_DIGITS[0x8 | cp & 0x3];
-      cp >>>= 2;
-      dest[2] = UPPER_HEX_DIGITS[cp & 0x7];
-      return dest;
+      index = appendEscapedByte(0xF0 | cp >>> 18, dest, index);
+      index = appendEscapedByte(0x80 | cp >>> 12 & 0x3F, dest, index);
+      index = appendEscapedByte(0x80 | cp >>> 6 & 0x3F, dest, index);
+      return appendEscapedByte(0x80 | cp & 0x3F, dest, index);
     } else {
       // If this ever happens it is due to bug in UnicodeEscaper, not bad input.
       throw new IllegalArgumentException("Invalid unicode character value " + cp);
     }
   }
+
+  /** Writes the given byte as "%XY" at the given index and returns the index after it. */
+  private static int appendEscapedByte(int b, char[] dest, int index) {
+    dest[index] = '%';
+    dest[index + 1] = UPPER_HEX_DIGITS[b >>> 4];
+    dest[index + 2] = UPPER_HEX_DIGITS[b & 0xF];
+    return index + 3;
+  }
 }
@@ -17,6 +17,7 @@ package com.google.api.client.util.store;
 import static com.google.api.client.util.Preconditions.checkArgument;
 
 import com.google.api.client.util.Maps;
+import com.google.api.client.util.Preconditions;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Map;
@@ -39,6 +40,9 @@ public abstract class AbstractDataStoreFactory implements DataStoreFactory {
   /** Map of data store ID to data store. */
   private final Map<String, DataStore<? extends Serializable>> dataStoreMap = Maps.newHashMap();
 
+  /** Codec of the values of the data stores. */
+  private final DataStoreCodec codec;
+
   /**
    * Pattern to control possible values for the {@code id} parameter of {@link
    * #getDataStore(String)}.
@@ -54,6 +58,28 @@ public abstract class AbstractDataStoreFactory implements DataStoreFactory {
     }
   }
 
+  /** Constructs a factory whose data stores use {@link SerializationDataStoreCodec}. */
+  public AbstractDataStoreFactory() {
+    this(SerializationDataStoreCodec.getInstance());
+  }
+
+  /**
+   * @param codec codec of the values of the data stores
+   * @since 2.2
+   */
+  protected AbstractDataStoreFactory(DataStoreCodec codec) {
+    this.codec = Preconditions.checkNotNull(codec);
+  }
+
+  /**
+   * Returns the codec of the values of the data stores.
+   *
+   * @since 2.2
+   */
+  public final DataStoreCodec getCodec() {
+    return codec;
+  }
+
   public final <V extends Serializable> DataStore<V> getDataStore(String id) throws IOException {
     checkArgument(ID_PATTERN.matcher(id).matches(), "%s does not match pattern %s", id, ID_PATTERN);
     lock.lock();
@@ -14,7 +14,6 @@
 
 package com.google.api.client.util.store;
 
-import com.google.api.client.util.IOUtils;
 import com.google.api.client.util.Lists;
 import com.google.api.client.util.Maps;
 import com.google.api.client.util.Preconditions;
@@ -25,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -35,20 +35,38 @@ import java.util.concurrent.locks.ReentrantLock;
  * @param <V> serializable type of the mapped value
  * @author Yaniv Inbar
  */
-public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDataStore<V> {
+public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDataStore<V>
+    implements BatchDataStore<V> {
 
   /** Lock on access to the store. */
-  private final Lock lock = new ReentrantLock();
+  final Lock lock = new ReentrantLock();
 
   /** Data store map from the key to the value. */
   protected HashMap<String, byte[]> keyValueMap = Maps.newHashMap();
 
+  /** Codec of the values. */
+  private final DataStoreCodec codec;
+
   /**
+   * Constructs a data store that uses {@link SerializationDataStoreCodec}.
+   *
    * @param dataStoreFactory data store factory
    * @param id data store ID
    */
   protected AbstractMemoryDataStore(DataStoreFactory dataStoreFactory, String id) {
+    this(dataStoreFactory, id, SerializationDataStoreCodec.getInstance());
+  }
+
+  /**
+   * @param dataStoreFactory data store factory
+   * @param id data store ID
+   * @param codec codec of the values
+   * @since 2.2
+   */
+  protected AbstractMemoryDataStore(
+      DataStoreFactory dataStoreFactory, String id, DataStoreCodec codec) {
     super(dataStoreFactory, id);
+    this.codec = Preconditions.checkNotNull(codec);
   }
 
   public final Set<String> keySet() throws IOException {
@@ -65,7 +83,7 @@ public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDat
     try {
       List<V> result = Lists.newArrayList();
       for (byte[] bytes : keyValueMap.values()) {
-        result.add(IOUtils.<V>deserialize(bytes));
+        result.add(codec.<V>decode(bytes));
       }
       return Collections.unmodifiableList(result);
     } finally {
@@ -79,7 +97,7 @@ public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDat
     }
     lock.lock();
     try {
-      return IOUtils.deserialize(keyValueMap.get(key));
+      return codec.decode(keyValueMap.get(key));
     } finally {
       lock.unlock();
     }
@@ -90,7 +108,77 @@ public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDat
     Preconditions.checkNotNull(value);
     lock.lock();
     try {
-      keyValueMap.put(key, IOUtils.serialize(value));
+      keyValueMap.put(key, codec.encode(value));
+      save();
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.2
+   */
+  public final Map<String, V> getAll(Collection<String> keys) throws IOException {
+    Map<String, byte[]> found = Maps.newHashMap();
+    lock.lock();
+    try {
+      for (String key : keys) {
+        byte[] bytes = key == null ? null : keyValueMap.get(key);
+        if (bytes != null) {
+          found.put(key, bytes);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    Map<String, V> result = Maps.newHashMap();
+    for (Map.Entry<String, byte[]> entry : found.entrySet()) {
+      result.put(entry.getKey(), codec.<V>decode(entry.getValue()));
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The key-value map is persisted once with {@link #save()}.
+   *
+   * @since 2.2
+   */
+  public final DataStore<V> setAll(Map<String, ? extends V> values) throws IOException {
+    DataStoreUtils.checkNoNulls(values);
+    Map<String, byte[]> encoded = Maps.newHashMap();
+    for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+      encoded.put(entry.getKey(), codec.encode(entry.getValue()));
+    }
+    lock.lock();
+    try {
+      keyValueMap.putAll(encoded);
+      save();
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The key-value map is persisted once with {@link #save()}.
+   *
+   * @since 2.2
+   */
+  public final DataStore<V> deleteAll(Collection<String> keys) throws IOException {
+    lock.lock();
+    try {
+      for (String key : keys) {
+        if (key != null) {
+          keyValueMap.remove(key);
+        }
+      }
       save();
     } finally {
       lock.unlock();
@@ -143,7 +231,7 @@ public class AbstractMemoryDataStore<V extends Serializable> extends AbstractDat
     }
     lock.lock();
     try {
-      byte[] serialized = IOUtils.serialize(value);
+      byte[] serialized = codec.encode(value);
       for (byte[] bytes : keyValueMap.values()) {
         if (Arrays.equals(serialized, bytes)) {
           return true;
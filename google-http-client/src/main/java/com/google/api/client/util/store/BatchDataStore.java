@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Data store that reads and writes several keys at once, more efficiently than one at a time.
+ *
+ * <p>Callers that do not know whether a data store supports batches should use {@link
+ * DataStoreUtils#getAll}, {@link DataStoreUtils#setAll} and {@link DataStoreUtils#deleteAll}, which
+ * fall back to single-key operations.
+ *
+ * <p>Batches are not atomic: concurrent operations may observe part of a batch, and if a batch
+ * fails, part of it may have been applied.
+ *
+ * @param <V> serializable type of the mapped value
+ * @since 2.2
+ */
+public interface BatchDataStore<V extends Serializable> extends DataStore<V> {
+
+  /**
+   * Returns the stored values of the given keys.
+   *
+   * @param keys keys, where {@code null} keys are ignored
+   * @return modifiable map from each key that has a stored value to the value
+   */
+  Map<String, V> getAll(Collection<String> keys) throws IOException;
+
+  /**
+   * Stores the given values.
+   *
+   * @param values map from the key to the value, where neither can be {@code null}
+   */
+  DataStore<V> setAll(Map<String, ? extends V> values) throws IOException;
+
+  /**
+   * Deletes the stored values of the given keys.
+   *
+   * @param keys keys, where {@code null} keys are ignored
+   */
+  DataStore<V> deleteAll(Collection<String> keys) throws IOException;
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import com.google.api.client.util.IOUtils;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Data store codec with a compact encoding of {@link String}, {@link Boolean}, {@link Integer},
+ * {@link Long}, {@link Double} and {@code byte[]} values, which are encoded as a type byte followed
+ * by the UTF-8 bytes of the string, the big-endian bytes of the number, or the byte array.
+ *
+ * <p>Values of other types are encoded with Java serialization, unless it is disabled with {@link
+ * #CompactDataStoreCodec(boolean)}. Values stored with {@link SerializationDataStoreCodec}, the
+ * default of data store factories, are recognized by the header of Java serialization streams and
+ * can be read by this codec, so an existing data store can switch to it without conversion. Values
+ * written by this codec can not be read with {@link SerializationDataStoreCodec}.
+ *
+ * <p>Disabling Java serialization guarantees that no object other than one of the above types is
+ * ever deserialized from the data store.
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class CompactDataStoreCodec implements DataStoreCodec {
+
+  private static final CompactDataStoreCodec DEFAULT_INSTANCE = new CompactDataStoreCodec(true);
+
+  /** Type of a string value. */
+  static final byte STRING = 1;
+
+  /** Type of a {@link Boolean#TRUE} value. */
+  static final byte TRUE = 2;
+
+  /** Type of a {@link Boolean#FALSE} value. */
+  static final byte FALSE = 3;
+
+  /** Type of an integer value. */
+  static final byte INTEGER = 4;
+
+  /** Type of a long value. */
+  static final byte LONG = 5;
+
+  /** Type of a double value. */
+  static final byte DOUBLE = 6;
+
+  /** Type of a byte array value. */
+  static final byte BYTES = 7;
+
+  /** First byte of a Java serialization stream. */
+  static final byte SERIALIZATION_MAGIC = (byte) 0xAC;
+
+  /** Whether values of other types are encoded with Java serialization. */
+  private final boolean javaSerialization;
+
+  /**
+   * @param javaSerialization whether values of other types are encoded with Java serialization, and
+   *     values encoded with Java serialization are decoded
+   */
+  public CompactDataStoreCodec(boolean javaSerialization) {
+    this.javaSerialization = javaSerialization;
+  }
+
+  /**
+   * Returns a global instance that encodes values of other types with Java serialization, and
+   * decodes values encoded with Java serialization.
+   */
+  public static CompactDataStoreCodec getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  /** Returns whether values of other types are encoded with Java serialization. */
+  public boolean getJavaSerialization() {
+    return javaSerialization;
+  }
+
+  public byte[] encode(Serializable value) throws IOException {
+    Class<?> valueClass = value.getClass();
+    if (valueClass == String.class) {
+      byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+      byte[] bytes = new byte[1 + utf8.length];
+      bytes[0] = STRING;
+      System.arraycopy(utf8, 0, bytes, 1, utf8.length);
+      return bytes;
+    }
+    if (valueClass == Boolean.class) {
+      return new byte[] {(Boolean) value ? TRUE : FALSE};
+    }
+    if (valueClass == Integer.class) {
+      return encodeNumber(INTEGER, (Integer) value, 4);
+    }
+    if (valueClass == Long.class) {
+      return encodeNumber(LONG, (Long) value, 8);
+    }
+    if (valueClass == Double.class) {
+      return encodeNumber(DOUBLE, Double.doubleToRawLongBits((Double) value), 8);
+    }
+    if (valueClass == byte[].class) {
+      byte[] array = (byte[]) value;
+      byte[] bytes = new byte[1 + array.length];
+      bytes[0] = BYTES;
+      System.arraycopy(array, 0, bytes, 1, array.length);
+      return bytes;
+    }
+    if (!javaSerialization) {
+      throw new IllegalArgumentException(
+          "unsupported value type with Java serialization disabled: " + valueClass.getName());
+    }
+    return IOUtils.serialize(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <V extends Serializable> V decode(byte[] bytes) throws IOException {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length == 0) {
+      throw new IOException("empty value");
+    }
+    Serializable value;
+    switch (bytes[0]) {
+      case STRING:
+        value = new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+        break;
+      case TRUE:
+        value = Boolean.TRUE;
+        break;
+      case FALSE:
+        value = Boolean.FALSE;
+        break;
+      case INTEGER:
+        value = (int) decodeNumber(bytes, 4);
+        break;
+      case LONG:
+        value = decodeNumber(bytes, 8);
+        break;
+      case DOUBLE:
+        value = Double.longBitsToDouble(decodeNumber(bytes, 8));
+        break;
+      case BYTES:
+        value = Arrays.copyOfRange(bytes, 1, bytes.length);
+        break;
+      case SERIALIZATION_MAGIC:
+        if (!javaSerialization) {
+          throw new IOException("value encoded with Java serialization, which is disabled");
+        }
+        return IOUtils.deserialize(bytes);
+      default:
+        throw new IOException("unknown value type: " + bytes[0]);
+    }
+    return (V) value;
+  }
+
+  private static byte[] encodeNumber(byte type, long number, int size) {
+    byte[] bytes = new byte[1 + size];
+    bytes[0] = type;
+    for (int i = size; i > 0; i--) {
+      bytes[i] = (byte) number;
+      number >>>= 8;
+    }
+    return bytes;
+  }
+
+  private static long decodeNumber(byte[] bytes, int size) throws IOException {
+    if (bytes.length != 1 + size) {
+      throw new IOException("invalid value length: " + bytes.length);
+    }
+    long number = 0;
+    for (int i = 1; i <= size; i++) {
+      number = (number << 8) | (bytes[i] & 0xff);
+    }
+    return number;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import com.google.api.client.util.Lists;
+import com.google.api.client.util.Maps;
+import com.google.api.client.util.Preconditions;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe in-memory implementation of a data store factory for data stores that are read much
+ * more often than they are written, like credentials looked up for each request.
+ *
+ * <p>Unlike {@link MemoryDataStoreFactory}, whose data stores serialize all operations through a
+ * single lock, data stores of this factory are backed by a {@link ConcurrentHashMap}: reads never
+ * lock, and writes only lock the part of the map that holds their key. {@link DataStore#clear()} is
+ * not atomic with respect to concurrent writes.
+ *
+ * <p>Values are serialized when they are set, so that later changes to the given value do not
+ * affect the data store. By default, each read deserializes a new copy of the value. If the factory
+ * is constructed with {@code cacheValues} set, the value deserialized by the first read of a key is
+ * cached and returned by all the following reads, until the key is set again. Callers must then
+ * treat the returned values as immutable.
+ *
+ * @since 2.2
+ */
+public class ConcurrentMemoryDataStoreFactory extends AbstractDataStoreFactory {
+
+  /** Whether deserialized values are cached. */
+  private final boolean cacheValues;
+
+  /** Constructs a factory that does not cache deserialized values. */
+  public ConcurrentMemoryDataStoreFactory() {
+    this(false);
+  }
+
+  /**
+   * @param cacheValues whether the value deserialized by the first read of a key is returned by all
+   *     the following reads, until the key is set again
+   */
+  public ConcurrentMemoryDataStoreFactory(boolean cacheValues) {
+    this.cacheValues = cacheValues;
+  }
+
+  /**
+   * @param cacheValues whether the value decoded by the first read of a key is returned by all the
+   *     following reads, until the key is set again
+   * @param codec codec of the values of the data stores
+   */
+  public ConcurrentMemoryDataStoreFactory(boolean cacheValues, DataStoreCodec codec) {
+    super(codec);
+    this.cacheValues = cacheValues;
+  }
+
+  /** Returns whether deserialized values are cached. */
+  public final boolean getCacheValues() {
+    return cacheValues;
+  }
+
+  @Override
+  protected <V extends Serializable> DataStore<V> createDataStore(String id) throws IOException {
+    return new ConcurrentMemoryDataStore<V>(this, id);
+  }
+
+  /** Serialized value and its cached deserialized value. */
+  static final class Entry {
+
+    /** Serialized value. */
+    final byte[] bytes;
+
+    /** Deserialized value or {@code null} if not cached yet. */
+    volatile Serializable value;
+
+    Entry(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+
+  static class ConcurrentMemoryDataStore<V extends Serializable> extends AbstractDataStore<V>
+      implements BatchDataStore<V> {
+
+    /** Data store map from the key to the value. */
+    private final ConcurrentMap<String, Entry> keyValueMap = new ConcurrentHashMap<String, Entry>();
+
+    /** Whether deserialized values are cached. */
+    private final boolean cacheValues;
+
+    /** Codec of the values. */
+    private final DataStoreCodec codec;
+
+    ConcurrentMemoryDataStore(ConcurrentMemoryDataStoreFactory dataStoreFactory, String id) {
+      super(dataStoreFactory, id);
+      cacheValues = dataStoreFactory.cacheValues;
+      codec = dataStoreFactory.getCodec();
+    }
+
+    @Override
+    public ConcurrentMemoryDataStoreFactory getDataStoreFactory() {
+      return (ConcurrentMemoryDataStoreFactory) super.getDataStoreFactory();
+    }
+
+    public Set<String> keySet() throws IOException {
+      return Collections.unmodifiableSet(keyValueMap.keySet());
+    }
+
+    public Collection<V> values() throws IOException {
+      List<V> result = Lists.newArrayList();
+      for (Entry entry : keyValueMap.values()) {
+        result.add(getValue(entry));
+      }
+      return Collections.unmodifiableList(result);
+    }
+
+    public V get(String key) throws IOException {
+      if (key == null) {
+        return null;
+      }
+      Entry entry = keyValueMap.get(key);
+      return entry == null ? null : getValue(entry);
+    }
+
+    public DataStore<V> set(String key, V value) throws IOException {
+      Preconditions.checkNotNull(key);
+      Preconditions.checkNotNull(value);
+      keyValueMap.put(key, new Entry(codec.encode(value)));
+      return this;
+    }
+
+    public Map<String, V> getAll(Collection<String> keys) throws IOException {
+      Map<String, V> result = Maps.newHashMap();
+      for (String key : keys) {
+        Entry entry = key == null ? null : keyValueMap.get(key);
+        if (entry != null) {
+          result.put(key, getValue(entry));
+        }
+      }
+      return result;
+    }
+
+    public DataStore<V> setAll(Map<String, ? extends V> values) throws IOException {
+      DataStoreUtils.checkNoNulls(values);
+      Map<String, Entry> entries = Maps.newHashMap();
+      for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+        entries.put(entry.getKey(), new Entry(codec.encode(entry.getValue())));
+      }
+      keyValueMap.putAll(entries);
+      return this;
+    }
+
+    public DataStore<V> deleteAll(Collection<String> keys) throws IOException {
+      for (String key : keys) {
+        if (key != null) {
+          keyValueMap.remove(key);
+        }
+      }
+      return this;
+    }
+
+    public DataStore<V> delete(String key) throws IOException {
+      if (key != null) {
+        keyValueMap.remove(key);
+      }
+      return this;
+    }
+
+    public DataStore<V> clear() throws IOException {
+      keyValueMap.clear();
+      return this;
+    }
+
+    @Override
+    public boolean containsKey(String key) throws IOException {
+      return key != null && keyValueMap.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) throws IOException {
+      if (value == null) {
+        return false;
+      }
+      byte[] serialized = codec.encode(value);
+      for (Entry entry : keyValueMap.values()) {
+        if (Arrays.equals(serialized, entry.bytes)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException {
+      return keyValueMap.isEmpty();
+    }
+
+    @Override
+    public int size() throws IOException {
+      return keyValueMap.size();
+    }
+
+    @Override
+    public String toString() {
+      return DataStoreUtils.toString(this);
+    }
+
+    /** Returns the deserialized value of the given entry, from the cache if enabled. */
+    @SuppressWarnings("unchecked")
+    private V getValue(Entry entry) throws IOException {
+      if (!cacheValues) {
+        return codec.<V>decode(entry.bytes);
+      }
+      // racing reads may each deserialize the value, but all return an equal value
+      Serializable value = entry.value;
+      if (value == null) {
+        value = codec.<V>decode(entry.bytes);
+        entry.value = value;
+      }
+      return (V) value;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Codec of the values of a {@link DataStore}, which converts them to and from the bytes that are
+ * stored.
+ *
+ * <p>Data store factories use {@link SerializationDataStoreCodec} by default, which uses Java
+ * serialization. {@link CompactDataStoreCodec} is faster and more compact for common value types,
+ * and can also read values written with Java serialization.
+ *
+ * <p>Implementations should be thread-safe.
+ *
+ * @since 2.2
+ */
+public interface DataStoreCodec {
+
+  /**
+   * Encodes the given value.
+   *
+   * @param value value, not {@code null}
+   * @return encoded value
+   */
+  byte[] encode(Serializable value) throws IOException;
+
+  /**
+   * Decodes the given encoded value.
+   *
+   * @param bytes encoded value or {@code null} for {@code null} result
+   * @return decoded value
+   */
+  <V extends Serializable> V decode(byte[] bytes) throws IOException;
+}
@@ -14,7 +14,12 @@
 
 package com.google.api.client.util.store;
 
+import com.google.api.client.util.Maps;
+import com.google.api.client.util.Preconditions;
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Utilities for data stores.
@@ -53,5 +58,79 @@ public final class DataStoreUtils {
     }
   }
 
+  /**
+   * Returns the stored values of the given keys with {@link BatchDataStore#getAll} if the data
+   * store supports batches, or else with {@link DataStore#get} for each key.
+   *
+   * @param dataStore data store
+   * @param keys keys, where {@code null} keys are ignored
+   * @return modifiable map from each key that has a stored value to the value
+   * @since 2.2
+   */
+  public static <V extends Serializable> Map<String, V> getAll(
+      DataStore<V> dataStore, Collection<String> keys) throws IOException {
+    if (dataStore instanceof BatchDataStore) {
+      return ((BatchDataStore<V>) dataStore).getAll(keys);
+    }
+    Map<String, V> result = Maps.newHashMap();
+    for (String key : keys) {
+      V value = dataStore.get(key);
+      if (value != null) {
+        result.put(key, value);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Stores the given values with {@link BatchDataStore#setAll} if the data store supports batches,
+   * or else with {@link DataStore#set} for each key.
+   *
+   * @param dataStore data store
+   * @param values map from the key to the value, where neither can be {@code null}
+   * @since 2.2
+   */
+  public static <V extends Serializable> void setAll(
+      DataStore<V> dataStore, Map<String, ? extends V> values) throws IOException {
+    if (dataStore instanceof BatchDataStore) {
+      ((BatchDataStore<V>) dataStore).setAll(values);
+      return;
+    }
+    for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+      dataStore.set(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Deletes the stored values of the given keys with {@link BatchDataStore#deleteAll} if the data
+   * store supports batches, or else with {@link DataStore#delete} for each key.
+   *
+   * @param dataStore data store
+   * @param keys keys, where {@code null} keys are ignored
+   * @since 2.2
+   */
+  public static <V extends Serializable> void deleteAll(
+      DataStore<V> dataStore, Collection<String> keys) throws IOException {
+    if (dataStore instanceof BatchDataStore) {
+      ((BatchDataStore<V>) dataStore).deleteAll(keys);
+      return;
+    }
+    for (String key : keys) {
+      dataStore.delete(key);
+    }
+  }
+
+  /**
+   * Checks that the keys and values of the given map are not {@code null}.
+   *
+   * @param values map from the key to the value
+   */
+  static void checkNoNulls(Map<String, ?> values) {
+    for (Map.Entry<String, ?> entry : values.entrySet()) {
+      Preconditions.checkNotNull(entry.getKey());
+      Preconditions.checkNotNull(entry.getValue());
+    }
+  }
+
   private DataStoreUtils() {}
 }
@@ -16,9 +16,11 @@ package com.google.api.client.util.store;
 
 import com.google.api.client.util.IOUtils;
 import com.google.api.client.util.Maps;
+import com.google.api.client.util.Preconditions;
 import com.google.common.base.StandardSystemProperty;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -34,9 +36,17 @@ import java.nio.file.attribute.AclFileAttributeView;
 import java.nio.file.attribute.FileOwnerAttributeView;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -45,6 +55,10 @@ import java.util.logging.Logger;
  * <p>For security purposes, the file's permissions are set such that the file is only accessible by
  * the file's owner.
  *
+ * <p>By default, each change rewrites the file of the data store. For data stores that change in
+ * bursts, {@link Builder#setWriteBehind} saves the changes in the background instead, in a single
+ * write per burst.
+ *
  * <p>Note: this class is not compatible with Android lower than API level 26 (Oreo). For an
  * implementation compatible with Android < 26, please use
  * com.google.api.client.extensions.android.util.store.FileDataStoreFactory which is provided by
@@ -67,11 +81,126 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
     }
   }
 
+  static final Logger LOGGER = Logger.getLogger(FileDataStoreFactory.class.getName());
+
+  /**
+   * Factories in write-behind mode that are saved when the JVM shuts down, referenced weakly so
+   * that the shutdown hook does not keep them from being garbage-collected.
+   */
+  private static final Set<FileDataStoreFactory> WRITE_BEHIND_FACTORIES =
+      Collections.newSetFromMap(new WeakHashMap<FileDataStoreFactory, Boolean>());
+
+  /** Whether the shutdown hook that saves the factories was added, guarded by the factory set. */
+  private static boolean shutdownHookAdded;
+
   /** Directory to store data. */
   private final File dataDirectory;
 
+  /**
+   * Delay in milliseconds after which changes are saved in write-behind mode, or {@code -1} to save
+   * them immediately.
+   */
+  private final long writeBehindDelayMillis;
+
+  /** Maximum number of unsaved changes of a data store in write-behind mode. */
+  private final int maxUnsavedChanges;
+
+  /**
+   * Executor that saves changes in write-behind mode or {@code null} for none, whose daemon thread
+   * stops when it has no changes to save.
+   */
+  private final ScheduledThreadPoolExecutor flusher;
+
+  /** Data stores in write-behind mode. */
+  private final List<FileDataStore<?>> writeBehindDataStores =
+      new CopyOnWriteArrayList<FileDataStore<?>>();
+
+  /** Whether {@link #shutdown()} was called. */
+  private volatile boolean shutdown;
+
   /** @param dataDirectory data directory */
   public FileDataStoreFactory(File dataDirectory) throws IOException {
+    this(new Builder(dataDirectory));
+  }
+
+  /**
+   * @param dataDirectory data directory
+   * @param codec codec of the values of the data stores
+   * @since 2.2
+   */
+  public FileDataStoreFactory(File dataDirectory, DataStoreCodec codec) throws IOException {
+    this(new Builder(dataDirectory).setCodec(codec));
+  }
+
+  /**
+   * @param builder builder
+   * @since 2.2
+   */
+  protected FileDataStoreFactory(Builder builder) throws IOException {
+    super(builder.codec);
+    this.dataDirectory = createDataDirectory(builder.dataDirectory);
+    writeBehindDelayMillis = builder.writeBehindDelayMillis;
+    maxUnsavedChanges = builder.maxUnsavedChanges;
+    if (writeBehindDelayMillis < 0) {
+      flusher = null;
+    } else {
+      flusher =
+          new ScheduledThreadPoolExecutor(
+              1,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("google-http-client-data-store-flusher-%d")
+                  .build());
+      flusher.setKeepAliveTime(1, TimeUnit.MINUTES);
+      flusher.allowCoreThreadTimeOut(true);
+      flushAtShutdown(this);
+    }
+  }
+
+  /**
+   * Registers a factory in write-behind mode to be saved when the JVM shuts down.
+   *
+   * <p>Static so that the shutdown hook does not capture the first factory that adds it.
+   */
+  private static void flushAtShutdown(FileDataStoreFactory factory) {
+    synchronized (WRITE_BEHIND_FACTORIES) {
+      WRITE_BEHIND_FACTORIES.add(factory);
+      if (!shutdownHookAdded) {
+        Runtime.getRuntime()
+            .addShutdownHook(
+                new Thread() {
+                  @Override
+                  public void run() {
+                    flushAtShutdown();
+                  }
+                });
+        shutdownHookAdded = true;
+      }
+    }
+  }
+
+  /** Saves the unsaved changes of the factories in write-behind mode when the JVM shuts down. */
+  static void flushAtShutdown() {
+    List<FileDataStoreFactory> factories;
+    synchronized (WRITE_BEHIND_FACTORIES) {
+      factories = new ArrayList<FileDataStoreFactory>(WRITE_BEHIND_FACTORIES);
+    }
+    for (FileDataStoreFactory factory : factories) {
+      try {
+        factory.flush();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "unable to save data stores at shutdown", e);
+      }
+    }
+  }
+
+  /**
+   * Creates the given data directory if necessary, and restricts its permissions to its owner.
+   *
+   * @param dataDirectory data directory
+   * @return canonical data directory
+   */
+  static File createDataDirectory(File dataDirectory) throws IOException {
     dataDirectory = dataDirectory.getCanonicalFile();
     // error if it is a symbolic link
     if (IOUtils.isSymbolicLink(dataDirectory)) {
@@ -81,13 +210,13 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
     if (!dataDirectory.exists() && !dataDirectory.mkdirs()) {
       throw new IOException("unable to create directory: " + dataDirectory);
     }
-    this.dataDirectory = dataDirectory;
 
     if (IS_WINDOWS) {
       setPermissionsToOwnerOnlyWindows(dataDirectory);
     } else {
       setPermissionsToOwnerOnly(dataDirectory);
     }
+    return dataDirectory;
   }
 
   /** Returns the data directory. */
@@ -95,15 +224,83 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
     return dataDirectory;
   }
 
+  /**
+   * Returns the delay in milliseconds after which changes are saved in write-behind mode, or {@code
+   * -1} if changes are saved immediately.
+   *
+   * @since 2.2
+   */
+  public final long getWriteBehindDelayMillis() {
+    return writeBehindDelayMillis;
+  }
+
+  /**
+   * Returns the maximum number of unsaved changes of a data store in write-behind mode.
+   *
+   * @since 2.2
+   */
+  public final int getMaxUnsavedChanges() {
+    return maxUnsavedChanges;
+  }
+
+  /**
+   * Saves the unsaved changes of all the data stores in write-behind mode, and does nothing
+   * otherwise.
+   *
+   * @since 2.2
+   */
+  public void flush() throws IOException {
+    IOException failure = null;
+    for (FileDataStore<?> dataStore : writeBehindDataStores) {
+      try {
+        dataStore.flush();
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Saves the unsaved changes of all the data stores and stops the background thread in
+   * write-behind mode, and does nothing otherwise.
+   *
+   * <p>Changes made after shutdown are saved immediately, as without write-behind mode.
+   *
+   * @since 2.2
+   */
+  public void shutdown() throws IOException {
+    if (flusher == null || shutdown) {
+      return;
+    }
+    shutdown = true;
+    flusher.shutdownNow();
+    synchronized (WRITE_BEHIND_FACTORIES) {
+      WRITE_BEHIND_FACTORIES.remove(this);
+    }
+    flush();
+  }
+
   @Override
   protected <V extends Serializable> DataStore<V> createDataStore(String id) throws IOException {
-    return new FileDataStore<V>(this, dataDirectory, id);
+    FileDataStore<V> dataStore = new FileDataStore<V>(this, dataDirectory, id);
+    if (flusher != null) {
+      writeBehindDataStores.add(dataStore);
+    }
+    return dataStore;
   }
 
   /**
    * File data store that inherits from the abstract memory data store because the key-value pairs
    * are stored in a memory cache, and saved in the file (see {@link #save()} when changing values.
    *
+   * <p>In write-behind mode, {@link #save()} only counts the unsaved changes, and the file is
+   * replaced by a new one written in full by {@link #flush()}, which is scheduled after the first
+   * unsaved change, and called immediately once the maximum number of unsaved changes is reached. A
+   * flush that fails is scheduled again.
+   *
    * @param <V> serializable type of the mapped value
    */
   static class FileDataStore<V extends Serializable> extends AbstractMemoryDataStore<V> {
@@ -111,10 +308,20 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
     /** File to store data. */
     private final File dataFile;
 
+    /** Temporary file written by {@link #flush()}. */
+    private final File tempFile;
+
+    /** Number of unsaved changes in write-behind mode, guarded by the data store lock. */
+    private int unsavedChanges;
+
+    /** Whether a flush is scheduled, guarded by the data store lock. */
+    private boolean flushScheduled;
+
     FileDataStore(FileDataStoreFactory dataStore, File dataDirectory, String id)
         throws IOException {
-      super(dataStore, id);
+      super(dataStore, id, dataStore.getCodec());
       this.dataFile = new File(dataDirectory, id);
+      this.tempFile = new File(dataDirectory, id + ".tmp");
       // error if it is a symbolic link
       if (IOUtils.isSymbolicLink(dataFile)) {
         throw new IOException("unable to use a symbolic link: " + dataFile);
@@ -123,7 +330,7 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
       if (dataFile.createNewFile()) {
         keyValueMap = Maps.newHashMap();
         // save the credentials to create a new file
-        save();
+        writeFile();
       } else {
         // load credentials from existing file
         keyValueMap = IOUtils.deserialize(new FileInputStream(dataFile));
@@ -132,6 +339,75 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
 
     @Override
     public void save() throws IOException {
+      final FileDataStoreFactory factory = getDataStoreFactory();
+      if (factory.flusher == null) {
+        writeFile();
+        return;
+      }
+      // called with the data store lock held
+      unsavedChanges++;
+      if (factory.shutdown || unsavedChanges >= factory.maxUnsavedChanges) {
+        flush();
+      } else if (!flushScheduled) {
+        scheduleFlush();
+      }
+    }
+
+    /** Schedules a flush after the write-behind delay, called with the data store lock held. */
+    private void scheduleFlush() {
+      FileDataStoreFactory factory = getDataStoreFactory();
+      if (factory.shutdown) {
+        return;
+      }
+      flushScheduled = true;
+      factory.flusher.schedule(
+          new Runnable() {
+            public void run() {
+              try {
+                flush();
+              } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "unable to save " + dataFile, e);
+              }
+            }
+          },
+          factory.writeBehindDelayMillis,
+          TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the key-value pairs to a temporary file, which then replaces the data file, and
+     * schedules another flush if it fails.
+     */
+    void flush() throws IOException {
+      lock.lock();
+      try {
+        flushScheduled = false;
+        if (unsavedChanges == 0) {
+          return;
+        }
+        boolean saved = false;
+        try {
+          FileOutputStream out = new FileOutputStream(tempFile);
+          try {
+            out.write(IOUtils.serialize(keyValueMap));
+            out.getFD().sync();
+          } finally {
+            out.close();
+          }
+          LogFileDataStoreFactory.move(tempFile, dataFile, true);
+          unsavedChanges = 0;
+          saved = true;
+        } finally {
+          if (!saved) {
+            scheduleFlush();
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void writeFile() throws IOException {
       IOUtils.serialize(keyValueMap, new FileOutputStream(dataFile));
     }
 
@@ -141,6 +417,112 @@ public class FileDataStoreFactory extends AbstractDataStoreFactory {
     }
   }
 
+  /**
+   * File data store factory builder.
+   *
+   * <p>Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static class Builder {
+
+    /** Directory to store data. */
+    final File dataDirectory;
+
+    /** Codec of the values. */
+    DataStoreCodec codec = SerializationDataStoreCodec.getInstance();
+
+    /**
+     * Delay in milliseconds after which changes are saved, or {@code -1} to save them immediately.
+     */
+    long writeBehindDelayMillis = -1;
+
+    /** Maximum number of unsaved changes of a data store in write-behind mode. */
+    int maxUnsavedChanges = 100;
+
+    /** @param dataDirectory data directory */
+    public Builder(File dataDirectory) {
+      this.dataDirectory = Preconditions.checkNotNull(dataDirectory);
+    }
+
+    /** Returns the data directory. */
+    public final File getDataDirectory() {
+      return dataDirectory;
+    }
+
+    /** Returns the codec of the values. */
+    public final DataStoreCodec getCodec() {
+      return codec;
+    }
+
+    /**
+     * Sets the codec of the values ({@link SerializationDataStoreCodec} by default).
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     */
+    public Builder setCodec(DataStoreCodec codec) {
+      this.codec = Preconditions.checkNotNull(codec);
+      return this;
+    }
+
+    /**
+     * Returns the delay in milliseconds after which changes are saved in write-behind mode, or
+     * {@code -1} if changes are saved immediately.
+     */
+    public final long getWriteBehindDelayMillis() {
+      return writeBehindDelayMillis;
+    }
+
+    /**
+     * Enables write-behind mode, where changes are only made in memory and saved in the background
+     * at most the given delay after the first unsaved change, so that a burst of changes is saved
+     * in a single write of the file.
+     *
+     * <p>The file is written to a temporary file and synchronized to the storage device before it
+     * atomically replaces the data file. A data store is also saved as soon as it has {@link
+     * #setMaxUnsavedChanges maximum number of unsaved changes}, and all of them are saved by {@link
+     * FileDataStoreFactory#flush()}, by {@link FileDataStoreFactory#shutdown()} and when the JVM
+     * shuts down normally. So if the process crashes, the changes that are lost are at most the
+     * ones made during the delay, and less than the maximum number of unsaved changes per data
+     * store. A save that fails is tried again after the delay.
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     *
+     * @param delay delay, which must not be negative
+     * @param unit time unit of the delay
+     */
+    public Builder setWriteBehind(long delay, TimeUnit unit) {
+      Preconditions.checkArgument(delay >= 0);
+      this.writeBehindDelayMillis = unit.toMillis(delay);
+      return this;
+    }
+
+    /** Returns the maximum number of unsaved changes of a data store in write-behind mode. */
+    public final int getMaxUnsavedChanges() {
+      return maxUnsavedChanges;
+    }
+
+    /**
+     * Sets the maximum number of unsaved changes of a data store in write-behind mode ({@code 100}
+     * by default), which when reached saves the data store in the thread that made the change.
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     */
+    public Builder setMaxUnsavedChanges(int maxUnsavedChanges) {
+      Preconditions.checkArgument(maxUnsavedChanges > 0);
+      this.maxUnsavedChanges = maxUnsavedChanges;
+      return this;
+    }
+
+    /** Returns a new file data store factory instance. */
+    public FileDataStoreFactory build() throws IOException {
+      return new FileDataStoreFactory(this);
+    }
+  }
+
   /**
    * Attempts to set the given file's permissions such that it can only be read, written, and
    * executed by the file's owner.
@@ -0,0 +1,764 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import com.google.api.client.util.IOUtils;
+import com.google.api.client.util.Lists;
+import com.google.api.client.util.Preconditions;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Thread-safe file implementation of a credential store that appends each change to a log, instead
+ * of rewriting all the key-value pairs like {@link FileDataStoreFactory}.
+ *
+ * <p>Each data store is kept in memory and in a file named after its ID with a {@code .log}
+ * extension, which is replayed when the data store is opened. Each {@link DataStore#set}, {@link
+ * DataStore#delete} and {@link DataStore#clear} appends a single record with a checksum to the log,
+ * so its cost does not depend on the number of key-value pairs, and readers never wait for it. A
+ * record that was only partially written, for example because the process crashed, is discarded
+ * when the log is replayed.
+ *
+ * <p>Once most of the log is made of overwritten or deleted values, it is compacted on a background
+ * thread: the current key-value pairs are written to a temporary file, which then atomically
+ * replaces the log. Changes made during the compaction are appended to the log as usual, and copied
+ * to the compacted log before it replaces the current one.
+ *
+ * <p>By default, each change is synchronized to the storage device before the method that made it
+ * returns, so that it survives a crash of the operating system. This can be turned off with {@link
+ * #LogFileDataStoreFactory(File, boolean)} for a higher write throughput.
+ *
+ * <p>For security purposes, the permissions of the data directory are set such that it is only
+ * accessible by its owner. Data stores of this factory can not be read by {@link
+ * FileDataStoreFactory}, and the other way around.
+ *
+ * <p>Note: this class is not compatible with Android lower than API level 26 (Oreo).
+ *
+ * @since 2.2
+ */
+public class LogFileDataStoreFactory extends AbstractDataStoreFactory {
+
+  static final Logger LOGGER = Logger.getLogger(LogFileDataStoreFactory.class.getName());
+
+  /** Extension of the log files. */
+  static final String LOG_EXTENSION = ".log";
+
+  /** Extension of the temporary files written by compactions. */
+  static final String TEMP_EXTENSION = ".log.tmp";
+
+  /** Magic number at the start of a log file. */
+  static final int MAGIC = 0x47484453;
+
+  /** Version of the log file format. */
+  static final int VERSION = 1;
+
+  /** Size of the header of a log file. */
+  static final int HEADER_SIZE = 8;
+
+  /** Size of a record besides its payload, which is its length and its checksum. */
+  static final int RECORD_OVERHEAD = 8;
+
+  /** Record type of {@link DataStore#set}. */
+  static final byte SET = 1;
+
+  /** Record type of {@link DataStore#delete}. */
+  static final byte DELETE = 2;
+
+  /** Record type of {@link DataStore#clear}. */
+  static final byte CLEAR = 3;
+
+  /** Minimum size of a log file before it is compacted. */
+  static final long MIN_COMPACTION_SIZE = 64 * 1024;
+
+  /** Directory to store data. */
+  private final File dataDirectory;
+
+  /** Whether changes are synchronized to the storage device. */
+  private final boolean syncWrites;
+
+  /** Executor of the compactions. */
+  private final Executor compactionExecutor;
+
+  /**
+   * Constructs a factory whose changes are synchronized to the storage device.
+   *
+   * @param dataDirectory data directory
+   */
+  public LogFileDataStoreFactory(File dataDirectory) throws IOException {
+    this(dataDirectory, true);
+  }
+
+  /**
+   * @param dataDirectory data directory
+   * @param syncWrites whether each change is synchronized to the storage device before the method
+   *     that made it returns
+   */
+  public LogFileDataStoreFactory(File dataDirectory, boolean syncWrites) throws IOException {
+    this(
+        dataDirectory,
+        syncWrites,
+        SerializationDataStoreCodec.getInstance(),
+        newCompactionExecutor());
+  }
+
+  /**
+   * @param dataDirectory data directory
+   * @param syncWrites whether each change is synchronized to the storage device before the method
+   *     that made it returns
+   * @param codec codec of the values of the data stores
+   */
+  public LogFileDataStoreFactory(File dataDirectory, boolean syncWrites, DataStoreCodec codec)
+      throws IOException {
+    this(dataDirectory, syncWrites, codec, newCompactionExecutor());
+  }
+
+  /**
+   * @param dataDirectory data directory
+   * @param syncWrites whether changes are synchronized to the storage device
+   * @param codec codec of the values of the data stores
+   * @param compactionExecutor executor of the compactions
+   */
+  LogFileDataStoreFactory(
+      File dataDirectory, boolean syncWrites, DataStoreCodec codec, Executor compactionExecutor)
+      throws IOException {
+    super(codec);
+    this.dataDirectory = FileDataStoreFactory.createDataDirectory(dataDirectory);
+    this.syncWrites = syncWrites;
+    this.compactionExecutor = Preconditions.checkNotNull(compactionExecutor);
+  }
+
+  /** Returns a single daemon thread executor whose thread stops when it is idle. */
+  private static Executor newCompactionExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("google-http-client-data-store-compaction-%d")
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Returns the data directory. */
+  public final File getDataDirectory() {
+    return dataDirectory;
+  }
+
+  /** Returns whether changes are synchronized to the storage device. */
+  public final boolean getSyncWrites() {
+    return syncWrites;
+  }
+
+  @Override
+  protected <V extends Serializable> DataStore<V> createDataStore(String id) throws IOException {
+    return new LogFileDataStore<V>(this, id);
+  }
+
+  /**
+   * Log file data store.
+   *
+   * <p>The log starts with a header made of {@link #MAGIC} and {@link #VERSION}, followed by
+   * records made of the length of their payload, the payload, and the CRC-32 of the payload. The
+   * payload is the record type, followed by the key and the value for {@link #SET}, and by the key
+   * for {@link #DELETE}.
+   *
+   * @param <V> serializable type of the mapped value
+   */
+  static class LogFileDataStore<V extends Serializable> extends AbstractDataStore<V>
+      implements BatchDataStore<V> {
+
+    /** Data store map from the key to the encoded value. */
+    private final ConcurrentMap<String, byte[]> keyValueMap =
+        new ConcurrentHashMap<String, byte[]>();
+
+    /** Lock on changes, which guards all the fields below. */
+    private final Lock lock = new ReentrantLock();
+
+    /** Log file. */
+    private final File logFile;
+
+    /** Temporary file written by compactions. */
+    private final File tempFile;
+
+    /** Channel of the log file or {@code null} if it must be reopened. */
+    @VisibleForTesting FileChannel channel;
+
+    /** Size of the log file. */
+    private long logSize;
+
+    /** Size the log file would have after a compaction. */
+    private long liveSize = HEADER_SIZE;
+
+    /** Whether a compaction is scheduled or running. */
+    private boolean compacting;
+
+    LogFileDataStore(LogFileDataStoreFactory dataStoreFactory, String id) throws IOException {
+      super(dataStoreFactory, id);
+      logFile = new File(dataStoreFactory.dataDirectory, id + LOG_EXTENSION);
+      tempFile = new File(dataStoreFactory.dataDirectory, id + TEMP_EXTENSION);
+      // error if it is a symbolic link
+      if (IOUtils.isSymbolicLink(logFile)) {
+        throw new IOException("unable to use a symbolic link: " + logFile);
+      }
+      // left over by a compaction that did not complete
+      if (tempFile.exists() && !tempFile.delete()) {
+        throw new IOException("unable to delete: " + tempFile);
+      }
+      // create new file (if necessary), or complete a file created without its header
+      if (logFile.createNewFile() || logFile.length() == 0) {
+        writeHeader(logFile);
+      } else {
+        replay();
+      }
+      openLog();
+    }
+
+    @Override
+    public LogFileDataStoreFactory getDataStoreFactory() {
+      return (LogFileDataStoreFactory) super.getDataStoreFactory();
+    }
+
+    public Set<String> keySet() throws IOException {
+      return Collections.unmodifiableSet(keyValueMap.keySet());
+    }
+
+    public Collection<V> values() throws IOException {
+      List<V> result = Lists.newArrayList();
+      for (byte[] bytes : keyValueMap.values()) {
+        result.add(getDataStoreFactory().getCodec().<V>decode(bytes));
+      }
+      return Collections.unmodifiableList(result);
+    }
+
+    public V get(String key) throws IOException {
+      if (key == null) {
+        return null;
+      }
+      return getDataStoreFactory().getCodec().decode(keyValueMap.get(key));
+    }
+
+    public DataStore<V> set(String key, V value) throws IOException {
+      Preconditions.checkNotNull(key);
+      Preconditions.checkNotNull(value);
+      byte[] bytes = getDataStoreFactory().getCodec().encode(value);
+      byte[] record = encodeRecord(SET, key, bytes);
+      lock.lock();
+      try {
+        append(record);
+        byte[] previous = keyValueMap.put(key, bytes);
+        if (previous != null) {
+          liveSize -= recordSize(key, previous);
+        }
+        liveSize += record.length;
+        maybeCompact();
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    public Map<String, V> getAll(Collection<String> keys) throws IOException {
+      DataStoreCodec codec = getDataStoreFactory().getCodec();
+      Map<String, V> result = new HashMap<String, V>();
+      for (String key : keys) {
+        byte[] bytes = key == null ? null : keyValueMap.get(key);
+        if (bytes != null) {
+          result.put(key, codec.<V>decode(bytes));
+        }
+      }
+      return result;
+    }
+
+    /** Appends all the records in a single write, synchronized once to the storage device. */
+    public DataStore<V> setAll(Map<String, ? extends V> values) throws IOException {
+      DataStoreUtils.checkNoNulls(values);
+      DataStoreCodec codec = getDataStoreFactory().getCodec();
+      Map<String, byte[]> encoded = new HashMap<String, byte[]>();
+      ByteArrayOutputStream records = new ByteArrayOutputStream();
+      for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+        byte[] bytes = codec.encode(entry.getValue());
+        encoded.put(entry.getKey(), bytes);
+        records.write(encodeRecord(SET, entry.getKey(), bytes));
+      }
+      if (encoded.isEmpty()) {
+        return this;
+      }
+      lock.lock();
+      try {
+        append(records.toByteArray());
+        for (Map.Entry<String, byte[]> entry : encoded.entrySet()) {
+          byte[] previous = keyValueMap.put(entry.getKey(), entry.getValue());
+          if (previous != null) {
+            liveSize -= recordSize(entry.getKey(), previous);
+          }
+          liveSize += recordSize(entry.getKey(), entry.getValue());
+        }
+        maybeCompact();
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    /** Appends all the records in a single write, synchronized once to the storage device. */
+    public DataStore<V> deleteAll(Collection<String> keys) throws IOException {
+      lock.lock();
+      try {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        Set<String> deleted = new HashSet<String>();
+        for (String key : keys) {
+          if (key != null && keyValueMap.containsKey(key) && deleted.add(key)) {
+            records.write(encodeRecord(DELETE, key, null));
+          }
+        }
+        if (!deleted.isEmpty()) {
+          append(records.toByteArray());
+          for (String key : deleted) {
+            liveSize -= recordSize(key, keyValueMap.remove(key));
+          }
+          maybeCompact();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    public DataStore<V> delete(String key) throws IOException {
+      if (key == null) {
+        return this;
+      }
+      lock.lock();
+      try {
+        if (keyValueMap.containsKey(key)) {
+          append(encodeRecord(DELETE, key, null));
+          liveSize -= recordSize(key, keyValueMap.remove(key));
+          maybeCompact();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    public DataStore<V> clear() throws IOException {
+      lock.lock();
+      try {
+        if (!keyValueMap.isEmpty()) {
+          append(encodeRecord(CLEAR, null, null));
+          keyValueMap.clear();
+          liveSize = HEADER_SIZE;
+          maybeCompact();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return this;
+    }
+
+    @Override
+    public boolean containsKey(String key) throws IOException {
+      return key != null && keyValueMap.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) throws IOException {
+      if (value == null) {
+        return false;
+      }
+      byte[] serialized = getDataStoreFactory().getCodec().encode(value);
+      for (byte[] bytes : keyValueMap.values()) {
+        if (Arrays.equals(serialized, bytes)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException {
+      return keyValueMap.isEmpty();
+    }
+
+    @Override
+    public int size() throws IOException {
+      return keyValueMap.size();
+    }
+
+    @Override
+    public String toString() {
+      return DataStoreUtils.toString(this);
+    }
+
+    /** Returns the size of the log file. */
+    final long getLogSize() {
+      lock.lock();
+      try {
+        return logSize;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Appends the given record to the log. */
+    private void append(byte[] record) throws IOException {
+      if (channel == null) {
+        openLog();
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(record);
+      try {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        if (getDataStoreFactory().syncWrites) {
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        // drop the part of the record that was written, since the change is not applied
+        try {
+          channel.truncate(logSize);
+          channel.position(logSize);
+        } catch (IOException suppressed) {
+          // the incomplete record is truncated when the log is replayed
+        }
+        throw e;
+      }
+      logSize += record.length;
+    }
+
+    /** Schedules a compaction if at least half of the log is made of obsolete records. */
+    private void maybeCompact() {
+      if (!compacting && logSize >= MIN_COMPACTION_SIZE && logSize > 2 * liveSize) {
+        compacting = true;
+        getDataStoreFactory()
+            .compactionExecutor
+            .execute(
+                new Runnable() {
+                  public void run() {
+                    try {
+                      compact();
+                    } catch (IOException e) {
+                      LOGGER.log(Level.WARNING, "unable to compact " + logFile, e);
+                    } finally {
+                      lock.lock();
+                      try {
+                        compacting = false;
+                      } finally {
+                        lock.unlock();
+                      }
+                    }
+                  }
+                });
+      }
+    }
+
+    /**
+     * Replaces the log with the current key-value pairs, without blocking changes while they are
+     * written.
+     */
+    void compact() throws IOException {
+      Map<String, byte[]> snapshot;
+      long snapshotLogSize;
+      lock.lock();
+      try {
+        snapshot = new HashMap<String, byte[]>(keyValueMap);
+        snapshotLogSize = logSize;
+      } finally {
+        lock.unlock();
+      }
+      writeHeader(tempFile);
+      RandomAccessFile temp = new RandomAccessFile(tempFile, "rw");
+      boolean replaced = false;
+      try {
+        FileChannel tempChannel = temp.getChannel();
+        tempChannel.position(HEADER_SIZE);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        for (Map.Entry<String, byte[]> entry : snapshot.entrySet()) {
+          buffer.write(encodeRecord(SET, entry.getKey(), entry.getValue()));
+          if (buffer.size() >= 8192) {
+            writeFully(tempChannel, buffer);
+          }
+        }
+        writeFully(tempChannel, buffer);
+        lock.lock();
+        try {
+          if (channel == null) {
+            openLog();
+          }
+          // copy the changes made since the snapshot
+          long position = snapshotLogSize;
+          while (position < logSize) {
+            position += channel.transferTo(position, logSize - position, tempChannel);
+          }
+          tempChannel.force(true);
+          temp.close();
+          channel.close();
+          channel = null;
+          try {
+            move(tempFile, logFile, getDataStoreFactory().syncWrites);
+            replaced = true;
+          } finally {
+            openLog();
+          }
+        } finally {
+          lock.unlock();
+        }
+      } finally {
+        temp.close();
+        if (!replaced) {
+          tempFile.delete();
+        }
+      }
+    }
+
+    /**
+     * Reads the log file into the key-value map, and truncates any incomplete record at its end.
+     */
+    private void replay() throws IOException {
+      long size = logFile.length();
+      DataInputStream in =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)));
+      long position = HEADER_SIZE;
+      try {
+        if (size < HEADER_SIZE || in.readInt() != MAGIC) {
+          throw new IOException("not a data store log: " + logFile);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+          throw new IOException("unsupported data store log version " + version + ": " + logFile);
+        }
+        CRC32 crc = new CRC32();
+        while (position < size) {
+          int length = in.readInt();
+          if (length <= 0 || length > size - position - RECORD_OVERHEAD) {
+            break;
+          }
+          byte[] payload = new byte[length];
+          in.readFully(payload);
+          crc.reset();
+          crc.update(payload, 0, length);
+          if ((int) crc.getValue() != in.readInt()) {
+            break;
+          }
+          applyRecord(payload);
+          position += RECORD_OVERHEAD + length;
+        }
+      } catch (EOFException e) {
+        // incomplete record
+      } finally {
+        in.close();
+      }
+      if (position < size) {
+        LOGGER.warning(
+            "discarding "
+                + (size - position)
+                + " bytes of incomplete records at the end of "
+                + logFile);
+        RandomAccessFile file = new RandomAccessFile(logFile, "rw");
+        try {
+          file.setLength(position);
+          file.getFD().sync();
+        } finally {
+          file.close();
+        }
+      }
+      for (Map.Entry<String, byte[]> entry : keyValueMap.entrySet()) {
+        liveSize += recordSize(entry.getKey(), entry.getValue());
+      }
+    }
+
+    /** Applies the given record payload to the key-value map. */
+    private void applyRecord(byte[] payload) throws IOException {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+      byte type = in.readByte();
+      switch (type) {
+        case SET:
+          String key = in.readUTF();
+          byte[] value = new byte[payload.length - 3 - utfLength(key)];
+          in.readFully(value);
+          keyValueMap.put(key, value);
+          break;
+        case DELETE:
+          keyValueMap.remove(in.readUTF());
+          break;
+        case CLEAR:
+          keyValueMap.clear();
+          break;
+        default:
+          throw new IOException("unknown record type " + type + " in " + logFile);
+      }
+    }
+
+    /** Opens the log file for appending. */
+    private void openLog() throws IOException {
+      RandomAccessFile file = new RandomAccessFile(logFile, "rw");
+      channel = file.getChannel();
+      logSize = channel.size();
+      channel.position(logSize);
+    }
+  }
+
+  /**
+   * Returns a framed record.
+   *
+   * @param type record type
+   * @param key key or {@code null} for {@link #CLEAR}
+   * @param value serialized value or {@code null} for {@link #DELETE} and {@link #CLEAR}
+   */
+  static byte[] encodeRecord(byte type, String key, byte[] value) throws IOException {
+    int length = 1 + (key == null ? 0 : 2 + utfLength(key)) + (value == null ? 0 : value.length);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_OVERHEAD + length);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(length);
+    out.writeByte(type);
+    if (key != null) {
+      out.writeUTF(key);
+    }
+    if (value != null) {
+      out.write(value);
+    }
+    byte[] record = bytes.toByteArray();
+    CRC32 crc = new CRC32();
+    crc.update(record, 4, length);
+    out.writeInt((int) crc.getValue());
+    return bytes.toByteArray();
+  }
+
+  /** Returns the size of the {@link #SET} record of the given key and serialized value. */
+  static int recordSize(String key, byte[] value) {
+    return RECORD_OVERHEAD + 3 + utfLength(key) + value.length;
+  }
+
+  /** Returns the length of the given string in modified UTF-8, as written by {@code writeUTF}. */
+  static int utfLength(String string) {
+    int length = 0;
+    for (int i = 0; i < string.length(); i++) {
+      char c = string.charAt(i);
+      if (c >= 0x0001 && c <= 0x007F) {
+        length++;
+      } else if (c > 0x07FF) {
+        length += 3;
+      } else {
+        length += 2;
+      }
+    }
+    return length;
+  }
+
+  /** Writes a new log file made of a header only. */
+  static void writeHeader(File file) throws IOException {
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+    } finally {
+      out.close();
+    }
+  }
+
+  /** Writes the content of the given buffer to the given channel, and resets the buffer. */
+  static void writeFully(FileChannel channel, ByteArrayOutputStream buffer) throws IOException {
+    ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    buffer.reset();
+  }
+
+  /**
+   * Atomically replaces the target file with the source file, where supported.
+   *
+   * @param source source file
+   * @param target target file
+   * @param sync whether to synchronize the directory of the target file to the storage device, so
+   *     that the replacement survives a crash
+   */
+  static void move(File source, File target, boolean sync) throws IOException {
+    Path sourcePath = Paths.get(source.getAbsolutePath());
+    Path targetPath = Paths.get(target.getAbsolutePath());
+    try {
+      Files.move(
+          sourcePath,
+          targetPath,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+    if (sync) {
+      syncDirectory(targetPath.getParent());
+    }
+  }
+
+  /** Synchronizes the entries of the given directory to the storage device, where supported. */
+  static void syncDirectory(Path directory) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    } catch (IOException e) {
+      // directories cannot be opened on some platforms, such as Windows
+      return;
+    }
+    try {
+      channel.force(true);
+    } finally {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,973 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import static com.google.api.client.util.store.LogFileDataStoreFactory.CLEAR;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.DELETE;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.HEADER_SIZE;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.LOGGER;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.LOG_EXTENSION;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.MAGIC;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.MIN_COMPACTION_SIZE;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.RECORD_OVERHEAD;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.SET;
+import static com.google.api.client.util.store.LogFileDataStoreFactory.VERSION;
+
+import com.google.api.client.util.IOUtils;
+import com.google.api.client.util.Lists;
+import com.google.api.client.util.Preconditions;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Thread-safe file implementation of a credential store for large data stores, which keeps only an
+ * index of the keys in memory and reads the values from memory-mapped files when they are accessed.
+ *
+ * <p>Opening a data store of {@link FileDataStoreFactory} or {@link LogFileDataStoreFactory} reads
+ * and keeps all of its values in memory. Opening a data store of this factory only reads the keys,
+ * and maps each key to the offset of its value in the file. Values are decoded on each access, so
+ * opening a data store of many entries is fast, and its resident memory is mostly the keys.
+ *
+ * <p>Each data store is split into a {@link Builder#setShards number of shards} by the hash code of
+ * the keys, and each shard is kept in a file named after the ID of the data store, the index of the
+ * shard and the number of shards, with a {@code .log} extension. A data store must always be opened
+ * with the number of shards it was created with. Shards have the same format as the logs of {@link
+ * LogFileDataStoreFactory}: each change appends a record with a checksum, which is verified when
+ * the value is read. Changes to different shards do not block each other, and reads never block
+ * each other. Once most of a shard is made of overwritten or deleted values, it is compacted by the
+ * thread that made the change, which blocks the other accesses to that shard only.
+ *
+ * <p>By default, each change is synchronized to the storage device before the method that made it
+ * returns. This can be turned off with {@link Builder#setSyncWrites} for a higher write throughput.
+ *
+ * <p>For security purposes, the permissions of the data directory are set such that it is only
+ * accessible by its owner. On Windows, a shard can not be compacted while an earlier mapping of its
+ * file has not been garbage-collected, in which case the compaction is retried later.
+ *
+ * <p>Note: this class is not compatible with Android lower than API level 26 (Oreo).
+ *
+ * @since 2.2
+ */
+public class MappedFileDataStoreFactory extends AbstractDataStoreFactory {
+
+  /**
+   * Size of the changes appended to a shard after which its file is mapped again, instead of
+   * reading them through its channel.
+   */
+  static final int REMAP_SIZE = 1024 * 1024;
+
+  /** Directory to store data. */
+  private final File dataDirectory;
+
+  /** Number of shards of each data store. */
+  private final int shards;
+
+  /** Whether changes are synchronized to the storage device. */
+  private final boolean syncWrites;
+
+  /**
+   * Constructs a factory with the default settings of {@link Builder}.
+   *
+   * @param dataDirectory data directory
+   */
+  public MappedFileDataStoreFactory(File dataDirectory) throws IOException {
+    this(new Builder(dataDirectory));
+  }
+
+  /** @param builder builder */
+  public MappedFileDataStoreFactory(Builder builder) throws IOException {
+    super(builder.codec);
+    this.dataDirectory = FileDataStoreFactory.createDataDirectory(builder.dataDirectory);
+    this.shards = builder.shards;
+    this.syncWrites = builder.syncWrites;
+  }
+
+  /** Returns the data directory. */
+  public final File getDataDirectory() {
+    return dataDirectory;
+  }
+
+  /** Returns the number of shards of each data store. */
+  public final int getShards() {
+    return shards;
+  }
+
+  /** Returns whether changes are synchronized to the storage device. */
+  public final boolean getSyncWrites() {
+    return syncWrites;
+  }
+
+  @Override
+  protected <V extends Serializable> DataStore<V> createDataStore(String id) throws IOException {
+    return new MappedFileDataStore<V>(this, id);
+  }
+
+  /** Returns the name of the file of the given shard of a data store. */
+  static String shardFileName(String id, int shard, int shards) {
+    return id + "-" + shard + "-of-" + shards + LOG_EXTENSION;
+  }
+
+  /**
+   * Memory-mapped file data store.
+   *
+   * @param <V> serializable type of the mapped value
+   */
+  static class MappedFileDataStore<V extends Serializable> extends AbstractDataStore<V>
+      implements BatchDataStore<V> {
+
+    /** Shards. */
+    final Shard[] shards;
+
+    MappedFileDataStore(MappedFileDataStoreFactory dataStoreFactory, String id) throws IOException {
+      super(dataStoreFactory, id);
+      File dataDirectory = dataStoreFactory.dataDirectory;
+      int count = dataStoreFactory.shards;
+      // error if the data store was created with a different number of shards
+      String expected = shardFileName(id, 0, count);
+      String[] names = dataDirectory.list();
+      if (names != null) {
+        for (String name : names) {
+          if (name.startsWith(id + "-0-of-")
+              && name.endsWith(LOG_EXTENSION)
+              && !name.equals(expected)) {
+            throw new IOException(
+                "data store "
+                    + id
+                    + " has a different number of shards than "
+                    + count
+                    + ": "
+                    + name);
+          }
+        }
+      }
+      shards = new Shard[count];
+      for (int i = 0; i < count; i++) {
+        String name = shardFileName(id, i, count);
+        shards[i] =
+            new Shard(
+                new File(dataDirectory, name),
+                new File(dataDirectory, name + ".tmp"),
+                dataStoreFactory.syncWrites);
+      }
+    }
+
+    @Override
+    public MappedFileDataStoreFactory getDataStoreFactory() {
+      return (MappedFileDataStoreFactory) super.getDataStoreFactory();
+    }
+
+    /** Returns the index of the shard of the given key. */
+    int shardIndex(String key) {
+      return (key.hashCode() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    public Set<String> keySet() throws IOException {
+      Set<String> result = new HashSet<String>();
+      for (Shard shard : shards) {
+        shard.keys(result);
+      }
+      return Collections.unmodifiableSet(result);
+    }
+
+    public Collection<V> values() throws IOException {
+      DataStoreCodec codec = getDataStoreFactory().getCodec();
+      List<byte[]> values = Lists.newArrayList();
+      for (Shard shard : shards) {
+        shard.values(values);
+      }
+      List<V> result = Lists.newArrayList();
+      for (byte[] bytes : values) {
+        result.add(codec.<V>decode(bytes));
+      }
+      return Collections.unmodifiableList(result);
+    }
+
+    public V get(String key) throws IOException {
+      if (key == null) {
+        return null;
+      }
+      byte[] bytes = shards[shardIndex(key)].get(key);
+      return bytes == null ? null : getDataStoreFactory().getCodec().<V>decode(bytes);
+    }
+
+    public DataStore<V> set(String key, V value) throws IOException {
+      Preconditions.checkNotNull(key);
+      Preconditions.checkNotNull(value);
+      byte[] bytes = getDataStoreFactory().getCodec().encode(value);
+      shards[shardIndex(key)].set(Collections.singletonMap(key, bytes));
+      return this;
+    }
+
+    public DataStore<V> delete(String key) throws IOException {
+      if (key != null) {
+        shards[shardIndex(key)].delete(Collections.singleton(key));
+      }
+      return this;
+    }
+
+    public DataStore<V> clear() throws IOException {
+      for (Shard shard : shards) {
+        shard.clear();
+      }
+      return this;
+    }
+
+    public Map<String, V> getAll(Collection<String> keys) throws IOException {
+      DataStoreCodec codec = getDataStoreFactory().getCodec();
+      Map<String, V> result = new HashMap<String, V>();
+      for (String key : keys) {
+        byte[] bytes = key == null ? null : shards[shardIndex(key)].get(key);
+        if (bytes != null) {
+          result.put(key, codec.<V>decode(bytes));
+        }
+      }
+      return result;
+    }
+
+    /** Appends the records of each shard in a single write, synchronized once. */
+    public DataStore<V> setAll(Map<String, ? extends V> values) throws IOException {
+      DataStoreUtils.checkNoNulls(values);
+      DataStoreCodec codec = getDataStoreFactory().getCodec();
+      List<Map<String, byte[]>> byShard = Lists.newArrayListWithCapacity(shards.length);
+      for (int i = 0; i < shards.length; i++) {
+        byShard.add(new LinkedHashMap<String, byte[]>());
+      }
+      for (Map.Entry<String, ? extends V> entry : values.entrySet()) {
+        byShard.get(shardIndex(entry.getKey())).put(entry.getKey(), codec.encode(entry.getValue()));
+      }
+      for (int i = 0; i < shards.length; i++) {
+        shards[i].set(byShard.get(i));
+      }
+      return this;
+    }
+
+    /** Appends the records of each shard in a single write, synchronized once. */
+    public DataStore<V> deleteAll(Collection<String> keys) throws IOException {
+      List<Set<String>> byShard = Lists.newArrayListWithCapacity(shards.length);
+      for (int i = 0; i < shards.length; i++) {
+        byShard.add(new LinkedHashSet<String>());
+      }
+      for (String key : keys) {
+        if (key != null) {
+          byShard.get(shardIndex(key)).add(key);
+        }
+      }
+      for (int i = 0; i < shards.length; i++) {
+        shards[i].delete(byShard.get(i));
+      }
+      return this;
+    }
+
+    @Override
+    public boolean containsKey(String key) throws IOException {
+      return key != null && shards[shardIndex(key)].containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) throws IOException {
+      if (value == null) {
+        return false;
+      }
+      byte[] serialized = getDataStoreFactory().getCodec().encode(value);
+      List<byte[]> values = Lists.newArrayList();
+      for (Shard shard : shards) {
+        shard.values(values);
+      }
+      for (byte[] bytes : values) {
+        if (Arrays.equals(serialized, bytes)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException {
+      return size() == 0;
+    }
+
+    @Override
+    public int size() throws IOException {
+      int size = 0;
+      for (Shard shard : shards) {
+        size += shard.size();
+      }
+      return size;
+    }
+
+    @Override
+    public String toString() {
+      return DataStoreUtils.toString(this);
+    }
+  }
+
+  /**
+   * Shard of a data store, in the format of the logs of {@link LogFileDataStoreFactory}, whose file
+   * is memory-mapped, and whose key-value pairs are indexed by the offsets of their records.
+   *
+   * <p>The mapping covers the file as it was when it was last mapped. Records appended since then
+   * are read through the channel of the file, until {@link #REMAP_SIZE} bytes were appended.
+   */
+  static final class Shard {
+
+    /** Shard file. */
+    private final File file;
+
+    /** Temporary file written by compactions. */
+    private final File tempFile;
+
+    /** Whether changes are synchronized to the storage device. */
+    private final boolean syncWrites;
+
+    /** Lock on reads and changes, which guards all the fields below. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Channel of the shard file. */
+    private FileChannel channel;
+
+    /** Read-only mapping of the start of the shard file. */
+    private ByteBuffer mapping;
+
+    /** Index from the keys to the offsets of their {@link LogFileDataStoreFactory#SET} records. */
+    private Index index = new Index(16);
+
+    /** Size of the shard file. */
+    private long size;
+
+    /** Size the shard file would have after a compaction. */
+    private long liveSize = HEADER_SIZE;
+
+    /** Minimum size of the shard file before it is compacted. */
+    private long compactionSize = MIN_COMPACTION_SIZE;
+
+    Shard(File file, File tempFile, boolean syncWrites) throws IOException {
+      this.file = file;
+      this.tempFile = tempFile;
+      this.syncWrites = syncWrites;
+      // error if it is a symbolic link
+      if (IOUtils.isSymbolicLink(file)) {
+        throw new IOException("unable to use a symbolic link: " + file);
+      }
+      // left over by a compaction that did not complete
+      if (tempFile.exists() && !tempFile.delete()) {
+        throw new IOException("unable to delete: " + tempFile);
+      }
+      // create new file (if necessary), or complete a file created without its header
+      if (file.createNewFile() || file.length() == 0) {
+        LogFileDataStoreFactory.writeHeader(file);
+      }
+      open();
+      try {
+        scan();
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+    }
+
+    /** Returns the serialized value of the given key or {@code null} for none. */
+    byte[] get(String key) throws IOException {
+      lock.readLock().lock();
+      try {
+        int offset = index.get(key);
+        return offset < 0 ? null : readValue(offset);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Returns whether the given key is in the shard. */
+    boolean containsKey(String key) {
+      lock.readLock().lock();
+      try {
+        return index.get(key) >= 0;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Returns the number of keys in the shard. */
+    int size() {
+      lock.readLock().lock();
+      try {
+        return index.size;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Adds the keys of the shard to the given collection. */
+    void keys(Collection<String> keys) {
+      lock.readLock().lock();
+      try {
+        for (String key : index.keys) {
+          if (key != null) {
+            keys.add(key);
+          }
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Adds the serialized values of the shard to the given collection. */
+    void values(Collection<byte[]> values) throws IOException {
+      lock.readLock().lock();
+      try {
+        for (int i = 0; i < index.keys.length; i++) {
+          if (index.keys[i] != null) {
+            values.add(readValue(index.offsets[i]));
+          }
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Sets the given keys to the given serialized values. */
+    void set(Map<String, byte[]> values) throws IOException {
+      if (values.isEmpty()) {
+        return;
+      }
+      ByteArrayOutputStream records = new ByteArrayOutputStream();
+      for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+        records.write(LogFileDataStoreFactory.encodeRecord(SET, entry.getKey(), entry.getValue()));
+      }
+      lock.writeLock().lock();
+      try {
+        long offset = size;
+        append(records.toByteArray());
+        for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+          int recordSize = LogFileDataStoreFactory.recordSize(entry.getKey(), entry.getValue());
+          put(index, entry.getKey(), (int) offset, recordSize);
+          offset += recordSize;
+        }
+        maybeCompact();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /** Deletes the given keys. */
+    void delete(Collection<String> keys) throws IOException {
+      lock.writeLock().lock();
+      try {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        Set<String> deleted = new HashSet<String>();
+        for (String key : keys) {
+          if (index.get(key) >= 0 && deleted.add(key)) {
+            records.write(LogFileDataStoreFactory.encodeRecord(DELETE, key, null));
+          }
+        }
+        if (!deleted.isEmpty()) {
+          append(records.toByteArray());
+          for (String key : deleted) {
+            liveSize -= readRecordSize(index.remove(key));
+          }
+          maybeCompact();
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /** Deletes all the keys. */
+    void clear() throws IOException {
+      lock.writeLock().lock();
+      try {
+        if (index.size != 0) {
+          append(LogFileDataStoreFactory.encodeRecord(CLEAR, null, null));
+          index = new Index(16);
+          liveSize = HEADER_SIZE;
+          maybeCompact();
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    /** Returns the size of the shard file. */
+    long getSize() {
+      lock.readLock().lock();
+      try {
+        return size;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Returns the number of bytes of the shard file covered by its mapping. */
+    int getMappedSize() {
+      lock.readLock().lock();
+      try {
+        return mapping.capacity();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Indexes the given record, and updates the live size. */
+    private void put(Index index, String key, int offset, int recordSize) throws IOException {
+      int previous = index.put(key, offset);
+      if (previous >= 0) {
+        liveSize -= readRecordSize(previous);
+      }
+      liveSize += recordSize;
+    }
+
+    /** Appends the given records to the shard file. */
+    private void append(byte[] records) throws IOException {
+      if (size + records.length > Integer.MAX_VALUE) {
+        throw new IOException("data store shard is full: " + file);
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(records);
+      long position = size;
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      if (syncWrites) {
+        channel.force(false);
+      }
+      size = position;
+      if (size - mapping.capacity() >= REMAP_SIZE) {
+        mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      }
+    }
+
+    /** Compacts the shard if at least half of its file is made of obsolete records. */
+    private void maybeCompact() {
+      if (size >= compactionSize && size > 2 * liveSize) {
+        try {
+          compact();
+          compactionSize = MIN_COMPACTION_SIZE;
+        } catch (IOException e) {
+          LOGGER.log(Level.WARNING, "unable to compact " + file, e);
+          compactionSize = 2 * size;
+        }
+      }
+    }
+
+    /** Replaces the shard file with the records of the current key-value pairs. */
+    void compact() throws IOException {
+      LogFileDataStoreFactory.writeHeader(tempFile);
+      RandomAccessFile temp = new RandomAccessFile(tempFile, "rw");
+      Index compacted = new Index(index.size);
+      boolean replaced = false;
+      try {
+        FileChannel tempChannel = temp.getChannel();
+        tempChannel.position(HEADER_SIZE);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        long offset = HEADER_SIZE;
+        for (int i = 0; i < index.keys.length; i++) {
+          if (index.keys[i] != null) {
+            int recordOffset = index.offsets[i];
+            byte[] record = read(recordOffset, readRecordSize(recordOffset));
+            buffer.write(record);
+            compacted.put(index.keys[i], (int) offset);
+            offset += record.length;
+            if (buffer.size() >= 8192) {
+              LogFileDataStoreFactory.writeFully(tempChannel, buffer);
+            }
+          }
+        }
+        LogFileDataStoreFactory.writeFully(tempChannel, buffer);
+        tempChannel.force(true);
+        temp.close();
+        channel.close();
+        mapping = null;
+        try {
+          LogFileDataStoreFactory.move(tempFile, file, syncWrites);
+          replaced = true;
+        } finally {
+          open();
+        }
+        index = compacted;
+        liveSize = size;
+      } finally {
+        temp.close();
+        if (!replaced) {
+          tempFile.delete();
+        }
+      }
+    }
+
+    /** Opens and maps the shard file. */
+    private void open() throws IOException {
+      channel = new RandomAccessFile(file, "rw").getChannel();
+      size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        channel.close();
+        throw new IOException("data store shard is too large: " + file);
+      }
+      mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * Indexes the keys of the records of the shard file, and truncates any incomplete record at its
+     * end. Values are neither read nor verified, which is deferred to their first access.
+     */
+    private void scan() throws IOException {
+      if (size < HEADER_SIZE || mapping.getInt(0) != MAGIC) {
+        throw new IOException("not a data store log: " + file);
+      }
+      int version = mapping.getInt(4);
+      if (version != VERSION) {
+        throw new IOException("unsupported data store log version " + version + ": " + file);
+      }
+      int position = HEADER_SIZE;
+      char[] chars = new char[256];
+      while (size - position >= RECORD_OVERHEAD) {
+        int length = mapping.getInt(position);
+        if (length <= 0 || length > size - position - RECORD_OVERHEAD) {
+          break;
+        }
+        int recordSize = RECORD_OVERHEAD + length;
+        byte type = mapping.get(position + 4);
+        switch (type) {
+          case SET:
+            put(index, readKey(position, chars), position, recordSize);
+            break;
+          case DELETE:
+            int previous = index.remove(readKey(position, chars));
+            if (previous >= 0) {
+              liveSize -= readRecordSize(previous);
+            }
+            break;
+          case CLEAR:
+            index = new Index(16);
+            liveSize = HEADER_SIZE;
+            break;
+          default:
+            throw new IOException("unknown record type " + type + " in " + file);
+        }
+        position += recordSize;
+      }
+      if (position < size) {
+        LOGGER.warning(
+            "discarding "
+                + (size - position)
+                + " bytes of incomplete records at the end of "
+                + file);
+        channel.truncate(position);
+        channel.force(true);
+        size = position;
+        mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      }
+    }
+
+    /**
+     * Returns the key of the record at the given offset, decoded from modified UTF-8 as by {@code
+     * readUTF}.
+     *
+     * @param offset offset of the record, which must be covered by the mapping
+     * @param chars buffer of the decoded characters, used if it is large enough
+     */
+    private String readKey(int offset, char[] chars) throws IOException {
+      int start = offset + 7;
+      int end =
+          start + (((mapping.get(offset + 5) & 0xff) << 8) | (mapping.get(offset + 6) & 0xff));
+      if (end - start > chars.length) {
+        chars = new char[end - start];
+      }
+      int count = 0;
+      for (int i = start; i < end; ) {
+        int b = mapping.get(i++) & 0xff;
+        if (b < 0x80) {
+          chars[count++] = (char) b;
+        } else if ((b & 0xe0) == 0xc0 && i < end) {
+          chars[count++] = (char) (((b & 0x1f) << 6) | (mapping.get(i++) & 0x3f));
+        } else if ((b & 0xf0) == 0xe0 && i + 1 < end) {
+          chars[count++] =
+              (char)
+                  (((b & 0x0f) << 12)
+                      | ((mapping.get(i++) & 0x3f) << 6)
+                      | (mapping.get(i++) & 0x3f));
+        } else {
+          throw new IOException("malformed key at offset " + offset + " of " + file);
+        }
+      }
+      return new String(chars, 0, count);
+    }
+
+    /** Returns the size of the record at the given offset. */
+    private int readRecordSize(int offset) throws IOException {
+      byte[] length = read(offset, 4);
+      return RECORD_OVERHEAD
+          + (((length[0] & 0xff) << 24)
+              | ((length[1] & 0xff) << 16)
+              | ((length[2] & 0xff) << 8)
+              | (length[3] & 0xff));
+    }
+
+    /**
+     * Returns the serialized value of the {@link LogFileDataStoreFactory#SET} record at the given
+     * offset.
+     */
+    private byte[] readValue(int offset) throws IOException {
+      int recordSize = readRecordSize(offset);
+      byte[] record = read(offset, recordSize);
+      int length = recordSize - RECORD_OVERHEAD;
+      CRC32 crc = new CRC32();
+      crc.update(record, 4, length);
+      int checksum =
+          ((record[recordSize - 4] & 0xff) << 24)
+              | ((record[recordSize - 3] & 0xff) << 16)
+              | ((record[recordSize - 2] & 0xff) << 8)
+              | (record[recordSize - 1] & 0xff);
+      if ((int) crc.getValue() != checksum) {
+        throw new IOException("corrupt record at offset " + offset + " of " + file);
+      }
+      int keyLength = ((record[5] & 0xff) << 8) | (record[6] & 0xff);
+      return Arrays.copyOfRange(record, 7 + keyLength, recordSize - 4);
+    }
+
+    /** Reads bytes of the shard file, from its mapping if it covers them. */
+    private byte[] read(long position, int length) throws IOException {
+      byte[] bytes = new byte[length];
+      if (position + length <= mapping.capacity()) {
+        ByteBuffer buffer = mapping.duplicate();
+        // through Buffer, whose position(int) is not overridden before Java 9
+        ((Buffer) buffer).position((int) position);
+        buffer.get(bytes);
+      } else {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, position + buffer.position()) < 0) {
+            throw new EOFException("unexpected end of " + file);
+          }
+        }
+      }
+      return bytes;
+    }
+  }
+
+  /**
+   * Open addressing hash map from keys to offsets, which takes less memory than a {@link HashMap}
+   * of boxed offsets.
+   */
+  static final class Index {
+
+    /** Keys, or {@code null} for empty slots. */
+    String[] keys;
+
+    /** Offsets of the keys in the same slots. */
+    int[] offsets;
+
+    /** Number of keys. */
+    int size;
+
+    /** @param expectedSize expected number of keys */
+    Index(int expectedSize) {
+      int capacity = 16;
+      while (capacity * 3 < expectedSize * 4) {
+        capacity *= 2;
+      }
+      keys = new String[capacity];
+      offsets = new int[capacity];
+    }
+
+    /** Returns the offset of the given key or {@code -1} for none. */
+    int get(String key) {
+      int mask = keys.length - 1;
+      for (int i = hash(key) & mask; keys[i] != null; i = (i + 1) & mask) {
+        if (keys[i].equals(key)) {
+          return offsets[i];
+        }
+      }
+      return -1;
+    }
+
+    /** Sets the offset of the given key, and returns its previous offset or {@code -1} for none. */
+    int put(String key, int offset) {
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      for (; keys[i] != null; i = (i + 1) & mask) {
+        if (keys[i].equals(key)) {
+          int previous = offsets[i];
+          offsets[i] = offset;
+          return previous;
+        }
+      }
+      keys[i] = key;
+      offsets[i] = offset;
+      if (++size * 4 > keys.length * 3) {
+        resize();
+      }
+      return -1;
+    }
+
+    /** Removes the given key, and returns its offset or {@code -1} for none. */
+    int remove(String key) {
+      int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      while (keys[i] != null && !keys[i].equals(key)) {
+        i = (i + 1) & mask;
+      }
+      if (keys[i] == null) {
+        return -1;
+      }
+      int offset = offsets[i];
+      keys[i] = null;
+      size--;
+      // shift back the following keys that would not be found anymore
+      for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+        int home = hash(keys[j]) & mask;
+        if (i <= j ? home <= i || home > j : home <= i && home > j) {
+          keys[i] = keys[j];
+          offsets[i] = offsets[j];
+          keys[j] = null;
+          i = j;
+        }
+      }
+      return offset;
+    }
+
+    /** Doubles the number of slots. */
+    private void resize() {
+      String[] oldKeys = keys;
+      int[] oldOffsets = offsets;
+      keys = new String[oldKeys.length * 2];
+      offsets = new int[oldKeys.length * 2];
+      int mask = keys.length - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldKeys[j] != null) {
+          int i = hash(oldKeys[j]) & mask;
+          while (keys[i] != null) {
+            i = (i + 1) & mask;
+          }
+          keys[i] = oldKeys[j];
+          offsets[i] = oldOffsets[j];
+        }
+      }
+    }
+
+    private static int hash(String key) {
+      int hash = key.hashCode() * 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+    }
+  }
+
+  /**
+   * Builder for {@link MappedFileDataStoreFactory}.
+   *
+   * <p>Implementation is not thread-safe.
+   *
+   * @since 2.2
+   */
+  public static class Builder {
+
+    /** Directory to store data. */
+    final File dataDirectory;
+
+    /** Codec of the values. */
+    DataStoreCodec codec = SerializationDataStoreCodec.getInstance();
+
+    /** Number of shards of each data store. */
+    int shards = 4;
+
+    /** Whether changes are synchronized to the storage device. */
+    boolean syncWrites = true;
+
+    /** @param dataDirectory data directory */
+    public Builder(File dataDirectory) {
+      this.dataDirectory = Preconditions.checkNotNull(dataDirectory);
+    }
+
+    /** Returns the data directory. */
+    public final File getDataDirectory() {
+      return dataDirectory;
+    }
+
+    /** Returns the codec of the values. */
+    public final DataStoreCodec getCodec() {
+      return codec;
+    }
+
+    /**
+     * Sets the codec of the values ({@link SerializationDataStoreCodec} by default).
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     */
+    public Builder setCodec(DataStoreCodec codec) {
+      this.codec = Preconditions.checkNotNull(codec);
+      return this;
+    }
+
+    /** Returns the number of shards of each data store. */
+    public final int getShards() {
+      return shards;
+    }
+
+    /**
+     * Sets the number of shards of each data store ({@code 4} by default).
+     *
+     * <p>More shards make compactions shorter and let more changes proceed in parallel, at the cost
+     * of one file per shard. A data store can only be opened with the number of shards it was
+     * created with.
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     */
+    public Builder setShards(int shards) {
+      Preconditions.checkArgument(shards > 0);
+      this.shards = shards;
+      return this;
+    }
+
+    /** Returns whether changes are synchronized to the storage device. */
+    public final boolean getSyncWrites() {
+      return syncWrites;
+    }
+
+    /**
+     * Sets whether each change is synchronized to the storage device before the method that made it
+     * returns ({@code true} by default).
+     *
+     * <p>Overriding is only supported for the purpose of calling the super implementation and
+     * changing the return type, but nothing else.
+     */
+    public Builder setSyncWrites(boolean syncWrites) {
+      this.syncWrites = syncWrites;
+      return this;
+    }
+
+    /** Returns a new instance of {@link MappedFileDataStoreFactory} based on this builder. */
+    public MappedFileDataStoreFactory build() throws IOException {
+      return new MappedFileDataStoreFactory(this);
+    }
+  }
+}
@@ -27,6 +27,17 @@ import java.io.Serializable;
  */
 public class MemoryDataStoreFactory extends AbstractDataStoreFactory {
 
+  /** Constructs a factory whose data stores use {@link SerializationDataStoreCodec}. */
+  public MemoryDataStoreFactory() {}
+
+  /**
+   * @param codec codec of the values of the data stores
+   * @since 2.2
+   */
+  public MemoryDataStoreFactory(DataStoreCodec codec) {
+    super(codec);
+  }
+
   @Override
   protected <V extends Serializable> DataStore<V> createDataStore(String id) throws IOException {
     return new MemoryDataStore<V>(this, id);
@@ -45,7 +56,7 @@ public class MemoryDataStoreFactory extends AbstractDataStoreFactory {
   static class MemoryDataStore<V extends Serializable> extends AbstractMemoryDataStore<V> {
 
     MemoryDataStore(MemoryDataStoreFactory dataStore, String id) {
-      super(dataStore, id);
+      super(dataStore, id, dataStore.getCodec());
     }
 
     @Override
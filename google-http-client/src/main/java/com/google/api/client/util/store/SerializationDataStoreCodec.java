@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import com.google.api.client.util.IOUtils;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Data store codec that uses Java serialization with {@link IOUtils#serialize(Object)} and {@link
+ * IOUtils#deserialize(byte[])}, which is the default of data store factories.
+ *
+ * <p>Implementation is thread-safe.
+ *
+ * @since 2.2
+ */
+public final class SerializationDataStoreCodec implements DataStoreCodec {
+
+  private static final SerializationDataStoreCodec INSTANCE = new SerializationDataStoreCodec();
+
+  private SerializationDataStoreCodec() {}
+
+  /** Returns the global instance. */
+  public static SerializationDataStoreCodec getInstance() {
+    return INSTANCE;
+  }
+
+  public byte[] encode(Serializable value) throws IOException {
+    return IOUtils.serialize(value);
+  }
+
+  public <V extends Serializable> V decode(byte[] bytes) throws IOException {
+    return IOUtils.deserialize(bytes);
+  }
+}
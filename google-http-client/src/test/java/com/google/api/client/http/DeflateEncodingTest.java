@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.google.api.client.testing.util.TestableByteArrayOutputStream;
+import com.google.api.client.util.ByteArrayStreamingContent;
+import com.google.api.client.util.StringUtils;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.InflaterInputStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link DeflateEncoding}. */
+@RunWith(JUnit4.class)
+public class DeflateEncodingTest {
+
+  @Test
+  public void test() throws IOException {
+    DeflateEncoding encoding = new DeflateEncoding();
+    assertEquals("deflate", encoding.getName());
+    byte[] data = StringUtils.getBytesUtf8("oooooooooooooooooooooooooooo");
+    for (int i = 0; i < 3; i++) {
+      TestableByteArrayOutputStream out = new TestableByteArrayOutputStream();
+      encoding.encode(new ByteArrayStreamingContent(data), out);
+      assertFalse(out.isClosed());
+      byte[] inflated =
+          ByteStreams.toByteArray(
+              new InflaterInputStream(new ByteArrayInputStream(out.toByteArray())));
+      assertArrayEquals(data, inflated);
+    }
+  }
+}
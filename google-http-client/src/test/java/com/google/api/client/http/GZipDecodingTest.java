@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.testing.util.TestableByteArrayInputStream;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link GZipDecoding}. */
+@RunWith(JUnit4.class)
+public class GZipDecodingTest {
+
+  @Test
+  public void testDecode() throws IOException {
+    byte[] data = newData(100000);
+    for (int bufferSize : new int[] {1, 7, 512, GZipDecoding.DEFAULT_BUFFER_SIZE}) {
+      GZipDecoding decoding = new GZipDecoding().setBufferSize(bufferSize);
+      assertArrayEquals(data, decode(decoding, new ByteArrayInputStream(gzip(data))));
+    }
+  }
+
+  @Test
+  public void testDecode_multipleMembers() throws IOException {
+    byte[] data0 = newData(10000);
+    byte[] data1 = newData(20000);
+    byte[] zipped = concat(gzip(data0), gzip(new byte[0]), gzip(data1));
+    // one byte at a time, so that available() is 0 at every member boundary
+    InputStream in =
+        new ByteArrayInputStream(zipped) {
+          @Override
+          public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+          }
+
+          @Override
+          public synchronized int available() {
+            return 0;
+          }
+        };
+    assertArrayEquals(concat(data0, data1), decode(new GZipDecoding(), in));
+  }
+
+  @Test
+  public void testDecode_trailingGarbage() throws IOException {
+    byte[] data = newData(100);
+    byte[] zipped = concat(gzip(data), new byte[] {1, 2, 3});
+    assertArrayEquals(data, decode(new GZipDecoding(), new ByteArrayInputStream(zipped)));
+  }
+
+  @Test
+  public void testDecode_headerFlags() throws IOException {
+    byte[] data = newData(100);
+    byte[] zipped = gzip(data);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(zipped, 0, 3);
+    // FHCRC, FEXTRA, FNAME and FCOMMENT
+    out.write(2 | 4 | 8 | 16);
+    out.write(zipped, 4, 6);
+    out.write(new byte[] {3, 0, 'a', 'b', 'c'});
+    out.write(new byte[] {'n', 'a', 'm', 'e', 0});
+    out.write(new byte[] {'c', 'o', 'm', 'm', 'e', 'n', 't', 0});
+    out.write(new byte[] {0, 0});
+    out.write(zipped, 10, zipped.length - 10);
+    assertArrayEquals(
+        data, decode(new GZipDecoding(), new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void testDecode_empty() throws IOException {
+    TestableByteArrayInputStream in = new TestableByteArrayInputStream(new byte[0]);
+    try {
+      new GZipDecoding().decode(in);
+      fail("expected " + EOFException.class);
+    } catch (EOFException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testDecode_notGzip() throws IOException {
+    try {
+      new GZipDecoding().decode(new ByteArrayInputStream(new byte[] {'{', '}'}));
+      fail("expected " + ZipException.class);
+    } catch (ZipException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testDecode_corruptTrailer() throws IOException {
+    byte[] zipped = gzip(newData(100));
+    zipped[zipped.length - 8] ^= 1;
+    try {
+      decode(new GZipDecoding(), new ByteArrayInputStream(zipped));
+      fail("expected " + ZipException.class);
+    } catch (ZipException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testDecode_truncated() throws IOException {
+    byte[] zipped = gzip(newData(1000));
+    byte[] truncated = new byte[zipped.length - 20];
+    System.arraycopy(zipped, 0, truncated, 0, truncated.length);
+    try {
+      decode(new GZipDecoding(), new ByteArrayInputStream(truncated));
+      fail("expected " + EOFException.class);
+    } catch (EOFException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    GZipDecoding decoding = new GZipDecoding();
+    TestableByteArrayInputStream in = new TestableByteArrayInputStream(gzip(newData(100)));
+    InputStream decoded = decoding.decode(in);
+    decoded.close();
+    assertTrue(in.isClosed());
+    // closing twice must not return the inflater to the pool twice
+    decoded.close();
+    Inflater inflater = decoding.getInflaterPool().acquire();
+    assertTrue(decoding.getInflaterPool().acquire() != inflater);
+    try {
+      decoded.read();
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testReuseInflater() throws IOException {
+    GZipDecoding decoding = new GZipDecoding();
+    byte[] data = newData(1000);
+    decode(decoding, new ByteArrayInputStream(gzip(data)));
+    Inflater inflater = decoding.getInflaterPool().acquire();
+    decoding.getInflaterPool().release(inflater);
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(data, decode(decoding, new ByteArrayInputStream(gzip(data))));
+      assertSame(inflater, decoding.getInflaterPool().acquire());
+      decoding.getInflaterPool().release(inflater);
+    }
+  }
+
+  @Test
+  public void testGetContent() throws IOException {
+    final byte[] data = newData(1000);
+    HttpTransport transport =
+        new MockHttpTransport.Builder()
+            .setLowLevelHttpResponse(
+                new MockLowLevelHttpResponse().setContentEncoding("gzip").setContent(gzip(data)))
+            .build();
+    HttpResponse response =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL).execute();
+    assertArrayEquals(data, ByteStreams.toByteArray(response.getContent()));
+    response.disconnect();
+  }
+
+  private static byte[] decode(GZipDecoding decoding, InputStream in) throws IOException {
+    InputStream decoded = decoding.decode(in);
+    try {
+      return ByteStreams.toByteArray(decoded);
+    } finally {
+      decoded.close();
+    }
+  }
+
+  private static byte[] newData(int length) {
+    // compressible but not trivially so
+    byte[] data = new byte[length];
+    Random random = new Random(length);
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) ('a' + random.nextInt(4));
+    }
+    return data;
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    GZIPOutputStream gzip = new GZIPOutputStream(out);
+    gzip.write(data);
+    gzip.close();
+    return out.toByteArray();
+  }
+
+  private static byte[] concat(byte[]... arrays) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] array : arrays) {
+      out.write(array);
+    }
+    return out.toByteArray();
+  }
+}
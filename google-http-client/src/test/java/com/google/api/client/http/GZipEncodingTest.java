@@ -15,11 +15,18 @@
 package com.google.api.client.http;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.google.api.client.testing.util.TestableByteArrayOutputStream;
 import com.google.api.client.util.ByteArrayStreamingContent;
 import com.google.api.client.util.StringUtils;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -63,4 +70,59 @@ public class GZipEncodingTest {
     assertFalse(out.isClosed());
     Assert.assertArrayEquals(expected, out.getBuffer());
   }
+
+  @Test
+  public void testReuseDeflater() throws IOException {
+    GZipEncoding encoding = new GZipEncoding();
+    byte[] data = StringUtils.getBytesUtf8("oooooooooooooooooooooooooooo");
+    for (int i = 0; i < 3; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      encoding.encode(new ByteArrayStreamingContent(data), out);
+      Assert.assertArrayEquals(data, gunzip(out.toByteArray()));
+    }
+  }
+
+  @Test
+  public void testLevelAndStrategy() throws IOException {
+    byte[] data = new byte[100000];
+    Arrays.fill(data, (byte) 'a');
+    for (int level = Deflater.NO_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+      GZipEncoding encoding =
+          new GZipEncoding()
+              .setLevel(level)
+              .setStrategy(Deflater.FILTERED)
+              .setMaxPooledDeflaters(0);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      encoding.encode(new ByteArrayStreamingContent(data), out);
+      Assert.assertArrayEquals(data, gunzip(out.toByteArray()));
+      if (level == Deflater.NO_COMPRESSION) {
+        assertTrue(out.size() > data.length);
+      } else {
+        assertTrue(out.size() < data.length / 100);
+      }
+    }
+  }
+
+  @Test
+  public void testIsEncodingRequired() throws IOException {
+    GZipEncoding encoding = new GZipEncoding();
+    ByteArrayContent small = new ByteArrayContent("text/plain", new byte[10]);
+    ByteArrayContent image = new ByteArrayContent("IMAGE/png; foo=bar", new byte[1000]);
+    ByteArrayContent video = new ByteArrayContent("video/mp4", new byte[1000]);
+    assertTrue(encoding.isEncodingRequired(small));
+    assertTrue(encoding.isEncodingRequired(image));
+
+    encoding
+        .setMinimumContentLength(100)
+        .setIncompressibleMediaTypes(Arrays.asList("image/png", "Video/*"));
+    assertFalse(encoding.isEncodingRequired(small));
+    assertFalse(encoding.isEncodingRequired(image));
+    assertFalse(encoding.isEncodingRequired(video));
+    assertTrue(encoding.isEncodingRequired(new ByteArrayContent("text/plain", new byte[100])));
+    assertTrue(encoding.isEncodingRequired(new ByteArrayContent(null, new byte[100])));
+  }
+
+  static byte[] gunzip(byte[] data) throws IOException {
+    return ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(data)));
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link HttpDecodingRegistry}. */
+@RunWith(JUnit4.class)
+public class HttpDecodingRegistryTest {
+
+  /** Decoding that upper-cases ASCII letters, for testing. */
+  static class UpperCaseDecoding implements HttpDecoding {
+
+    @Override
+    public String getName() {
+      return "upper";
+    }
+
+    @Override
+    public InputStream decode(InputStream content) {
+      return new FilterInputStream(content) {
+        @Override
+        public int read() throws IOException {
+          return Character.toUpperCase(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          int read = super.read(b, off, len);
+          for (int i = off; i < off + read; i++) {
+            b[i] = (byte) Character.toUpperCase(b[i]);
+          }
+          return read;
+        }
+      };
+    }
+  }
+
+  @Test
+  public void testDefault() {
+    HttpDecodingRegistry registry = HttpDecodingRegistry.getDefault();
+    assertEquals("gzip", registry.getAcceptEncoding());
+    assertTrue(registry.getDecoding("gzip") instanceof GZipDecoding);
+    assertSame(registry.getDecoding("gzip"), registry.getDecoding(" X-GZIP "));
+    assertNull(registry.getDecoding("br"));
+    assertNull(registry.getDecoding(null));
+  }
+
+  @Test
+  public void testBuilder() {
+    HttpDecoding upper = new UpperCaseDecoding();
+    HttpDecodingRegistry registry =
+        new HttpDecodingRegistry.Builder()
+            .add(upper, "x-upper")
+            .add(new GZipDecoding(), "x-gzip")
+            .build();
+    assertEquals("upper, gzip", registry.getAcceptEncoding());
+    assertSame(upper, registry.getDecoding("UPPER"));
+    assertSame(upper, registry.getDecoding("x-upper"));
+    assertNull(new HttpDecodingRegistry.Builder().build().getAcceptEncoding());
+  }
+
+  @Test
+  public void testBuilder_duplicate() {
+    try {
+      new HttpDecodingRegistry.Builder().add(new GZipDecoding()).add(new GZipDecoding());
+      fail("expected " + IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testExecute_customDecoding() throws IOException {
+    MockLowLevelHttpResponse lowLevelResponse =
+        new MockLowLevelHttpResponse().setContent("abc").setContentEncoding("Upper");
+    MockLowLevelHttpRequest lowLevelRequest =
+        new MockLowLevelHttpRequest().setResponse(lowLevelResponse);
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setDecodingRegistry(
+        new HttpDecodingRegistry.Builder().add(new UpperCaseDecoding()).build());
+    // negotiated when executed, even if the headers are replaced afterwards
+    request.setHeaders(new HttpHeaders());
+    assertEquals("ABC", request.execute().parseAsString());
+    assertEquals("upper", lowLevelRequest.getFirstHeaderValue("Accept-Encoding"));
+    assertEquals("gzip", request.getHeaders().getAcceptEncoding());
+  }
+
+  @Test
+  public void testExecute_explicitAcceptEncoding() throws IOException {
+    MockLowLevelHttpRequest lowLevelRequest = new MockLowLevelHttpRequest();
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setDecodingRegistry(
+        new HttpDecodingRegistry.Builder().add(new UpperCaseDecoding()).build());
+    request.getHeaders().setAcceptEncoding("identity");
+    request.execute();
+    assertEquals("identity", lowLevelRequest.getFirstHeaderValue("Accept-Encoding"));
+  }
+
+  @Test
+  public void testExecute_unregisteredDecoding() throws IOException {
+    MockLowLevelHttpResponse lowLevelResponse =
+        new MockLowLevelHttpResponse().setContent("abc").setContentEncoding("upper");
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpResponse(lowLevelResponse).build();
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    assertEquals("abc", request.execute().parseAsString());
+  }
+}
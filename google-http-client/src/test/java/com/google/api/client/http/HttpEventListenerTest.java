@@ -0,0 +1,517 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.testing.util.MockBackOff;
+import com.google.api.client.testing.util.MockSleeper;
+import com.google.api.client.util.GenericData;
+import com.google.api.client.util.NanoClock;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link HttpEventListener}. */
+@RunWith(JUnit4.class)
+public class HttpEventListenerTest {
+
+  /** Nano clock that advances by one on each call. */
+  static final class TickingNanoClock implements NanoClock {
+
+    long time;
+
+    public long nanoTime() {
+      return ++time;
+    }
+  }
+
+  /** Listener that records the events it receives. */
+  static final class RecordingListener extends HttpEventListener {
+
+    final List<String> events = new ArrayList<String>();
+
+    /** Time of the last event. */
+    long lastTime;
+
+    RecordingListener() {
+      super(new TickingNanoClock());
+    }
+
+    private void record(String event, long nanoTime) {
+      assertTrue(nanoTime > lastTime);
+      lastTime = nanoTime;
+      events.add(event);
+    }
+
+    @Override
+    public void executeStart(long nanoTime) {
+      record("executeStart", nanoTime);
+    }
+
+    @Override
+    public void attemptStart(int attempt, long nanoTime) {
+      record("attemptStart " + attempt, nanoTime);
+    }
+
+    @Override
+    public void interceptStart(long nanoTime) {
+      record("interceptStart", nanoTime);
+    }
+
+    @Override
+    public void interceptEnd(long nanoTime) {
+      record("interceptEnd", nanoTime);
+    }
+
+    @Override
+    public void requestHeadersStart(long nanoTime) {
+      record("requestHeadersStart", nanoTime);
+    }
+
+    @Override
+    public void requestHeadersEnd(long nanoTime) {
+      record("requestHeadersEnd", nanoTime);
+    }
+
+    @Override
+    public void connectStart(long nanoTime) {
+      record("connectStart", nanoTime);
+    }
+
+    @Override
+    public void connectEnd(long nanoTime) {
+      record("connectEnd", nanoTime);
+    }
+
+    @Override
+    public void requestBodyStart(long nanoTime) {
+      record("requestBodyStart", nanoTime);
+    }
+
+    @Override
+    public void requestBodyEnd(long byteCount, long nanoTime) {
+      record("requestBodyEnd " + byteCount, nanoTime);
+    }
+
+    @Override
+    public void responseHeadersEnd(int statusCode, long nanoTime) {
+      record("responseHeadersEnd " + statusCode, nanoTime);
+    }
+
+    @Override
+    public void attemptFailed(int attempt, IOException exception, long nanoTime) {
+      record("attemptFailed " + attempt, nanoTime);
+    }
+
+    @Override
+    public void retryDecision(int attempt, boolean retry, long nanoTime) {
+      record("retryDecision " + attempt + " " + retry, nanoTime);
+    }
+
+    @Override
+    public void executeEnd(int statusCode, long nanoTime) {
+      record("executeEnd " + statusCode, nanoTime);
+    }
+
+    @Override
+    public void executeFailed(Exception exception, long nanoTime) {
+      record("executeFailed " + exception.getClass().getSimpleName(), nanoTime);
+    }
+
+    @Override
+    public void responseBodyStart(long nanoTime) {
+      record("responseBodyStart", nanoTime);
+    }
+
+    @Override
+    public void responseBodyEnd(long byteCount, long nanoTime) {
+      record("responseBodyEnd " + byteCount, nanoTime);
+    }
+
+    @Override
+    public void parseStart(long nanoTime) {
+      record("parseStart", nanoTime);
+    }
+
+    @Override
+    public void parseEnd(long nanoTime) {
+      record("parseEnd", nanoTime);
+    }
+
+    @Override
+    public void backOff(long backOffMillis, long nanoTime) {
+      record("backOff " + backOffMillis, nanoTime);
+    }
+  }
+
+  /** Factory that records the listeners it creates. */
+  static final class RecordingFactory implements HttpEventListener.Factory {
+
+    final List<RecordingListener> listeners = new ArrayList<RecordingListener>();
+
+    public HttpEventListener newEventListener(HttpRequest request) {
+      RecordingListener listener = new RecordingListener();
+      listeners.add(listener);
+      return listener;
+    }
+  }
+
+  /** Transport that writes the request content and fails or responds with the given codes. */
+  static final class ScriptedTransport extends MockHttpTransport {
+
+    /** Status codes to respond with in order, where {@code 0} throws an I/O exception. */
+    final int[] statusCodes;
+
+    int calls;
+
+    ScriptedTransport(int... statusCodes) {
+      this.statusCodes = statusCodes;
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+          getEventListener().connectStart(getEventListener().nanoTime());
+          getEventListener().connectEnd(getEventListener().nanoTime());
+          if (getStreamingContent() != null) {
+            getStreamingContent().writeTo(new ByteArrayOutputStream());
+          }
+          int statusCode = statusCodes[calls++];
+          if (statusCode == 0) {
+            throw new IOException();
+          }
+          return new MockLowLevelHttpResponse().setStatusCode(statusCode).setContent("a=b");
+        }
+      };
+    }
+  }
+
+  @Test
+  public void testEvents() throws IOException {
+    RecordingFactory factory = new RecordingFactory();
+    HttpRequest request =
+        new ScriptedTransport(200)
+            .createRequestFactory()
+            .setEventListenerFactory(factory)
+            .buildPostRequest(
+                HttpTesting.SIMPLE_GENERIC_URL,
+                new ByteArrayContent("text/plain", new byte[] {1, 2, 3, 4}));
+    request.setInterceptor(
+        new HttpExecuteInterceptor() {
+          public void intercept(HttpRequest request) {}
+        });
+    request.setParser(new UrlEncodedParser());
+    HttpResponse response = request.execute();
+    assertEquals(Arrays.asList("b"), response.parseAs(GenericData.class).get("a"));
+    assertEquals(1, factory.listeners.size());
+    assertEquals(
+        Arrays.asList(
+            "executeStart",
+            "attemptStart 0",
+            "interceptStart",
+            "interceptEnd",
+            "requestHeadersStart",
+            "requestHeadersEnd",
+            "connectStart",
+            "connectEnd",
+            "requestBodyStart",
+            "requestBodyEnd 4",
+            "responseHeadersEnd 200",
+            "retryDecision 0 false",
+            "executeEnd 200",
+            "responseBodyStart",
+            "parseStart",
+            "responseBodyEnd 3",
+            "parseEnd"),
+        factory.listeners.get(0).events);
+  }
+
+  @Test
+  public void testEvents_retries() throws IOException {
+    RecordingFactory factory = new RecordingFactory();
+    HttpRequest request =
+        new ScriptedTransport(0, 503, 200)
+            .createRequestFactory()
+            .setEventListenerFactory(factory)
+            .buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setIOExceptionHandler(
+        new HttpIOExceptionHandler() {
+          public boolean handleIOException(HttpRequest request, boolean supportsRetry) {
+            return supportsRetry;
+          }
+        });
+    request.setUnsuccessfulResponseHandler(
+        new HttpUnsuccessfulResponseHandler() {
+          public boolean handleResponse(
+              HttpRequest request, HttpResponse response, boolean supportsRetry) {
+            return supportsRetry;
+          }
+        });
+    InputStream content = request.execute().getContent();
+    content.close();
+    assertEquals(
+        Arrays.asList(
+            "executeStart",
+            "attemptStart 0",
+            "requestHeadersStart",
+            "requestHeadersEnd",
+            "connectStart",
+            "connectEnd",
+            "attemptFailed 0",
+            "retryDecision 0 true",
+            "attemptStart 1",
+            "requestHeadersStart",
+            "requestHeadersEnd",
+            "connectStart",
+            "connectEnd",
+            "responseHeadersEnd 503",
+            "responseBodyStart",
+            "responseBodyEnd 0",
+            "retryDecision 1 true",
+            "attemptStart 2",
+            "requestHeadersStart",
+            "requestHeadersEnd",
+            "connectStart",
+            "connectEnd",
+            "responseHeadersEnd 200",
+            "retryDecision 2 false",
+            "executeEnd 200",
+            "responseBodyStart",
+            "responseBodyEnd 0"),
+        factory.listeners.get(0).events);
+  }
+
+  @Test
+  public void testEvents_backOff() throws IOException {
+    RecordingFactory factory = new RecordingFactory();
+    HttpRequest request =
+        new ScriptedTransport(0, 503, 200)
+            .createRequestFactory()
+            .setEventListenerFactory(factory)
+            .buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    request.setIOExceptionHandler(
+        new HttpBackOffIOExceptionHandler(new MockBackOff().setBackOffMillis(10))
+            .setSleeper(new MockSleeper()));
+    request.setUnsuccessfulResponseHandler(
+        new HttpBackOffUnsuccessfulResponseHandler(new MockBackOff().setBackOffMillis(20))
+            .setSleeper(new MockSleeper()));
+    request.execute().ignore();
+    List<String> events = factory.listeners.get(0).events;
+    assertEquals(
+        Arrays.asList("attemptFailed 0", "backOff 10", "retryDecision 0 true"),
+        events.subList(events.indexOf("attemptFailed 0"), events.indexOf("attemptStart 1")));
+    assertEquals(
+        Arrays.asList(
+            "responseHeadersEnd 503",
+            "backOff 20",
+            "responseBodyStart",
+            "responseBodyEnd 0",
+            "retryDecision 1 true"),
+        events.subList(events.indexOf("responseHeadersEnd 503"), events.indexOf("attemptStart 2")));
+  }
+
+  @Test
+  public void testEvents_failures() throws IOException {
+    RecordingFactory factory = new RecordingFactory();
+    HttpRequestFactory requestFactory =
+        new ScriptedTransport(0, 404).createRequestFactory().setEventListenerFactory(factory);
+    try {
+      requestFactory.buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL).execute();
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+    try {
+      requestFactory.buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL).execute();
+      fail("expected " + HttpResponseException.class);
+    } catch (HttpResponseException e) {
+      // expected
+    }
+    assertEquals(2, factory.listeners.size());
+    List<String> events0 = factory.listeners.get(0).events;
+    assertEquals("executeFailed IOException", events0.get(events0.size() - 1));
+    List<String> events1 = factory.listeners.get(1).events;
+    assertTrue(events1.contains("executeEnd 404"));
+  }
+
+  @Test
+  public void testRegistration() throws IOException {
+    RecordingFactory transportFactory = new RecordingFactory();
+    RecordingFactory requestFactoryFactory = new RecordingFactory();
+    MockHttpTransport transport = new MockHttpTransport();
+    assertNull(transport.createRequestFactory().buildGetRequest(null).getEventListenerFactory());
+
+    transport.setEventListenerFactory(transportFactory);
+    HttpRequestFactory requestFactory = transport.createRequestFactory();
+    assertSame(transportFactory, requestFactory.buildGetRequest(null).getEventListenerFactory());
+
+    requestFactory.setEventListenerFactory(requestFactoryFactory);
+    HttpRequest request = requestFactory.buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    assertSame(requestFactoryFactory, request.getEventListenerFactory());
+    request.execute();
+    assertEquals(0, transportFactory.listeners.size());
+    assertEquals(1, requestFactoryFactory.listeners.size());
+
+    // null listener disables events for this execution
+    request.setEventListenerFactory(
+        new HttpEventListener.Factory() {
+          public HttpEventListener newEventListener(HttpRequest request) {
+            return null;
+          }
+        });
+    request.execute();
+  }
+
+  @Test
+  public void testCompose() throws IOException {
+    RecordingFactory factory1 = new RecordingFactory();
+    RecordingFactory factory2 = new RecordingFactory();
+    assertSame(factory1, HttpEventListener.compose(null, factory1, null));
+    HttpRequest request =
+        new ScriptedTransport(200)
+            .createRequestFactory()
+            .setEventListenerFactory(HttpEventListener.compose(factory1, null, factory2))
+            .buildPostRequest(
+                HttpTesting.SIMPLE_GENERIC_URL,
+                new ByteArrayContent("text/plain", new byte[] {1, 2, 3, 4}));
+    request.execute().parseAsString();
+    assertEquals(1, factory1.listeners.size());
+    assertEquals(1, factory2.listeners.size());
+    List<String> events = factory1.listeners.get(0).events;
+    assertEquals(
+        Arrays.asList(
+            "executeStart",
+            "attemptStart 0",
+            "requestHeadersStart",
+            "requestHeadersEnd",
+            "connectStart",
+            "connectEnd",
+            "requestBodyStart",
+            "requestBodyEnd 4",
+            "responseHeadersEnd 200",
+            "retryDecision 0 false",
+            "executeEnd 200",
+            "responseBodyStart",
+            "responseBodyEnd 3"),
+        events);
+    assertEquals(events, factory2.listeners.get(0).events);
+  }
+
+  @Test
+  public void testCompose_nullListeners() throws IOException {
+    final RecordingListener listener = new RecordingListener();
+    HttpEventListener.Factory nullFactory =
+        new HttpEventListener.Factory() {
+          public HttpEventListener newEventListener(HttpRequest request) {
+            return null;
+          }
+        };
+    HttpEventListener.Factory listenerFactory =
+        new HttpEventListener.Factory() {
+          public HttpEventListener newEventListener(HttpRequest request) {
+            return listener;
+          }
+        };
+    assertNull(HttpEventListener.compose(nullFactory, nullFactory).newEventListener(null));
+    assertSame(
+        listener,
+        HttpEventListener.compose(nullFactory, listenerFactory, nullFactory)
+            .newEventListener(null));
+  }
+
+  /** Listener that records the body previews it receives. */
+  static final class PreviewListener extends HttpEventListener {
+
+    final int limit;
+
+    final ByteArrayOutputStream requestPreview = new ByteArrayOutputStream();
+
+    final ByteArrayOutputStream responsePreview = new ByteArrayOutputStream();
+
+    PreviewListener(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public int getBodyPreviewLimit() {
+      return limit;
+    }
+
+    @Override
+    public void requestBodyPreview(byte[] buffer, int offset, int length) {
+      requestPreview.write(buffer, offset, length);
+    }
+
+    @Override
+    public void responseBodyPreview(byte[] buffer, int offset, int length) {
+      responsePreview.write(buffer, offset, length);
+    }
+  }
+
+  @Test
+  public void testCompose_bodyPreview() throws IOException {
+    final PreviewListener none = new PreviewListener(0);
+    final PreviewListener small = new PreviewListener(2);
+    final PreviewListener large = new PreviewListener(100);
+    HttpEventListener.Factory composite =
+        HttpEventListener.compose(
+            new HttpEventListener.Factory() {
+              public HttpEventListener newEventListener(HttpRequest request) {
+                return none;
+              }
+            },
+            new HttpEventListener.Factory() {
+              public HttpEventListener newEventListener(HttpRequest request) {
+                return small;
+              }
+            },
+            new HttpEventListener.Factory() {
+              public HttpEventListener newEventListener(HttpRequest request) {
+                return large;
+              }
+            });
+    HttpRequest request =
+        new ScriptedTransport(200)
+            .createRequestFactory()
+            .setEventListenerFactory(composite)
+            .buildPostRequest(
+                HttpTesting.SIMPLE_GENERIC_URL,
+                new ByteArrayContent("text/plain", new byte[] {1, 2, 3, 4}));
+    assertEquals("a=b", request.execute().parseAsString());
+    assertEquals(0, none.requestPreview.size());
+    assertEquals(0, none.responsePreview.size());
+    assertTrue(Arrays.equals(new byte[] {1, 2}, small.requestPreview.toByteArray()));
+    assertEquals("a=", small.responsePreview.toString("UTF-8"));
+    assertTrue(Arrays.equals(new byte[] {1, 2, 3, 4}, large.requestPreview.toByteArray()));
+    assertEquals("a=b", large.responsePreview.toString("UTF-8"));
+  }
+}
@@ -40,6 +40,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -1061,6 +1062,47 @@ public class HttpRequestTest {
     request.execute();
   }
 
+  @Test
+  public void testGZipEncoding_minimumContentLengthAndStatistics() throws Exception {
+    final List<String> contentEncodings = new ArrayList<String>();
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) throws IOException {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                contentEncodings.add(getContentEncoding());
+                getContentAsString();
+                return super.execute();
+              }
+            };
+          }
+        };
+    GZipEncoding encoding = new GZipEncoding().setMinimumContentLength(100);
+    byte[] content = new byte[300];
+    Arrays.fill(content, (byte) ' ');
+    HttpRequest request =
+        transport
+            .createRequestFactory()
+            .buildPostRequest(
+                HttpTesting.SIMPLE_GENERIC_URL,
+                new ByteArrayContent("text/plain", Arrays.copyOf(content, 10)))
+            .setEncoding(encoding);
+    assertNull(request.getEncodingStatistics());
+    request.execute();
+    assertNull(request.getEncodingStatistics());
+
+    request.setContent(new ByteArrayContent("text/plain", content));
+    request.execute();
+    HttpEncodingStatistics statistics = request.getEncodingStatistics();
+    assertEquals(300, statistics.getUnencodedLength());
+    assertTrue(statistics.getEncodedLength() < 300);
+    assertTrue(statistics.getCompressionRatio() > 1);
+    assertTrue(statistics.getEncodingNanos() >= 0);
+    assertEquals(Arrays.asList(null, "gzip"), contentEncodings);
+  }
+
   @Test
   public void testContentLoggingLimitWithLoggingEnabledAndDisabled() throws Exception {
 
@@ -16,6 +16,7 @@ package com.google.api.client.http;
 import static com.google.api.client.http.OpenCensusUtils.SPAN_NAME_HTTP_REQUEST_EXECUTE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -148,6 +149,26 @@ public class HttpRequestTracingTest {
     assertEquals(Status.UNKNOWN, span.getStatus());
   }
 
+  @Test
+  public void executeWithTracingDisabledCreatesNoSpan() throws IOException {
+    MockLowLevelHttpRequest lowLevelRequest = new MockLowLevelHttpRequest();
+    HttpTransport transport =
+        new MockHttpTransport.Builder().setLowLevelHttpRequest(lowLevelRequest).build();
+    HttpRequest request =
+        new HttpRequestFactory(transport, null)
+            .buildGetRequest(new GenericUrl("https://google.com/"));
+
+    OpenCensusUtils.setIsTracingEnabled(false);
+    try {
+      assertEquals(200, request.execute().getStatusCode());
+    } finally {
+      OpenCensusUtils.setIsTracingEnabled(true);
+    }
+
+    // No tracing context is propagated
+    assertNull(lowLevelRequest.getFirstHeaderValue("X-Cloud-Trace-Context"));
+  }
+
   void assertAttributeEquals(SpanData span, String attributeName, String expectedValue) {
     Object attributeValue = span.getAttributes().getAttributeMap().get(attributeName);
     assertNotNull("expected span to contain attribute: " + attributeName, attributeValue);
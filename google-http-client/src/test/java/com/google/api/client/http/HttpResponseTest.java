@@ -782,6 +782,47 @@ public class HttpResponseTest {
     assertEquals(exception.getContent(), ERROR_SAMPLE);
   }
 
+  @Test
+  public void testGetContent_successNotBuffered() throws IOException {
+    HttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) throws IOException {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                byte[] dataToCompress = SAMPLE2.getBytes(StandardCharsets.UTF_8);
+                ByteArrayOutputStream content = new ByteArrayOutputStream(dataToCompress.length);
+                try (GZIPOutputStream zipStream = new GZIPOutputStream((content))) {
+                  zipStream.write(dataToCompress);
+                }
+
+                MockLowLevelHttpResponse result = new MockLowLevelHttpResponse();
+                result.setContentType(VALID_CONTENT_TYPE);
+                result.setContentEncoding("gzip");
+                result.setContent(content.toByteArray());
+                return result;
+              }
+            };
+          }
+        };
+    HttpRequest request =
+        transport.createRequestFactory().buildGetRequest(HttpTesting.SIMPLE_GENERIC_URL);
+    HttpResponse response = request.execute();
+    InputStream content = response.getContent();
+    assertFalse(content instanceof BufferedInputStream);
+    assertEquals(SAMPLE2, response.parseAsString());
+  }
+
+  @Test
+  public void testGetMarkBufferSize() {
+    assertEquals(8192, HttpResponse.getMarkBufferSize(-1));
+    assertEquals(1, HttpResponse.getMarkBufferSize(0));
+    assertEquals(42, HttpResponse.getMarkBufferSize(42));
+    assertEquals(8192, HttpResponse.getMarkBufferSize(8192));
+    assertEquals(8192, HttpResponse.getMarkBufferSize(Long.MAX_VALUE));
+  }
+
   static class RollbackInputStream extends FilterInputStream {
     private boolean closed;
 
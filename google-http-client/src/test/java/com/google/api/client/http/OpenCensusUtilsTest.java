@@ -15,7 +15,10 @@
 package com.google.api.client.http;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import io.opencensus.trace.Annotation;
@@ -181,6 +184,36 @@ public class OpenCensusUtilsTest {
     OpenCensusUtils.propagateTracingContext(BlankSpan.INSTANCE, headers);
   }
 
+  @Test
+  public void testIsRecording() {
+    assertFalse(OpenCensusUtils.isRecording(null));
+    assertFalse(OpenCensusUtils.isRecording(BlankSpan.INSTANCE));
+    assertFalse(OpenCensusUtils.isRecording(mockSpan));
+    Span span = tracer.spanBuilder("test").setRecordEvents(true).startSpan();
+    try {
+      assertTrue(OpenCensusUtils.isRecording(span));
+    } finally {
+      span.end();
+    }
+  }
+
+  @Test
+  public void testIsTracingEnabled() {
+    assertTrue(OpenCensusUtils.isTracingEnabled());
+    OpenCensusUtils.setIsTracingEnabled(false);
+    try {
+      assertFalse(OpenCensusUtils.isTracingEnabled());
+    } finally {
+      OpenCensusUtils.setIsTracingEnabled(true);
+    }
+  }
+
+  @Test
+  public void testGetEndSpanOptionsShared() {
+    assertSame(OpenCensusUtils.getEndSpanOptions(200), OpenCensusUtils.getEndSpanOptions(204));
+    assertSame(OpenCensusUtils.getEndSpanOptions(null), OpenCensusUtils.getEndSpanOptions(null));
+  }
+
   @Test
   public void testGetEndSpanOptionsNoResponse() {
     EndSpanOptions expected = EndSpanOptions.builder().setStatus(Status.UNKNOWN).build();
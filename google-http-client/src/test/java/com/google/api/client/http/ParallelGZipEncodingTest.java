@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.util.ByteArrayStreamingContent;
+import com.google.api.client.util.StreamingContent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ParallelGZipEncoding}. */
+@RunWith(JUnit4.class)
+public class ParallelGZipEncodingTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** Returns compressible pseudo-random text. */
+  private static byte[] newContent(int length) {
+    Random random = new Random(length);
+    String[] words = {"alpha ", "beta ", "gamma ", "delta ", "epsilon ", "{\"id\":", "}\n"};
+    byte[] result = new byte[length];
+    int i = 0;
+    while (i < length) {
+      byte[] word = words[random.nextInt(words.length)].getBytes();
+      int n = Math.min(word.length, length - i);
+      System.arraycopy(word, 0, result, i, n);
+      i += n;
+    }
+    return result;
+  }
+
+  private byte[] encode(ParallelGZipEncoding encoding, byte[] data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    encoding.encode(new ByteArrayStreamingContent(data), out);
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testEncode() throws IOException {
+    ParallelGZipEncoding encoding = new ParallelGZipEncoding(executor).setBlockSize(32 * 1024);
+    int[] lengths = {0, 1, 1000, 32 * 1024, 32 * 1024 + 1, 100000, 1000000};
+    for (int length : lengths) {
+      byte[] data = newContent(length);
+      byte[] encoded = encode(encoding, data);
+      assertArrayEquals("length " + length, data, GZipEncodingTest.gunzip(encoded));
+    }
+  }
+
+  @Test
+  public void testEncode_compressionRatioCloseToSequential() throws IOException {
+    byte[] data = newContent(1000000);
+    byte[] parallel = encode(new ParallelGZipEncoding(executor).setBlockSize(64 * 1024), data);
+    ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+    new GZipEncoding().encode(new ByteArrayStreamingContent(data), sequential);
+    assertTrue(parallel.length < sequential.size() * 1.02);
+  }
+
+  @Test
+  public void testEncode_singleBlockInFlight() throws IOException {
+    ParallelGZipEncoding encoding =
+        new ParallelGZipEncoding(executor).setBlockSize(32 * 1024).setMaxBlocksInFlight(1);
+    byte[] data = newContent(500000);
+    // write one byte at a time
+    final byte[] content = data;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    encoding.encode(
+        new StreamingContent() {
+          public void writeTo(OutputStream out) throws IOException {
+            for (byte b : content) {
+              out.write(b);
+            }
+          }
+        },
+        out);
+    assertArrayEquals(data, GZipEncodingTest.gunzip(out.toByteArray()));
+  }
+
+  @Test
+  public void testEncode_contentException() throws IOException {
+    ParallelGZipEncoding encoding = new ParallelGZipEncoding(executor).setBlockSize(32 * 1024);
+    final byte[] data = newContent(200000);
+    try {
+      encoding.encode(
+          new StreamingContent() {
+            public void writeTo(OutputStream out) throws IOException {
+              out.write(data);
+              throw new IOException("expected");
+            }
+          },
+          new ByteArrayOutputStream());
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      assertEquals("expected", e.getMessage());
+    }
+    // the encoding is still usable
+    assertArrayEquals(data, GZipEncodingTest.gunzip(encode(encoding, data)));
+  }
+
+  @Test
+  public void testCrc32Combine() {
+    byte[] data = newContent(100000);
+    for (int split : new int[] {0, 1, 4096, 99999, 100000}) {
+      CRC32 crc1 = new CRC32();
+      crc1.update(data, 0, split);
+      CRC32 crc2 = new CRC32();
+      crc2.update(data, split, data.length - split);
+      CRC32 expected = new CRC32();
+      expected.update(data);
+      assertEquals(
+          (int) expected.getValue(),
+          ParallelGZipEncoding.crc32Combine(
+              (int) crc1.getValue(), (int) crc2.getValue(), data.length - split));
+    }
+  }
+
+  @Test
+  public void testSetBlockSize_tooSmall() {
+    try {
+      new ParallelGZipEncoding(executor).setBlockSize(1024);
+      fail("expected " + IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertEquals(
+        ParallelGZipEncoding.DEFAULT_BLOCK_SIZE, new ParallelGZipEncoding(executor).getBlockSize());
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ResponseLeakDetector}. */
+@RunWith(JUnit4.class)
+public class ResponseLeakDetectorTest {
+
+  private final AtomicInteger disconnectCount = new AtomicInteger();
+
+  private final List<LogRecord> records = new ArrayList<LogRecord>();
+
+  private final Handler handler =
+      new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+          records.add(record);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+      };
+
+  private ResponseLeakDetector detector;
+
+  private HttpRequestFactory requestFactory;
+
+  @Before
+  public void setUp() {
+    ResponseLeakDetector.LOGGER.addHandler(handler);
+    detector = new ResponseLeakDetector().setSamplingRate(1);
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest(url)
+                .setResponse(
+                    new MockLowLevelHttpResponse() {
+                      @Override
+                      public void disconnect() throws IOException {
+                        disconnectCount.incrementAndGet();
+                        super.disconnect();
+                      }
+                    }.setContent("content"));
+          }
+        };
+    transport.setResponseLeakDetector(detector);
+    requestFactory = transport.createRequestFactory();
+  }
+
+  @After
+  public void tearDown() {
+    ResponseLeakDetector.LOGGER.removeHandler(handler);
+  }
+
+  private HttpResponse execute() throws IOException {
+    return requestFactory
+        .buildGetRequest(new GenericUrl("https://www.googleapis.com/storage/v1/b?key=secret"))
+        .execute();
+  }
+
+  /** Executes a request whose response content is left open, without keeping the response. */
+  private void leakResponse() throws IOException {
+    assertEquals('c', execute().getContent().read());
+  }
+
+  /** Runs the garbage collector until the given number of leaks are detected or a timeout. */
+  private int awaitLeaks(int expected) throws InterruptedException {
+    int count = 0;
+    for (int i = 0; i < 100 && count < expected; i++) {
+      System.gc();
+      Thread.sleep(10);
+      count += detector.detectLeaks();
+    }
+    return count;
+  }
+
+  @Test
+  public void testLeak() throws Exception {
+    leakResponse();
+    assertEquals(1, awaitLeaks(1));
+    assertEquals(1, detector.getLeakCount());
+    assertEquals(1, disconnectCount.get());
+    assertEquals(1, records.size());
+    String message = records.get(0).getMessage();
+    assertTrue(message, message.contains("GET https://www.googleapis.com/storage/v1/b "));
+    Throwable creation = records.get(0).getThrown();
+    assertNotNull(creation);
+    boolean found = false;
+    for (StackTraceElement element : creation.getStackTrace()) {
+      found |= element.getMethodName().equals("leakResponse");
+    }
+    assertTrue(found);
+  }
+
+  @Test
+  public void testLeakWithoutStackTrace() throws Exception {
+    detector.setRecordStackTrace(false);
+    leakResponse();
+    assertEquals(1, awaitLeaks(1));
+    assertEquals(null, records.get(0).getThrown());
+  }
+
+  @Test
+  public void testClosedResponses() throws Exception {
+    execute().disconnect();
+    execute().ignore();
+    execute().parseAsString();
+    InputStream content = execute().getContent();
+    content.close();
+    content = execute().getContent();
+    while (content.read() != -1) {}
+    content = null;
+    assertEquals(0, awaitLeaks(1));
+    assertEquals(0, detector.getLeakCount());
+  }
+
+  @Test
+  public void testNoContent() throws Exception {
+    MockHttpTransport transport =
+        new MockHttpTransport.Builder()
+            .setLowLevelHttpResponse(new MockLowLevelHttpResponse().setStatusCode(204))
+            .build();
+    transport.setResponseLeakDetector(detector);
+    transport.createRequestFactory().buildHeadRequest(HttpTesting.SIMPLE_GENERIC_URL).execute();
+    assertEquals(0, awaitLeaks(1));
+    assertEquals(0, detector.getLeakCount());
+  }
+
+  @Test
+  public void testReachableContent() throws Exception {
+    InputStream content = execute().getContent();
+    assertEquals(0, awaitLeaks(1));
+    assertEquals('c', content.read());
+    content.close();
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    detector.setSamplingRate(0.5);
+    assertEquals(0.5, detector.getSamplingRate(), 0);
+    for (int i = 0; i < 4; i++) {
+      leakResponse();
+    }
+    assertEquals(2, awaitLeaks(2));
+    assertEquals(0, awaitLeaks(1));
+  }
+
+  @Test
+  public void testSamplingDisabled() throws Exception {
+    detector.setSamplingRate(0);
+    assertEquals(0, detector.getSamplingRate(), 0);
+    leakResponse();
+    assertEquals(0, awaitLeaks(1));
+  }
+
+  @Test
+  public void testSetSamplingRateInvalid() {
+    try {
+      detector.setSamplingRate(1.5);
+      fail("expected " + IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
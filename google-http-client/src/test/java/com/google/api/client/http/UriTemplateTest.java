@@ -15,8 +15,10 @@
 package com.google.api.client.http;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import com.google.api.client.util.Key;
 import com.google.api.client.util.Value;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -433,4 +435,76 @@ public class UriTemplateTest {
     assertEquals(
         "#key1,val1%2F,key2,val2%2F,key3,val%20", UriTemplate.expand("{#keys}", variables, false));
   }
+
+  @Test
+  public void testCompile_matchesExpand() {
+    for (String[] test : LIST_TESTS) {
+      SortedMap<String, Object> requestMap = Maps.newTreeMap();
+      requestMap.put("d", getListIterable());
+      requestMap.put("unused", "a b");
+      UriTemplate.Compiled template = UriTemplate.compile(test[0]);
+      assertEquals(test[0], template.getTemplate());
+      for (boolean addUnused : new boolean[] {false, true}) {
+        assertEquals(
+            UriTemplate.expand(test[0], requestMap, addUnused),
+            template.expand(requestMap, addUnused));
+      }
+    }
+  }
+
+  @Test
+  public void testCompile_withBaseUrl() {
+    SortedMap<String, Object> requestMap = Maps.newTreeMap();
+    requestMap.put("abc", "xyz");
+    UriTemplate.Compiled template = UriTemplate.compile("http://test/base/path/", "/foo/{abc}");
+    assertEquals("http://test/foo/xyz", template.expand(requestMap, false));
+  }
+
+  @Test
+  public void testCompile_noExpansions() {
+    String uri = "foo/xyz/bar/123";
+    assertSame(uri, UriTemplate.compile(uri).expand(null, false));
+  }
+
+  @Test
+  public void testCompile_repeatedVariable() {
+    SortedMap<String, Object> requestMap = Maps.newTreeMap();
+    requestMap.put("abc", "xyz");
+    assertEquals("xyz/", UriTemplate.compile("{abc}/{abc}").expand(requestMap, true));
+  }
+
+  public static class Parameters {
+    @Key String bucket;
+
+    @Key("object")
+    String objectName;
+
+    @Key Integer generation;
+  }
+
+  @Test
+  public void testCompile_keyParameters() {
+    Parameters parameters = new Parameters();
+    parameters.bucket = "my bucket";
+    parameters.objectName = "a/b";
+    parameters.generation = 42;
+    UriTemplate.Compiled template = UriTemplate.compile("b/{bucket}/o/{object}{?alt}");
+    assertEquals("b/my%20bucket/o/a%2Fb", template.expand(parameters, false));
+    assertEquals("b/my%20bucket/o/a%2Fb?generation=42", template.expand(parameters, true));
+    parameters.objectName = null;
+    assertEquals("b/my%20bucket/o/", template.expand(parameters, false));
+  }
+
+  @Test
+  public void testCompile_reusableBuilder() {
+    SortedMap<String, Object> requestMap = Maps.newTreeMap();
+    requestMap.put("abc", "xyz");
+    UriTemplate.Compiled template = UriTemplate.compile("foo/{abc}");
+    StringBuilder builder = new StringBuilder("http://host/");
+    assertSame(builder, template.expand(requestMap, false, builder));
+    assertEquals("http://host/foo/xyz", builder.toString());
+    builder.setLength(0);
+    template.expand(requestMap, false, builder);
+    assertEquals("foo/xyz", builder.toString());
+  }
 }
@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpEventListener;
 import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.http.javanet.NetHttpRequest.OutputWriter;
@@ -15,7 +16,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -249,4 +254,37 @@ public class NetHttpRequestTest {
     assertTrue(connection.isSetFixedLengthStreamingModeLongCalled());
     assertFalse(connection.isSetFixedLengthStreamingModeIntCalled());
   }
+
+  @Test
+  public void testConnectEvents() throws Exception {
+    final AtomicInteger connects = new AtomicInteger();
+    MockHttpURLConnection connection =
+        new MockHttpURLConnection(new URL(HttpTesting.SIMPLE_URL)) {
+          @Override
+          public void connect() {
+            connects.incrementAndGet();
+          }
+        };
+    connection.setRequestMethod("POST");
+    NetHttpRequest request = new NetHttpRequest(connection);
+    final List<String> events = new ArrayList<String>();
+    request.setEventListener(
+        new HttpEventListener() {
+          @Override
+          public void connectStart(long nanoTime) {
+            events.add("connectStart");
+          }
+
+          @Override
+          public void connectEnd(long nanoTime) {
+            events.add("connectEnd " + connects.get());
+          }
+        });
+    request.setStreamingContent(
+        new ByteArrayContent("text/plain", "sample".getBytes(StandardCharsets.UTF_8)));
+    request.execute();
+
+    assertEquals(Arrays.asList("connectStart", "connectEnd 1"), events);
+    assertEquals(1, connects.get());
+  }
 }
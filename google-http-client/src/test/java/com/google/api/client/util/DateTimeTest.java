@@ -21,6 +21,7 @@ import static org.junit.Assert.fail;
 
 import com.google.api.client.util.DateTime.SecondsAndNanos;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 import org.junit.Before;
 import org.junit.Test;
@@ -273,6 +274,144 @@ public class DateTimeTest {
     assertEquals(expected, output);
   }
 
+  @Test
+  public void testParseRfc3339_lenient() {
+    // out of range fields are carried over, as with a lenient GregorianCalendar
+    assertEquals(
+        DateTime.parseRfc3339("2021-02-15T01:02:39Z"),
+        DateTime.parseRfc3339("2020-13-45T24:61:99Z"));
+    assertEquals(
+        DateTime.parseRfc3339("2019-11-30T00:00:00Z"),
+        DateTime.parseRfc3339("2020-00-00T00:00:00Z"));
+    // Julian calendar before the Gregorian cutover
+    assertEquals(
+        DateTime.parseRfc3339("1582-10-15T00:00:00Z").getValue() - 24 * 3600 * 1000,
+        DateTime.parseRfc3339("1582-10-04T00:00:00Z").getValue());
+    assertEquals("1582-10-04", DateTime.parseRfc3339("1582-10-04").toStringRfc3339());
+    assertEquals("0001-01-01", DateTime.parseRfc3339("0000-01-01").toStringRfc3339());
+  }
+
+  @Test
+  public void testAppendRfc3339() {
+    StringBuilder sb = new StringBuilder("date: ");
+    DateTime dateTime = new DateTime(false, 1519899072123L, 330);
+    assertEquals(sb, dateTime.appendRfc3339(sb));
+    assertEquals("date: 2018-03-01T15:41:12.123+05:30", sb.toString());
+  }
+
+  @Test
+  public void testParseRfc3339_matchesLegacy() {
+    Random random = new Random(1);
+    String alphabet = "0123456789--::TtZz+.. x\u0663";
+    for (int i = 0; i < 200000; i++) {
+      StringBuilder sb = new StringBuilder();
+      sb.append(randomDigits(random, 4)).append('-').append(randomDigits(random, 2)).append('-');
+      sb.append(randomDigits(random, 2));
+      if (random.nextInt(4) != 0) {
+        sb.append(random.nextBoolean() ? 'T' : 't').append(randomDigits(random, 2)).append(':');
+        sb.append(randomDigits(random, 2)).append(':').append(randomDigits(random, 2));
+        if (random.nextBoolean()) {
+          sb.append('.').append(randomDigits(random, random.nextInt(12)));
+        }
+      }
+      switch (random.nextInt(5)) {
+        case 0:
+          sb.append(random.nextBoolean() ? 'Z' : 'z');
+          break;
+        case 1:
+        case 2:
+          sb.append(random.nextBoolean() ? '+' : '-').append(randomDigits(random, 2));
+          sb.append(':').append(randomDigits(random, 2));
+          break;
+        default:
+      }
+      // mutations
+      for (int j = random.nextInt(3) == 0 ? random.nextInt(3) : 0; j > 0; j--) {
+        int index = random.nextInt(sb.length() + 1);
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        switch (random.nextInt(3)) {
+          case 0:
+            sb.insert(index, c);
+            break;
+          case 1:
+            if (index < sb.length()) {
+              sb.deleteCharAt(index);
+            }
+            break;
+          default:
+            if (index < sb.length()) {
+              sb.setCharAt(index, c);
+            }
+        }
+      }
+      String input = sb.toString();
+      assertEquals(input, parseLegacy(input), parse(input));
+    }
+  }
+
+  @Test
+  public void testToStringRfc3339_matchesLegacy() {
+    Random random = new Random(1);
+    long gregorianCutover = -12219292800000L;
+    for (int i = 0; i < 200000; i++) {
+      long value;
+      switch (random.nextInt(4)) {
+        case 0:
+          value = random.nextLong();
+          break;
+        case 1:
+          value = gregorianCutover + (long) ((random.nextDouble() - 0.5) * 2e12);
+          break;
+        case 2:
+          // years 0 to 9999
+          value = -62167219200000L + (long) (random.nextDouble() * 315569520000000L);
+          break;
+        default:
+          value = (long) ((random.nextDouble() - 0.5) * 2e12);
+      }
+      DateTime dateTime = new DateTime(random.nextInt(4) == 0, value, random.nextInt(3000) - 1500);
+      assertEquals(
+          String.valueOf(value),
+          LegacyRfc3339.toStringRfc3339(dateTime),
+          dateTime.toStringRfc3339());
+    }
+  }
+
+  private static String randomDigits(Random random, int count) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      sb.append((char) ('0' + random.nextInt(10)));
+    }
+    return sb.toString();
+  }
+
+  private static String parse(String input) {
+    try {
+      return toString(DateTime.parseRfc3339(input), DateTime.parseRfc3339ToSecondsAndNanos(input));
+    } catch (NumberFormatException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static String toString(DateTime dateTime, SecondsAndNanos secondsAndNanos) {
+    return dateTime.getValue()
+        + " "
+        + dateTime.isDateOnly()
+        + " "
+        + dateTime.getTimeZoneShift()
+        + " "
+        + secondsAndNanos;
+  }
+
+  private static String parseLegacy(String input) {
+    try {
+      return toString(
+          LegacyRfc3339.parseRfc3339(input), LegacyRfc3339.parseRfc3339ToSecondsAndNanos(input));
+    } catch (NumberFormatException e) {
+      return e.getMessage();
+    }
+  }
+
   private static void expectExceptionForParseRfc3339(String input) {
     try {
       DateTime.parseRfc3339(input);
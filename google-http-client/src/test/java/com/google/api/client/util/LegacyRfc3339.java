@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util;
+
+import com.google.common.base.Strings;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the RFC 3339 parsing and formatting of {@link DateTime} with a regular
+ * expression and {@link GregorianCalendar}, which the single pass implementation must match.
+ */
+final class LegacyRfc3339 {
+
+  private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+  private static final Pattern RFC3339_PATTERN =
+      Pattern.compile(
+          "(\\d{4})-(\\d{2})-(\\d{2})"
+              + "([Tt](\\d{2}):(\\d{2}):(\\d{2})(\\.\\d{1,9})?)?"
+              + "([Zz]|([+-])(\\d{2}):(\\d{2}))?");
+
+  static DateTime parseRfc3339(String str) {
+    long[] result = parse(str);
+    long millis = result[0] * 1000 + result[1] / 1000000;
+    return new DateTime(result[2] == 0, millis, result[3] == 0 ? null : (int) result[4]);
+  }
+
+  static DateTime.SecondsAndNanos parseRfc3339ToSecondsAndNanos(String str) {
+    long[] result = parse(str);
+    return DateTime.SecondsAndNanos.ofSecondsAndNanos(result[0], (int) result[1]);
+  }
+
+  /** Returns the seconds, nanoseconds, whether a time, whether a shift, and the shift. */
+  private static long[] parse(String str) {
+    Matcher matcher = RFC3339_PATTERN.matcher(str);
+    if (!matcher.matches()) {
+      throw new NumberFormatException("Invalid date/time format: " + str);
+    }
+    int year = Integer.parseInt(matcher.group(1));
+    int month = Integer.parseInt(matcher.group(2)) - 1;
+    int day = Integer.parseInt(matcher.group(3));
+    boolean isTimeGiven = matcher.group(4) != null;
+    String tzShiftRegexGroup = matcher.group(9);
+    boolean isTzShiftGiven = tzShiftRegexGroup != null;
+    int hourOfDay = 0;
+    int minute = 0;
+    int second = 0;
+    int nanoseconds = 0;
+    int tzShift = 0;
+    if (isTzShiftGiven && !isTimeGiven) {
+      throw new NumberFormatException(
+          "Invalid date/time format, cannot specify time zone shift"
+              + " without specifying time: "
+              + str);
+    }
+    if (isTimeGiven) {
+      hourOfDay = Integer.parseInt(matcher.group(5));
+      minute = Integer.parseInt(matcher.group(6));
+      second = Integer.parseInt(matcher.group(7));
+      if (matcher.group(8) != null) {
+        nanoseconds = Integer.parseInt(Strings.padEnd(matcher.group(8).substring(1), 9, '0'));
+      }
+    }
+    Calendar dateTime = new GregorianCalendar(GMT);
+    dateTime.clear();
+    dateTime.set(year, month, day, hourOfDay, minute, second);
+    long value = dateTime.getTimeInMillis();
+    if (isTimeGiven && isTzShiftGiven) {
+      if (Character.toUpperCase(tzShiftRegexGroup.charAt(0)) != 'Z') {
+        tzShift = Integer.parseInt(matcher.group(11)) * 60 + Integer.parseInt(matcher.group(12));
+        if (matcher.group(10).charAt(0) == '-') {
+          tzShift = -tzShift;
+        }
+        value -= tzShift * 60000L;
+      }
+    }
+    return new long[] {
+      value / 1000L, nanoseconds, isTimeGiven ? 1 : 0, isTzShiftGiven ? 1 : 0, tzShift
+    };
+  }
+
+  static String toStringRfc3339(DateTime value) {
+    StringBuilder sb = new StringBuilder();
+    Calendar dateTime = new GregorianCalendar(GMT);
+    long localTime = value.getValue() + (value.getTimeZoneShift() * 60000L);
+    dateTime.setTimeInMillis(localTime);
+    appendInt(sb, dateTime.get(Calendar.YEAR), 4);
+    sb.append('-');
+    appendInt(sb, dateTime.get(Calendar.MONTH) + 1, 2);
+    sb.append('-');
+    appendInt(sb, dateTime.get(Calendar.DAY_OF_MONTH), 2);
+    if (!value.isDateOnly()) {
+      sb.append('T');
+      appendInt(sb, dateTime.get(Calendar.HOUR_OF_DAY), 2);
+      sb.append(':');
+      appendInt(sb, dateTime.get(Calendar.MINUTE), 2);
+      sb.append(':');
+      appendInt(sb, dateTime.get(Calendar.SECOND), 2);
+      if (dateTime.isSet(Calendar.MILLISECOND)) {
+        sb.append('.');
+        appendInt(sb, dateTime.get(Calendar.MILLISECOND), 3);
+      }
+      int tzShift = value.getTimeZoneShift();
+      if (tzShift == 0) {
+        sb.append('Z');
+      } else {
+        int absTzShift = tzShift;
+        if (tzShift > 0) {
+          sb.append('+');
+        } else {
+          sb.append('-');
+          absTzShift = -absTzShift;
+        }
+        appendInt(sb, absTzShift / 60, 2);
+        sb.append(':');
+        appendInt(sb, absTzShift % 60, 2);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static void appendInt(StringBuilder sb, int num, int numDigits) {
+    if (num < 0) {
+      sb.append('-');
+      num = -num;
+    }
+    int x = num;
+    while (x > 0) {
+      x /= 10;
+      numDigits--;
+    }
+    for (int i = 0; i < numDigits; i++) {
+      sb.append('0');
+    }
+    if (num != 0) {
+      sb.append(num);
+    }
+  }
+
+  private LegacyRfc3339() {}
+}
@@ -29,4 +29,24 @@ public class PercentEncodedEscaperTest extends TestCase {
     String actual = escaper.escape(input);
     assertEquals(expected, actual);
   }
+
+  @Test
+  public void testEscapeMixed() {
+    PercentEncodedEscaper escaper =
+        new PercentEncodedEscaper(
+            new PercentEscaper(PercentEscaper.SAFE_PLUS_RESERVED_CHARS_URLENCODER));
+    String input = "%2f a%zz%%41%4";
+    String expected = "%2f%20a%25zz%25%41%254";
+
+    String actual = escaper.escape(input);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testEscapeNoPercent() {
+    PercentEncodedEscaper escaper =
+        new PercentEncodedEscaper(
+            new PercentEscaper(PercentEscaper.SAFE_PLUS_RESERVED_CHARS_URLENCODER));
+    assertEquals("a%20b/c", escaper.escape("a b/c"));
+  }
 }
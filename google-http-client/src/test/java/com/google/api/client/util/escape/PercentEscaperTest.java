@@ -36,4 +36,56 @@ public class PercentEscaperTest {
     String actual = escaper.escape("Hello there");
     Assert.assertEquals("Hello%20there", actual);
   }
+
+  @Test
+  public void testEscapeUnchanged() {
+    PercentEscaper escaper = new PercentEscaper(PercentEscaper.SAFEPATHCHARS_URLENCODER);
+    String value = "storage-v1-objects-list";
+    Assert.assertSame(value, escaper.escape(value));
+  }
+
+  @Test
+  public void testEscapeUtf8() {
+    PercentEscaper escaper = new PercentEscaper(PercentEscaper.SAFECHARS_URLENCODER, true);
+    Assert.assertEquals(
+        "a+b%2F%C3%A9%DF%BF%E6%97%A5%EF%BF%BF%F0%9F%98%80c",
+        escaper.escape("a b/\u00e9\u07ff\u65e5\uffff\ud83d\ude00c"));
+  }
+
+  @Test
+  public void testEscapeLong() {
+    PercentEscaper escaper = new PercentEscaper(PercentEscaper.SAFECHARS_URLENCODER);
+    StringBuilder value = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      value.append("a\ud83d\ude00");
+      expected.append("a%F0%9F%98%80");
+    }
+    Assert.assertEquals(expected.toString(), escaper.escape(value.toString()));
+  }
+
+  @Test
+  public void testEscapeInvalidSurrogate() {
+    PercentEscaper escaper = new PercentEscaper(PercentEscaper.SAFECHARS_URLENCODER);
+    for (String value : new String[] {"a\ud83d", "a\ude00b", "a\ud83db"}) {
+      try {
+        escaper.escape(value);
+        Assert.fail(value);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testEscapeSubclass() {
+    PercentEscaper escaper =
+        new PercentEscaper(PercentEscaper.SAFECHARS_URLENCODER) {
+          @Override
+          protected char[] escape(int cp) {
+            return cp == ' ' ? new char[] {'_'} : super.escape(cp);
+          }
+        };
+    Assert.assertEquals("a_b%2F", escaper.escape("a b/"));
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.util.IOUtils;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link CompactDataStoreCodec}. */
+@RunWith(JUnit4.class)
+public class CompactDataStoreCodecTest {
+
+  private final CompactDataStoreCodec codec = CompactDataStoreCodec.getDefaultInstance();
+
+  private Serializable roundTrip(Serializable value) throws IOException {
+    return codec.decode(codec.encode(value));
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    for (Serializable value :
+        Arrays.<Serializable>asList(
+            "",
+            "ya29.token",
+            "é中😀",
+            true,
+            false,
+            0,
+            -1,
+            Integer.MIN_VALUE,
+            Integer.MAX_VALUE,
+            0L,
+            -2L,
+            Long.MIN_VALUE,
+            Long.MAX_VALUE,
+            1.5,
+            Double.NaN,
+            -0.0)) {
+      assertEquals(value, roundTrip(value));
+    }
+    assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) roundTrip(new byte[] {1, 2, 3}));
+    assertArrayEquals(new byte[0], (byte[]) roundTrip(new byte[0]));
+    assertNull(codec.decode(null));
+  }
+
+  @Test
+  public void testEncode_compact() throws IOException {
+    assertEquals(1 + "token".length(), codec.encode("token").length);
+    assertEquals(9, codec.encode(Long.MAX_VALUE).length);
+    assertEquals(1, codec.encode(true).length);
+    assertTrue(codec.encode(Long.MAX_VALUE).length < IOUtils.serialize(Long.MAX_VALUE).length);
+  }
+
+  @Test
+  public void testJavaSerialization() throws IOException {
+    ArrayList<String> list = new ArrayList<String>(Arrays.asList("a", "b"));
+    assertEquals(list, roundTrip(list));
+    // values written with the default codec
+    assertEquals("token", codec.decode(IOUtils.serialize("token")));
+    assertEquals(42L, (long) codec.<Long>decode(IOUtils.serialize(42L)));
+    assertEquals(list, codec.decode(IOUtils.serialize(list)));
+  }
+
+  @Test
+  public void testJavaSerialization_disabled() throws IOException {
+    CompactDataStoreCodec strict = new CompactDataStoreCodec(false);
+    assertEquals("token", strict.decode(strict.encode("token")));
+    try {
+      strict.encode(new ArrayList<String>());
+      fail("expected " + IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      strict.decode(IOUtils.serialize("token"));
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testDecode_invalid() {
+    for (byte[] bytes :
+        Arrays.asList(
+            new byte[0],
+            new byte[] {99},
+            new byte[] {CompactDataStoreCodec.LONG, 1, 2},
+            new byte[] {CompactDataStoreCodec.INTEGER, 1, 2, 3, 4, 5})) {
+      try {
+        codec.decode(bytes);
+        fail("expected " + IOException.class);
+      } catch (IOException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.util.IOUtils;
+import com.google.api.client.util.store.LogFileDataStoreFactory.LogFileDataStore;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link LogFileDataStoreFactory.LogFileDataStore}. */
+@RunWith(JUnit4.class)
+public class LogFileDataStoreTest {
+
+  private File dataDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("temp").toFile();
+    dataDirectory.deleteOnExit();
+  }
+
+  private LogFileDataStoreFactory newFactory(boolean syncWrites) throws IOException {
+    return new LogFileDataStoreFactory(
+        dataDirectory,
+        syncWrites,
+        SerializationDataStoreCodec.getInstance(),
+        MoreExecutors.directExecutor());
+  }
+
+  private LogFileDataStore<String> open() throws IOException {
+    return open(false);
+  }
+
+  private LogFileDataStore<String> open(boolean syncWrites) throws IOException {
+    return (LogFileDataStore<String>) newFactory(syncWrites).<String>getDataStore("foo");
+  }
+
+  private File logFile() {
+    return new File(dataDirectory, "foo" + LogFileDataStoreFactory.LOG_EXTENSION);
+  }
+
+  @Test
+  public void testAppend() throws IOException {
+    LogFileDataStore<String> store = open();
+    assertEquals(LogFileDataStoreFactory.HEADER_SIZE, store.getLogSize());
+    store.set("k", "v");
+    long size = store.getLogSize();
+    store.set("k2", "v2");
+    // one more record, not a rewrite of both
+    assertEquals(
+        size + LogFileDataStoreFactory.recordSize("k2", serialize("v2")), store.getLogSize());
+    assertEquals(store.getLogSize(), logFile().length());
+  }
+
+  @Test
+  public void testAppend_failure() throws IOException {
+    LogFileDataStore<String> store = open();
+    store.set("k", "v");
+    long size = store.getLogSize();
+    FailingFileChannel channel = new FailingFileChannel(store.channel);
+    store.channel = channel;
+    try {
+      store.set("k2", "v2");
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+    // the part of the record that was written is dropped
+    assertEquals(size, store.getLogSize());
+    assertEquals(size, logFile().length());
+    assertEquals(size, channel.position());
+    assertFalse(store.containsKey("k2"));
+
+    channel.failing = false;
+    store.set("k3", "v3");
+    LogFileDataStore<String> reopened = open();
+    assertEquals("v", reopened.get("k"));
+    assertFalse(reopened.containsKey("k2"));
+    assertEquals("v3", reopened.get("k3"));
+  }
+
+  @Test
+  public void testReplay() throws IOException {
+    LogFileDataStore<String> store = open();
+    store.set("k", "v");
+    store.set("k2", "v2");
+    store.set("k", "new");
+    store.delete("k2");
+    store.set("é中", "unicode");
+    LogFileDataStore<String> reopened = open();
+    assertEquals(2, reopened.size());
+    assertEquals("new", reopened.get("k"));
+    assertNull(reopened.get("k2"));
+    assertEquals("unicode", reopened.get("é中"));
+
+    store.clear();
+    assertTrue(open().isEmpty());
+  }
+
+  @Test
+  public void testReplay_incompleteRecord() throws IOException {
+    LogFileDataStore<String> store = open();
+    store.set("k", "v");
+    long size = store.getLogSize();
+    store.set("k2", "v2");
+    RandomAccessFile file = new RandomAccessFile(logFile(), "rw");
+    try {
+      file.setLength(file.length() - 3);
+    } finally {
+      file.close();
+    }
+
+    LogFileDataStore<String> reopened = open();
+    assertEquals("v", reopened.get("k"));
+    assertFalse(reopened.containsKey("k2"));
+    assertEquals(size, logFile().length());
+    reopened.set("k3", "v3");
+    assertEquals("v3", open().get("k3"));
+  }
+
+  @Test
+  public void testReplay_corruptRecord() throws IOException {
+    LogFileDataStore<String> store = open();
+    store.set("k", "v");
+    long size = store.getLogSize();
+    store.set("k2", "v2");
+    RandomAccessFile file = new RandomAccessFile(logFile(), "rw");
+    try {
+      file.seek(size + 6);
+      file.write(file.read() ^ 0xff);
+    } finally {
+      file.close();
+    }
+
+    LogFileDataStore<String> reopened = open();
+    assertEquals("v", reopened.get("k"));
+    assertFalse(reopened.containsKey("k2"));
+    assertEquals(size, logFile().length());
+  }
+
+  @Test
+  public void testReplay_notALog() throws IOException {
+    FileOutputStream out = new FileOutputStream(logFile());
+    try {
+      out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+    } finally {
+      out.close();
+    }
+    try {
+      open();
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testCompaction() throws IOException {
+    LogFileDataStore<String> store = open();
+    store.set("other", "value");
+    String value = new String(new char[1000]).replace('\0', 'x');
+    for (int i = 0; i < 1000; i++) {
+      store.set("k", value + i);
+    }
+    // compacted as soon as most of the log was obsolete
+    long compactedSize =
+        LogFileDataStoreFactory.HEADER_SIZE
+            + LogFileDataStoreFactory.recordSize("other", serialize("value"))
+            + LogFileDataStoreFactory.recordSize("k", serialize(value + 999));
+    assertTrue(store.getLogSize() < LogFileDataStoreFactory.MIN_COMPACTION_SIZE);
+    assertEquals(store.getLogSize(), logFile().length());
+
+    store.compact();
+    assertEquals(compactedSize, store.getLogSize());
+    assertFalse(new File(dataDirectory, "foo" + LogFileDataStoreFactory.TEMP_EXTENSION).exists());
+    LogFileDataStore<String> reopened = open();
+    assertEquals(2, reopened.size());
+    assertEquals(value + 999, reopened.get("k"));
+    assertEquals("value", reopened.get("other"));
+
+    // still appends after the compaction
+    store.delete("other");
+    assertFalse(open().containsKey("other"));
+  }
+
+  @Test
+  public void testCompaction_syncWrites() throws IOException {
+    LogFileDataStore<String> store = open(true);
+    store.set("k", "v");
+    store.set("k", "new");
+    store.compact();
+    assertEquals(
+        LogFileDataStoreFactory.HEADER_SIZE
+            + LogFileDataStoreFactory.recordSize("k", serialize("new")),
+        store.getLogSize());
+    assertEquals("new", open().get("k"));
+  }
+
+  @Test
+  public void testLeftoverTempFile() throws IOException {
+    open().set("k", "v");
+    File tempFile = new File(dataDirectory, "foo" + LogFileDataStoreFactory.TEMP_EXTENSION);
+    assertTrue(tempFile.createNewFile());
+    assertEquals("v", open().get("k"));
+    assertFalse(tempFile.exists());
+  }
+
+  private static byte[] serialize(String value) throws IOException {
+    return IOUtils.serialize(value);
+  }
+
+  /** File channel that writes half of the first buffer then fails, like a full storage device. */
+  static final class FailingFileChannel extends FileChannel {
+
+    private final FileChannel delegate;
+
+    boolean failing = true;
+
+    FailingFileChannel(FileChannel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      if (!failing) {
+        return delegate.write(src);
+      }
+      ByteBuffer half = src.duplicate();
+      half.limit(src.position() + src.remaining() / 2);
+      delegate.write(half);
+      src.position(half.position());
+      throw new IOException("No space left on device");
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      return delegate.read(dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+      return delegate.read(dsts, offset, length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      return delegate.write(srcs, offset, length);
+    }
+
+    @Override
+    public long position() throws IOException {
+      return delegate.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+      delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return delegate.size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+      delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+      delegate.force(metaData);
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target)
+        throws IOException {
+      return delegate.transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count)
+        throws IOException {
+      return delegate.transferFrom(src, position, count);
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+      return delegate.read(dst, position);
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+      return delegate.write(src, position);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+      return delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+      return delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+      return delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+      delegate.close();
+    }
+  }
+}
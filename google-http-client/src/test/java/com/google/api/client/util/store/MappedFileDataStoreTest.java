@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.api.client.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.api.client.util.IOUtils;
+import com.google.api.client.util.store.MappedFileDataStoreFactory.Index;
+import com.google.api.client.util.store.MappedFileDataStoreFactory.MappedFileDataStore;
+import com.google.api.client.util.store.MappedFileDataStoreFactory.Shard;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link MappedFileDataStoreFactory.MappedFileDataStore}. */
+@RunWith(JUnit4.class)
+public class MappedFileDataStoreTest {
+
+  private File dataDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    dataDirectory = Files.createTempDirectory("temp").toFile();
+    dataDirectory.deleteOnExit();
+  }
+
+  private MappedFileDataStore<String> open(int shards) throws IOException {
+    MappedFileDataStoreFactory factory =
+        new MappedFileDataStoreFactory.Builder(dataDirectory)
+            .setShards(shards)
+            .setSyncWrites(false)
+            .build();
+    return (MappedFileDataStore<String>) factory.<String>getDataStore("foo");
+  }
+
+  private File shardFile(int shard, int shards) {
+    return new File(dataDirectory, MappedFileDataStoreFactory.shardFileName("foo", shard, shards));
+  }
+
+  @Test
+  public void testReopen() throws IOException {
+    MappedFileDataStore<String> store = open(3);
+    store.set("k", "v");
+    store.set("k2", "v2");
+    store.set("k", "new");
+    store.delete("k2");
+    store.set("é中", "unicode");
+    for (int i = 0; i < 3; i++) {
+      assertTrue(shardFile(i, 3).exists());
+    }
+    MappedFileDataStore<String> reopened = open(3);
+    assertEquals(2, reopened.size());
+    assertEquals("new", reopened.get("k"));
+    assertNull(reopened.get("k2"));
+    assertEquals("unicode", reopened.get("é中"));
+
+    store.clear();
+    assertTrue(open(3).isEmpty());
+  }
+
+  @Test
+  public void testReopen_differentShards() throws IOException {
+    open(2).set("k", "v");
+    try {
+      open(3);
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+    assertEquals("v", open(2).get("k"));
+  }
+
+  @Test
+  public void testReopen_incompleteRecord() throws IOException {
+    MappedFileDataStore<String> store = open(1);
+    store.set("k", "v");
+    long size = store.shards[0].getSize();
+    store.set("k2", "v2");
+    RandomAccessFile file = new RandomAccessFile(shardFile(0, 1), "rw");
+    try {
+      file.setLength(file.length() - 3);
+    } finally {
+      file.close();
+    }
+
+    MappedFileDataStore<String> reopened = open(1);
+    assertEquals("v", reopened.get("k"));
+    assertFalse(reopened.containsKey("k2"));
+    assertEquals(size, shardFile(0, 1).length());
+    reopened.set("k3", "v3");
+    assertEquals("v3", open(1).get("k3"));
+  }
+
+  @Test
+  public void testGet_corruptValue() throws IOException {
+    MappedFileDataStore<String> store = open(1);
+    store.set("k", "v");
+    long size = store.shards[0].getSize();
+    store.set("k2", "v2");
+    RandomAccessFile file = new RandomAccessFile(shardFile(0, 1), "rw");
+    try {
+      file.seek(file.length() - 5);
+      file.write(file.read() ^ 0xff);
+    } finally {
+      file.close();
+    }
+
+    // only the keys are read when opening
+    MappedFileDataStore<String> reopened = open(1);
+    assertEquals(
+        size + LogFileDataStoreFactory.recordSize("k2", serialize("v2")),
+        reopened.shards[0].getSize());
+    assertEquals("v", reopened.get("k"));
+    assertTrue(reopened.containsKey("k2"));
+    try {
+      reopened.get("k2");
+      fail("expected " + IOException.class);
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testAppendAfterMapping() throws IOException {
+    MappedFileDataStore<String> store = open(1);
+    Shard shard = store.shards[0];
+    int mappedSize = shard.getMappedSize();
+    store.set("k", "v");
+    // read through the channel
+    assertEquals(mappedSize, shard.getMappedSize());
+    assertEquals("v", store.get("k"));
+
+    String value = new String(new char[10000]).replace('\0', 'x');
+    for (int i = 0; shard.getSize() - mappedSize < MappedFileDataStoreFactory.REMAP_SIZE; i++) {
+      store.set("k" + i, value);
+    }
+    // mapped again
+    assertEquals(shard.getSize(), shard.getMappedSize());
+    assertEquals("v", store.get("k"));
+    assertEquals(value, store.get("k0"));
+  }
+
+  @Test
+  public void testCompaction() throws IOException {
+    MappedFileDataStore<String> store = open(1);
+    Shard shard = store.shards[0];
+    store.set("other", "value");
+    String value = new String(new char[1000]).replace('\0', 'x');
+    for (int i = 0; i < 1000; i++) {
+      store.set("k", value + i);
+    }
+    // compacted as soon as most of the file was obsolete
+    long compactedSize =
+        LogFileDataStoreFactory.HEADER_SIZE
+            + LogFileDataStoreFactory.recordSize("other", serialize("value"))
+            + LogFileDataStoreFactory.recordSize("k", serialize(value + 999));
+    assertTrue(shard.getSize() < LogFileDataStoreFactory.MIN_COMPACTION_SIZE);
+    assertEquals(shard.getSize(), shardFile(0, 1).length());
+
+    shard.compact();
+    assertEquals(compactedSize, shard.getSize());
+    assertEquals(compactedSize, shard.getMappedSize());
+    assertEquals(value + 999, store.get("k"));
+    MappedFileDataStore<String> reopened = open(1);
+    assertEquals(2, reopened.size());
+    assertEquals(value + 999, reopened.get("k"));
+    assertEquals("value", reopened.get("other"));
+
+    // still appends after the compaction
+    store.delete("other");
+    assertFalse(open(1).containsKey("other"));
+  }
+
+  @Test
+  public void testIndex() {
+    Index index = new Index(0);
+    Map<String, Integer> expected = new HashMap<String, Integer>();
+    Random random = new Random(1);
+    for (int i = 0; i < 100000; i++) {
+      String key = Integer.toString(random.nextInt(2000));
+      if (random.nextBoolean()) {
+        Integer previous = expected.put(key, i);
+        assertEquals(previous == null ? -1 : previous, index.put(key, i));
+      } else {
+        Integer previous = expected.remove(key);
+        assertEquals(previous == null ? -1 : previous, index.remove(key));
+      }
+      assertEquals(expected.size(), index.size);
+    }
+    for (int i = 0; i < 2000; i++) {
+      String key = Integer.toString(i);
+      Integer offset = expected.get(key);
+      assertEquals(offset == null ? -1 : offset, index.get(key));
+    }
+  }
+
+  private static byte[] serialize(String value) throws IOException {
+    return IOUtils.serialize(value);
+  }
+}